@@ -0,0 +1,49 @@
+package benchmarks;
+
+/**
+ * One benchmarked operation at one parameter setting.
+ *
+ * @param name   the benchmark name, e.g. "EventCodec.encode"
+ * @param params the parameters, e.g. "type=IncidentEvent", empty if none
+ * @param setup  builds the state of the benchmark and returns the operation to measure; only
+ *               called if the case is selected to run
+ */
+public record BenchmarkCase(String name, String params, Setup setup) {
+
+    /**
+     * Builds the state of a benchmark.
+     */
+    @FunctionalInterface
+    public interface Setup {
+        /**
+         * Sets up the benchmark.
+         *
+         * @return the operation to measure
+         * @throws Exception if the state cannot be built
+         */
+        Operation setUp() throws Exception;
+    }
+
+    /**
+     * A benchmarked operation.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @param blackhole consumes the results of the operation
+         * @throws Exception if the operation fails, which aborts the benchmark
+         */
+        void run(Blackhole blackhole) throws Exception;
+    }
+
+    /**
+     * Gets the key results are stored under in a results file.
+     *
+     * @return the name and parameters
+     */
+    public String key() {
+        return params.isEmpty() ? name : name + ":" + params;
+    }
+}
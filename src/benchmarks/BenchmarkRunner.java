@@ -0,0 +1,256 @@
+package benchmarks;
+
+import logger.EventLogger;
+import logger.LogLevel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmarks of the scheduling and messaging hot paths and compares them with a baseline.
+ *
+ * Each case is warmed up, then measured over several fixed-time iterations in which the operation
+ * runs in calibrated batches, and reported as the mean time per operation with its standard
+ * deviation across iterations. Everything runs in this JVM, so run nothing else alongside it.
+ *
+ * Usage: BenchmarkRunner [--filter regex] [--warmup n] [--iterations n] [--time ms]
+ *                        [--save file] [--baseline file] [--threshold percent]
+ *
+ * With --baseline, every case that is more than the threshold (default 20%) slower than in the
+ * baseline file is reported as a regression and the runner exits with status 1. The results of
+ * the reference machine are kept in src/benchmarks/baseline.txt; compare against a baseline saved
+ * on the same machine, since the numbers are only comparable there.
+ */
+public class BenchmarkRunner {
+    private static final long BATCH_TARGET_NANOS = 100_000;
+
+    /**
+     * The measured time of a case.
+     *
+     * @param meanNanos   the mean time per operation
+     * @param stddevNanos the standard deviation of the per-iteration means
+     */
+    public record Result(double meanNanos, double stddevNanos) {
+    }
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final long iterationNanos;
+
+    // keeps every blackhole's hash reachable so consumed values cannot be optimized away
+    public static volatile int published;
+
+    /**
+     * Creates a runner.
+     *
+     * @param warmupIterations   the iterations run before measuring
+     * @param measuredIterations the iterations measured
+     * @param iterationMillis    the duration of each iteration
+     */
+    public BenchmarkRunner(int warmupIterations, int measuredIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+    }
+
+    /**
+     * Gets every benchmark case.
+     *
+     * @return the cases in the order they are run
+     */
+    public static List<BenchmarkCase> allCases() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        cases.addAll(EventCodecBenchmarks.cases());
+        cases.addAll(SchedulingBenchmarks.cases());
+        cases.addAll(GeometryBenchmarks.cases());
+        cases.addAll(CollectionBenchmarks.cases());
+        cases.addAll(FleetBenchmarks.cases());
+        return cases;
+    }
+
+    /**
+     * Measures a case.
+     *
+     * @param benchmark the case
+     * @return the time per operation
+     * @throws Exception if the setup or the operation fails
+     */
+    public Result run(BenchmarkCase benchmark) throws Exception {
+        BenchmarkCase.Operation op = benchmark.setup().setUp();
+        Blackhole blackhole = new Blackhole();
+
+        // size batches so the clock is read rarely compared to the operation
+        int batch = 1;
+        while (true) {
+            long start = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                op.run(blackhole);
+            }
+            if (System.nanoTime() - start >= BATCH_TARGET_NANOS || batch >= 1 << 24) {
+                break;
+            }
+            batch <<= 1;
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(op, blackhole, batch);
+        }
+        double[] means = new double[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            means[i] = iteration(op, blackhole, batch);
+        }
+        published = blackhole.hash();
+
+        double mean = 0;
+        for (double m : means) {
+            mean += m;
+        }
+        mean /= means.length;
+        double variance = 0;
+        for (double m : means) {
+            variance += (m - mean) * (m - mean);
+        }
+        double stddev = means.length > 1 ? Math.sqrt(variance / (means.length - 1)) : 0;
+        return new Result(mean, stddev);
+    }
+
+    /**
+     * Runs batches of an operation for one iteration.
+     *
+     * @return the mean nanoseconds per operation
+     */
+    private double iteration(BenchmarkCase.Operation op, Blackhole blackhole, int batch) throws Exception {
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < batch; i++) {
+                op.run(blackhole);
+            }
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        return (double) elapsed / ops;
+    }
+
+    /**
+     * Writes results in the format read by {@link #readResults}.
+     *
+     * @param file    the file to write
+     * @param results the results by case key
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeResults(File file, Map<String, Result> results) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file.toPath()))) {
+            out.printf("# ns/op: mean and standard deviation | java %s, %s %s, %d cpus%n",
+                    System.getProperty("java.version"), System.getProperty("os.name"), System.getProperty("os.arch"),
+                    Runtime.getRuntime().availableProcessors());
+            for (Map.Entry<String, Result> entry : results.entrySet()) {
+                out.printf(Locale.ROOT, "%-60s %14.1f %12.1f%n", entry.getKey(), entry.getValue().meanNanos(), entry.getValue().stddevNanos());
+            }
+        }
+    }
+
+    /**
+     * Reads results written by {@link #writeResults}.
+     *
+     * @param file the file to read
+     * @return the results by case key
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public static Map<String, Result> readResults(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file.toPath())) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length != 3) {
+                throw new IOException("Malformed result in " + file + ": " + line);
+            }
+            try {
+                results.put(fields[0], new Result(Double.parseDouble(fields[1]), Double.parseDouble(fields[2])));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed result in " + file + ": " + line, e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args the options, see the class documentation
+     */
+    public static void main(String[] args) throws Exception {
+        Pattern filter = null;
+        int warmup = 5;
+        int iterations = 5;
+        long time = 200;
+        File save = null;
+        File baselineFile = null;
+        double threshold = 20;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--filter" -> filter = Pattern.compile(value);
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--iterations" -> iterations = Integer.parseInt(value);
+                case "--time" -> time = Long.parseLong(value);
+                case "--save" -> save = new File(value);
+                case "--baseline" -> baselineFile = new File(value);
+                case "--threshold" -> threshold = Double.parseDouble(value);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println("Usage: BenchmarkRunner [--filter regex] [--warmup n] [--iterations n] [--time ms] "
+                            + "[--save file] [--baseline file] [--threshold percent]");
+                    System.exit(1);
+                }
+            }
+            i++;
+        }
+        EventLogger.setLevel(LogLevel.WARN);
+
+        Map<String, Result> baseline = baselineFile == null ? Map.of() : readResults(baselineFile);
+        BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, time);
+        Map<String, Result> results = new LinkedHashMap<>();
+        int regressions = 0;
+        for (BenchmarkCase benchmark : allCases()) {
+            if (filter != null && !filter.matcher(benchmark.key()).find()) {
+                continue;
+            }
+            Result result = runner.run(benchmark);
+            results.put(benchmark.key(), result);
+
+            String comparison = "";
+            Result base = baseline.get(benchmark.key());
+            if (base != null) {
+                double change = 100 * (result.meanNanos() - base.meanNanos()) / base.meanNanos();
+                boolean regressed = change > threshold;
+                if (regressed) {
+                    regressions++;
+                }
+                comparison = String.format(Locale.ROOT, "  %+7.1f%% vs baseline%s", change, regressed ? "  REGRESSION" : "");
+            }
+            System.out.printf(Locale.ROOT, "%-60s %14.1f +- %9.1f ns/op%s%n", benchmark.key(), result.meanNanos(), result.stddevNanos(), comparison);
+        }
+        EventLogger.flush();
+
+        if (save != null) {
+            writeResults(save, results);
+            System.out.println("Saved results to " + save);
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmarks regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+/**
+ * Consumes the results of benchmarked code so the JIT cannot remove the code as dead.
+ *
+ * Every consumed value is folded into a running hash that the runner publishes after each
+ * iteration, so each result is needed and consuming it costs an add.
+ */
+public final class Blackhole {
+    private int hash;
+
+    public void consume(Object value) {
+        hash += System.identityHashCode(value);
+    }
+
+    public void consume(int value) {
+        hash += value;
+    }
+
+    public void consume(long value) {
+        hash += (int) (value ^ (value >>> 32));
+    }
+
+    public void consume(double value) {
+        consume(Double.doubleToRawLongBits(value));
+    }
+
+    public void consume(boolean value) {
+        hash += value ? 1 : 0;
+    }
+
+    /**
+     * Gets the hash of everything consumed so far.
+     *
+     * @return the hash
+     */
+    int hash() {
+        return hash;
+    }
+}
@@ -0,0 +1,173 @@
+package benchmarks;
+
+import helpers.IntHashMap;
+import helpers.IntHashSet;
+import subsystems.drone.DroneInfo;
+
+import java.lang.ref.Reference;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Compares the boxed {@link HashMap} and {@link HashSet} the Scheduler used for its fleet state with
+ * the {@link IntHashMap} and {@link IntHashSet} that replaced them, keyed by drone IDs from 1 as
+ * handed out by the Scheduler.
+ *
+ * The cases measure throughput. Run {@link #main} to print the memory each structure retains.
+ */
+public class CollectionBenchmarks {
+    private static final int DRONES = 100_000;
+    // lookups in a shuffled order, so the cases are not just a sequential scan
+    private static final int LOOKUPS = 1 << 16;
+
+    /**
+     * Gets the benchmark cases.
+     *
+     * @return a lookup and an update case per structure
+     */
+    public static List<BenchmarkCase> cases() {
+        String params = "drones=" + DRONES;
+        int[] ids = lookupOrder();
+        List<BenchmarkCase> cases = new ArrayList<>();
+
+        cases.add(new BenchmarkCase("HashMap.get", params, () -> {
+            Map<Integer, DroneInfo> fleet = boxedFleet();
+            int[] next = {0};
+            return blackhole -> blackhole.consume(fleet.get(ids[next[0]++ & (LOOKUPS - 1)]));
+        }));
+        cases.add(new BenchmarkCase("IntHashMap.get", params, () -> {
+            IntHashMap<DroneInfo> fleet = intFleet();
+            int[] next = {0};
+            return blackhole -> blackhole.consume(fleet.get(ids[next[0]++ & (LOOKUPS - 1)]));
+        }));
+
+        // a drone leaving and rejoining the fleet, as on a fault and recovery
+        cases.add(new BenchmarkCase("HashMap.removePut", params, () -> {
+            Map<Integer, DroneInfo> fleet = boxedFleet();
+            int[] next = {0};
+            return blackhole -> {
+                int id = ids[next[0]++ & (LOOKUPS - 1)];
+                fleet.put(id, fleet.remove(id));
+            };
+        }));
+        cases.add(new BenchmarkCase("IntHashMap.removePut", params, () -> {
+            IntHashMap<DroneInfo> fleet = intFleet();
+            int[] next = {0};
+            return blackhole -> {
+                int id = ids[next[0]++ & (LOOKUPS - 1)];
+                fleet.put(id, fleet.remove(id));
+            };
+        }));
+
+        cases.add(new BenchmarkCase("HashSet.contains", params, () -> {
+            Set<Integer> returning = new HashSet<>();
+            for (int id = 1; id <= DRONES; id += 2) {
+                returning.add(id);
+            }
+            int[] next = {0};
+            return blackhole -> blackhole.consume(returning.contains(ids[next[0]++ & (LOOKUPS - 1)]));
+        }));
+        cases.add(new BenchmarkCase("IntHashSet.contains", params, () -> {
+            IntHashSet returning = new IntHashSet();
+            for (int id = 1; id <= DRONES; id += 2) {
+                returning.add(id);
+            }
+            int[] next = {0};
+            return blackhole -> blackhole.consume(returning.contains(ids[next[0]++ & (LOOKUPS - 1)]));
+        }));
+        return cases;
+    }
+
+    /**
+     * Prints the heap retained by each structure holding the IDs of the fleet, excluding the
+     * drones themselves, which both map types share.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        DroneInfo drone = drone();
+        System.out.printf("%-30s %12s%n", "structure, " + DRONES + " drones", "bytes");
+        printRetained("HashMap<Integer, DroneInfo>", () -> {
+            Map<Integer, DroneInfo> map = new HashMap<>();
+            for (int id = 1; id <= DRONES; id++) {
+                map.put(id, drone);
+            }
+            return map;
+        });
+        printRetained("IntHashMap<DroneInfo>", () -> {
+            IntHashMap<DroneInfo> map = new IntHashMap<>();
+            for (int id = 1; id <= DRONES; id++) {
+                map.put(id, drone);
+            }
+            return map;
+        });
+        printRetained("HashSet<Integer>", () -> {
+            Set<Integer> set = new HashSet<>();
+            for (int id = 1; id <= DRONES; id++) {
+                set.add(id);
+            }
+            return set;
+        });
+        printRetained("IntHashSet", () -> {
+            IntHashSet set = new IntHashSet();
+            for (int id = 1; id <= DRONES; id++) {
+                set.add(id);
+            }
+            return set;
+        });
+    }
+
+    private static void printRetained(String name, Supplier<Object> build) {
+        long before = usedAfterGc();
+        Object retained = build.get();
+        long after = usedAfterGc();
+        System.out.printf("%-30s %12d%n", name, after - before);
+        Reference.reachabilityFence(retained);
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Map<Integer, DroneInfo> boxedFleet() {
+        DroneInfo drone = drone();
+        Map<Integer, DroneInfo> fleet = new HashMap<>();
+        for (int id = 1; id <= DRONES; id++) {
+            fleet.put(id, drone);
+        }
+        return fleet;
+    }
+
+    private static IntHashMap<DroneInfo> intFleet() {
+        DroneInfo drone = drone();
+        IntHashMap<DroneInfo> fleet = new IntHashMap<>();
+        for (int id = 1; id <= DRONES; id++) {
+            fleet.put(id, drone);
+        }
+        return fleet;
+    }
+
+    private static DroneInfo drone() {
+        return new DroneInfo(InetAddress.getLoopbackAddress(), 6000);
+    }
+
+    private static int[] lookupOrder() {
+        Random random = new Random(42);
+        int[] ids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = 1 + random.nextInt(DRONES);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import main.EventSocket;
+import subsystems.Event;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.*;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks encoding and decoding each type of event sent between the subsystems, and parsing
+ * event timestamps.
+ */
+public class EventCodecBenchmarks {
+
+    /**
+     * Creates one event of each type, filled in as in a live run.
+     */
+    static List<Event> sampleEvents() {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        DroneInfo drone = new DroneInfo(localhost, 6001);
+        drone.setDroneID(7);
+        return List.of(
+                new ZoneEvent(3, new Point2D.Double(0, 600), new Point2D.Double(650, 1500)),
+                new IncidentEvent("14:03:15", 3, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NONE),
+                new DroneDispatchEvent(3, new Point2D.Double(325, 1050), Faults.NONE),
+                new DroneArrivedEvent(7, 3),
+                new DropAgentEvent(15, 7),
+                new DroneUpdateEvent(drone),
+                new DroneReassignRequestEvent(7));
+    }
+
+    /**
+     * Gets the benchmark cases.
+     *
+     * @return an encode and a decode case per event type, and the timestamp parsing case
+     */
+    public static List<BenchmarkCase> cases() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        for (Event event : sampleEvents()) {
+            String params = "type=" + event.getClass().getSimpleName();
+            cases.add(new BenchmarkCase("EventCodec.encode", params, () ->
+                    blackhole -> blackhole.consume(EventSocket.serialize(event))));
+            cases.add(new BenchmarkCase("EventCodec.decode", params, () -> {
+                byte[] encoded = EventSocket.serialize(event);
+                return blackhole -> blackhole.consume(EventSocket.deserialize(encoded, 0, encoded.length));
+            }));
+        }
+        cases.add(new BenchmarkCase("Event.getParsedTime", "", () -> {
+            IncidentEvent incident = new IncidentEvent("14:03:15", 3, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NONE);
+            return blackhole -> blackhole.consume(incident.getParsedTime());
+        }));
+        return cases;
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import helpers.IntHashMap;
+import main.fleet.FleetTable;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneDispatchEvent;
+import subsystems.drone.states.DroppingAgentState;
+import subsystems.drone.states.FaultedState;
+import subsystems.drone.states.IdleState;
+import subsystems.drone.states.OnRouteState;
+import subsystems.fire_incident.Faults;
+
+import java.awt.geom.Point2D;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares scanning the fleet through its {@link DroneInfo} objects, as the Scheduler did, with
+ * scanning the columns of a {@link FleetTable}.
+ */
+public class FleetBenchmarks {
+    private static final int[] FLEET_SIZES = {1_000, 100_000};
+
+    /**
+     * Gets the benchmark cases.
+     *
+     * @return a case per fleet size and storage
+     */
+    public static List<BenchmarkCase> cases() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        for (int drones : FLEET_SIZES) {
+            String params = "drones=" + drones;
+            cases.add(new BenchmarkCase("DroneInfo.countIdle", params, () -> {
+                IntHashMap<DroneInfo> fleet = new IntHashMap<>();
+                for (DroneInfo drone : randomFleet(drones)) {
+                    fleet.put(drone.getDroneID(), drone);
+                }
+                return blackhole -> {
+                    int idle = 0;
+                    for (DroneInfo drone : fleet.values()) {
+                        if (drone.getState() instanceof IdleState) {
+                            idle++;
+                        }
+                    }
+                    blackhole.consume(idle);
+                };
+            }));
+            cases.add(new BenchmarkCase("FleetTable.countIdle", params, () -> {
+                FleetTable fleet = new FleetTable();
+                for (DroneInfo drone : randomFleet(drones)) {
+                    fleet.update(drone);
+                }
+                return blackhole -> blackhole.consume(fleet.count(FleetTable.State.IDLE));
+            }));
+        }
+        return cases;
+    }
+
+    /**
+     * Creates drones with IDs from 1, spread over the map and over all states.
+     */
+    static List<DroneInfo> randomFleet(int drones) {
+        Random random = new Random(42);
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        List<DroneInfo> fleet = new ArrayList<>();
+        for (int id = 1; id <= drones; id++) {
+            DroneInfo drone = new DroneInfo(localhost, 6000);
+            drone.setDroneID(id);
+            drone.setCoordinates(new Point2D.Double(random.nextDouble() * 1500, random.nextDouble() * 1000));
+            drone.setState(switch (random.nextInt(4)) {
+                case 0 -> new IdleState();
+                case 1 -> new OnRouteState(new DroneDispatchEvent(1, new Point2D.Double(0, 0), Faults.NONE));
+                case 2 -> new DroppingAgentState();
+                default -> new FaultedState(Faults.NOZZLE_JAMMED);
+            });
+            fleet.add(drone);
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,100 @@
+package benchmarks;
+
+import helpers.IncidentEventComparator;
+import main.Scheduler;
+import main.ui.GridPanel;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.DroneSubsystem;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+
+import java.awt.geom.Point2D;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks the small calculations run for every drone and fire: flight times, battery checks,
+ * incident ordering and mapping coordinates onto the dashboard grid.
+ */
+public class GeometryBenchmarks {
+
+    /**
+     * Gets the benchmark cases.
+     *
+     * @return the cases
+     */
+    public static List<BenchmarkCase> cases() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+
+        cases.add(new BenchmarkCase("DroneSubsystem.timeToZone", "", () -> {
+            Point2D[] points = randomPoints(1024);
+            int[] next = {0};
+            return blackhole -> {
+                int i = next[0]++ & 1023;
+                blackhole.consume(DroneSubsystem.timeToZone(points[i], points[(i + 1) & 1023]));
+            };
+        }));
+
+        cases.add(new BenchmarkCase("Scheduler.hasEnoughBattery", "", () -> {
+            Point2D[] points = randomPoints(1024);
+            DroneInfo drone = new DroneInfo(InetAddress.getLoopbackAddress(), 6001);
+            int[] next = {0};
+            return blackhole -> blackhole.consume(Scheduler.hasEnoughBattery(drone, points[next[0]++ & 1023]));
+        }));
+
+        // the comparator decides on severity alone, or has to parse both timestamps
+        for (boolean sameSeverity : new boolean[]{false, true}) {
+            cases.add(new BenchmarkCase("IncidentEventComparator.compare", "severity=" + (sameSeverity ? "same" : "different"), () -> {
+                IncidentEventComparator comparator = new IncidentEventComparator();
+                IncidentEvent a = new IncidentEvent("14:03:15", 1, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NONE);
+                IncidentEvent b = new IncidentEvent("14:05:40", 2, EventType.FIRE_DETECTED, sameSeverity ? Severity.HIGH : Severity.LOW, Faults.NONE);
+                return blackhole -> blackhole.consume(comparator.compare(a, b));
+            }));
+        }
+        for (int size : new int[]{100, 10_000}) {
+            cases.add(new BenchmarkCase("IncidentEventComparator.sort", "incidents=" + size, () -> {
+                List<IncidentEvent> incidents = randomIncidents(size);
+                IncidentEventComparator comparator = new IncidentEventComparator();
+                return blackhole -> {
+                    List<IncidentEvent> copy = new ArrayList<>(incidents);
+                    copy.sort(comparator);
+                    blackhole.consume(copy.get(0));
+                };
+            }));
+        }
+
+        cases.add(new BenchmarkCase("GridPanel.toGridCoord", "", () -> {
+            Point2D[] points = randomPoints(1024);
+            int[] next = {0};
+            return blackhole -> {
+                Point2D point = points[next[0]++ & 1023];
+                blackhole.consume(GridPanel.toGridCoord(point.getX(), point.getY()));
+            };
+        }));
+        return cases;
+    }
+
+    static Point2D[] randomPoints(int count) {
+        Random random = new Random(42);
+        Point2D[] points = new Point2D[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = new Point2D.Double(random.nextDouble() * 2000, random.nextDouble() * 1500);
+        }
+        return points;
+    }
+
+    static List<IncidentEvent> randomIncidents(int count) {
+        Random random = new Random(42);
+        Severity[] severities = {Severity.LOW, Severity.MODERATE, Severity.HIGH};
+        List<IncidentEvent> incidents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String time = String.format("%02d:%02d:%02d", random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            incidents.add(new IncidentEvent(time, i + 1, EventType.FIRE_DETECTED, severities[random.nextInt(3)], Faults.NONE));
+        }
+        return incidents;
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import main.EventSocket;
+import main.Scheduler;
+import main.replay.VirtualClock;
+import subsystems.Event;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneUpdateEvent;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks choosing the next fire for an idle drone, {@link Scheduler#findNextFireNeedingHelp},
+ * across fleet and fire counts.
+ */
+public class SchedulingBenchmarks {
+    // the scheduler assigns every drone before a case runs, which grows as drones x fires squared
+    private static final int[] FLEET_SIZES = {10, 50, 200};
+    private static final int[] FIRE_COUNTS = {10, 100, 500};
+
+    /**
+     * Discards what the scheduler sends.
+     */
+    private static class NullSocket extends EventSocket {
+        @Override
+        public void send(Event event, InetAddress address, int port) {
+        }
+
+        @Override
+        public Event receive() {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the benchmark cases.
+     *
+     * @return a case per fleet size and fire count
+     */
+    public static List<BenchmarkCase> cases() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        for (int drones : FLEET_SIZES) {
+            for (int fires : FIRE_COUNTS) {
+                cases.add(new BenchmarkCase("Scheduler.findNextFireNeedingHelp", "drones=" + drones + ",fires=" + fires, () -> {
+                    Scheduler scheduler = populatedScheduler(drones, fires);
+                    DroneInfo idle = new DroneInfo(InetAddress.getLoopbackAddress(), 6000);
+                    return blackhole -> blackhole.consume(scheduler.findNextFireNeedingHelp(idle));
+                }));
+            }
+        }
+        return cases;
+    }
+
+    /**
+     * Builds a headless scheduler with zones, registered drones and active fires, and lets it
+     * assign its drones so the fires are partly covered, as in a busy live run.
+     */
+    static Scheduler populatedScheduler(int drones, int fires) {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        NullSocket socket = new NullSocket();
+        Scheduler scheduler = new Scheduler(socket, socket, localhost, 7000, new VirtualClock(Instant.ofEpochMilli(0)), true);
+        scheduler.setDispatchPacing(0);
+
+        Random random = new Random(42);
+        Severity[] severities = {Severity.LOW, Severity.MODERATE, Severity.HIGH};
+        for (int zone = 1; zone <= fires; zone++) {
+            double x = random.nextDouble() * 1500;
+            double y = random.nextDouble() * 1000;
+            scheduler.processNext(new ZoneEvent(zone, new Point2D.Double(x, y), new Point2D.Double(x + 100, y + 100)));
+        }
+        for (int i = 0; i < drones; i++) {
+            scheduler.processNext(new DroneUpdateEvent(new DroneInfo(localhost, 6001 + i)));
+        }
+        for (int zone = 1; zone <= fires; zone++) {
+            String time = String.format("%02d:%02d:%02d", zone / 3600 % 24, zone / 60 % 60, zone % 60);
+            scheduler.processNext(new IncidentEvent(time, zone, EventType.FIRE_DETECTED, severities[random.nextInt(3)], Faults.NONE));
+        }
+        scheduler.processNext(null);
+        return scheduler;
+    }
+}
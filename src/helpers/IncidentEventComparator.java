@@ -21,8 +21,8 @@ public class IncidentEventComparator implements Comparator<IncidentEvent> {
             return Integer.compare(severityB, severityA);
         }
 
-        // compare by timestamp if severities are equal
-        return a.getParsedTime().compareTo(b.getParsedTime());
+        // compare by time of day if severities are equal
+        return Long.compare(a.getTimeOfDayNanos(), b.getTimeOfDayNanos());
     }
 
     /**
@@ -0,0 +1,356 @@
+package helpers;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A hash map from int keys to objects that does not box its keys.
+ *
+ * Keys and values are kept in two parallel arrays with open addressing and linear probing, so a
+ * lookup is a multiplicative hash and a scan of adjacent slots, without a node per entry. Removal
+ * shifts the following entries back instead of leaving tombstones, so lookups stay short however
+ * many drones come and go.
+ *
+ * The int overloads, e.g. {@link #get(int)} and {@link #put(int, Object)}, never allocate. The
+ * {@link Map} methods work as usual for code that needs a Map, except that values cannot be null
+ * and removing through an iterator is not supported; use {@link #remove(int)} instead.
+ *
+ * @param <V> the type of the values
+ */
+public class IntHashMap<V> extends AbstractMap<Integer, V> {
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Receives the entries of a map without boxing the keys.
+     *
+     * @param <V> the type of the values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    /**
+     * The slots, swapped as a whole on resize so a reader always sees matching arrays.
+     * A slot is free when its value is null.
+     */
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    private Table table;
+    private int size;
+    private int modCount;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map that holds the given number of entries before it resizes.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public IntHashMap(int expectedSize) {
+        table = new Table(capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        Table t = table;
+        for (int i = slot(key, t.mask); ; i = (i + 1) & t.mask) {
+            Object value = t.values[i];
+            if (value == null) {
+                return null;
+            }
+            if (t.keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key   the key
+     * @param value the value, not null
+     * @return the previous value, or null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "value");
+        Table t = table;
+        int i = slot(key, t.mask);
+        while (t.values[i] != null) {
+            if (t.keys[i] == key) {
+                V previous = (V) t.values[i];
+                t.values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & t.mask;
+        }
+        t.keys[i] = key;
+        t.values[i] = value;
+        modCount++;
+        if (++size > maxSize(t)) {
+            resize(t.keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the removed value, or null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        Table t = table;
+        for (int i = slot(key, t.mask); t.values[i] != null; i = (i + 1) & t.mask) {
+            if (t.keys[i] == key) {
+                V previous = (V) t.values[i];
+                shiftBack(t, i);
+                size--;
+                modCount++;
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calls an action for every entry, without boxing the keys. The map must not be changed by the action.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachEntry(EntryConsumer<? super V> action) {
+        Table t = table;
+        int expected = modCount;
+        for (int i = 0; i < t.values.length; i++) {
+            Object value = t.values[i];
+            if (value != null) {
+                action.accept(t.keys[i], (V) value);
+            }
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer k ? get(k.intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer k && containsKey(k.intValue());
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer k ? remove(k.intValue()) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Entry<Integer, V>> {
+        private final Table t = table;
+        private final int expected = modCount;
+        private int next = advance(0);
+
+        private int advance(int from) {
+            while (from < t.values.length && t.values[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < t.values.length;
+        }
+
+        @Override
+        public Entry<Integer, V> next() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = next;
+            next = advance(i + 1);
+            return new SlotEntry(t, i);
+        }
+    }
+
+    /**
+     * An entry backed by its slot, so {@link #setValue} writes through to the map.
+     */
+    private final class SlotEntry implements Entry<Integer, V> {
+        private final Table t;
+        private final int slot;
+        private final int key;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        SlotEntry(Table t, int slot) {
+            this.t = t;
+            this.slot = slot;
+            this.key = t.keys[slot];
+            this.value = (V) t.values[slot];
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value, "value");
+            V previous = this.value;
+            t.values[slot] = value;
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> e && Objects.equals(getKey(), e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key ^ value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Fills the hole left by a removed entry with the following entries that probed past it.
+     */
+    private static void shiftBack(Table t, int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & t.mask;
+            if (t.values[i] == null) {
+                break;
+            }
+            int home = slot(t.keys[i], t.mask);
+            // the entry stays if its home slot lies cyclically in (hole, i]
+            boolean stays = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!stays) {
+                t.keys[hole] = t.keys[i];
+                t.values[hole] = t.values[i];
+                hole = i;
+            }
+        }
+        t.values[hole] = null;
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        for (int i = 0; i < old.values.length; i++) {
+            if (old.values[i] != null) {
+                int j = slot(old.keys[i], resized.mask);
+                while (resized.values[j] != null) {
+                    j = (j + 1) & resized.mask;
+                }
+                resized.keys[j] = old.keys[i];
+                resized.values[j] = old.values[i];
+            }
+        }
+        table = resized;
+    }
+
+    private static int maxSize(Table t) {
+        return t.keys.length / 4 * 3;
+    }
+
+    static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Spreads keys with Fibonacci hashing, so sequential IDs do not probe into each other.
+     */
+    static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
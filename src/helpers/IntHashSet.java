@@ -0,0 +1,170 @@
+package helpers;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A hash set of ints that does not box its elements.
+ *
+ * Uses the same open addressing as {@link IntHashMap}, with 0 marking a free slot and whether 0 is
+ * in the set kept separately.
+ */
+public class IntHashSet {
+    private static final int FREE = 0;
+
+    private int[] keys;
+    private int mask;
+    private boolean containsZero;
+    private int size;
+
+    /**
+     * Creates an empty set.
+     */
+    public IntHashSet() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty set that holds the given number of elements before it resizes.
+     *
+     * @param expectedSize the expected number of elements
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(IntHashMap.capacityFor(expectedSize));
+    }
+
+    public boolean contains(int key) {
+        if (key == FREE) {
+            return containsZero;
+        }
+        int[] k = keys;
+        int m = mask;
+        for (int i = IntHashMap.slot(key, m); k[i] != FREE; i = (i + 1) & m) {
+            if (k[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param key the element
+     * @return true if it was not already in the set
+     */
+    public boolean add(int key) {
+        if (key == FREE) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = IntHashMap.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        if (++size > keys.length / 4 * 3) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param key the element
+     * @return true if it was in the set
+     */
+    public boolean remove(int key) {
+        if (key == FREE) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        for (int i = IntHashMap.slot(key, mask); keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calls an action for every element. The set must not be changed by the action.
+     *
+     * @param action the action
+     */
+    public void forEach(IntConsumer action) {
+        if (containsZero) {
+            action.accept(FREE);
+        }
+        int[] k = keys;
+        for (int key : k) {
+            if (key != FREE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        allocate(IntHashMap.capacityFor(0));
+        containsZero = false;
+        size = 0;
+    }
+
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == FREE) {
+                break;
+            }
+            int home = IntHashMap.slot(keys[i], mask);
+            // the element stays if its home slot lies cyclically in (hole, i]
+            boolean stays = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!stays) {
+                keys[hole] = keys[i];
+                hole = i;
+            }
+        }
+        keys[hole] = FREE;
+    }
+
+    private void resize(int capacity) {
+        int[] old = keys;
+        allocate(capacity);
+        for (int key : old) {
+            if (key != FREE) {
+                int j = IntHashMap.slot(key, mask);
+                while (keys[j] != FREE) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+    }
+}
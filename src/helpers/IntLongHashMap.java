@@ -0,0 +1,178 @@
+package helpers;
+
+/**
+ * A hash map from int keys to long values that boxes neither, e.g. for timestamps and counters
+ * keyed by drone or zone ID.
+ *
+ * Uses the same open addressing as {@link IntHashMap}. Callers pass the value to return for a
+ * missing key, so any long can be stored.
+ */
+public class IntLongHashMap {
+    private int[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntLongHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that holds the given number of entries before it resizes.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public IntLongHashMap(int expectedSize) {
+        allocate(IntHashMap.capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key          the key
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value
+     */
+    public long get(int key, long defaultValue) {
+        int i = find(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(int key, long value) {
+        int i = insert(key);
+        values[i] = value;
+    }
+
+    /**
+     * Adds to the value of a key, starting from 0 if it is not in the map.
+     *
+     * @param key   the key
+     * @param delta the amount to add
+     * @return the new value
+     */
+    public long addTo(int key, long delta) {
+        int i = insert(key);
+        values[i] += delta;
+        return values[i];
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key          the key
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the removed value
+     */
+    public long remove(int key, long defaultValue) {
+        int i = find(key);
+        if (i < 0) {
+            return defaultValue;
+        }
+        long previous = values[i];
+        shiftBack(i);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        allocate(IntHashMap.capacityFor(0));
+        size = 0;
+    }
+
+    private int find(int key) {
+        for (int i = IntHashMap.slot(key, mask); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the slot of a key, adding the key with the value 0 if it is not in the map.
+     */
+    private int insert(int key) {
+        int i = IntHashMap.slot(key, mask);
+        while (used[i]) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size + 1 > keys.length / 4 * 3) {
+            resize(keys.length * 2);
+            return insert(key);
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = 0;
+        size++;
+        return i;
+    }
+
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (!used[i]) {
+                break;
+            }
+            int home = IntHashMap.slot(keys[i], mask);
+            // the entry stays if its home slot lies cyclically in (hole, i]
+            boolean stays = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!stays) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        used[hole] = false;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int j = IntHashMap.slot(oldKeys[i], mask);
+                while (used[j]) {
+                    j = (j + 1) & mask;
+                }
+                used[j] = true;
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,255 @@
+package logger;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log records to standard output on a background thread.
+ *
+ * Callers claim a slot in a preallocated ring buffer with a single compare-and-set, fill it in and
+ * publish it; no locks are taken and nothing is allocated on the caller's thread. The writer thread
+ * formats published records in sequence order and writes them in batches.
+ *
+ * When the buffer is full the {@link OverflowPolicy} decides what happens to new records.
+ */
+class AsyncLogWriter {
+    private static final String RESET = "\u001B[0m";
+    private static final int MAX_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    /**
+     * Decides what happens to a record when the ring buffer is full.
+     */
+    enum OverflowPolicy {
+        /** wait for the writer to free a slot */
+        BLOCK,
+        /** discard the record */
+        DROP,
+        /** keep one in every sampleRate records (waiting for a slot), discard the rest */
+        SAMPLE
+    }
+
+    /**
+     * A preallocated ring buffer slot.
+     */
+    private static final class LogRecord {
+        volatile long sequence = -1;
+        long timestamp;
+        String color;
+        String level;
+        String subsystem;
+        int id;
+        String message;
+    }
+
+    private final LogRecord[] slots;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed = 0;
+    private volatile boolean writerParked = false;
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final Thread writer;
+
+    private long reportedDrops = 0;
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTime;
+
+    /**
+     * Creates the writer and starts its background thread.
+     *
+     * @param capacity       the number of slots, rounded up to a power of two
+     * @param overflowPolicy what to do with records when the buffer is full
+     * @param sampleRate     for {@link OverflowPolicy#SAMPLE}, keep one in this many overflowing records
+     */
+    AsyncLogWriter(int capacity, OverflowPolicy overflowPolicy, int sampleRate) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new LogRecord[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LogRecord();
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+
+        this.writer = new Thread(this::drain, "EventLogger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(TimeUnit.SECONDS.toNanos(2))));
+    }
+
+    /**
+     * Enqueues a record for writing.
+     *
+     * @return true if the record was enqueued, false if it was dropped
+     */
+    boolean publish(String color, String level, String subsystem, int id, String message) {
+        long timestamp = System.currentTimeMillis();
+        long sequence;
+        // an overflowing record is admitted or dropped once, however often it loses the race for a slot
+        boolean admitted = false;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                if (!admitted && !admitOverflow()) {
+                    dropped.increment();
+                    return false;
+                }
+                admitted = true;
+                while (sequence - consumed >= slots.length) {
+                    LockSupport.unpark(writer);
+                    Thread.onSpinWait();
+                    sequence = claimed.get();
+                }
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+
+        LogRecord record = slots[(int) (sequence & mask)];
+        record.timestamp = timestamp;
+        record.color = color;
+        record.level = level;
+        record.subsystem = subsystem;
+        record.id = id;
+        record.message = message;
+        record.sequence = sequence; // publish
+
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * Decides whether a record that found the buffer full may wait for a slot.
+     */
+    private boolean admitOverflow() {
+        return switch (overflowPolicy) {
+            case BLOCK -> true;
+            case DROP -> false;
+            case SAMPLE -> overflowCount.getAndIncrement() % sampleRate == 0;
+        };
+    }
+
+    /**
+     * Gets the number of records discarded because the buffer was full.
+     *
+     * @return the dropped record count
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until every record published before this call has been written.
+     *
+     * @param timeoutNanos the maximum time to wait
+     */
+    void flush(long timeoutNanos) {
+        long target = claimed.get();
+        long start = System.nanoTime();
+        while (consumed < target && System.nanoTime() - start < timeoutNanos) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(50_000);
+        }
+    }
+
+    /**
+     * Runs on the writer thread, formatting and writing published records in batches.
+     */
+    private void drain() {
+        StringBuilder batch = new StringBuilder(8192);
+        long next = 0;
+
+        while (true) {
+            int count = 0;
+            LogRecord record = slots[(int) (next & mask)];
+            while (count < MAX_BATCH && record.sequence == next) {
+                format(record, batch);
+                record.color = null;
+                record.subsystem = null;
+                record.message = null;
+                next++;
+                count++;
+                record = slots[(int) (next & mask)];
+            }
+
+            if (count > 0) {
+                reportDrops(batch);
+                write(batch);
+                consumed = next;
+                continue;
+            }
+
+            writerParked = true;
+            if (record.sequence != next) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+
+            reportDrops(batch);
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        }
+    }
+
+    /**
+     * Appends a warning line when records have been dropped since the last report.
+     */
+    private void reportDrops(StringBuilder batch) {
+        long drops = dropped.sum();
+        if (drops != reportedDrops) {
+            batch.append("\u001B[33m[EventLogger] ").append(drops - reportedDrops)
+                    .append(" log records dropped (buffer full)").append(RESET).append(System.lineSeparator());
+            reportedDrops = drops;
+        }
+    }
+
+    private void write(StringBuilder batch) {
+        PrintStream out = System.out;
+        out.print(batch);
+        out.flush();
+        batch.setLength(0);
+    }
+
+    /**
+     * Formats a record the same way the logger always has:
+     * "[time] [LEVEL] [SUBSYSTEM] message" or "[time] [LEVEL] [DRONE id] message".
+     */
+    private void format(LogRecord record, StringBuilder out) {
+        out.append(record.color).append('[').append(formatTime(record.timestamp)).append("] [")
+                .append(record.level).append("] [");
+
+        if (record.id == EventLogger.NO_ID) {
+            out.append(record.subsystem);
+        } else {
+            out.append("DRONE ").append(record.id);
+        }
+        out.append("] ").append(record.message).append(RESET).append(System.lineSeparator());
+    }
+
+    /**
+     * Formats a timestamp as HH:mm:ss, reusing the previous result within the same second.
+     */
+    private String formatTime(long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTime = LocalTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).format(TIME_FORMAT);
+        }
+        return cachedTime;
+    }
+}
@@ -1,62 +1,118 @@
 package logger;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-
 public class EventLogger {
-    private static final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm:ss");
-
     private static final String RESET  = "\u001B[0m";
     private static final String RED    = "\u001B[31m";
     private static final String YELLOW = "\u001B[33m";
     private static final String GREEN  = "\u001B[32m";
     public static final int NO_ID = -2;
 
+    /**
+     * Records are written by a background thread. The ring buffer size, overflow policy
+     * (BLOCK, DROP or SAMPLE) and sample rate can be set with the logger.bufferSize,
+     * logger.overflow and logger.sampleRate system properties.
+     */
+    private static final AsyncLogWriter writer = new AsyncLogWriter(
+            Integer.getInteger("logger.bufferSize", 8192),
+            AsyncLogWriter.OverflowPolicy.valueOf(System.getProperty("logger.overflow", "BLOCK").trim().toUpperCase()),
+            Integer.getInteger("logger.sampleRate", 10));
+
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ClassValue<String> subsystemNames = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return subsystemName(type);
+        }
+    };
+
+    /** records below this level are discarded, set with the logger.level system property */
+    private static volatile int threshold = LogLevel.valueOf(System.getProperty("logger.level", "INFO").trim().toUpperCase()).ordinal();
+
     /**
      * Logs an information log. If the id is -2, it is a scheduler or fire incident subsystem.
+     * Classes that log often should use a {@link Logger} instead.
      *
-     * @param clazz
      * @param id
      * @param message
      * @param definitiveEvent
      */
     public static void info(int id, String message, boolean definitiveEvent) {
-        String color = definitiveEvent ? GREEN : RESET;
-        log(color, "INFO", getCallingClassName(), id, message);
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, definitiveEvent, subsystemNames.get(walker.getCallerClass()), id, message);
+        }
     }
 
     public static void warn(int id, String message) {
-        log(YELLOW, "WARN", getCallingClassName(), id, message);
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, false, subsystemNames.get(walker.getCallerClass()), id, message);
+        }
     }
 
     public static void error(int id, String message) {
-        log(RED, "ERROR", getCallingClassName(), id, message);
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, false, subsystemNames.get(walker.getCallerClass()), id, message);
+        }
     }
 
-    private static void log(String color, String level, String subsystem, int id, String message) {
-        String timestamp = LocalTime.now().format(timeFormat);
+    /**
+     * Sets the minimum level of the records that are written.
+     *
+     * @param level the level threshold, or {@link LogLevel#OFF} to disable logging
+     */
+    public static void setLevel(LogLevel level) {
+        threshold = level.ordinal();
+    }
 
-        // if it's the Scheduler or FireIncidentSubsystem (no ID needed)
-        if (id == NO_ID) {
-            System.out.printf("%s[%s] [%s] [%s] %s%s%n", color, timestamp, level, subsystem, message, RESET);
-            return;
-        }
-        // for drone-related logs with ID
-        System.out.printf("%s[%s] [%s] [%s %d] %s%s%n",
-                color,
-                timestamp,
-                level,
-                "DRONE",
-                id, message, RESET);
+    /**
+     * Gets the minimum level of the records that are written.
+     *
+     * @return the level threshold
+     */
+    public static LogLevel getLevel() {
+        return LogLevel.values()[threshold];
     }
 
+    /**
+     * Checks whether records of a level are currently written.
+     *
+     * @param level the level to check
+     * @return true if records of the level are written
+     */
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
 
-    private static String getCallingClassName() {
-        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
-        if (stack.length >= 4) {
-            String fullClassName = stack[3].getClassName();
-            return fullClassName.substring(fullClassName.lastIndexOf('.') + 1).toUpperCase();
-        }
-        return "UNKNOWN";
+    /**
+     * Blocks until every record logged so far has been written.
+     */
+    public static void flush() {
+        writer.flush(Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the number of records discarded because the log buffer was full.
+     *
+     * @return the dropped record count
+     */
+    public static long getDroppedCount() {
+        return writer.getDroppedCount();
+    }
+
+    static void log(LogLevel level, boolean definitiveEvent, String subsystem, int id, String message) {
+        String color = switch (level) {
+            case WARN -> YELLOW;
+            case ERROR -> RED;
+            default -> definitiveEvent ? GREEN : RESET;
+        };
+        // formatting and output happen on the writer thread
+        writer.publish(color, level.name(), subsystem, id, message);
+    }
+
+    /**
+     * Gets the name a class is logged under: its name without the package, in upper case.
+     */
+    static String subsystemName(Class<?> clazz) {
+        String fullClassName = clazz.getName();
+        return fullClassName.substring(fullClassName.lastIndexOf('.') + 1).toUpperCase();
     }
 }
@@ -0,0 +1,12 @@
+package logger;
+
+/**
+ * The severity levels of log records, in increasing order of severity.
+ */
+public enum LogLevel {
+    INFO,
+    WARN,
+    ERROR,
+    /** disables all logging when used as the threshold */
+    OFF
+}
@@ -0,0 +1,92 @@
+package logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A logger bound to a class, so the subsystem name is resolved once instead of on every call.
+ *
+ * Obtain one per class with {@link #getLogger(Class)} and keep it in a static final field.
+ * Records below the level threshold (see {@link EventLogger#setLevel(LogLevel)}) are discarded
+ * before the message is built; pass a {@link Supplier} when building the message is itself costly.
+ */
+public final class Logger {
+    private static final Map<Class<?>, Logger> loggers = new ConcurrentHashMap<>();
+
+    private final String subsystem;
+
+    private Logger(String subsystem) {
+        this.subsystem = subsystem;
+    }
+
+    /**
+     * Gets the logger of a class.
+     *
+     * @param clazz the class that logs
+     * @return the logger, shared by all callers for the same class
+     */
+    public static Logger getLogger(Class<?> clazz) {
+        return loggers.computeIfAbsent(clazz, c -> new Logger(EventLogger.subsystemName(c)));
+    }
+
+    /**
+     * Checks whether records of a level are currently written.
+     *
+     * @param level the level to check
+     * @return true if records of the level are written
+     */
+    public boolean isEnabled(LogLevel level) {
+        return EventLogger.isEnabled(level);
+    }
+
+    /**
+     * Logs an information log. If the id is -2, it is a scheduler or fire incident subsystem.
+     *
+     * @param id              the drone ID, or {@link EventLogger#NO_ID}
+     * @param message         the message
+     * @param definitiveEvent true to highlight the record
+     */
+    public void info(int id, String message, boolean definitiveEvent) {
+        if (EventLogger.isEnabled(LogLevel.INFO)) {
+            EventLogger.log(LogLevel.INFO, definitiveEvent, subsystem, id, message);
+        }
+    }
+
+    /**
+     * Logs an information log whose message is only built if INFO is enabled.
+     *
+     * @param id              the drone ID, or {@link EventLogger#NO_ID}
+     * @param message         supplies the message
+     * @param definitiveEvent true to highlight the record
+     */
+    public void info(int id, Supplier<String> message, boolean definitiveEvent) {
+        if (EventLogger.isEnabled(LogLevel.INFO)) {
+            EventLogger.log(LogLevel.INFO, definitiveEvent, subsystem, id, message.get());
+        }
+    }
+
+    public void warn(int id, String message) {
+        if (EventLogger.isEnabled(LogLevel.WARN)) {
+            EventLogger.log(LogLevel.WARN, false, subsystem, id, message);
+        }
+    }
+
+    public void warn(int id, Supplier<String> message) {
+        if (EventLogger.isEnabled(LogLevel.WARN)) {
+            EventLogger.log(LogLevel.WARN, false, subsystem, id, message.get());
+        }
+    }
+
+    public void error(int id, String message) {
+        if (EventLogger.isEnabled(LogLevel.ERROR)) {
+            EventLogger.log(LogLevel.ERROR, false, subsystem, id, message);
+        }
+    }
+
+    public void error(int id, Supplier<String> message) {
+        if (EventLogger.isEnabled(LogLevel.ERROR)) {
+            EventLogger.log(LogLevel.ERROR, false, subsystem, id, message.get());
+        }
+    }
+}
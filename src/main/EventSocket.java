@@ -1,9 +1,11 @@
 package main;
 
 import logger.EventLogger;
+import logger.Logger;
 import subsystems.*;
 import java.net.*;
 import java.io.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A class responsible for managing the communication of events using UDP sockets.
@@ -12,8 +14,12 @@ import java.io.*;
 
 public class
 
-EventSocket {
+EventSocket implements EventTransport {
+    private static final Logger LOGGER = Logger.getLogger(EventSocket.class);
     private DatagramSocket socket;
+    private volatile InetAddress lastSenderAddress;
+    private volatile int lastSenderPort = -1;
+    private final LongAdder errors = new LongAdder();
 
 
     /**
@@ -50,18 +56,16 @@ EventSocket {
      * @param address The address to send the event to.
      * @param port The port to send the event to.
      */
+    @Override
     public void send(Event event, InetAddress address, int port) {
         try {
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
-            objectOutputStream.writeObject(event);
-            objectOutputStream.flush(); // Ensure data is flushed
-            byte[] msg = byteArrayOutputStream.toByteArray();
+            byte[] msg = serialize(event);
 
             DatagramPacket packet = new DatagramPacket(msg, msg.length, address, port);
             socket.send(packet);
         } catch (IOException e) {
-            EventLogger.error(EventLogger.NO_ID, "[EventSocket] Error sending event: " + e.getMessage());
+            errors.increment();
+            LOGGER.error(EventLogger.NO_ID, "[EventSocket] Error sending event: " + e.getMessage());
         }
     }
 
@@ -70,6 +74,7 @@ EventSocket {
      *
      * @return The received event, or null if there was an error during reception.
      */
+    @Override
     public Event receive() {
         byte[] data = new byte[4096];
         DatagramPacket packet = new DatagramPacket(data, data.length);
@@ -80,22 +85,108 @@ EventSocket {
                 System.err.println("[EventSocket] Received an empty packet.");
                 return null;
             }
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(data, 0, length);
-            ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
-            Event event = (Event) objectInputStream.readObject();
-            return event;
+            lastSenderAddress = packet.getAddress();
+            lastSenderPort = packet.getPort();
+            return deserialize(data, 0, length);
         } catch (SocketTimeoutException e) {
             // No packet received in time
             return null;
         } catch (EOFException e) {
+            errors.increment();
             System.err.println("[EventSocket] EOFException during receive: " + e.getMessage());
             return null;
         } catch (IOException | ClassNotFoundException e) {
+            errors.increment();
             System.err.println("[EventSocket] IOException during receive: " + e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Sets the SO_TIMEOUT of the DatagramSocket.
+     *
+     * @param timeoutMillis The timeout in milliseconds, or 0 to wait forever.
+     * @throws RuntimeException if the timeout cannot be set.
+     */
+    @Override
+    public void setReceiveTimeout(int timeoutMillis) {
+        try {
+            socket.setSoTimeout(timeoutMillis);
+        } catch (SocketException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Retrieves the port the DatagramSocket is bound to.
+     *
+     * @return The local port.
+     */
+    @Override
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Encodes an event into the bytes sent in a datagram.
+     *
+     * @param event The event to encode.
+     * @return The serialized event.
+     * @throws IOException if the event cannot be serialized.
+     */
+    public static byte[] serialize(Event event) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
+        objectOutputStream.writeObject(event);
+        objectOutputStream.flush(); // Ensure data is flushed
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Decodes an event from the bytes of a datagram.
+     *
+     * @param data The buffer holding the serialized event.
+     * @param offset The offset of the event in the buffer.
+     * @param length The length of the serialized event.
+     * @return The decoded event.
+     * @throws IOException if the bytes are not a valid serialized object.
+     * @throws ClassNotFoundException if the event class is unknown.
+     */
+    public static Event deserialize(byte[] data, int offset, int length) throws IOException, ClassNotFoundException {
+        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(data, offset, length);
+        ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
+        return (Event) objectInputStream.readObject();
+    }
+
+    /**
+     * Retrieves the address of the sender of the most recently received event.
+     *
+     * @return The sender address, or null if nothing has been received.
+     */
+    @Override
+    public InetAddress getLastSenderAddress() {
+        return lastSenderAddress;
+    }
+
+    /**
+     * Retrieves the port of the sender of the most recently received event.
+     *
+     * @return The sender port, or -1 if nothing has been received.
+     */
+    @Override
+    public int getLastSenderPort() {
+        return lastSenderPort;
+    }
+
+    /**
+     * Retrieves the number of events that could not be sent or received, not counting receive timeouts.
+     *
+     * @return The error count.
+     */
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
 
     /**
      * Retrieves the DatagramSocket associated with this EventSocket.
@@ -109,6 +200,7 @@ EventSocket {
     /**
      * Closes the DatagramSocket if it is open.
      */
+    @Override
     public void close() {
         if (socket != null && !socket.isClosed()) {
             socket.close();
@@ -0,0 +1,72 @@
+package main;
+
+import subsystems.Event;
+
+import java.net.InetAddress;
+
+/**
+ * An endpoint that events are sent from and received on.
+ *
+ * {@link EventSocket} carries events in UDP datagrams between processes, while
+ * {@link LoopbackTransport} hands them over in memory so the Scheduler, the fire incident
+ * subsystem and the drones can run in one JVM, e.g. in tests and benchmarks.
+ */
+public interface EventTransport {
+
+    /**
+     * Sends an event to the endpoint at the given address and port.
+     * Delivery is not guaranteed and failures are counted rather than thrown.
+     *
+     * @param event The event to be sent.
+     * @param address The address to send the event to.
+     * @param port The port to send the event to.
+     */
+    void send(Event event, InetAddress address, int port);
+
+    /**
+     * Receives the next event, blocking until one arrives or the receive timeout expires.
+     *
+     * @return The received event, or null on timeout or error.
+     */
+    Event receive();
+
+    /**
+     * Sets how long {@link #receive()} waits for an event.
+     *
+     * @param timeoutMillis The timeout in milliseconds, or 0 to wait forever.
+     */
+    void setReceiveTimeout(int timeoutMillis);
+
+    /**
+     * Retrieves the port this endpoint receives on.
+     *
+     * @return The local port.
+     */
+    int getLocalPort();
+
+    /**
+     * Retrieves the address of the sender of the most recently received event.
+     *
+     * @return The sender address, or null if nothing has been received.
+     */
+    InetAddress getLastSenderAddress();
+
+    /**
+     * Retrieves the port of the sender of the most recently received event.
+     *
+     * @return The sender port, or -1 if nothing has been received.
+     */
+    int getLastSenderPort();
+
+    /**
+     * Retrieves the number of events that could not be sent or received, not counting receive timeouts.
+     *
+     * @return The error count.
+     */
+    long getErrorCount();
+
+    /**
+     * Closes the endpoint. Events can no longer be sent or received.
+     */
+    void close();
+}
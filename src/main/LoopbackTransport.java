@@ -0,0 +1,289 @@
+package main;
+
+import logger.EventLogger;
+import logger.Logger;
+import subsystems.Event;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link EventTransport} that delivers events in memory to other endpoints of the same
+ * {@link Network}, so a whole swarm can run in one JVM without binding UDP ports.
+ *
+ * Each endpoint receives from a lock-free queue that any number of senders append to. Endpoints
+ * are addressed by port only; the address passed to {@link #send} is ignored, so the addresses
+ * drones register with work unchanged. As with UDP, events sent to a port nobody listens on are
+ * silently dropped, and {@link #receive()} is meant to be called by one thread at a time.
+ */
+public class LoopbackTransport implements EventTransport {
+    private static final Logger LOGGER = Logger.getLogger(LoopbackTransport.class);
+    private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+
+    /**
+     * A set of endpoints that can reach each other, and how events travel between them.
+     */
+    public static class Network {
+        private static final int FIRST_EPHEMERAL_PORT = 49152;
+
+        private final ConcurrentHashMap<Integer, LoopbackTransport> endpoints = new ConcurrentHashMap<>();
+        private final AtomicInteger nextPort = new AtomicInteger(FIRST_EPHEMERAL_PORT);
+        private final boolean zeroCopy;
+        private final long latencyNanos;
+        private final double lossRate;
+        private final Random random;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        /**
+         * Creates a network that copies events and delivers every one of them immediately.
+         */
+        public Network() {
+            this(false, Duration.ZERO, 0, 0);
+        }
+
+        /**
+         * Creates a network.
+         *
+         * @param zeroCopy true to hand the sent event object itself to the receiver. Otherwise events
+         *                 are serialized as on the wire, so the receiver gets its own copy and the cost
+         *                 of encoding is kept. With zero copy, senders must not modify an event once sent.
+         * @param latency  how long each event takes to arrive
+         * @param lossRate the probability, from 0 to 1, that an event is lost
+         * @param seed     the seed deciding which events are lost, so lossy runs can be repeated
+         */
+        public Network(boolean zeroCopy, Duration latency, double lossRate, long seed) {
+            if (lossRate < 0 || lossRate > 1) {
+                throw new IllegalArgumentException("Loss rate must be between 0 and 1: " + lossRate);
+            }
+            if (latency.isNegative()) {
+                throw new IllegalArgumentException("Latency must not be negative: " + latency);
+            }
+            this.zeroCopy = zeroCopy;
+            this.latencyNanos = latency.toNanos();
+            this.lossRate = lossRate;
+            this.random = new Random(seed);
+        }
+
+        /**
+         * Opens an endpoint on the next free ephemeral port.
+         *
+         * @return The endpoint.
+         */
+        public LoopbackTransport open() {
+            while (true) {
+                int port = nextPort.getAndIncrement();
+                LoopbackTransport endpoint = new LoopbackTransport(this, port);
+                if (endpoints.putIfAbsent(port, endpoint) == null) {
+                    return endpoint;
+                }
+            }
+        }
+
+        /**
+         * Opens an endpoint on a specific port, e.g. 5000 for the Scheduler or 7000 for the fire
+         * incident subsystem.
+         *
+         * @param port The port to receive on.
+         * @return The endpoint.
+         * @throws IllegalStateException if the port is already open.
+         */
+        public LoopbackTransport open(int port) {
+            LoopbackTransport endpoint = new LoopbackTransport(this, port);
+            if (endpoints.putIfAbsent(port, endpoint) != null) {
+                throw new IllegalStateException("Port " + port + " is already open");
+            }
+            return endpoint;
+        }
+
+        /**
+         * Retrieves the number of events queued for a receiver.
+         *
+         * @return The delivered count.
+         */
+        public long getDeliveredCount() {
+            return delivered.sum();
+        }
+
+        /**
+         * Retrieves the number of events lost, either to the loss rate or because nobody listened on their port.
+         *
+         * @return The dropped count.
+         */
+        public long getDroppedCount() {
+            return dropped.sum();
+        }
+
+        private void deliver(Object payload, int senderPort, int port) {
+            LoopbackTransport receiver = endpoints.get(port);
+            if (receiver == null || (lossRate > 0 && random.nextDouble() < lossRate)) {
+                dropped.increment();
+                return;
+            }
+            long deliverAt = latencyNanos == 0 ? 0 : System.nanoTime() + latencyNanos;
+            receiver.queue.offer(new Envelope(payload, senderPort, deliverAt));
+            delivered.increment();
+        }
+    }
+
+    /**
+     * An event in flight: the event itself with zero copy, otherwise its serialized bytes.
+     */
+    private record Envelope(Object payload, int senderPort, long deliverAtNanos) {
+    }
+
+    // woken receivers see this after close
+    private static final Envelope CLOSED = new Envelope(null, -1, 0);
+
+    private final Network network;
+    private final int port;
+    private final LinkedTransferQueue<Envelope> queue = new LinkedTransferQueue<>();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean closed;
+    private volatile int timeoutMillis;
+    private volatile int lastSenderPort = -1;
+    // taken from the queue but not due before the last receive timed out; only used by the receiving thread
+    private Envelope pending;
+
+    private LoopbackTransport(Network network, int port) {
+        this.network = network;
+        this.port = port;
+    }
+
+    @Override
+    public void send(Event event, InetAddress address, int port) {
+        if (closed) {
+            errors.increment();
+            LOGGER.error(EventLogger.NO_ID, "[LoopbackTransport] Error sending event: endpoint " + this.port + " is closed");
+            return;
+        }
+        try {
+            network.deliver(network.zeroCopy ? event : EventSocket.serialize(event), this.port, port);
+        } catch (IOException e) {
+            errors.increment();
+            LOGGER.error(EventLogger.NO_ID, "[LoopbackTransport] Error sending event: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Event receive() {
+        if (closed) {
+            return null;
+        }
+        int timeout = timeoutMillis;
+        long deadline = timeout == 0 ? Long.MAX_VALUE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        Envelope envelope = pending;
+        pending = null;
+        try {
+            if (envelope == null) {
+                envelope = timeout == 0 ? queue.take() : queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (envelope == null || envelope == CLOSED) {
+            return null;
+        }
+        if (!awaitDelivery(envelope.deliverAtNanos(), deadline)) {
+            pending = envelope;
+            return null;
+        }
+
+        lastSenderPort = envelope.senderPort();
+        if (envelope.payload() instanceof Event event) {
+            return event;
+        }
+        byte[] data = (byte[]) envelope.payload();
+        try {
+            return EventSocket.deserialize(data, 0, data.length);
+        } catch (IOException | ClassNotFoundException e) {
+            errors.increment();
+            LOGGER.error(EventLogger.NO_ID, "[LoopbackTransport] Error decoding event: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Waits until an event is due, unless that is after the receive deadline.
+     *
+     * @return true once the event is due, false if the deadline comes first.
+     */
+    private boolean awaitDelivery(long deliverAtNanos, long deadlineNanos) {
+        if (deliverAtNanos == 0) {
+            return true;
+        }
+        while (true) {
+            long now = System.nanoTime();
+            if (now - deliverAtNanos >= 0) {
+                return true;
+            }
+            if (deadlineNanos != Long.MAX_VALUE && now - deadlineNanos >= 0) {
+                return false;
+            }
+            long wait = deliverAtNanos - now;
+            if (deadlineNanos != Long.MAX_VALUE) {
+                wait = Math.min(wait, deadlineNanos - now);
+            }
+            LockSupport.parkNanos(wait);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void setReceiveTimeout(int timeoutMillis) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeoutMillis);
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public int getLocalPort() {
+        return port;
+    }
+
+    /**
+     * Retrieves the address of the sender of the most recently received event, which is always
+     * the loopback address.
+     *
+     * @return The loopback address, or null if nothing has been received.
+     */
+    @Override
+    public InetAddress getLastSenderAddress() {
+        return lastSenderPort == -1 ? null : LOOPBACK;
+    }
+
+    @Override
+    public int getLastSenderPort() {
+        return lastSenderPort;
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Closes the endpoint and frees its port. A thread blocked in {@link #receive()} returns null.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        network.endpoints.remove(port, this);
+        queue.offer(CLOSED);
+    }
+}
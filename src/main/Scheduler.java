@@ -1,8 +1,32 @@
 package main;
 
+import helpers.IntHashMap;
+import helpers.IntHashSet;
+import helpers.IntLongHashMap;
 import logger.EventLogger;
+import logger.Logger;
+import main.jfr.ArrivalEvent;
+import main.jfr.DispatchEvent;
+import main.jfr.DroneFaultEvent;
+import main.jfr.DropEvent;
+import main.fleet.FleetTable;
+import main.incidents.IncidentSnapshot;
+import main.incidents.IncidentStore;
+import main.journal.EventJournal;
+import main.metrics.LatencyHistogram;
+import main.metrics.MetricsServer;
+import main.metrics.SchedulerMetrics;
+import main.recovery.RecoveryLog;
+import main.replay.VirtualClock;
+import main.telemetry.TelemetryFormat;
+import main.telemetry.TelemetryPublisher;
+import main.tracing.Span;
+import main.tracing.SpanCollector;
+import main.ui.AsyncDashboardSink;
+import main.ui.DashboardSink;
 import main.ui.DroneStateEnum;
 import main.ui.DroneSwarmDashboard;
+import main.ui.HeadlessDashboard;
 import subsystems.Event;
 import subsystems.EventType;
 import subsystems.drone.DroneInfo;
@@ -17,9 +41,12 @@ import subsystems.fire_incident.events.ZoneEvent;
 
 import java.awt.*;
 import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
 import java.net.InetAddress;
-import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.time.Clock;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -27,47 +54,112 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static main.ui.GridPanel.CELL_SIZE;
 
 public class Scheduler {
-    private static final AtomicInteger nextDroneId = new AtomicInteger(1);
+    private static final Logger LOGGER = Logger.getLogger(Scheduler.class);
     public static int sleepMultiplier = 400;
     public static final Point2D BASE_COORDINATES = new Point2D.Double(0,0);
-    private final EventSocket sendSocket;
-    private final EventSocket receiveSocket;
-    private final HashMap<Integer, Point2D> fireZones;
-    private final HashMap<Integer, IncidentEvent> droneAssignments;
+    private final EventTransport sendSocket;
+    private final EventTransport receiveSocket;
+    // fleet and zone state is keyed by drone or zone ID in int maps, so hot-path lookups do not box
+    private final IntHashMap<Point2D> fireZones;
+    // the incident each drone was dispatched to, as it was at dispatch
+    private final IntHashMap<IncidentSnapshot> droneAssignments;
     private final InetAddress fireSubsystemAddress;
     private final int fireSubsystemPort;
-    private final Map<Integer, DroneInfo> dronesInfo;
+    private final IntHashMap<DroneInfo> dronesInfo;
+    // the latest drone reports by column, for fleet-wide scans
+    private final FleetTable fleet = new FleetTable();
     private volatile boolean running = true;
-    private final Map<Integer, Thread> watchdogs = new ConcurrentHashMap<>();
-    private final DroneSwarmDashboard dashboard;
-    private Set<Integer> dronesReturningToBase = new HashSet<>();
+    private final Map<Integer, Runnable> watchdogs = new ConcurrentHashMap<>();
+    private final DashboardSink dashboard;
+    private final IntHashSet dronesReturningToBase = new IntHashSet();
     private boolean shutdownPending = false;
-    private final Map<Integer, IncidentEvent> activeFires = new HashMap<>();
-    private final Map<IncidentEvent, Long> incidentStartTimes = new HashMap<>();
+    private final IncidentStore incidents = new IncidentStore();
     private long startExtinguishTime = 0;
     private int incidentsCompleted = 0;
+    // written once per zone, so these stay boxed
     private final Map<Integer, Double> zoneResponseTimes = new HashMap<>();
     private final Map<Integer, Double> zoneExtinguishTimes = new HashMap<>();
 
+    // latency distributions in milliseconds, see getLatencyHistograms()
+    private static final long HIGHEST_TRACKABLE_MILLIS = 24 * 60 * 60 * 1000L;
+    private final LatencyHistogram dispatchLatency = new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS);
+    private final LatencyHistogram responseTimes = new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS);
+    private final LatencyHistogram extinguishTimes = new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS);
+    private final LatencyHistogram sortieDurations = new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS);
+    private final Set<Long> respondedIncidents = new HashSet<>();
+    private static final long NO_SORTIE = Long.MIN_VALUE;
+    private final IntLongHashMap sortieStartTimes = new IntLongHashMap();
+    private final IntHashMap<ZoneEvent> zoneBounds = new IntHashMap<>();
+    private final EventJournal journal;
+    private final RecoveryLog recoveryLog;
+    private final TelemetryPublisher telemetry;
+    private final SchedulerMetrics metrics = new SchedulerMetrics();
+    private final MetricsServer metricsServer;
+    private final AtomicInteger nextDroneId = new AtomicInteger(1);
+    private final Clock clock;
+    private long dispatchPacingMillis = 1000;
+
     /**
      * Constructor initializes event managers and HashMaps.
+     * The dashboard is not shown when -Dscheduler.headless=true is set or no display is available.
      */
     public Scheduler(InetAddress fireSubsystemAddress, int fireSubsystemPort) {
-        this.sendSocket = new EventSocket();
-        this.receiveSocket = new EventSocket(5000);
-        this.fireZones = new HashMap<>();
-        this.droneAssignments = new HashMap<>();
-        this.fireSubsystemAddress = fireSubsystemAddress;
-        this.fireSubsystemPort = fireSubsystemPort;
-        this.dronesInfo = new HashMap<>();
-        this.dashboard = new DroneSwarmDashboard();
+        this(new EventSocket(), new EventSocket(5000), fireSubsystemAddress, fireSubsystemPort, Clock.systemUTC(),
+                Boolean.getBoolean("scheduler.headless") || GraphicsEnvironment.isHeadless());
 
-        try {
-            this.receiveSocket.getSocket().setSoTimeout(3000);
-        } catch (SocketException e) {
-            throw new RuntimeException(e);
-        }
+        this.receiveSocket.setReceiveTimeout(3000);
+    }
+
+    /**
+     * Creates a scheduler with the given transports and clock, used to run it headless, to replay
+     * recorded sessions against a virtual clock and to run it in memory with a {@link LoopbackTransport}.
+     *
+     * @param sendSocket The transport events are sent through.
+     * @param receiveSocket The transport events are received from by {@link #run()}.
+     * @param fireSubsystemAddress The address of the fire incident subsystem.
+     * @param fireSubsystemPort The port of the fire incident subsystem.
+     * @param clock The clock used for timestamps and metrics. If it is a {@link VirtualClock},
+     *              watchdogs are scheduled on it instead of on threads.
+     * @param headless true to run without the dashboard. Otherwise the dashboard is updated
+     *                 asynchronously on the Swing event dispatch thread. Either way the dashboard
+     *                 updates are also published as telemetry if scheduler.telemetry is set.
+     */
+    public Scheduler(EventTransport sendSocket, EventTransport receiveSocket, InetAddress fireSubsystemAddress, int fireSubsystemPort,
+                     Clock clock, boolean headless) {
+        this(sendSocket, receiveSocket, fireSubsystemAddress, fireSubsystemPort, clock, headless, false);
+    }
 
+    /**
+     * Creates a scheduler with the given transports and clock that, if standalone, ignores the
+     * scheduler.recovery.dir, scheduler.journal.dir, scheduler.telemetry and scheduler.metrics.port
+     * system properties. A replay runs standalone so it neither restores nor writes the live
+     * recovery log and journal, and does not compete for the live telemetry and metrics ports.
+     *
+     * @param sendSocket The transport events are sent through.
+     * @param receiveSocket The transport events are received from by {@link #run()}.
+     * @param fireSubsystemAddress The address of the fire incident subsystem.
+     * @param fireSubsystemPort The port of the fire incident subsystem.
+     * @param clock The clock used for timestamps and metrics.
+     * @param headless true to run without the dashboard.
+     * @param standalone true to run without recovery, journaling, telemetry and the metrics server.
+     */
+    public Scheduler(EventTransport sendSocket, EventTransport receiveSocket, InetAddress fireSubsystemAddress, int fireSubsystemPort,
+                     Clock clock, boolean headless, boolean standalone) {
+        this.sendSocket = sendSocket;
+        this.receiveSocket = receiveSocket;
+        this.fireZones = new IntHashMap<>();
+        this.droneAssignments = new IntHashMap<>();
+        this.fireSubsystemAddress = fireSubsystemAddress;
+        this.fireSubsystemPort = fireSubsystemPort;
+        this.dronesInfo = new IntHashMap<>();
+        this.clock = clock;
+        DashboardSink localDashboard = headless ? new HeadlessDashboard() : new AsyncDashboardSink(DroneSwarmDashboard::new);
+        this.telemetry = standalone ? null : openTelemetry();
+        this.dashboard = telemetry == null ? localDashboard : DashboardSink.combine(localDashboard, telemetry);
+        this.journal = standalone ? null : openJournal();
+        this.recoveryLog = standalone ? null : openRecoveryLog();
+        registerMetrics(localDashboard);
+        this.metricsServer = standalone ? null : openMetricsServer(metrics);
     }
 
     /**
@@ -79,32 +171,25 @@ public class Scheduler {
             try {
 
                 // assign all IDLE drones to any active fires
-                if (! activeFires.isEmpty()){
+                if (! incidents.isEmpty()){
                     assignAvailableDrones();
                 }
 
                 // Retrieve an event from the queue
                 Event message = receiveSocket.receive();
-
-                switch (message) {
-
-                    // handle event based on its type
-                    case ZoneEvent zoneEvent -> storeZoneData(zoneEvent);
-                    case IncidentEvent incidentEvent -> handleIncidentEvent(incidentEvent);
-                    case DroneArrivedEvent arrivedEvent -> handleDroneArrival(arrivedEvent);
-                    case DropAgentEvent dropEvent -> handleDropAgent(dropEvent);
-                    case DroneUpdateEvent updateEvent -> handleDroneUpdate(updateEvent);
-                    case DroneReassignRequestEvent reassignEvent -> handleReassignDrone(reassignEvent);
-                    case null, default -> {
-                    }
+                if (journal != null && message != null) {
+                    journal.append(EventJournal.Direction.RECEIVED, receiveSocket.getLastSenderAddress(), receiveSocket.getLastSenderPort(), message);
                 }
 
+                handleEvent(message);
+
                 if (! running){
                     break;
                 }
 
             } catch (Exception e) {
-                EventLogger.error(EventLogger.NO_ID, "Issue handling message: " + e.getMessage());
+                metrics.handlerError();
+                LOGGER.error(EventLogger.NO_ID, "Issue handling message: " + e.getMessage());
                 e.printStackTrace();
             }
         }
@@ -118,62 +203,421 @@ public class Scheduler {
     }
 
     /**
-     * Finds the next fire incident that needs help for a given drone.
+     * Processes one event the same way {@link #run()} does: assigns idle drones to active fires,
+     * then handles the event. Used to drive the scheduler without sockets, e.g. when replaying.
+     *
+     * @param message The event to handle, or null to only assign drones.
      */
-    private void assignAvailableDrones() {
-        for (Map.Entry<Integer, DroneInfo> droneEntry : dronesInfo.entrySet()) {
-            int droneID = droneEntry.getKey();
-            DroneInfo drone = droneEntry.getValue();
+    public void processNext(Event message) {
+        if (! incidents.isEmpty()){
+            assignAvailableDrones();
+        }
+        handleEvent(message);
+    }
 
-            // skip any drone that's not idle
-            if (!(drone.getState() instanceof IdleState) || droneAssignments.containsKey(droneID)) continue;
+    /**
+     * Handles an event based on its type and commits the resulting state changes.
+     *
+     * @param message The event to handle, may be null.
+     */
+    private void handleEvent(Event message) {
+        long start = System.nanoTime();
+        switch (message) {
+
+            // handle event based on its type
+            case ZoneEvent zoneEvent -> storeZoneData(zoneEvent);
+            case IncidentEvent incidentEvent -> handleIncidentEvent(incidentEvent);
+            case DroneArrivedEvent arrivedEvent -> handleDroneArrival(arrivedEvent);
+            case DropAgentEvent dropEvent -> handleDropAgent(dropEvent);
+            case DroneUpdateEvent updateEvent -> handleDroneUpdate(updateEvent);
+            case DroneReassignRequestEvent reassignEvent -> handleReassignDrone(reassignEvent);
+            case null, default -> {
+            }
+        }
 
-            Optional<IncidentEvent> next = findNextFireNeedingHelp(drone);
-            next.ifPresent(incident -> assignDroneToIncident(incident, drone));
+        if (message != null) {
+            metrics.eventHandled(message.getClass().getSimpleName(), System.nanoTime() - start);
+            updateFleetMetrics();
+        }
 
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+        if (recoveryLog != null) {
+            recoveryLog.commit();
+            if (recoveryLog.isSnapshotDue()) {
+                recoveryLog.snapshot(this::writeSnapshot);
             }
         }
     }
 
+    /**
+     * Checks whether the scheduler is still running, i.e. it has not yet seen all drones return
+     * to base after EVENTS_DONE.
+     *
+     * @return true while the scheduler is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Sets how long the scheduler waits after each drone it considers when assigning idle drones
+     * to fires. The default of one second paces dispatches in live runs; replays use 0.
+     *
+     * @param dispatchPacingMillis The wait per drone in milliseconds.
+     */
+    public void setDispatchPacing(long dispatchPacingMillis) {
+        this.dispatchPacingMillis = dispatchPacingMillis;
+    }
+
+    /**
+     * Opens the event journal if the scheduler.journal.dir system property is set.
+     * The segment size can be set with scheduler.journal.segmentSize.
+     *
+     * @return the journal, or null if journaling is disabled
+     */
+    private static EventJournal openJournal() {
+        String directory = System.getProperty("scheduler.journal.dir");
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        try {
+            long segmentSize = Long.getLong("scheduler.journal.segmentSize", EventJournal.DEFAULT_SEGMENT_SIZE);
+            EventJournal journal = new EventJournal(new File(directory), segmentSize);
+            LOGGER.info(EventLogger.NO_ID, "Journaling events to " + journal.getDirectory().getAbsolutePath(), false);
+            return journal;
+        } catch (IOException e) {
+            LOGGER.error(EventLogger.NO_ID, "Unable to open event journal in " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Starts publishing telemetry if the scheduler.telemetry system property is set to a host:port,
+     * e.g. {@value TelemetryFormat#DEFAULT_ADDRESS}. How often changes and the full state are sent
+     * can be set in milliseconds with scheduler.telemetry.periodMillis and scheduler.telemetry.keyframeMillis.
+     *
+     * @return the publisher, or null if telemetry is disabled
+     */
+    private static TelemetryPublisher openTelemetry() {
+        String address = System.getProperty("scheduler.telemetry");
+        if (address == null || address.isBlank()) {
+            return null;
+        }
+        try {
+            TelemetryPublisher publisher = new TelemetryPublisher(TelemetryFormat.parseAddress(address),
+                    Long.getLong("scheduler.telemetry.periodMillis", TelemetryPublisher.DEFAULT_PERIOD_MILLIS),
+                    Long.getLong("scheduler.telemetry.keyframeMillis", TelemetryPublisher.DEFAULT_KEYFRAME_MILLIS));
+            LOGGER.info(EventLogger.NO_ID, "Publishing telemetry to " + address, false);
+            return publisher;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error(EventLogger.NO_ID, "Unable to publish telemetry to " + address + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Starts serving metrics on the loopback interface if the scheduler.metrics.port system property
+     * is set, e.g. to 9464, for Prometheus to scrape from http://localhost:9464/metrics.
+     *
+     * @return the server, or null if metrics are not served
+     */
+    private static MetricsServer openMetricsServer(SchedulerMetrics metrics) {
+        Integer port = Integer.getInteger("scheduler.metrics.port");
+        if (port == null) {
+            return null;
+        }
+        try {
+            MetricsServer server = new MetricsServer(port, metrics);
+            LOGGER.info(EventLogger.NO_ID, "Serving metrics on http://localhost:" + server.getPort() + MetricsServer.PATH, false);
+            return server;
+        } catch (IOException e) {
+            LOGGER.error(EventLogger.NO_ID, "Unable to serve metrics on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Registers the metrics owned by other components, which are read when the metrics are scraped.
+     *
+     * @param localDashboard the dashboard, whose update queue is reported if it is asynchronous
+     */
+    private void registerMetrics(DashboardSink localDashboard) {
+        metrics.counter("scheduler_socket_errors_total", "Events that could not be sent or received.",
+                () -> sendSocket.getErrorCount() + receiveSocket.getErrorCount());
+        metrics.gauge("scheduler_watchdogs_pending", "Drones with a running watchdog.", watchdogs::size);
+        if (localDashboard instanceof AsyncDashboardSink asyncDashboard) {
+            metrics.gauge("scheduler_dashboard_queue_depth", "Dashboard updates waiting for the event dispatch thread.",
+                    asyncDashboard::getPendingUpdates);
+        }
+        if (telemetry != null) {
+            metrics.counter("scheduler_telemetry_datagrams_total", "Telemetry datagrams sent.", telemetry::getDatagramCount);
+        }
+        getLatencyHistograms().forEach((name, histogram) ->
+                metrics.summary("scheduler_" + name + "_seconds", "Distribution of the " + name.replace('_', ' ') + ".", histogram, 0.001));
+    }
+
+    /**
+     * Publishes the fire and fleet gauges. Drones are counted on the event loop, which owns their state.
+     */
+    private void updateFleetMetrics() {
+        int idle = fleet.count(FleetTable.State.IDLE);
+        int faulted = fleet.count(FleetTable.State.FAULTED);
+        metrics.updateFleet(incidents.size(), dronesInfo.size(), droneAssignments.size(), idle, faulted);
+    }
+
+    /**
+     * Gets the live metrics of the scheduler.
+     *
+     * @return the metrics
+     */
+    public SchedulerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Opens the recovery log if the scheduler.recovery.dir system property is set, and restores the
+     * state saved by a previous run from it. The snapshot interval (in logged records) and whether
+     * commits are forced to disk can be set with scheduler.recovery.snapshotInterval and
+     * scheduler.recovery.fsync.
+     *
+     * @return the recovery log, or null if recovery is disabled
+     */
+    private RecoveryLog openRecoveryLog() {
+        String directory = System.getProperty("scheduler.recovery.dir");
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        try {
+            RecoveryLog log = new RecoveryLog(new File(directory),
+                    Integer.getInteger("scheduler.recovery.snapshotInterval", 10_000),
+                    Boolean.getBoolean("scheduler.recovery.fsync"));
+
+            long start = System.nanoTime();
+            int records = log.recover(new StateRestorer());
+            if (records > 0) {
+                // compact what was recovered so the next restart starts from a single snapshot
+                log.snapshot(this::writeSnapshot);
+                restartWatchdogs();
+                LOGGER.info(EventLogger.NO_ID, String.format("Recovered %d drones, %d zones and %d active fires from %d records in %.1f ms",
+                        dronesInfo.size(), fireZones.size(), incidents.size(), records, (System.nanoTime() - start) / 1_000_000.0), true);
+            }
+            return log;
+        } catch (IOException e) {
+            LOGGER.error(EventLogger.NO_ID, "Unable to open recovery log in " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Restarts the watchdogs of the drones that were in flight or dropping when the previous
+     * process stopped. Their timers did not survive it, and their reports may have been lost while
+     * no scheduler was running, so each gets a fresh deadline from its last known position.
+     */
+    private void restartWatchdogs() {
+        droneAssignments.forEachEntry((droneID, assignment) -> {
+            DroneInfo drone = dronesInfo.get(droneID);
+            Point2D zoneCenter = fireZones.get(assignment.zoneID());
+            if (drone == null || zoneCenter == null) {
+                return;
+            }
+            if (drone.getState() instanceof OnRouteState) {
+                startWatchdog(droneID, DroneSubsystem.timeToZone(drone.getCoordinates(), zoneCenter) + 10.0);
+            } else if (drone.getState() instanceof DroppingAgentState) {
+                startWatchdog(droneID, Math.min(assignment.waterRemaining(), drone.getWaterLevel()) * 1000);
+            }
+        });
+    }
+
+    /**
+     * Writes the complete scheduler state to a recovery snapshot.
+     *
+     * @param log the recovery log taking the snapshot
+     */
+    private void writeSnapshot(RecoveryLog log) {
+        log.counters(nextDroneId.get(), startExtinguishTime, incidentsCompleted, shutdownPending);
+        fireZones.forEachEntry((zoneID, center) -> {
+            ZoneEvent bounds = zoneBounds.get(zoneID);
+            log.zoneStored(bounds != null ? bounds : new ZoneEvent(zoneID, center, center));
+        });
+        for (DroneInfo drone : dronesInfo.values()) {
+            log.droneUpdated(drone);
+        }
+        for (IncidentSnapshot incident : incidents.snapshot()) {
+            log.fireUpdated(incident.toEvent(), incident.startMillis());
+        }
+        droneAssignments.forEachEntry((droneID, assignment) -> log.droneAssigned(droneID, assignment.toEvent()));
+        zoneResponseTimes.forEach(log::responseTime);
+        zoneExtinguishTimes.forEach(log::extinguishTime);
+    }
+
+    /**
+     * Records the current state of an active fire in the recovery log.
+     *
+     * @param incident The incident that changed.
+     */
+    private void recordFire(IncidentSnapshot incident) {
+        if (recoveryLog != null) {
+            recoveryLog.fireUpdated(incident.toEvent(), incident.startMillis());
+        }
+    }
+
+    /**
+     * Records the scheduler counters in the recovery log.
+     */
+    private void recordCounters() {
+        if (recoveryLog != null) {
+            recoveryLog.counters(nextDroneId.get(), startExtinguishTime, incidentsCompleted, shutdownPending);
+        }
+    }
+
+    /**
+     * Restores the scheduler state from the records of the recovery log.
+     */
+    private class StateRestorer implements RecoveryLog.Listener {
+        @Override
+        public void zoneStored(ZoneEvent zone) {
+            fireZones.put(zone.getZoneID(), zone.getCenter());
+            zoneBounds.put(zone.getZoneID(), zone);
+            dashboard.markZone(zone.getZoneID(), zone.getStart(), zone.getEnd());
+        }
+
+        @Override
+        public void droneUpdated(DroneInfo drone) {
+            dronesInfo.put(drone.getDroneID(), drone);
+            fleet.update(drone);
+        }
+
+        @Override
+        public void droneAssigned(int droneID, IncidentEvent incident) {
+            IncidentSnapshot activeFire = incidents.getByZone(incident.getZoneID());
+            droneAssignments.put(droneID, activeFire != null ? activeFire : IncidentSnapshot.of(IncidentSnapshot.NO_ID, incident, 0));
+        }
+
+        @Override
+        public void droneUnassigned(int droneID) {
+            droneAssignments.remove(droneID);
+        }
+
+        @Override
+        public void fireUpdated(IncidentEvent incident, long startTime) {
+            IncidentSnapshot previous = incidents.getByZone(incident.getZoneID());
+            IncidentSnapshot restored = incidents.add(incident, startTime);
+            if (previous != null) {
+                droneAssignments.replaceAll((droneID, assigned) -> assigned.incidentID() == previous.incidentID() ? restored : assigned);
+            }
+            dashboard.updateZoneWater(incident.getZoneID(), incident.getWaterFoamAmount());
+            dashboard.setZoneFireStatus(incident.getZoneID(), DroneSwarmDashboard.FireStatus.ACTIVE);
+            dashboard.updateZoneSeverity(incident.getZoneID(), incident.getSeverity());
+        }
+
+        @Override
+        public void fireClosed(int zoneID) {
+            incidents.removeZone(zoneID);
+            dashboard.setZoneFireStatus(zoneID, DroneSwarmDashboard.FireStatus.EXTINGUISHED);
+        }
+
+        @Override
+        public void responseTime(int zoneID, double seconds) {
+            zoneResponseTimes.put(zoneID, seconds);
+        }
+
+        @Override
+        public void extinguishTime(int zoneID, double seconds) {
+            zoneExtinguishTimes.put(zoneID, seconds);
+        }
+
+        @Override
+        public void counters(int droneId, long extinguishStart, int completed, boolean pending) {
+            nextDroneId.accumulateAndGet(droneId, Math::max);
+            startExtinguishTime = extinguishStart;
+            incidentsCompleted = completed;
+            shutdownPending = pending;
+        }
+    }
+
+    /**
+     * Sends an event and records it in the event journal.
+     *
+     * @param event The event to send.
+     * @param address The address to send the event to.
+     * @param port The port to send the event to.
+     */
+    private void send(Event event, InetAddress address, int port) {
+        sendSocket.send(event, address, port);
+        if (journal != null) {
+            journal.append(EventJournal.Direction.SENT, address, port, event);
+        }
+    }
+
+    /**
+     * Finds the next fire incident that needs help for a given drone.
+     */
+    private void assignAvailableDrones() {
+        fleet.forEach(FleetTable.State.IDLE, droneID -> {
+            // skip any idle drone that's already assigned
+            if (droneAssignments.containsKey(droneID)) return;
+
+            // the feasibility checks read the drone's position and flight time from the table
+            Optional<IncidentSnapshot> next = findNextFireNeedingHelp(fleet.getX(droneID), fleet.getY(droneID), fleet.getFlightTime(droneID));
+            next.ifPresent(incident -> assignDroneToIncident(incident, dronesInfo.get(droneID)));
+
+            if (dispatchPacingMillis > 0) {
+                try {
+                    Thread.sleep(dispatchPacingMillis);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+    }
+
     /**
      * Finds the next fire incident that needs help for a given drone.
      */
-    public Optional<IncidentEvent> findNextFireNeedingHelp(DroneInfo drone) {
+    public Optional<IncidentSnapshot> findNextFireNeedingHelp(DroneInfo drone) {
+        return findNextFireNeedingHelp(drone.getCoordinates().getX(), drone.getCoordinates().getY(), drone.getFlightTime());
+    }
+
+    /**
+     * Finds the next fire incident that needs help for a drone at a given position.
+     *
+     * @param x The x coordinate of the drone.
+     * @param y The y coordinate of the drone.
+     * @param flightTime The remaining flight time of the drone.
+     */
+    private Optional<IncidentSnapshot> findNextFireNeedingHelp(double x, double y, double flightTime) {
 
         // get all active fires that still need water
-        java.util.List<IncidentEvent> candidates = activeFires.values().stream()
-                .filter(incident -> incident.getWaterFoamAmount() > 0)
+        java.util.List<IncidentSnapshot> candidates = incidents.snapshot().stream()
+                .filter(incident -> incident.waterRemaining() > 0)
                 .sorted((a, b) -> {
-                    int severityCompare = b.getSeverity().ordinal() - a.getSeverity().ordinal();
-                    return (severityCompare != 0) ? severityCompare : a.getTime().compareTo(b.getTime());
+                    int severityCompare = b.severity().ordinal() - a.severity().ordinal();
+                    return (severityCompare != 0) ? severityCompare : Long.compare(a.timeOfDayNanos(), b.timeOfDayNanos());
                 })
                 .toList();
 
+        // count the drones assigned to each zone once, rather than once per candidate
+        IntLongHashMap assignedPerZone = new IntLongHashMap(candidates.size());
+        droneAssignments.forEachEntry((droneID, assignment) -> assignedPerZone.addTo(assignment.zoneID(), 1));
+
         // try to find a zone with 0 drones assigned first
-        for (IncidentEvent incident : candidates) {
-            int zoneID = incident.getZoneID();
-            int assigned = (int) droneAssignments.values().stream()
-                    .filter(e -> e.getZoneID() == zoneID)
-                    .count();
+        for (IncidentSnapshot incident : candidates) {
+            int zoneID = incident.zoneID();
+            long assigned = assignedPerZone.get(zoneID, 0);
 
             if (assigned == 0) {
-                if (fireZones.get(zoneID) != null && hasEnoughBattery(drone, fireZones.get(zoneID))) return Optional.of(incident);
+                Point2D zoneCenter = fireZones.get(zoneID);
+                if (zoneCenter != null && hasEnoughBattery(x, y, flightTime, zoneCenter)) return Optional.of(incident);
             }
         }
 
         // all zones are already covered once — now allow reinforcement
-        for (IncidentEvent incident : candidates) {
-            int zoneID = incident.getZoneID();
-            int assigned = (int) droneAssignments.values().stream()
-                    .filter(e -> e.getZoneID() == zoneID)
-                    .count();
-
-            if (assigned < 2 && incident.getWaterFoamAmount() > 15) { // optional limit max drones per zone
-                if (fireZones.get(zoneID) != null && hasEnoughBattery(drone, fireZones.get(zoneID))) return Optional.of(incident);
+        for (IncidentSnapshot incident : candidates) {
+            int zoneID = incident.zoneID();
+            long assigned = assignedPerZone.get(zoneID, 0);
+
+            if (assigned < 2 && incident.waterRemaining() > 15) { // optional limit max drones per zone
+                Point2D zoneCenter = fireZones.get(zoneID);
+                if (zoneCenter != null && hasEnoughBattery(x, y, flightTime, zoneCenter)) return Optional.of(incident);
             }
         }
 
@@ -182,7 +626,7 @@ public class Scheduler {
 
     /**
      * Sends an event to a specific drone based on its ID.
-     * Retrieves the drone's address and port from the dronesInfo map and sends the event using the EventSocket.
+     * Retrieves the drone's address and port from the dronesInfo map and sends the event using the EventTransport.
      * If the address or port is not found, an error message is printed.
      *
      * @param event The event to be sent to the drone.
@@ -193,9 +637,9 @@ public class Scheduler {
         Integer port = dronesInfo.get(droneID).getPort();
 
         if (address != null && port != null) {
-            sendSocket.send(event, address, port);
+            send(event, address, port);
         } else {
-            EventLogger.error(EventLogger.NO_ID, "[ERROR] Address not found for drone ID: " + droneID);
+            LOGGER.error(EventLogger.NO_ID, "[ERROR] Address not found for drone ID: " + droneID);
         }
     }
 
@@ -207,11 +651,15 @@ public class Scheduler {
      */
     private void storeZoneData(ZoneEvent event) {
         fireZones.put(event.getZoneID(), event.getCenter());
+        zoneBounds.put(event.getZoneID(), event);
+        if (recoveryLog != null) {
+            recoveryLog.zoneStored(event);
+        }
 
         // update the dashboard with the new zone data
         dashboard.markZone(event.getZoneID(), event.getStart(), event.getEnd());
 
-        EventLogger.info(EventLogger.NO_ID, String.format(
+        LOGGER.info(EventLogger.NO_ID, () -> String.format(
                 "Stored fire zone {ZoneID: %d | Center: (%.1f, %.1f)}",
                 event.getZoneID(),
                 event.getCenter().getX(),
@@ -228,48 +676,49 @@ public class Scheduler {
     public void handleIncidentEvent(IncidentEvent event) {
 
         if (this.startExtinguishTime == 0){
-            this.startExtinguishTime = System.currentTimeMillis();
+            this.startExtinguishTime = clock.millis();
+            recordCounters();
         }
         if (event.getEventType() == EventType.EVENTS_DONE) {
-            EventLogger.info(EventLogger.NO_ID, "Received EVENTS_DONE. Dispatching all drones to base.", false);
+            LOGGER.info(EventLogger.NO_ID, "Received EVENTS_DONE. Dispatching all drones to base.", false);
             DroneDispatchEvent dispatchToBase = new DroneDispatchEvent(0, BASE_COORDINATES, Faults.NONE);
 
             shutdownPending = true;
             dronesReturningToBase.clear();
+            recordCounters();
 
-            for (int droneID : this.dronesInfo.keySet()) {
+            dronesInfo.forEachEntry((droneID, drone) -> {
                 // skip dispatch event for drones that already are at base
-                if (isAtBase(dronesInfo.get(droneID).getCoordinates())) {
-                    EventLogger.info(EventLogger.NO_ID, "Drone " + droneID + " is already at base.", false);
+                if (isAtBase(drone.getCoordinates())) {
+                    LOGGER.info(EventLogger.NO_ID, "Drone " + droneID + " is already at base.", false);
                     dronesReturningToBase.remove(droneID);
-                    continue;
+                    return;
                 }
                 dronesReturningToBase.add(droneID);
                 sendToDrone(dispatchToBase, droneID);
-            }
+            });
 
             checkShutdownCondition();
             return;
         }
 
         if (!fireZones.containsKey(event.getZoneID())) {
-            EventLogger.error(EventLogger.NO_ID, "Fire zone center not found for Zone " + event.getZoneID());
+            LOGGER.error(EventLogger.NO_ID, "Fire zone center not found for Zone " + event.getZoneID());
             return;
         }
-
-        // If this zone hasn't been recorded yet record its start time
-        if (!zoneResponseTimes.containsKey(event.getZoneID())) {
-            incidentStartTimes.put(event, System.currentTimeMillis());
-        }
-
-        // Record the start time for this incident
-        incidentStartTimes.put(event, System.currentTimeMillis());
-        EventLogger.info(EventLogger.NO_ID,"New fire incident at Zone " + event.getZoneID() + ". Requires " + event.getWaterFoamAmount() + "L of water.", true);
-
-        activeFires.put(event.getZoneID(), event);
-        dashboard.updateZoneWater(event.getZoneID(), event.getWaterFoamAmount());
-        dashboard.setZoneFireStatus(event.getZoneID(), DroneSwarmDashboard.FireStatus.ACTIVE);
-        dashboard.updateZoneSeverity(event.getZoneID(), event.getSeverity());
+        Span span = SpanCollector.startSpan("scheduler.incident", event).tag(0, event.getZoneID());
+        LOGGER.info(EventLogger.NO_ID,"New fire incident at Zone " + event.getZoneID() + ". Requires " + event.getWaterFoamAmount() + "L of water.", true);
+
+        // dispatches for the fire continue its trace from here
+        span.propagate(event);
+
+        // store the incident with the time it was received
+        IncidentSnapshot incident = incidents.add(event, clock.millis());
+        recordFire(incident);
+        dashboard.updateZoneWater(incident.zoneID(), incident.waterRemaining());
+        dashboard.setZoneFireStatus(incident.zoneID(), DroneSwarmDashboard.FireStatus.ACTIVE);
+        dashboard.updateZoneSeverity(incident.zoneID(), incident.severity());
+        span.finish();
     }
 
 
@@ -280,12 +729,26 @@ public class Scheduler {
      * @param targetCoords The coordinates of the target zone.
      * @return true if the drone has enough battery, false otherwise.
      */
-    private boolean hasEnoughBattery(DroneInfo droneInfo, Point2D targetCoords){
-        double distanceToTarget = droneInfo.getCoordinates().distance(targetCoords);
+    public static boolean hasEnoughBattery(DroneInfo droneInfo, Point2D targetCoords){
+        Point2D position = droneInfo.getCoordinates();
+        return hasEnoughBattery(position.getX(), position.getY(), droneInfo.getFlightTime(), targetCoords);
+    }
+
+    /**
+     * Checks if a drone at a given position has enough battery to reach a target and return to base.
+     *
+     * @param x The x coordinate of the drone.
+     * @param y The y coordinate of the drone.
+     * @param flightTime The remaining flight time of the drone.
+     * @param targetCoords The coordinates of the target zone.
+     * @return true if the drone has enough battery, false otherwise.
+     */
+    public static boolean hasEnoughBattery(double x, double y, double flightTime, Point2D targetCoords){
+        double distanceToTarget = targetCoords.distance(x, y);
         double distanceToBase = targetCoords.distance(BASE_COORDINATES);
         double travelTime = (((distanceToTarget + distanceToBase) - 46.875) / 15 + 6.25);
 
-        return (droneInfo.getFlightTime() - travelTime > DroneSubsystem.DRONE_BATTERY_TIME);
+        return (flightTime - travelTime > DroneSubsystem.DRONE_BATTERY_TIME);
     }
 
 
@@ -295,42 +758,59 @@ public class Scheduler {
      * @param event The DroneArrivedEvent containing the drone's arrival details.
      */
     private void handleDroneArrival(DroneArrivedEvent event) {
+        ArrivalEvent arrivalRecord = new ArrivalEvent();
+        arrivalRecord.begin();
         int droneID = event.getDroneID();
         if (event.getZoneID() == 0) {
-            EventLogger.info(EventLogger.NO_ID, "Drone " + droneID + " has returned to base.", false);
+            LOGGER.info(EventLogger.NO_ID, "Drone " + droneID + " has returned to base.", false);
             dashboard.updateDronePosition(droneID, BASE_COORDINATES, null, DroneStateEnum.IDLE);
         } else {
             cancelWatchdog(droneID);
-            IncidentEvent incident = droneAssignments.get(droneID);
-            if (incident == null) {
-                EventLogger.error(droneID, "Drone " + droneID + " arrived at zone " + event.getZoneID() + " but has no assignment.");
+            IncidentSnapshot assignment = droneAssignments.get(droneID);
+            if (assignment == null) {
+                LOGGER.error(droneID, "Drone " + droneID + " arrived at zone " + event.getZoneID() + " but has no assignment.");
                 return;
             }
+            int zoneID = assignment.zoneID();
+            Span span = SpanCollector.startSpan("scheduler.arrival", event).tag(droneID, zoneID);
+
+            // Record the response time of the incident when its first drone arrives
+            long incidentStart = assignment.startMillis();
+            long responseMillis = incidentStart == 0 ? 0 : clock.millis() - incidentStart;
+            if (incidentStart != 0 && respondedIncidents.add(assignment.incidentID())) {
+                responseTimes.record(responseMillis);
+            }
+            long sortieStart = sortieStartTimes.get(droneID, NO_SORTIE);
+            long flightTime = sortieStart == NO_SORTIE ? 0 : clock.millis() - sortieStart;
 
             // Record zone response time if not already recorded
-            if (!zoneResponseTimes.containsKey(incident.getZoneID())) {
-                Long startTime = incidentStartTimes.get(incident);
-                if (startTime != null) {
-                    long responseTime = System.currentTimeMillis() - startTime;
-                    // Convert to seconds
-                    double responseTimeSec = responseTime / 1000.0;
-                    zoneResponseTimes.put(incident.getZoneID(), responseTimeSec);
+            if (!zoneResponseTimes.containsKey(zoneID) && incidentStart != 0) {
+                // Convert to seconds
+                double responseTimeSec = responseMillis / 1000.0;
+                zoneResponseTimes.put(zoneID, responseTimeSec);
+                if (recoveryLog != null) {
+                    recoveryLog.responseTime(zoneID, responseTimeSec);
                 }
             }
 
             // check if this zone still requires service by the time the drone arrives
-            if (! activeFires.containsKey(incident.getZoneID())) {
-                EventLogger.info(droneID, "Arrived at Zone " + incident.getZoneID() + " but the fire is already extinguished.", false);
+            IncidentSnapshot incident = currentIncident(assignment);
+            if (incident == null) {
+                LOGGER.info(droneID, "Arrived at Zone " + zoneID + " but the fire is already extinguished.", false);
                 reassignDrone(dronesInfo.get(droneID));
+                arrivalRecord.commit(droneID, zoneID, flightTime, responseMillis, 0);
+                span.finish();
             } else {
                 // calculate how much water to drop
-                int waterToDrop = Math.min(incident.getWaterFoamAmount(), dronesInfo.get(droneID).getWaterLevel());
-                EventLogger.info(EventLogger.NO_ID, "Ordering Drone " + droneID + " to drop " + waterToDrop + "L at Zone " + incident.getZoneID(), false);
+                int waterToDrop = Math.min(incident.waterRemaining(), dronesInfo.get(droneID).getWaterLevel());
+                LOGGER.info(EventLogger.NO_ID, "Ordering Drone " + droneID + " to drop " + waterToDrop + "L at Zone " + zoneID, false);
 
                 // send drop event to drone
-                DropAgentEvent dropEvent = new DropAgentEvent(waterToDrop);
+                DropAgentEvent dropEvent = span.propagate(new DropAgentEvent(waterToDrop));
+                span.finish();
                 sendToDrone(dropEvent,droneID);
                 startWatchdog(droneID, waterToDrop * 1000);
+                arrivalRecord.commit(droneID, zoneID, flightTime, responseMillis, waterToDrop);
             }
         }
 
@@ -348,51 +828,101 @@ public class Scheduler {
      * @param event The DropAgentEvent containing the details of the water drop.
      */
     private void handleDropAgent(DropAgentEvent event) {
+        DropEvent dropRecord = new DropEvent();
+        dropRecord.begin();
+        Span span = SpanCollector.startSpan("scheduler.drop", event);
         int droneID = event.getDroneID();
         cancelWatchdog(droneID);
 
-        // Get zone id using drone id key
-        IncidentEvent incident = droneAssignments.remove(droneID);
+        long sortieStart = sortieStartTimes.remove(droneID, NO_SORTIE);
+        long sortieDuration = sortieStart == NO_SORTIE ? 0 : clock.millis() - sortieStart;
+        if (sortieStart != NO_SORTIE) {
+            sortieDurations.record(sortieDuration);
+        }
+        long extinguishTime = 0;
 
-        // Subtract the dropped water from the fire requirement
-        int remainingWater = incident.getWaterFoamAmount() - event.getVolume();
+        // Get the incident the drone was dispatched to
+        IncidentSnapshot assignment = droneAssignments.remove(droneID);
+        if (recoveryLog != null) {
+            recoveryLog.droneUnassigned(droneID);
+        }
+        if (assignment == null) {
+            LOGGER.error(droneID, "Drone " + droneID + " dropped water but has no assignment.");
+            span.finish();
+            return;
+        }
+        int zoneID = assignment.zoneID();
 
-        // If required water vol has been used then remove the incident from the incident list and unassign drone from zone id
+        // Subtract the dropped water from the latest version of the fire
+        IncidentSnapshot current = currentIncident(assignment);
+        IncidentSnapshot incident = current == null ? null
+                : incidents.update(current.incidentID(), i -> i.withWaterRemaining(i.waterRemaining() - event.getVolume()));
+        if (incident == null) {
+            LOGGER.info(droneID, "Dropped water at Zone " + zoneID + " but the fire is already extinguished.", false);
+            reassignDrone(dronesInfo.get(droneID));
+            dropRecord.commit(droneID, zoneID, event.getVolume(), 0, sortieDuration, extinguishTime);
+            span.tag(droneID, zoneID).finish();
+            return;
+        }
+        int remainingWater = incident.waterRemaining();
+
+        // If required water vol has been used then remove the incident and unassign drone from zone id
         if (remainingWater <= 0) {
-            droneAssignments.remove(droneID);
+            incidents.remove(incident.incidentID());
+            respondedIncidents.remove(incident.incidentID());
+            if (recoveryLog != null) {
+                recoveryLog.fireClosed(zoneID);
+            }
 
             // Calc time to extinguish
-            Long startTime = incidentStartTimes.get(incident);
-            if (startTime != null) {
-                long extinguishTimeMs = System.currentTimeMillis() - startTime;
+            long startTime = incident.startMillis();
+            if (startTime != 0) {
+                long extinguishTimeMs = clock.millis() - startTime;
                 double extinguishTimeSec = extinguishTimeMs / 1000.0;
+                extinguishTimes.record(extinguishTimeMs);
+                extinguishTime = extinguishTimeMs;
 
                 // Store extinguish time for this zone
-                if (!zoneExtinguishTimes.containsKey(incident.getZoneID())) {
-                    zoneExtinguishTimes.put(incident.getZoneID(), extinguishTimeSec);
+                if (!zoneExtinguishTimes.containsKey(zoneID)) {
+                    zoneExtinguishTimes.put(zoneID, extinguishTimeSec);
+                    if (recoveryLog != null) {
+                        recoveryLog.extinguishTime(zoneID, extinguishTimeSec);
+                    }
                 }
 
                 // Accumulate totals for avg
                 incidentsCompleted++;
+                recordCounters();
             }
 
 
             // notify FireIncidentSubSystem that the fire has been put out
-            IncidentEvent fireOutEvent = new IncidentEvent("", incident.getZoneID(), EventType.FIRE_EXTINGUISHED, Severity.NONE, Faults.NONE);
-            EventLogger.info(EventLogger.NO_ID, "Fire at Zone " + incident.getZoneID() + " has been extinguished.", true);
-            dashboard.setZoneFireStatus(incident.getZoneID(), DroneSwarmDashboard.FireStatus.EXTINGUISHED);
-            sendSocket.send(fireOutEvent, fireSubsystemAddress, fireSubsystemPort);
-            activeFires.remove(incident.getZoneID());
-            incident.setWaterFoamAmount(0);
+            IncidentEvent fireOutEvent = span.propagate(new IncidentEvent("", zoneID, EventType.FIRE_EXTINGUISHED, Severity.NONE, Faults.NONE));
+            LOGGER.info(EventLogger.NO_ID, "Fire at Zone " + zoneID + " has been extinguished.", true);
+            dashboard.setZoneFireStatus(zoneID, DroneSwarmDashboard.FireStatus.EXTINGUISHED);
+            send(fireOutEvent, fireSubsystemAddress, fireSubsystemPort);
             reassignDrone(dronesInfo.get(droneID));
 
         } else {
-            incident.setWaterFoamAmount(remainingWater);
-            activeFires.get(incident.getZoneID()).setWaterFoamAmount(remainingWater);
-            EventLogger.warn(EventLogger.NO_ID, "Fire at Zone " + incident.getZoneID() + " still needs " + remainingWater + "L of water to extinguish.");
+            recordFire(incident);
+            LOGGER.warn(EventLogger.NO_ID, "Fire at Zone " + zoneID + " still needs " + remainingWater + "L of water to extinguish.");
         }
 
-        dashboard.updateZoneWater(incident.getZoneID(), remainingWater);
+        dashboard.updateZoneWater(zoneID, remainingWater);
+        dropRecord.commit(droneID, zoneID, event.getVolume(), remainingWater, sortieDuration, extinguishTime);
+        span.tag(droneID, zoneID).finish();
+    }
+
+    /**
+     * Gets the latest version of the incident a drone was dispatched to. If the incident was
+     * replaced by a new report for its zone, that report is the one that needs water now.
+     *
+     * @param assignment The incident as it was at dispatch.
+     * @return The incident, or null if its fire is out.
+     */
+    private IncidentSnapshot currentIncident(IncidentSnapshot assignment) {
+        IncidentSnapshot incident = incidents.get(assignment.incidentID());
+        return incident != null ? incident : incidents.getByZone(assignment.zoneID());
     }
 
     /**
@@ -409,28 +939,37 @@ public class Scheduler {
         if (droneID == -1) {
             drone.setDroneID(nextDroneId.getAndIncrement());
             drone.setState(new IdleState());
-            EventLogger.info(EventLogger.NO_ID, "New drone detected, assigning new drone with ID: " + drone.getDroneID(), false);
+            LOGGER.info(EventLogger.NO_ID, "New drone detected, assigning new drone with ID: " + drone.getDroneID(), false);
             dronesInfo.put(drone.getDroneID(), drone);
+            fleet.update(drone);
+            if (recoveryLog != null) {
+                recoveryLog.droneUpdated(drone);
+            }
+            recordCounters();
             this.sendToDrone(event, drone.getDroneID());
-            EventLogger.info(EventLogger.NO_ID, "Registered new Drone {" + drone.getDroneID() + ", Address: " + drone.getAddress() + ", Port: " + drone.getPort() + "}", true);
+            LOGGER.info(EventLogger.NO_ID, "Registered new Drone {" + drone.getDroneID() + ", Address: " + drone.getAddress() + ", Port: " + drone.getPort() + "}", true);
         } else {
             // Ensure we don't process a null drone state
             if (drone.getState() == null) {
-                EventLogger.warn(EventLogger.NO_ID, "Drone " + droneID + " has no valid state.");
+                LOGGER.warn(EventLogger.NO_ID, "Drone " + droneID + " has no valid state.");
                 return;
             }
 
             // Log drone update
             if (dronesInfo.get(droneID).getState().getClass() != drone.getState().getClass()) {
                 if (drone.getState() instanceof FaultedState) {
-                    EventLogger.warn(EventLogger.NO_ID, "Received update: Drone " + droneID + " is now in state " + drone.getState().getClass().getSimpleName());
+                    LOGGER.warn(EventLogger.NO_ID, "Received update: Drone " + droneID + " is now in state " + drone.getState().getClass().getSimpleName());
                 } else {
-                    EventLogger.info(EventLogger.NO_ID, "Received update: Drone " + droneID + " is now in state " + drone.getState().getClass().getSimpleName(), false);
+                    LOGGER.info(EventLogger.NO_ID, () -> "Received update: Drone " + droneID + " is now in state " + drone.getState().getClass().getSimpleName(), false);
                 }
             }
 
             // Store or update the drone info
             dronesInfo.put(droneID, drone);
+            fleet.update(drone);
+            if (recoveryLog != null) {
+                recoveryLog.droneUpdated(drone);
+            }
 
             // Check for faulted state
             if (drone.getState() instanceof FaultedState state) {
@@ -451,7 +990,8 @@ public class Scheduler {
 
         if (guiState != null) {
             if (drone.getState() instanceof OnRouteState){
-                Point2D targCoordinates = droneAssignments.containsKey(droneID) ? fireZones.get(droneAssignments.get(droneID).getZoneID()) : BASE_COORDINATES;
+                IncidentSnapshot assignment = droneAssignments.get(droneID);
+                Point2D targCoordinates = assignment != null ? fireZones.get(assignment.zoneID()) : BASE_COORDINATES;
                 dashboard.updateDronePosition(drone.getDroneID(), drone.getCoordinates(), targCoordinates, guiState);
             }else{
                 dashboard.updateDronePosition(drone.getDroneID(), drone.getCoordinates(), null, guiState);
@@ -465,21 +1005,22 @@ public class Scheduler {
      */
     private void handleReassignDrone(DroneReassignRequestEvent event) {
         DroneInfo drone = dronesInfo.get(event.getDroneID());
-        IncidentEvent incident = droneAssignments.get(event.getDroneID());
+        IncidentSnapshot incident = droneAssignments.get(event.getDroneID());
         if (incident == null) {
-            EventLogger.error(EventLogger.NO_ID, "Drone " + event.getDroneID() + " has no assignment.");
+            LOGGER.error(EventLogger.NO_ID, "Drone " + event.getDroneID() + " has no assignment.");
             return;
         }
 
-        int zoneID = incident.getZoneID();
-        IncidentEvent activeFire = activeFires.get(zoneID);
+        int zoneID = incident.zoneID();
+        IncidentSnapshot activeFire = currentIncident(incident);
 
         if (activeFire == null) {
-            EventLogger.info(drone.getDroneID(), "Zone " + droneAssignments.get(drone.getDroneID()).getZoneID() + " has already been extinguished. Finding new assignment...", false);
+            LOGGER.info(drone.getDroneID(), "Zone " + zoneID + " has already been extinguished. Finding new assignment...", false);
             reassignDrone(drone);
         } else {
-            EventLogger.info(drone.getDroneID(), "Zone " + droneAssignments.get(drone.getDroneID()).getZoneID() + " still needs water. Continue en route.", false);
-            DroneDispatchEvent dispatchEvent = new DroneDispatchEvent(drone.getZoneID(), drone.getCoordinates(), droneAssignments.get(event.getDroneID()).getFault());
+            LOGGER.info(drone.getDroneID(), "Zone " + zoneID + " still needs water. Continue en route.", false);
+            DroneDispatchEvent dispatchEvent = new DroneDispatchEvent(drone.getZoneID(), drone.getCoordinates(), incident.fault());
+            dispatchEvent.setTrace(incident.traceID(), incident.spanID());
             this.sendToDrone(dispatchEvent, event.getDroneID());
         }
     }
@@ -490,21 +1031,28 @@ public class Scheduler {
      * @param droneID the ID of the drone
      */
     private void handleNozzleJammedDrone(int droneID) {
-        EventLogger.warn(EventLogger.NO_ID, "Drone " + droneID + " in faulted state, reported NOZZLE_JAMMED. Shutting Down Drone.");
+        DroneFaultEvent faultRecord = new DroneFaultEvent();
+        faultRecord.begin();
+        LOGGER.warn(EventLogger.NO_ID, "Drone " + droneID + " in faulted state, reported NOZZLE_JAMMED. Shutting Down Drone.");
         cancelWatchdog(droneID);
 
         // remove broken drone from assignments
-        IncidentEvent incident = droneAssignments.remove(droneID);
+        IncidentSnapshot incident = droneAssignments.remove(droneID);
 
         if (incident == null) {
+            faultRecord.commit(droneID, 0, Faults.NOZZLE_JAMMED.name(), false);
             return;
         }
+        if (recoveryLog != null) {
+            recoveryLog.droneUnassigned(droneID);
+        }
 
-        int zoneID = incident.getZoneID();
-        activeFires.get(zoneID).markFaultHandled();
+        int zoneID = incident.zoneID();
+        clearFault(incident);
 
         DroneDispatchEvent shutDownEvent = new DroneDispatchEvent(0, BASE_COORDINATES, Faults.NOZZLE_JAMMED);
         sendToDrone(shutDownEvent, droneID);
+        faultRecord.commit(droneID, zoneID, Faults.NOZZLE_JAMMED.name(), true);
     }
 
     /**
@@ -514,50 +1062,101 @@ public class Scheduler {
      * @param droneID The ID of drone declared stuck
      */
     private void handleTransientDroneFailure(int droneID, boolean dispatchToBase) {
+        DroneFaultEvent faultRecord = new DroneFaultEvent();
+        faultRecord.begin();
         // Remove stuck drone from incident
         cancelWatchdog(droneID);
-        IncidentEvent incidentEvent = droneAssignments.remove(droneID);
+        IncidentSnapshot incident = droneAssignments.remove(droneID);
+        if (incident == null) {
+            faultRecord.commit(droneID, 0, (dispatchToBase ? Faults.DRONE_STUCK_IN_FLIGHT : Faults.PACKET_LOSS).name(), false);
+            return;
+        }
 
-        EventLogger.info(EventLogger.NO_ID, "Re‑queuing Incident " + incidentEvent.toString() + " for reassignment.", true);
-        incidentEvent.markFaultHandled();
+        LOGGER.info(EventLogger.NO_ID, "Re‑queuing Incident " + incident + " for reassignment.", true);
+        if (recoveryLog != null) {
+            recoveryLog.droneUnassigned(droneID);
+        }
+        clearFault(incident);
 
         if (dispatchToBase){
             DroneDispatchEvent returnToBase = new DroneDispatchEvent(0, BASE_COORDINATES, Faults.NONE);
             sendToDrone(returnToBase, droneID);
         }
+        faultRecord.commit(droneID, incident.zoneID(),
+                (dispatchToBase ? Faults.DRONE_STUCK_IN_FLIGHT : Faults.PACKET_LOSS).name(), dispatchToBase);
+    }
+
+    /**
+     * Clears the fault of the latest version of an incident, so the next drone dispatched to it
+     * does not have the fault injected again.
+     *
+     * @param assignment The incident as it was at dispatch.
+     */
+    private void clearFault(IncidentSnapshot assignment) {
+        IncidentSnapshot current = currentIncident(assignment);
+        if (current != null && !current.faultHandled()) {
+            IncidentSnapshot updated = incidents.update(current.incidentID(), IncidentSnapshot::withFaultHandled);
+            if (updated != null) {
+                recordFire(updated);
+            }
+        }
     }
 
     public void startWatchdog(int droneID, double waitTime) {
+        long waitTimeMillis = (long) (waitTime * sleepMultiplier);
+        Runnable timeout = () -> {
+            IncidentSnapshot incident = this.droneAssignments.get(droneID);
+
+            metrics.watchdogFired();
+            LOGGER.warn(EventLogger.NO_ID, "Drone " + droneID + " Packet Loss occurred during handling of Incident: " + incident);
+            this.handleTransientDroneFailure(droneID, false);
+        };
+
+        // on a virtual clock the watchdog fires when the clock is advanced past its deadline
+        if (clock instanceof VirtualClock virtualClock) {
+            Runnable[] cancel = new Runnable[1];
+            VirtualClock.Timer timer = virtualClock.schedule(waitTimeMillis, () -> {
+                try {
+                    timeout.run();
+                } finally {
+                    watchdogs.remove(droneID, cancel[0]); // Cleanup, unless a newer watchdog replaced this one
+                }
+            });
+            cancel[0] = timer::cancel;
+            watchdogs.put(droneID, cancel[0]);
+            return;
+        }
+
+        Runnable[] cancel = new Runnable[1];
         Thread watchdog = new Thread(() -> {
             try {
-                long waitTimeMillis = (long) (waitTime * sleepMultiplier);
                 Thread.sleep(waitTimeMillis);
-
-                IncidentEvent incident = this.droneAssignments.get(droneID);
-
-                EventLogger.warn(EventLogger.NO_ID, "Drone " + droneID + " Packet Loss occurred during handling of Incident: " + incident.toString());
-                incident.markFaultHandled();
-                this.handleTransientDroneFailure(droneID, false);
+                timeout.run();
             } catch (InterruptedException ignored) {
             } finally {
-                watchdogs.remove(droneID); // Cleanup
+                watchdogs.remove(droneID, cancel[0]); // Cleanup, unless a newer watchdog replaced this one
             }
         });
 
-        watchdogs.put(droneID, watchdog);
+        cancel[0] = watchdog::interrupt;
+        watchdogs.put(droneID, cancel[0]);
         watchdog.start();
     }
 
     public void cancelWatchdog(int droneID) {
-        Thread watchdog = watchdogs.get(droneID);
-        if (watchdog != null && watchdog.isAlive()) {
-            watchdog.interrupt(); // Cancel timer
+        Runnable cancel = watchdogs.remove(droneID);
+        if (cancel != null) {
+            cancel.run(); // Cancel timer
         }
     }
 
     public void close() {
         if (receiveSocket != null) receiveSocket.close();
         if (sendSocket != null) sendSocket.close();
+        if (journal != null) journal.close();
+        if (recoveryLog != null) recoveryLog.close();
+        if (telemetry != null) telemetry.close();
+        if (metricsServer != null) metricsServer.close();
     }
 
     /**
@@ -585,7 +1184,7 @@ public class Scheduler {
      */
     private void checkShutdownCondition() {
         if (shutdownPending && dronesReturningToBase.isEmpty()) {
-            EventLogger.info(EventLogger.NO_ID, "All drones returned to base. Terminating scheduler.", false);
+            LOGGER.info(EventLogger.NO_ID, "All drones returned to base. Terminating scheduler.", false);
             running = false;
         }
     }
@@ -595,15 +1194,15 @@ public class Scheduler {
      * @param drone The drone to be reassigned.
      */
     public void reassignDrone(DroneInfo drone) {
-        Optional<IncidentEvent> nextZone = findNextFireNeedingHelp(drone);
+        Optional<IncidentSnapshot> nextZone = findNextFireNeedingHelp(drone);
         int droneID = drone.getDroneID();
         cancelWatchdog(droneID);
 
         // find new fire to help with
-        if (nextZone.isPresent() && (drone.getWaterLevel() > 0 && hasEnoughBattery(drone, fireZones.get(nextZone.get().getZoneID())))) {
+        if (nextZone.isPresent() && (drone.getWaterLevel() > 0 && hasEnoughBattery(drone, fireZones.get(nextZone.get().zoneID())))) {
             assignDroneToIncident(nextZone.get(), drone);
         } else {
-            EventLogger.info(droneID, "Drone incapable of servicing another zone. Returning to base for refill.", false);
+            LOGGER.info(droneID, "Drone incapable of servicing another zone. Returning to base for refill.", false);
             DroneDispatchEvent returnToBase = new DroneDispatchEvent(0, BASE_COORDINATES, Faults.NONE);
             sendToDrone(returnToBase, droneID);
         }
@@ -615,91 +1214,152 @@ public class Scheduler {
      * @param incident The incident event to which the drone is assigned.
      * @param drone The drone to be assigned.
      */
-    public void assignDroneToIncident(IncidentEvent incident, DroneInfo drone) {
+    public void assignDroneToIncident(IncidentSnapshot incident, DroneInfo drone) {
         int droneID = drone.getDroneID();
-        int zoneID = incident.getZoneID();
+        int zoneID = incident.zoneID();
         Point2D zoneCenter = fireZones.get(zoneID);
 
         if (zoneCenter == null) {
-            System.err.println("[SCHEDULER] Cannot assign drone to zone " + zoneID + " — zone center missing.");
+            LOGGER.error(droneID, "Cannot assign Drone " + droneID + " to Zone " + zoneID + ": zone center missing.");
             return;
         }
 
+        // the dispatch is only recorded and traced once it can go ahead, so no span is left open
+        DispatchEvent dispatchRecord = new DispatchEvent();
+        dispatchRecord.begin();
+        Span span = SpanCollector.startSpan("scheduler.dispatch", incident.traceID(), incident.spanID()).tag(droneID, zoneID);
+
         // create dispatch event & assign drone
-        DroneDispatchEvent dispatch = new DroneDispatchEvent(zoneID, zoneCenter, incident.getFault());
+        DroneDispatchEvent dispatch = span.propagate(new DroneDispatchEvent(zoneID, zoneCenter, incident.fault()));
 
         // Calculate dynamic deadline based on travel time (gives buffer to calculated time)
-        if (incident.getFault() == Faults.PACKET_LOSS){
+        if (incident.fault() == Faults.PACKET_LOSS){
             double flightTimeSeconds = DroneSubsystem.timeToZone(dronesInfo.get(droneID).getCoordinates(), zoneCenter) + 10.0;
             this.startWatchdog(droneID, flightTimeSeconds);
         }
 
-        EventLogger.info(EventLogger.NO_ID,
-                String.format("Assigned and dispatching Drone %d to closest active fire → Zone %d | Coords: (%.1f, %.1f) | Fault: %s",
+        LOGGER.info(EventLogger.NO_ID,
+                () -> String.format("Assigned and dispatching Drone %d to closest active fire → Zone %d | Coords: (%.1f, %.1f) | Fault: %s",
                         droneID,
                         zoneID,
                         zoneCenter.getX(),
                         zoneCenter.getY(),
-                        incident.getFault()), true);
+                        incident.fault()), true);
 
-        if (incident.getFault() != Faults.PACKET_LOSS){
+        if (incident.fault() != Faults.PACKET_LOSS){
             sendToDrone(dispatch, droneID);
         }
 
         // update fire incident that a drone has been dispatched (optional)
-        incident.setEventType(EventType.DRONE_DISPATCHED);
-        sendSocket.send(incident, fireSubsystemAddress, fireSubsystemPort);
+        send(incident.withEventType(EventType.DRONE_DISPATCHED).toEvent(), fireSubsystemAddress, fireSubsystemPort);
 
         // track the assignment
-        incident.markFaultHandled();
-        droneAssignments.put(droneID, incident);
+        long incidentStart = incident.startMillis();
+        long latency = incidentStart == 0 ? 0 : clock.millis() - incidentStart;
+        if (incidentStart != 0) {
+            dispatchLatency.record(latency);
+        }
+        sortieStartTimes.put(droneID, clock.millis());
+        IncidentSnapshot dispatched = incidents.update(incident.incidentID(),
+                i -> i.withEventType(EventType.DRONE_DISPATCHED).withFaultHandled());
+        if (dispatched != null) {
+            recordFire(dispatched);
+        } else {
+            dispatched = incident.withEventType(EventType.DRONE_DISPATCHED).withFaultHandled();
+        }
+        droneAssignments.put(droneID, dispatched);
+        if (recoveryLog != null) {
+            recoveryLog.droneAssigned(droneID, dispatched.toEvent());
+        }
+        dispatchRecord.commit(droneID, zoneID, incident.fault().name(), latency);
+        span.finish();
     }
 
     private void displayMetricsReport(){
-        long endExtinguishTime = System.currentTimeMillis();
+        long endExtinguishTime = clock.millis();
 
-        EventLogger.info(EventLogger.NO_ID, "\n========== DISTANCES FROM BASE TO ZONES ==========", true);
+        LOGGER.info(EventLogger.NO_ID, "\n========== DISTANCES FROM BASE TO ZONES ==========", true);
         for (Map.Entry<Integer, Point2D> entry : fireZones.entrySet()) {
             int zoneID = entry.getKey();
             if (zoneID == 0) continue;
             int distance = (int) Math.round(FireIncidentSubsystem.BASE_COORDINATES.distance(entry.getValue()));
-            EventLogger.info(EventLogger.NO_ID, "Distance from base to Zone " + zoneID + ": " + distance + " meters", true);
+            LOGGER.info(EventLogger.NO_ID, "Distance from base to Zone " + zoneID + ": " + distance + " meters", true);
         }
 
         // Print zone extinguish times at the end of simulation
-        EventLogger.info(EventLogger.NO_ID, "\n========== ZONE EXTINGUISH TIMES ==========", true);
+        LOGGER.info(EventLogger.NO_ID, "\n========== ZONE EXTINGUISH TIMES ==========", true);
         for (Map.Entry<Integer, Double> entry : zoneExtinguishTimes.entrySet()) {
-            EventLogger.info(EventLogger.NO_ID, "Fire extinguish time for Zone " + entry.getKey() + ": " + entry.getValue() + " s", true);
+            LOGGER.info(EventLogger.NO_ID, "Fire extinguish time for Zone " + entry.getKey() + ": " + entry.getValue() + " s", true);
         }
 
         // Log overall performance metrics
-        EventLogger.info(EventLogger.NO_ID, "\n========== PERFORMANCE METRICS ==========", true);
+        LOGGER.info(EventLogger.NO_ID, "\n========== PERFORMANCE METRICS ==========", true);
         double totalExtinguishTimeSec = (endExtinguishTime - startExtinguishTime) / 1000.0;
-        EventLogger.info(EventLogger.NO_ID, "[METRICS] Total Extinguish Time: " + totalExtinguishTimeSec + " s", true);
+        LOGGER.info(EventLogger.NO_ID, "[METRICS] Total Extinguish Time: " + totalExtinguishTimeSec + " s", true);
 
         if (incidentsCompleted > 0) {
             long averageExtinguishTime = (endExtinguishTime - startExtinguishTime) / incidentsCompleted;
             double averageExtinguishTimeSec = averageExtinguishTime/1000.0;
-            EventLogger.info(EventLogger.NO_ID, "[METRICS] Average Extinguish Time: " + averageExtinguishTimeSec + " s", true);
+            LOGGER.info(EventLogger.NO_ID, "[METRICS] Average Extinguish Time: " + averageExtinguishTimeSec + " s", true);
         }
 
-        // Calc total idle time for each drone
-        for (DroneInfo drone : dronesInfo.values()) {
-
-            // Finalize drones idle time
-            if (drone.getState() instanceof IdleState && drone.getIdleStartTime() != 0) {
-                long idleDuration = System.currentTimeMillis() - drone.getIdleStartTime();
-                drone.setTotalIdleTime(drone.getTotalIdleTime() + idleDuration);
-                drone.setIdleStartTime(0);
-            }
-            double totalIdleTimeSec = drone.getTotalIdleTime()/1000.0;
-            EventLogger.info(EventLogger.NO_ID, "Drone " + drone.getDroneID() + " total idle time: " + totalIdleTimeSec + " s", true);
+        // Finalize drones idle time, then print the total idle time for each drone
+        fleet.finishIdleTimes(clock.millis());
+        for (int droneID : fleet.droneIDs()) {
+            double totalIdleTimeSec = fleet.getTotalIdleTime(droneID)/1000.0;
+            LOGGER.info(EventLogger.NO_ID, "Drone " + droneID + " total idle time: " + totalIdleTimeSec + " s", true);
         }
 
         // Print zone response times at the end of simulation
-        EventLogger.info(EventLogger.NO_ID, "\n========== ZONE RESPONSE TIMES ==========", true);
+        LOGGER.info(EventLogger.NO_ID, "\n========== ZONE RESPONSE TIMES ==========", true);
         for (Map.Entry<Integer, Double> entry : zoneResponseTimes.entrySet()) {
-            EventLogger.info(EventLogger.NO_ID, "Zone " + entry.getKey() + " response time: " + entry.getValue() + " s", true);
+            LOGGER.info(EventLogger.NO_ID, "Zone " + entry.getKey() + " response time: " + entry.getValue() + " s", true);
+        }
+
+        // Print the latency distributions, and save them so runs can be combined
+        LOGGER.info(EventLogger.NO_ID, "\n========== LATENCY DISTRIBUTIONS ==========", true);
+        Map<String, LatencyHistogram> histograms = getLatencyHistograms();
+        histograms.forEach((name, histogram) ->
+                LOGGER.info(EventLogger.NO_ID, String.format("[METRICS] %-17s %s", name, histogram.summary("ms")), true));
+        saveLatencyHistograms(histograms);
+    }
+
+    /**
+     * Gets the latency distributions recorded so far, in milliseconds. They can be read while the
+     * scheduler runs.
+     *
+     * - dispatch_latency: from a fire being reported to each drone being dispatched to it
+     * - response_time: from a fire being reported to the first dispatched drone arriving
+     * - extinguish_time: from a fire being reported to it being put out
+     * - sortie_duration: from a drone being dispatched to it completing its drop
+     *
+     * @return the histograms by name
+     */
+    public Map<String, LatencyHistogram> getLatencyHistograms() {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        histograms.put("dispatch_latency", dispatchLatency);
+        histograms.put("response_time", responseTimes);
+        histograms.put("extinguish_time", extinguishTimes);
+        histograms.put("sortie_duration", sortieDurations);
+        return histograms;
+    }
+
+    /**
+     * Saves the latency histograms of this run to the directory set by the scheduler.metrics.dir
+     * system property, if it is set. Runs can be combined with {@link LatencyHistogram#main}.
+     */
+    private void saveLatencyHistograms(Map<String, LatencyHistogram> histograms) {
+        String directory = System.getProperty("scheduler.metrics.dir");
+        if (directory == null || directory.isBlank()) {
+            return;
+        }
+        File file = new File(directory, "latency-" + clock.millis() + ".hist");
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            LatencyHistogram.writeAll(file, histograms);
+            LOGGER.info(EventLogger.NO_ID, "Saved latency histograms to " + file.getAbsolutePath(), false);
+        } catch (IOException e) {
+            LOGGER.error(EventLogger.NO_ID, "Unable to save latency histograms to " + file + ": " + e.getMessage());
         }
     }
 
@@ -710,8 +1370,8 @@ public class Scheduler {
      * @param args Command-line arguments
      */
     public static void main(String[] args) {
-        EventLogger.info(EventLogger.NO_ID, "======== FIREFIGHTING DRONE SWARM ========", false);
-        EventLogger.info(EventLogger.NO_ID, "[SCHEDULER] Scheduler has started.", false);
+        LOGGER.info(EventLogger.NO_ID, "======== FIREFIGHTING DRONE SWARM ========", false);
+        LOGGER.info(EventLogger.NO_ID, "[SCHEDULER] Scheduler has started.", false);
         InetAddress address = null;
         try{
             address = InetAddress.getLocalHost();
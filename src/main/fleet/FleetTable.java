@@ -0,0 +1,213 @@
+package main.fleet;
+
+import subsystems.drone.DroneInfo;
+import subsystems.drone.states.DroneState;
+import subsystems.drone.states.DroppingAgentState;
+import subsystems.drone.states.FaultedState;
+import subsystems.drone.states.IdleState;
+import subsystems.drone.states.OnRouteState;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The Scheduler's copy of the fleet, stored by column: one primitive array per field the
+ * Scheduler scans or filters on, indexed by drone ID.
+ *
+ * Drone IDs are handed out in order from 1, so the rows are dense. Scans over the fleet, e.g.
+ * counting idle drones, read one array from start to end, and the battery checks of idle drones
+ * read their position and flight time, instead of following a {@link DroneInfo}, its state and
+ * its coordinates per drone.
+ *
+ * {@link DroneInfo} stays the message the drones send, and the table is updated from each one
+ * the Scheduler receives with {@link #update(DroneInfo)}.
+ */
+public class FleetTable {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The state of a drone, stored as its ordinal.
+     */
+    public enum State {
+        ABSENT,
+        IDLE,
+        ON_ROUTE,
+        DROPPING_AGENT,
+        FAULTED;
+
+        private static final State[] VALUES = values();
+
+        /**
+         * Gets the state of a drone state object.
+         *
+         * @param state the state, or null
+         * @return the state, or {@link #ABSENT} if it is null or unknown
+         */
+        public static State of(DroneState state) {
+            if (state instanceof IdleState) {
+                return IDLE;
+            } else if (state instanceof OnRouteState) {
+                return ON_ROUTE;
+            } else if (state instanceof DroppingAgentState) {
+                return DROPPING_AGENT;
+            } else if (state instanceof FaultedState) {
+                return FAULTED;
+            }
+            return ABSENT;
+        }
+    }
+
+    private byte[] states = new byte[INITIAL_CAPACITY];
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] flightTimes = new double[INITIAL_CAPACITY];
+    private long[] idleStartTimes = new long[INITIAL_CAPACITY];
+    private long[] totalIdleTimes = new long[INITIAL_CAPACITY];
+    // one past the highest drone ID stored, so scans stop at the end of the fleet
+    private int limit = 0;
+    private int size = 0;
+
+    /**
+     * Stores the latest report of a drone, adding it if it is new. A drone whose state is unknown
+     * is stored as present but not {@link State#IDLE}, so it is not assigned.
+     *
+     * @param drone the drone, with its ID set
+     * @throws IllegalArgumentException if the drone has no ID yet
+     */
+    public void update(DroneInfo drone) {
+        int id = drone.getDroneID();
+        if (id < 0) {
+            throw new IllegalArgumentException("Drone has no ID: " + id);
+        }
+        ensureCapacity(id + 1);
+        if (states[id] == State.ABSENT.ordinal()) {
+            size++;
+        }
+        State state = State.of(drone.getState());
+        // ABSENT is reserved for rows without a drone
+        states[id] = (byte) (state == State.ABSENT ? State.ON_ROUTE.ordinal() : state.ordinal());
+        x[id] = drone.getCoordinates().getX();
+        y[id] = drone.getCoordinates().getY();
+        flightTimes[id] = drone.getFlightTime();
+        idleStartTimes[id] = drone.getIdleStartTime();
+        totalIdleTimes[id] = drone.getTotalIdleTime();
+        limit = Math.max(limit, id + 1);
+    }
+
+    public boolean contains(int droneID) {
+        return droneID >= 0 && droneID < limit && states[droneID] != State.ABSENT.ordinal();
+    }
+
+    public State getState(int droneID) {
+        return contains(droneID) ? State.VALUES[states[droneID]] : State.ABSENT;
+    }
+
+    public double getX(int droneID) {
+        return x[checked(droneID)];
+    }
+
+    public double getY(int droneID) {
+        return y[checked(droneID)];
+    }
+
+    public double getFlightTime(int droneID) {
+        return flightTimes[checked(droneID)];
+    }
+
+    public long getIdleStartTime(int droneID) {
+        return idleStartTimes[checked(droneID)];
+    }
+
+    public long getTotalIdleTime(int droneID) {
+        return totalIdleTimes[checked(droneID)];
+    }
+
+    /**
+     * Adds the time since each idle drone became idle to its total idle time, e.g. when the run
+     * ends with drones still idle.
+     *
+     * @param nowMillis the current time in milliseconds
+     */
+    public void finishIdleTimes(long nowMillis) {
+        byte idle = (byte) State.IDLE.ordinal();
+        for (int id = 0; id < limit; id++) {
+            if (states[id] == idle && idleStartTimes[id] != 0) {
+                totalIdleTimes[id] += nowMillis - idleStartTimes[id];
+                idleStartTimes[id] = 0;
+            }
+        }
+    }
+
+    /**
+     * Counts the drones in a state.
+     *
+     * @param state the state
+     * @return the number of drones
+     */
+    public int count(State state) {
+        byte wanted = (byte) state.ordinal();
+        int count = 0;
+        for (int id = 0; id < limit; id++) {
+            if (states[id] == wanted) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Calls an action with the ID of each drone in a state, in increasing order. The table must
+     * not be updated by the action.
+     *
+     * @param state  the state
+     * @param action the action
+     */
+    public void forEach(State state, IntConsumer action) {
+        byte wanted = (byte) state.ordinal();
+        for (int id = 0; id < limit; id++) {
+            if (states[id] == wanted) {
+                action.accept(id);
+            }
+        }
+    }
+
+    /**
+     * Gets the IDs of all drones in the table, in increasing order.
+     *
+     * @return the IDs
+     */
+    public int[] droneIDs() {
+        int[] ids = new int[size];
+        int count = 0;
+        for (int id = 0; id < limit; id++) {
+            if (states[id] != State.ABSENT.ordinal()) {
+                ids[count++] = id;
+            }
+        }
+        return ids;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int checked(int droneID) {
+        if (!contains(droneID)) {
+            throw new IllegalArgumentException("Unknown drone: " + droneID);
+        }
+        return droneID;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= states.length) {
+            return;
+        }
+        int grown = Math.max(capacity, states.length * 2);
+        states = Arrays.copyOf(states, grown);
+        x = Arrays.copyOf(x, grown);
+        y = Arrays.copyOf(y, grown);
+        flightTimes = Arrays.copyOf(flightTimes, grown);
+        idleStartTimes = Arrays.copyOf(idleStartTimes, grown);
+        totalIdleTimes = Arrays.copyOf(totalIdleTimes, grown);
+    }
+}
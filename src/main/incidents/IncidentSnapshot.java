@@ -0,0 +1,109 @@
+package main.incidents;
+
+import subsystems.EventType;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+
+/**
+ * The state of a fire incident at one version, as held by an {@link IncidentStore}.
+ *
+ * A snapshot never changes: an update creates the next version. It can therefore be read by any
+ * thread and kept, e.g. as a drone's assignment, without seeing later changes. The
+ * {@link #incidentID()} stays the same across versions, so the current version of an incident can
+ * always be looked up.
+ *
+ * @param incidentID     the ID given by the store, or {@link #NO_ID} if the snapshot is not stored
+ * @param version        the version, starting at 1 and incremented by every update
+ * @param zoneID         the zone that is burning
+ * @param timeStamp      the timestamp of the reported incident
+ * @param timeOfDayNanos the time of day of the timestamp, see {@link subsystems.Event#getTimeOfDayNanos()}
+ * @param eventType      the type of the last event about the incident
+ * @param severity       the severity, lowered as water is dropped
+ * @param fault          the fault injected into the next dispatch, or {@link Faults#NONE}
+ * @param faultHandled   true once the fault has been dispatched
+ * @param waterRemaining the water still needed in liters
+ * @param startMillis    the time the incident was received in milliseconds, or 0 if unknown
+ * @param traceID        the trace of the incident, or 0 if it is not traced
+ * @param spanID         the span that dispatches for the incident are children of
+ */
+public record IncidentSnapshot(long incidentID, long version, int zoneID, String timeStamp, long timeOfDayNanos,
+                               EventType eventType, Severity severity, Faults fault, boolean faultHandled,
+                               int waterRemaining, long startMillis, long traceID, long spanID) {
+    /**
+     * The ID of a snapshot that is not held by a store.
+     */
+    public static final long NO_ID = 0;
+
+    /**
+     * Creates the first version of an incident from the event that reported it.
+     *
+     * @param incidentID  the ID of the incident
+     * @param event       the reported incident
+     * @param startMillis the time the incident was received in milliseconds, or 0 if unknown
+     * @return the snapshot
+     */
+    public static IncidentSnapshot of(long incidentID, IncidentEvent event, long startMillis) {
+        return new IncidentSnapshot(incidentID, 1, event.getZoneID(), event.getTimeStamp(), event.getTimeOfDayNanos(),
+                event.getEventType(), event.getSeverity(), event.getFault(), event.isFaultHandled(),
+                event.getWaterFoamAmount(), startMillis, event.getTraceID(), event.getSpanID());
+    }
+
+    /**
+     * Gets the next version with less or more water needed. The severity follows the water, see
+     * {@link Severity#forWater(int)}.
+     *
+     * @param water the water still needed in liters; negative amounts are stored as 0
+     * @return the next version
+     */
+    public IncidentSnapshot withWaterRemaining(int water) {
+        int remaining = Math.max(0, water);
+        return new IncidentSnapshot(incidentID, version + 1, zoneID, timeStamp, timeOfDayNanos,
+                eventType, Severity.forWater(remaining), fault, faultHandled, remaining, startMillis, traceID, spanID);
+    }
+
+    /**
+     * Gets the next version with the fault cleared, once it has been dispatched.
+     *
+     * @return the next version
+     */
+    public IncidentSnapshot withFaultHandled() {
+        return new IncidentSnapshot(incidentID, version + 1, zoneID, timeStamp, timeOfDayNanos,
+                eventType, severity, Faults.NONE, true, waterRemaining, startMillis, traceID, spanID);
+    }
+
+    /**
+     * Gets the next version with a new event type.
+     *
+     * @param type the event type, e.g. {@link EventType#DRONE_DISPATCHED}
+     * @return the next version
+     */
+    public IncidentSnapshot withEventType(EventType type) {
+        return new IncidentSnapshot(incidentID, version + 1, zoneID, timeStamp, timeOfDayNanos,
+                type, severity, fault, faultHandled, waterRemaining, startMillis, traceID, spanID);
+    }
+
+    /**
+     * Creates an event carrying this version, to send to the fire incident subsystem or to log.
+     * The event is a new object each time, so changing it does not affect the snapshot.
+     *
+     * @return the event
+     */
+    public IncidentEvent toEvent() {
+        IncidentEvent event = new IncidentEvent(timeStamp, zoneID, eventType, severity, fault);
+        event.setWaterFoamAmount(waterRemaining);
+        event.setSeverity(severity);
+        if (faultHandled) {
+            event.markFaultHandled();
+        }
+        event.setFault(fault);
+        event.setTrace(traceID, spanID);
+        return event;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Incident %d v%d | Time: %s | Zone: %d | Type: %s | Severity: %s | Fault: %s | Water: %dL",
+                incidentID, version, timeStamp, zoneID, eventType, severity, fault, waterRemaining);
+    }
+}
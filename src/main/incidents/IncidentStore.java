@@ -0,0 +1,137 @@
+package main.incidents;
+
+import subsystems.fire_incident.events.IncidentEvent;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * The active fire incidents of the Scheduler, as immutable {@link IncidentSnapshot}s keyed by a
+ * stable incident ID, with at most one active incident per zone.
+ *
+ * Reads never lock and always see a whole version of an incident. Updates to an incident are
+ * applied atomically against its latest version, so concurrent updates, e.g. two drones dropping
+ * water on the same fire, are never lost. Adding and removing incidents is serialized to keep the
+ * zone index consistent with the incidents.
+ */
+public class IncidentStore {
+    private final ConcurrentHashMap<Long, IncidentSnapshot> incidents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> activeByZone = new ConcurrentHashMap<>();
+    private final AtomicLong nextID = new AtomicLong(IncidentSnapshot.NO_ID + 1);
+
+    /**
+     * Adds a reported incident as the active incident of its zone, replacing any incident
+     * already active there.
+     *
+     * @param event       the reported incident
+     * @param startMillis the time the incident was received in milliseconds, or 0 if unknown
+     * @return the first version of the incident
+     */
+    public synchronized IncidentSnapshot add(IncidentEvent event, long startMillis) {
+        IncidentSnapshot incident = IncidentSnapshot.of(nextID.getAndIncrement(), event, startMillis);
+        incidents.put(incident.incidentID(), incident);
+        Long previous = activeByZone.put(incident.zoneID(), incident.incidentID());
+        if (previous != null) {
+            incidents.remove(previous);
+        }
+        return incident;
+    }
+
+    /**
+     * Gets the latest version of an incident.
+     *
+     * @param incidentID the incident ID
+     * @return the incident, or null if it is not active
+     */
+    public IncidentSnapshot get(long incidentID) {
+        return incidents.get(incidentID);
+    }
+
+    /**
+     * Gets the latest version of the active incident of a zone.
+     *
+     * @param zoneID the zone ID
+     * @return the incident, or null if the zone is not burning
+     */
+    public IncidentSnapshot getByZone(int zoneID) {
+        Long incidentID = activeByZone.get(zoneID);
+        return incidentID == null ? null : incidents.get(incidentID);
+    }
+
+    /**
+     * Atomically replaces an incident with the next version computed from its latest version.
+     *
+     * @param incidentID the incident ID
+     * @param update     computes the next version, e.g. {@code i -> i.withWaterRemaining(i.waterRemaining() - 10)};
+     *                   may be called again if other updates race with it
+     * @return the new version, or null if the incident is not active
+     */
+    public IncidentSnapshot update(long incidentID, UnaryOperator<IncidentSnapshot> update) {
+        return incidents.computeIfPresent(incidentID, (id, current) -> checked(current, update.apply(current)));
+    }
+
+    /**
+     * Replaces an incident with a new version only if it is still at the version it was computed
+     * from, for callers that cannot redo their work when an update races with theirs.
+     *
+     * @param expected the version the new one was computed from
+     * @param next     the new version
+     * @return true if the incident was replaced
+     */
+    public boolean compareAndSet(IncidentSnapshot expected, IncidentSnapshot next) {
+        checked(expected, next);
+        return incidents.replace(expected.incidentID(), expected, next);
+    }
+
+    /**
+     * Removes an incident, e.g. once its fire is extinguished.
+     *
+     * @param incidentID the incident ID
+     * @return the last version of the incident, or null if it was not active
+     */
+    public synchronized IncidentSnapshot remove(long incidentID) {
+        IncidentSnapshot incident = incidents.remove(incidentID);
+        if (incident != null) {
+            activeByZone.remove(incident.zoneID(), incidentID);
+        }
+        return incident;
+    }
+
+    /**
+     * Removes the active incident of a zone.
+     *
+     * @param zoneID the zone ID
+     * @return the last version of the incident, or null if the zone was not burning
+     */
+    public synchronized IncidentSnapshot removeZone(int zoneID) {
+        Long incidentID = activeByZone.remove(zoneID);
+        return incidentID == null ? null : incidents.remove(incidentID);
+    }
+
+    /**
+     * Takes a snapshot of the active incidents. Copying the references is all it costs, since the
+     * incidents themselves never change; each is at the version it had when it was copied.
+     *
+     * @return the incidents, in no particular order
+     */
+    public List<IncidentSnapshot> snapshot() {
+        return List.copyOf(incidents.values());
+    }
+
+    public int size() {
+        return incidents.size();
+    }
+
+    public boolean isEmpty() {
+        return incidents.isEmpty();
+    }
+
+    private static IncidentSnapshot checked(IncidentSnapshot current, IncidentSnapshot next) {
+        if (next.incidentID() != current.incidentID() || next.zoneID() != current.zoneID() || next.version() <= current.version()) {
+            throw new IllegalArgumentException("Not a later version of incident " + current.incidentID() + ": " + next);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,50 @@
+package main.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded when the Scheduler handles a drone arriving at the zone it was dispatched to.
+ * The event spans the handling of the arrival.
+ */
+@Name("firefighting.Arrival")
+@Label("Drone Arrival")
+@Description("A drone arrived at the fire it was dispatched to")
+public class ArrivalEvent extends SwarmEvent {
+    @Label("Flight Time")
+    @Description("Time from the drone being dispatched to it arriving")
+    @Timespan(Timespan.MILLISECONDS)
+    long flightTime;
+
+    @Label("Response Time")
+    @Description("Time from the fire being reported to this drone arriving")
+    @Timespan(Timespan.MILLISECONDS)
+    long responseTime;
+
+    @Label("Ordered Drop")
+    @Description("Litres the drone was ordered to drop, 0 if the fire was already out")
+    int orderedVolume;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param droneID       the arriving drone
+     * @param zoneID        the zone it arrived at
+     * @param flightTime    the milliseconds since the drone was dispatched
+     * @param responseTime  the milliseconds since the fire was reported
+     * @param orderedVolume the litres the drone was ordered to drop
+     */
+    public void commit(int droneID, int zoneID, long flightTime, long responseTime, int orderedVolume) {
+        end();
+        if (shouldCommit()) {
+            this.droneID = droneID;
+            this.zoneID = zoneID;
+            this.flightTime = flightTime;
+            this.responseTime = responseTime;
+            this.orderedVolume = orderedVolume;
+            commit();
+        }
+    }
+}
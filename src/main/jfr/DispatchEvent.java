@@ -0,0 +1,42 @@
+package main.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded when the Scheduler dispatches a drone to a fire. The event spans the dispatch itself.
+ */
+@Name("firefighting.Dispatch")
+@Label("Drone Dispatch")
+@Description("The scheduler assigned a drone to a fire")
+public class DispatchEvent extends SwarmEvent {
+    @Label("Fault")
+    @Description("The fault injected into the dispatch")
+    String fault;
+
+    @Label("Dispatch Latency")
+    @Description("Time from the fire being reported to this dispatch")
+    @Timespan(Timespan.MILLISECONDS)
+    long dispatchLatency;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param droneID         the dispatched drone
+     * @param zoneID          the zone of the fire
+     * @param fault           the fault injected into the dispatch
+     * @param dispatchLatency the milliseconds since the fire was reported
+     */
+    public void commit(int droneID, int zoneID, String fault, long dispatchLatency) {
+        end();
+        if (shouldCommit()) {
+            this.droneID = droneID;
+            this.zoneID = zoneID;
+            this.fault = fault;
+            this.dispatchLatency = dispatchLatency;
+            commit();
+        }
+    }
+}
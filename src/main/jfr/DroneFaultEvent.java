@@ -0,0 +1,40 @@
+package main.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the Scheduler handles a drone fault: a jammed nozzle, a drone stuck in flight or
+ * a watchdog expiring after packet loss. The event spans the handling of the fault.
+ */
+@Name("firefighting.DroneFault")
+@Label("Drone Fault")
+@Description("The scheduler took a faulted drone off its fire")
+public class DroneFaultEvent extends SwarmEvent {
+    @Label("Fault")
+    String fault;
+
+    @Label("Sent To Base")
+    @Description("Whether the drone was ordered back to base")
+    boolean sentToBase;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param droneID    the faulted drone
+     * @param zoneID     the zone it was assigned to, 0 if none
+     * @param fault      the fault
+     * @param sentToBase whether the drone was ordered back to base
+     */
+    public void commit(int droneID, int zoneID, String fault, boolean sentToBase) {
+        end();
+        if (shouldCommit()) {
+            this.droneID = droneID;
+            this.zoneID = zoneID;
+            this.fault = fault;
+            this.sentToBase = sentToBase;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package main.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded by a drone each time it changes state.
+ */
+@Name("firefighting.DroneState")
+@Label("Drone State Transition")
+@Description("A drone moved to a new state")
+public class DroneStateEvent extends SwarmEvent {
+    @Label("Previous State")
+    String previousState;
+
+    @Label("New State")
+    String newState;
+
+    @Label("Time In Previous State")
+    @Timespan(Timespan.MILLISECONDS)
+    long timeInPreviousState;
+
+    /**
+     * Records the event if it is enabled.
+     *
+     * @param droneID             the drone
+     * @param zoneID              the zone the drone is assigned to, 0 if none
+     * @param previousState       the state it left, null if it had none
+     * @param newState            the state it entered
+     * @param timeInPreviousState the milliseconds spent in the previous state
+     */
+    public void commit(int droneID, int zoneID, String previousState, String newState, long timeInPreviousState) {
+        if (shouldCommit()) {
+            this.droneID = droneID;
+            this.zoneID = zoneID;
+            this.previousState = previousState;
+            this.newState = newState;
+            this.timeInPreviousState = timeInPreviousState;
+            commit();
+        }
+    }
+}
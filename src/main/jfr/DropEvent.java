@@ -0,0 +1,60 @@
+package main.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded when the Scheduler handles a drone dropping its agent on a fire. The event spans the
+ * handling of the drop, including the reassignment of the drone.
+ */
+@Name("firefighting.Drop")
+@Label("Agent Drop")
+@Description("A drone dropped water or foam on a fire")
+public class DropEvent extends SwarmEvent {
+    @Label("Volume")
+    @Description("Litres dropped")
+    int volume;
+
+    @Label("Remaining Water")
+    @Description("Litres still needed to put the fire out")
+    int remainingWater;
+
+    @Label("Extinguished")
+    boolean extinguished;
+
+    @Label("Sortie Duration")
+    @Description("Time from the drone being dispatched to this drop")
+    @Timespan(Timespan.MILLISECONDS)
+    long sortieDuration;
+
+    @Label("Extinguish Time")
+    @Description("Time from the fire being reported to it being put out, 0 if it is still burning")
+    @Timespan(Timespan.MILLISECONDS)
+    long extinguishTime;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param droneID        the drone that dropped
+     * @param zoneID         the zone of the fire
+     * @param volume         the litres dropped
+     * @param remainingWater the litres still needed
+     * @param sortieDuration the milliseconds since the drone was dispatched
+     * @param extinguishTime the milliseconds since the fire was reported if this drop put it out, else 0
+     */
+    public void commit(int droneID, int zoneID, int volume, int remainingWater, long sortieDuration, long extinguishTime) {
+        end();
+        if (shouldCommit()) {
+            this.droneID = droneID;
+            this.zoneID = zoneID;
+            this.volume = volume;
+            this.remainingWater = remainingWater;
+            this.extinguished = remainingWater <= 0;
+            this.sortieDuration = sortieDuration;
+            this.extinguishTime = extinguishTime;
+            commit();
+        }
+    }
+}
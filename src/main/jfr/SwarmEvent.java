@@ -0,0 +1,23 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * The base of the Java Flight Recorder events describing what the drone swarm is doing, so a
+ * recording opened in JDK Mission Control shows dispatches, drops and faults on the same timeline
+ * as CPU samples, GC pauses and lock contention.
+ *
+ * The events are recorded whenever the JVM is started with a recording, e.g.
+ * -XX:StartFlightRecording=filename=scheduler.jfr, and cost next to nothing otherwise: each
+ * subclass only fills in its fields once {@link #shouldCommit()} says the event is wanted.
+ */
+@Category({"Firefighting Drone Swarm"})
+abstract class SwarmEvent extends Event {
+    @Label("Drone ID")
+    int droneID;
+
+    @Label("Zone ID")
+    int zoneID;
+}
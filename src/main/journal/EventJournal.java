@@ -0,0 +1,193 @@
+package main.journal;
+
+import main.EventSocket;
+import subsystems.Event;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only binary journal of the events sent and received by the Scheduler.
+ *
+ * Records are written into memory-mapped segment files of a fixed size; when a record does not
+ * fit in the current segment a new one is started. Segment layout (little-endian):
+ * <pre>
+ * header: int magic, int version, long segment index, long wall clock millis, long nano time at creation
+ * record: int payload length, long nano time, byte direction, byte address length,
+ *         unsigned short port, byte[16] address, byte[payload length] payload
+ * </pre>
+ * The length of a record is written last, so a record that was only partially written before a
+ * crash reads as a zero length, which marks the end of the segment.
+ */
+public class EventJournal implements Closeable {
+    public static final String SEGMENT_PREFIX = "journal-";
+    public static final String SEGMENT_SUFFIX = ".seg";
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    static final int MAGIC = 0x46444a4e; // "FDJN"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_HEADER_SIZE = 32;
+    static final int ADDRESS_SIZE = 16;
+
+    /**
+     * Whether a journaled event was received or sent by the Scheduler.
+     */
+    public enum Direction {
+        RECEIVED,
+        SENT
+    }
+
+    private final File directory;
+    private final long segmentSize;
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long recordCount = 0;
+
+    /**
+     * Opens a journal in a directory, starting a new segment after any existing ones.
+     *
+     * @param directory   the directory holding the segment files, created if missing
+     * @param segmentSize the size of each segment file in bytes
+     * @throws IOException if the first segment cannot be created
+     */
+    public EventJournal(File directory, long segmentSize) throws IOException {
+        if (segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid journal segment size: " + segmentSize);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create journal directory " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        File[] existing = JournalReader.segments(directory);
+        this.segmentIndex = existing.length == 0 ? 0 : JournalReader.segmentIndex(existing[existing.length - 1]) + 1;
+        openSegment();
+    }
+
+    /**
+     * Appends an event to the journal.
+     *
+     * @param direction whether the event was received or sent
+     * @param peer      the address of the sender or recipient, may be null if unknown
+     * @param port      the port of the sender or recipient, or -1 if unknown
+     * @param event     the event
+     */
+    public void append(Direction direction, InetAddress peer, int port, Event event) {
+        try {
+            append(direction, System.nanoTime(), peer, port, EventSocket.serialize(event));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends an encoded event to the journal.
+     *
+     * @param direction whether the event was received or sent
+     * @param nanoTime  the {@link System#nanoTime()} at which the event was handled
+     * @param peer      the address of the sender or recipient, may be null if unknown
+     * @param port      the port of the sender or recipient, or -1 if unknown
+     * @param payload   the serialized event
+     */
+    public synchronized void append(Direction direction, long nanoTime, InetAddress peer, int port, byte[] payload) {
+        int size = RECORD_HEADER_SIZE + payload.length;
+        if (size > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal record of " + size + " bytes exceeds the segment size.");
+        }
+        if (segment.remaining() < size) {
+            rollover();
+        }
+
+        int start = segment.position();
+        segment.position(start + Integer.BYTES);
+        segment.putLong(nanoTime);
+        segment.put((byte) direction.ordinal());
+
+        byte[] address = peer == null ? new byte[0] : peer.getAddress();
+        segment.put((byte) address.length);
+        segment.putShort((short) Math.max(port, 0));
+        segment.put(address);
+        segment.position(start + RECORD_HEADER_SIZE);
+        segment.put(payload);
+
+        // commit the record by writing its length last
+        segment.putInt(start, payload.length);
+        recordCount++;
+    }
+
+    /**
+     * Gets the number of records appended since the journal was opened.
+     *
+     * @return the record count
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the directory holding the segment files.
+     *
+     * @return the journal directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Flushes the current segment to disk.
+     */
+    public synchronized void force() {
+        segment.force();
+    }
+
+    /**
+     * Flushes and closes the current segment.
+     */
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        segment.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        channel = null;
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     */
+    private void rollover() {
+        close();
+        segmentIndex++;
+        try {
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        File file = new File(directory, String.format("%s%06d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(segmentIndex)
+                .putLong(System.currentTimeMillis())
+                .putLong(System.nanoTime());
+    }
+}
@@ -0,0 +1,287 @@
+package main.journal;
+
+import main.EventSocket;
+import subsystems.Event;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Scans the segments of an {@link EventJournal} sequentially.
+ *
+ * The reader is a cursor: {@link #next()} advances to the next record and the accessors describe
+ * it. Payloads are only copied or decoded when asked for, so a scan that only looks at the record
+ * headers runs at the speed the segments can be read from disk.
+ */
+public class JournalReader implements Closeable {
+    private static final EventJournal.Direction[] DIRECTIONS = EventJournal.Direction.values();
+
+    private final File[] segments;
+    private int segmentIndex = -1;
+    private FileChannel channel;
+    private ByteBuffer segment;
+
+    private int recordStart;
+    private int payloadLength;
+    private long bytesRead = 0;
+
+    /**
+     * Opens the journal in a directory.
+     *
+     * @param directory the directory holding the segment files
+     */
+    public JournalReader(File directory) {
+        this.segments = segments(directory);
+    }
+
+    /**
+     * Lists the segment files of a journal directory in the order they were written.
+     *
+     * @param directory the journal directory
+     * @return the segment files, empty if there are none
+     */
+    static File[] segments(File directory) {
+        File[] files = directory.listFiles((dir, name) ->
+                name.startsWith(EventJournal.SEGMENT_PREFIX) && name.endsWith(EventJournal.SEGMENT_SUFFIX));
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files, Comparator.comparingLong(JournalReader::segmentIndex));
+        return files;
+    }
+
+    /**
+     * Gets the index of a segment file from its name.
+     */
+    static long segmentIndex(File file) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(EventJournal.SEGMENT_PREFIX.length(), name.length() - EventJournal.SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return true if there is a record, false once every segment has been read
+     */
+    public boolean next() {
+        if (segment != null) {
+            int next = recordStart + EventJournal.RECORD_HEADER_SIZE + payloadLength;
+            if (readRecord(next)) {
+                return true;
+            }
+        }
+        while (openNextSegment()) {
+            if (readRecord(EventJournal.HEADER_SIZE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the time at which the current record was journaled.
+     *
+     * @return the {@link System#nanoTime()} of the journaling process
+     */
+    public long getNanoTime() {
+        return segment.getLong(recordStart + 4);
+    }
+
+    /**
+     * Gets the wall clock time at which the current record was journaled, derived from the
+     * segment's creation time and the record's nano time.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getWallClockMillis() {
+        return segment.getLong(16) + (getNanoTime() - segment.getLong(24)) / 1_000_000;
+    }
+
+    /**
+     * Gets whether the current record was received or sent.
+     *
+     * @return the direction
+     */
+    public EventJournal.Direction getDirection() {
+        return DIRECTIONS[segment.get(recordStart + 12)];
+    }
+
+    /**
+     * Gets the peer address of the current record.
+     *
+     * @return the address, or null if it was not recorded
+     */
+    public InetAddress getPeerAddress() {
+        int length = segment.get(recordStart + 13);
+        if (length == 0) {
+            return null;
+        }
+        byte[] address = new byte[length];
+        segment.get(recordStart + 16, address);
+        try {
+            return InetAddress.getByAddress(address);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the peer port of the current record.
+     *
+     * @return the port
+     */
+    public int getPeerPort() {
+        return Short.toUnsignedInt(segment.getShort(recordStart + 14));
+    }
+
+    /**
+     * Gets the length of the encoded event of the current record.
+     *
+     * @return the payload length in bytes
+     */
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    /**
+     * Gets the encoded event of the current record without copying it.
+     *
+     * @return a read-only view of the payload
+     */
+    public ByteBuffer getPayload() {
+        return segment.slice(recordStart + EventJournal.RECORD_HEADER_SIZE, payloadLength).asReadOnlyBuffer();
+    }
+
+    /**
+     * Decodes the event of the current record.
+     *
+     * @return the event
+     * @throws IOException if the payload cannot be decoded
+     */
+    public Event readEvent() throws IOException {
+        byte[] payload = new byte[payloadLength];
+        segment.get(recordStart + EventJournal.RECORD_HEADER_SIZE, payload);
+        try {
+            return EventSocket.deserialize(payload, 0, payloadLength);
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Gets the number of journal bytes scanned so far.
+     *
+     * @return the bytes read
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            channel = null;
+        }
+        segment = null;
+    }
+
+    /**
+     * Reads the record header at an offset of the current segment.
+     *
+     * @return true if a committed record starts at the offset
+     */
+    private boolean readRecord(int offset) {
+        if (offset + EventJournal.RECORD_HEADER_SIZE > segment.limit()) {
+            return false;
+        }
+        int length = segment.getInt(offset);
+        if (length <= 0 || offset + EventJournal.RECORD_HEADER_SIZE + length > segment.limit()) {
+            return false;
+        }
+        recordStart = offset;
+        payloadLength = length;
+        bytesRead += EventJournal.RECORD_HEADER_SIZE + length;
+        return true;
+    }
+
+    private boolean openNextSegment() {
+        close();
+        while (++segmentIndex < segments.length) {
+            try {
+                channel = FileChannel.open(segments[segmentIndex].toPath(), StandardOpenOption.READ);
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (segment.limit() >= EventJournal.HEADER_SIZE && segment.getInt(0) == EventJournal.MAGIC) {
+                if (segment.getInt(4) != EventJournal.VERSION) {
+                    throw new IllegalStateException("Unsupported journal version in " + segments[segmentIndex]);
+                }
+                return true;
+            }
+            close();
+        }
+        return false;
+    }
+
+    /**
+     * Scans a journal and reports its size and how fast it was read.
+     *
+     * Usage: JournalReader (journal directory) [--events]
+     * With --events every record is decoded and printed.
+     *
+     * @param args the journal directory and options
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JournalReader <journal directory> [--events]");
+            System.exit(1);
+        }
+        boolean printEvents = args.length > 1 && args[1].equals("--events");
+
+        long records = 0;
+        long received = 0;
+        long start = System.nanoTime();
+        long firstTime = 0;
+        try (JournalReader reader = new JournalReader(new File(args[0]))) {
+            while (reader.next()) {
+                if (records == 0) {
+                    firstTime = reader.getNanoTime();
+                }
+                records++;
+                if (reader.getDirection() == EventJournal.Direction.RECEIVED) {
+                    received++;
+                }
+                if (printEvents) {
+                    System.out.printf("%12.3f ms %-8s %s:%d %s%n",
+                            (reader.getNanoTime() - firstTime) / 1_000_000.0,
+                            reader.getDirection(),
+                            reader.getPeerAddress() == null ? "?" : reader.getPeerAddress().getHostAddress(),
+                            reader.getPeerPort(),
+                            reader.readEvent());
+                }
+            }
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("%d records (%d received, %d sent), %.1f MB in %.3f s (%.0f MB/s)%n",
+                    records, received, records - received,
+                    reader.getBytesRead() / 1_048_576.0, seconds,
+                    reader.getBytesRead() / 1_048_576.0 / Math.max(seconds, 1e-9));
+        }
+    }
+}
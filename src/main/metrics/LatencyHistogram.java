@@ -0,0 +1,317 @@
+package main.metrics;
+
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies, with a bounded relative error, in the style of HdrHistogram.
+ *
+ * Values are counted in log-linear buckets: each power of two is split into {@value #SUB_BUCKET_HALF_COUNT}
+ * equal sub-buckets, so a recorded value is reported to within 1/{@value #SUB_BUCKET_HALF_COUNT}
+ * (under 2%) of itself, whatever its magnitude. Recording is a single atomic increment and can be
+ * done from any thread while other threads read percentiles. Histograms with the same highest
+ * trackable value can be added together, e.g. to combine runs saved with {@link #writeAll}.
+ *
+ * The unit of the values is up to the caller; the Scheduler records milliseconds.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int FILE_MAGIC = 0x46444848; // "FDHH"
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator minValue = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param highestTrackableValue the highest value that is told apart; higher values are counted as it
+     */
+    public LatencyHistogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) {
+            throw new IllegalArgumentException("Highest trackable value must be at least " + SUB_BUCKET_COUNT);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(countsIndex(highestTrackableValue) + 1);
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value, clamped to 0..highestTrackableValue
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, highestTrackableValue));
+        counts.incrementAndGet(countsIndex(clamped));
+        totalCount.increment();
+        totalSum.add(clamped);
+        maxValue.accumulate(clamped);
+        minValue.accumulate(clamped);
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Gets the highest value recorded.
+     *
+     * @return the exact maximum, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Gets the lowest value recorded.
+     *
+     * @return the exact minimum, or 0 if nothing was recorded
+     */
+    public long getMin() {
+        long min = minValue.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Gets the mean of the values recorded.
+     *
+     * @return the exact mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : totalSum.sum() / (double) count;
+    }
+
+    /**
+     * Gets the sum of the values recorded.
+     *
+     * @return the exact sum
+     */
+    public long getSum() {
+        return totalSum.sum();
+    }
+
+    /**
+     * Gets the value at a percentile: the highest value of the bucket holding the value below which
+     * the given share of recorded values fall.
+     *
+     * @param percentile the percentile, from 0 to 100, e.g. 99.9
+     * @return the value, never above the recorded maximum, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = snapshotCounts();
+        long count = 0;
+        for (long c : snapshot) {
+            count += c;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueInBucket(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Adds the values recorded by another histogram to this one.
+     *
+     * @param other the histogram to add
+     * @throws IllegalArgumentException if the histograms have different highest trackable values
+     */
+    public void add(LatencyHistogram other) {
+        if (other.highestTrackableValue != highestTrackableValue) {
+            throw new IllegalArgumentException("Cannot add histograms with different ranges");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        totalCount.add(other.getCount());
+        totalSum.add(other.getSum());
+        if (other.getCount() > 0) {
+            maxValue.accumulate(other.getMax());
+            minValue.accumulate(other.getMin());
+        }
+    }
+
+    /**
+     * Formats the count, percentiles and maximum on one line.
+     *
+     * @param unit the unit of the values, e.g. "ms"
+     * @return the summary
+     */
+    public String summary(String unit) {
+        return String.format("count=%d mean=%.1f%s p50=%d%s p90=%d%s p99=%d%s p99.9=%d%s max=%d%s",
+                getCount(), getMean(), unit,
+                getValueAtPercentile(50), unit, getValueAtPercentile(90), unit,
+                getValueAtPercentile(99), unit, getValueAtPercentile(99.9), unit,
+                getMax(), unit);
+    }
+
+    /**
+     * Writes named histograms to a file.
+     *
+     * @param file       the file to write
+     * @param histograms the histograms by name
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAll(File file, Map<String, LatencyHistogram> histograms) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(histograms.size());
+            for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Reads named histograms written by {@link #writeAll}.
+     *
+     * @param file the file to read
+     * @return the histograms by name, in the order they were written
+     * @throws IOException if the file cannot be read or is not a histogram file
+     */
+    public static Map<String, LatencyHistogram> readAll(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException(file + " is not a histogram file");
+            }
+            int histograms = in.readInt();
+            Map<String, LatencyHistogram> result = new LinkedHashMap<>();
+            for (int i = 0; i < histograms; i++) {
+                result.put(in.readUTF(), readFrom(in));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Writes the non-empty buckets, the sum and the extremes.
+     */
+    private void writeTo(DataOutput out) throws IOException {
+        long[] snapshot = snapshotCounts();
+        int used = 0;
+        for (long c : snapshot) {
+            if (c != 0) used++;
+        }
+        out.writeLong(highestTrackableValue);
+        out.writeLong(getSum());
+        out.writeLong(getMin());
+        out.writeLong(getMax());
+        out.writeInt(used);
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(snapshot[i]);
+            }
+        }
+    }
+
+    private static LatencyHistogram readFrom(DataInput in) throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram(in.readLong());
+        long sum = in.readLong();
+        long min = in.readLong();
+        long max = in.readLong();
+        int used = in.readInt();
+        long count = 0;
+        for (int i = 0; i < used; i++) {
+            int index = in.readInt();
+            long c = in.readLong();
+            if (index < 0 || index >= histogram.counts.length()) {
+                throw new IOException("Bucket index out of range: " + index);
+            }
+            histogram.counts.addAndGet(index, c);
+            count += c;
+        }
+        histogram.totalCount.add(count);
+        histogram.totalSum.add(sum);
+        if (count > 0) {
+            histogram.minValue.accumulate(min);
+            histogram.maxValue.accumulate(max);
+        }
+        return histogram;
+    }
+
+    private long[] snapshotCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Maps a value to its bucket. Values below SUB_BUCKET_COUNT get a bucket each; above that each
+     * power of two gets SUB_BUCKET_HALF_COUNT buckets.
+     */
+    private static int countsIndex(long value) {
+        int bucketIndex = 63 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK) - (SUB_BUCKET_BITS - 1);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return (bucketIndex << (SUB_BUCKET_BITS - 1)) + subBucketIndex;
+    }
+
+    /**
+     * Gets the highest value that maps to a bucket.
+     */
+    private static long highestValueInBucket(int index) {
+        int bucketIndex = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            // the first SUB_BUCKET_COUNT values map one to one
+            return index;
+        }
+        return ((long) (subBucketIndex + 1) << bucketIndex) - 1;
+    }
+
+    /**
+     * Merges the histogram files written by the Scheduler and prints the combined summaries.
+     *
+     * Usage: LatencyHistogram (file)...
+     *
+     * @param args the histogram files
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: LatencyHistogram <histogram file>...");
+            System.exit(1);
+        }
+        Map<String, LatencyHistogram> merged = new LinkedHashMap<>();
+        for (String file : args) {
+            for (Map.Entry<String, LatencyHistogram> entry : readAll(new File(file)).entrySet()) {
+                merged.computeIfAbsent(entry.getKey(), name -> new LatencyHistogram(entry.getValue().getHighestTrackableValue()))
+                        .add(entry.getValue());
+            }
+        }
+        System.out.printf("Merged %d runs%n", args.length);
+        merged.forEach((name, histogram) -> System.out.printf("%-20s %s%n", name, histogram.summary("ms")));
+    }
+}
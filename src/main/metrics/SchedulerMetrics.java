@@ -0,0 +1,207 @@
+package main.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The live counters of a Scheduler, written in the Prometheus text exposition format by a
+ * {@link MetricsServer}.
+ *
+ * The event loop only increments {@link LongAdder}s and records into {@link LatencyHistogram}s,
+ * both of which stripe their updates, and publishes its fleet gauges through volatile fields.
+ * A scrape reads them without locking, so it never makes the event loop wait. Values owned by
+ * other components, e.g. socket error counts, are registered as suppliers and read at scrape time.
+ */
+public class SchedulerMetrics {
+    private static final long HANDLER_LATENCY_HIGHEST_MICROS = 60_000_000;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private record Sampled(String name, String help, String type, LongSupplier value) {
+    }
+
+    private record Summary(String name, String help, LatencyHistogram histogram, double scale) {
+    }
+
+    private final Map<String, LongAdder> eventsReceived = new ConcurrentHashMap<>();
+    private final LatencyHistogram handlerLatency = new LatencyHistogram(HANDLER_LATENCY_HIGHEST_MICROS);
+    private final LongAdder watchdogFirings = new LongAdder();
+    private final LongAdder handlerErrors = new LongAdder();
+
+    private volatile int activeFires;
+    private volatile int assignedDrones;
+    private volatile int idleDrones;
+    private volatile int faultedDrones;
+    private volatile int drones;
+
+    private final List<Sampled> sampled = new CopyOnWriteArrayList<>();
+    private final List<Summary> summaries = new CopyOnWriteArrayList<>();
+
+    /**
+     * Counts an event handled by the event loop.
+     *
+     * @param type         the event type, e.g. "IncidentEvent"
+     * @param elapsedNanos how long the handler took
+     */
+    public void eventHandled(String type, long elapsedNanos) {
+        eventsReceived.computeIfAbsent(type, t -> new LongAdder()).increment();
+        handlerLatency.record(elapsedNanos / 1000);
+    }
+
+    /**
+     * Counts a watchdog that expired before its drone reported back.
+     */
+    public void watchdogFired() {
+        watchdogFirings.increment();
+    }
+
+    /**
+     * Counts an exception thrown while handling an event.
+     */
+    public void handlerError() {
+        handlerErrors.increment();
+    }
+
+    /**
+     * Publishes the current fire and fleet gauges. Called by the event loop after each event.
+     *
+     * @param activeFires    the number of fires not yet extinguished
+     * @param drones         the number of registered drones
+     * @param assignedDrones the number of drones assigned to a fire
+     * @param idleDrones     the number of idle drones
+     * @param faultedDrones  the number of faulted drones
+     */
+    public void updateFleet(int activeFires, int drones, int assignedDrones, int idleDrones, int faultedDrones) {
+        this.activeFires = activeFires;
+        this.drones = drones;
+        this.assignedDrones = assignedDrones;
+        this.idleDrones = idleDrones;
+        this.faultedDrones = faultedDrones;
+    }
+
+    /**
+     * Registers a value that only goes up, read at scrape time.
+     *
+     * @param name  the metric name, ending in _total
+     * @param help  the description
+     * @param value reads the current value; called from the scraping thread
+     */
+    public void counter(String name, String help, LongSupplier value) {
+        sampled.add(new Sampled(name, help, "counter", value));
+    }
+
+    /**
+     * Registers a value that can go up and down, read at scrape time.
+     *
+     * @param name  the metric name
+     * @param help  the description
+     * @param value reads the current value; called from the scraping thread
+     */
+    public void gauge(String name, String help, LongSupplier value) {
+        sampled.add(new Sampled(name, help, "gauge", value));
+    }
+
+    /**
+     * Registers a histogram, exposed as a summary with quantiles.
+     *
+     * @param name      the metric name, ending in the unit, e.g. _seconds
+     * @param help      the description
+     * @param histogram the histogram
+     * @param scale     the factor converting recorded values to the unit, e.g. 0.001 for milliseconds to seconds
+     */
+    public void summary(String name, String help, LatencyHistogram histogram, double scale) {
+        summaries.add(new Summary(name, help, histogram, scale));
+    }
+
+    /**
+     * Gets the number of events of a type handled so far.
+     *
+     * @param type the event type
+     * @return the count
+     */
+    public long getEventsReceived(String type) {
+        LongAdder count = eventsReceived.get(type);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Gets the number of watchdogs that have fired.
+     *
+     * @return the count
+     */
+    public long getWatchdogFirings() {
+        return watchdogFirings.sum();
+    }
+
+    /**
+     * Gets the distribution of handler times.
+     *
+     * @return the histogram, in microseconds
+     */
+    public LatencyHistogram getHandlerLatency() {
+        return handlerLatency;
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format, version 0.0.4.
+     *
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Appendable out) throws IOException {
+        header(out, "scheduler_events_received_total", "Events handled by the scheduler, by type.", "counter");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(eventsReceived).entrySet()) {
+            out.append("scheduler_events_received_total{type=\"").append(entry.getKey()).append("\"} ")
+                    .append(Long.toString(entry.getValue().sum())).append('\n');
+        }
+        writeSummary(out, new Summary("scheduler_handler_latency_seconds", "Time taken to handle an event.", handlerLatency, 1e-6));
+
+        sample(out, "scheduler_active_fires", "Fires reported and not yet extinguished.", "gauge", activeFires);
+        sample(out, "scheduler_drones_registered", "Drones registered with the scheduler.", "gauge", drones);
+        header(out, "scheduler_drones", "Registered drones that are assigned to a fire, idle or faulted.", "gauge");
+        out.append("scheduler_drones{state=\"assigned\"} ").append(Integer.toString(assignedDrones)).append('\n');
+        out.append("scheduler_drones{state=\"idle\"} ").append(Integer.toString(idleDrones)).append('\n');
+        out.append("scheduler_drones{state=\"faulted\"} ").append(Integer.toString(faultedDrones)).append('\n');
+        sample(out, "scheduler_watchdog_firings_total", "Watchdogs that expired before their drone reported back.", "counter", watchdogFirings.sum());
+        sample(out, "scheduler_handler_errors_total", "Exceptions thrown while handling events.", "counter", handlerErrors.sum());
+
+        for (Sampled metric : sampled) {
+            sample(out, metric.name(), metric.help(), metric.type(), metric.value().getAsLong());
+        }
+        for (Summary summary : summaries) {
+            writeSummary(out, summary);
+        }
+    }
+
+    private static void header(Appendable out, String name, String help, String type) throws IOException {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(Appendable out, String name, String help, String type, long value) throws IOException {
+        header(out, name, help, type);
+        out.append(name).append(' ').append(Long.toString(value)).append('\n');
+    }
+
+    private static void writeSummary(Appendable out, Summary summary) throws IOException {
+        String name = summary.name();
+        LatencyHistogram histogram = summary.histogram();
+        header(out, name, summary.help(), "summary");
+        for (double quantile : QUANTILES) {
+            out.append(name).append("{quantile=\"").append(Double.toString(quantile)).append("\"} ")
+                    .append(format(histogram.getValueAtPercentile(quantile * 100) * summary.scale())).append('\n');
+        }
+        out.append(name).append("_sum ").append(format(histogram.getSum() * summary.scale())).append('\n');
+        out.append(name).append("_count ").append(Long.toString(histogram.getCount())).append('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+}
@@ -0,0 +1,516 @@
+package main.recovery;
+
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneDispatchEvent;
+import subsystems.drone.states.*;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.io.*;
+import java.net.InetAddress;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Makes the Scheduler's state durable with a write-ahead log of state mutations and periodic snapshots.
+ *
+ * Every mutation is appended to the log as a framed, checksummed record
+ * (int body length, int CRC32 of the body, body). Each record carries absolute values rather than
+ * deltas, so replaying a record twice has the same effect as replaying it once.
+ *
+ * A snapshot is the same record format written for the whole current state into a temporary file,
+ * forced to disk and atomically renamed, after which the log is truncated. Recovery reads the
+ * snapshot and then the log, stopping at the first torn or corrupt record, and cuts the log back to
+ * the last valid record so records logged after recovery are not appended behind the torn one.
+ */
+public class RecoveryLog implements Closeable {
+    public static final String SNAPSHOT_FILE = "scheduler.snapshot";
+    public static final String LOG_FILE = "scheduler.wal";
+
+    private static final byte ZONE = 1;
+    private static final byte DRONE = 2;
+    private static final byte ASSIGN = 3;
+    private static final byte UNASSIGN = 4;
+    private static final byte FIRE = 5;
+    private static final byte FIRE_CLOSED = 6;
+    private static final byte RESPONSE_TIME = 7;
+    private static final byte EXTINGUISH_TIME = 8;
+    private static final byte COUNTERS = 9;
+
+    private static final byte IDLE = 0;
+    private static final byte ON_ROUTE = 1;
+    private static final byte DROPPING_AGENT = 2;
+    private static final byte FAULTED = 3;
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final Faults[] FAULTS = Faults.values();
+
+    /**
+     * Receives the recovered state, one record at a time, in the order it was logged.
+     */
+    public interface Listener {
+        void zoneStored(ZoneEvent zone);
+
+        void droneUpdated(DroneInfo drone);
+
+        void droneAssigned(int droneID, IncidentEvent incident);
+
+        void droneUnassigned(int droneID);
+
+        void fireUpdated(IncidentEvent incident, long startTime);
+
+        void fireClosed(int zoneID);
+
+        void responseTime(int zoneID, double seconds);
+
+        void extinguishTime(int zoneID, double seconds);
+
+        void counters(int nextDroneId, long startExtinguishTime, int incidentsCompleted, boolean shutdownPending);
+    }
+
+    private final File directory;
+    private final int snapshotInterval;
+    private final boolean fsync;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+    private final DataOutputStream bodyOut = new DataOutputStream(body);
+    private final CRC32 crc = new CRC32();
+
+    private FileOutputStream logFile;
+    private DataOutputStream out;
+    private int recordsSinceSnapshot = 0;
+    private boolean dirty = false;
+    private int replayed;
+
+    /**
+     * Opens the recovery log in a directory.
+     *
+     * @param directory        the directory holding the snapshot and log files, created if missing
+     * @param snapshotInterval the number of logged records after which a snapshot is due
+     * @param fsync            whether {@link #commit()} forces the log to disk, not just to the OS
+     * @throws IOException if the log file cannot be opened
+     */
+    public RecoveryLog(File directory, int snapshotInterval, boolean fsync) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create recovery directory " + directory);
+        }
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.fsync = fsync;
+        openLog(true);
+    }
+
+    /**
+     * Gets the directory holding the snapshot and log files.
+     *
+     * @return the recovery directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Replays the latest snapshot followed by the log, then truncates the log after its last valid
+     * record. Must be called before anything is logged.
+     *
+     * @param listener receives the recovered records
+     * @return the number of records replayed
+     * @throws IOException if a file cannot be read or the log cannot be truncated
+     */
+    public synchronized int recover(Listener listener) throws IOException {
+        replayed = 0;
+        replay(new File(directory, SNAPSHOT_FILE), listener);
+        long valid = replay(new File(directory, LOG_FILE), listener);
+
+        FileChannel channel = logFile.getChannel();
+        if (channel.size() > valid) {
+            // a torn or corrupt tail would hide every record appended after it from the next recovery
+            channel.truncate(valid);
+        }
+        return replayed;
+    }
+
+    public synchronized void zoneStored(ZoneEvent zone) {
+        try {
+            bodyOut.writeByte(ZONE);
+            bodyOut.writeInt(zone.getZoneID());
+            writePoint(zone.getStart());
+            writePoint(zone.getEnd());
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void droneUpdated(DroneInfo drone) {
+        try {
+            bodyOut.writeByte(DRONE);
+            writeDrone(drone);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void droneAssigned(int droneID, IncidentEvent incident) {
+        try {
+            bodyOut.writeByte(ASSIGN);
+            bodyOut.writeInt(droneID);
+            writeIncident(incident);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void droneUnassigned(int droneID) {
+        try {
+            bodyOut.writeByte(UNASSIGN);
+            bodyOut.writeInt(droneID);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Logs the current state of an active fire.
+     *
+     * @param incident  the incident
+     * @param startTime the time the incident was received in milliseconds, or 0 if unknown
+     */
+    public synchronized void fireUpdated(IncidentEvent incident, long startTime) {
+        try {
+            bodyOut.writeByte(FIRE);
+            writeIncident(incident);
+            bodyOut.writeLong(startTime);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void fireClosed(int zoneID) {
+        try {
+            bodyOut.writeByte(FIRE_CLOSED);
+            bodyOut.writeInt(zoneID);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void responseTime(int zoneID, double seconds) {
+        try {
+            bodyOut.writeByte(RESPONSE_TIME);
+            bodyOut.writeInt(zoneID);
+            bodyOut.writeDouble(seconds);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void extinguishTime(int zoneID, double seconds) {
+        try {
+            bodyOut.writeByte(EXTINGUISH_TIME);
+            bodyOut.writeInt(zoneID);
+            bodyOut.writeDouble(seconds);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void counters(int nextDroneId, long startExtinguishTime, int incidentsCompleted, boolean shutdownPending) {
+        try {
+            bodyOut.writeByte(COUNTERS);
+            bodyOut.writeInt(nextDroneId);
+            bodyOut.writeLong(startExtinguishTime);
+            bodyOut.writeInt(incidentsCompleted);
+            bodyOut.writeBoolean(shutdownPending);
+            append();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes the records logged so far durable: written to the OS, and forced to disk if fsync is enabled.
+     */
+    public synchronized void commit() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            out.flush();
+            if (fsync) {
+                logFile.getChannel().force(false);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks whether enough records have been logged since the last snapshot to take a new one.
+     *
+     * @return true if a snapshot is due
+     */
+    public synchronized boolean isSnapshotDue() {
+        return recordsSinceSnapshot >= snapshotInterval;
+    }
+
+    /**
+     * Writes a snapshot of the whole state and truncates the log. If the snapshot cannot be
+     * written, e.g. because the disk is full, the log is reopened for appending so logging goes on
+     * against the previous snapshot, and the next snapshot is not due for another interval.
+     *
+     * @param writer logs every piece of the current state through this log's mutation methods
+     */
+    public synchronized void snapshot(Consumer<RecoveryLog> writer) {
+        File snapshot = new File(directory, SNAPSHOT_FILE);
+        File temporary = new File(directory, SNAPSHOT_FILE + ".tmp");
+        commit();
+        boolean written = false;
+        try {
+            out.close();
+
+            try (FileOutputStream snapshotFile = new FileOutputStream(temporary)) {
+                out = new DataOutputStream(new BufferedOutputStream(snapshotFile, 1 << 16));
+                writer.accept(this);
+                out.flush();
+                snapshotFile.getChannel().force(true);
+            }
+
+            try {
+                Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            written = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // the log still holds everything since the previous snapshot unless this one was written
+            recordsSinceSnapshot = 0;
+            dirty = false;
+            try {
+                if (!written) {
+                    temporary.delete();
+                }
+                openLog(!written);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            commit();
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openLog(boolean append) throws IOException {
+        logFile = new FileOutputStream(new File(directory, LOG_FILE), append);
+        out = new DataOutputStream(new BufferedOutputStream(logFile, 1 << 16));
+    }
+
+    /**
+     * Frames the record in the body buffer and writes it to the current output.
+     */
+    private void append() throws IOException {
+        crc.reset();
+        crc.update(body.toByteArray());
+        out.writeInt(body.size());
+        out.writeInt((int) crc.getValue());
+        body.writeTo(out);
+        body.reset();
+        recordsSinceSnapshot++;
+        dirty = true;
+    }
+
+    /**
+     * Replays the records of a file, stopping at the end of the file or the first record that is
+     * incomplete or fails its checksum.
+     *
+     * @return the length of the file up to the end of its last valid record
+     */
+    private long replay(File file, Listener listener) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            byte[] record = new byte[256];
+            while (true) {
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > (1 << 20)) {
+                        break;
+                    }
+                    if (record.length < length) {
+                        record = new byte[Math.max(length, record.length * 2)];
+                    }
+                    in.readFully(record, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                apply(new DataInputStream(new ByteArrayInputStream(record, 0, length)), listener);
+                replayed++;
+                valid += 8 + length;
+            }
+        }
+        return valid;
+    }
+
+    private void apply(DataInputStream in, Listener listener) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case ZONE -> {
+                int zoneID = in.readInt();
+                listener.zoneStored(new ZoneEvent(zoneID, readPoint(in), readPoint(in)));
+            }
+            case DRONE -> listener.droneUpdated(readDrone(in));
+            case ASSIGN -> {
+                int droneID = in.readInt();
+                listener.droneAssigned(droneID, readIncident(in));
+            }
+            case UNASSIGN -> listener.droneUnassigned(in.readInt());
+            case FIRE -> {
+                IncidentEvent incident = readIncident(in);
+                listener.fireUpdated(incident, in.readLong());
+            }
+            case FIRE_CLOSED -> listener.fireClosed(in.readInt());
+            case RESPONSE_TIME -> listener.responseTime(in.readInt(), in.readDouble());
+            case EXTINGUISH_TIME -> listener.extinguishTime(in.readInt(), in.readDouble());
+            case COUNTERS -> listener.counters(in.readInt(), in.readLong(), in.readInt(), in.readBoolean());
+            default -> throw new IOException("Unknown recovery record type " + type);
+        }
+    }
+
+    private void writePoint(Point2D point) throws IOException {
+        bodyOut.writeDouble(point.getX());
+        bodyOut.writeDouble(point.getY());
+    }
+
+    private static Point2D readPoint(DataInputStream in) throws IOException {
+        return new Point2D.Double(in.readDouble(), in.readDouble());
+    }
+
+    private void writeIncident(IncidentEvent incident) throws IOException {
+        bodyOut.writeInt(incident.getZoneID());
+        bodyOut.writeUTF(incident.getTimeStamp() == null ? "" : incident.getTimeStamp());
+        bodyOut.writeByte(incident.getEventType().ordinal());
+        bodyOut.writeByte(incident.getSeverity().ordinal());
+        bodyOut.writeByte(incident.getFault().ordinal());
+        bodyOut.writeInt(incident.getWaterFoamAmount());
+        bodyOut.writeBoolean(incident.isFaultHandled());
+    }
+
+    private static IncidentEvent readIncident(DataInputStream in) throws IOException {
+        int zoneID = in.readInt();
+        String timestamp = in.readUTF();
+        EventType eventType = EVENT_TYPES[in.readByte()];
+        Severity severity = SEVERITIES[in.readByte()];
+        Faults fault = FAULTS[in.readByte()];
+        int water = in.readInt();
+        boolean faultHandled = in.readBoolean();
+
+        IncidentEvent incident = new IncidentEvent(timestamp, zoneID, eventType, severity, fault);
+        incident.setWaterFoamAmount(water);
+        incident.setSeverity(severity);
+        if (faultHandled) {
+            incident.markFaultHandled();
+        }
+        incident.setFault(fault);
+        return incident;
+    }
+
+    private void writeDrone(DroneInfo drone) throws IOException {
+        bodyOut.writeInt(drone.getDroneID());
+        byte[] address = drone.getAddress() == null ? new byte[0] : drone.getAddress().getAddress();
+        bodyOut.writeByte(address.length);
+        bodyOut.write(address);
+        bodyOut.writeInt(drone.getPort() == null ? -1 : drone.getPort());
+        bodyOut.writeBoolean(drone.getRunning());
+        bodyOut.writeInt(drone.getZoneID());
+        writePoint(drone.getCoordinates());
+        bodyOut.writeDouble(drone.getFlightTime());
+        bodyOut.writeInt(drone.getWaterLevel());
+        bodyOut.writeBoolean(drone.getNozzleJam());
+        bodyOut.writeLong(drone.getTotalIdleTime());
+        bodyOut.writeLong(drone.getIdleStartTime());
+
+        switch (drone.getState()) {
+            case OnRouteState onRoute -> {
+                bodyOut.writeByte(ON_ROUTE);
+                DroneDispatchEvent dispatch = onRoute.getDispatchEvent();
+                bodyOut.writeInt(dispatch.getZoneID());
+                writePoint(dispatch.getCoords());
+                bodyOut.writeByte(dispatch.getFault().ordinal());
+            }
+            case DroppingAgentState ignored -> bodyOut.writeByte(DROPPING_AGENT);
+            case FaultedState faulted -> {
+                bodyOut.writeByte(FAULTED);
+                bodyOut.writeByte(faulted.getFaultDescription().ordinal());
+            }
+            case null, default -> bodyOut.writeByte(IDLE);
+        }
+    }
+
+    private static DroneInfo readDrone(DataInputStream in) throws IOException {
+        int droneID = in.readInt();
+        byte[] address = new byte[in.readByte()];
+        in.readFully(address);
+        int port = in.readInt();
+
+        DroneInfo drone = new DroneInfo(address.length == 0 ? null : InetAddress.getByAddress(address), port < 0 ? null : port);
+        drone.setDroneID(droneID);
+        drone.setRunning(in.readBoolean());
+        drone.setZoneID(in.readInt());
+        drone.setCoordinates(readPoint(in));
+        drone.setFlightTime(in.readDouble());
+        drone.setWaterLevel(in.readInt());
+        drone.setNozzleJam(in.readBoolean());
+        drone.setTotalIdleTime(in.readLong());
+        drone.setIdleStartTime(in.readLong());
+
+        drone.setState(switch (in.readByte()) {
+            case ON_ROUTE -> {
+                int zoneID = in.readInt();
+                Point2D coords = readPoint(in);
+                yield new OnRouteState(new DroneDispatchEvent(zoneID, coords, FAULTS[in.readByte()]));
+            }
+            case DROPPING_AGENT -> new DroppingAgentState();
+            case FAULTED -> new FaultedState(FAULTS[in.readByte()]);
+            default -> new IdleState();
+        });
+        return drone;
+    }
+}
@@ -0,0 +1,257 @@
+package main.replay;
+
+import logger.EventLogger;
+import logger.LogLevel;
+import main.EventTransport;
+import main.Scheduler;
+import main.journal.EventJournal;
+import main.journal.JournalReader;
+import subsystems.Event;
+import subsystems.drone.events.DroneDispatchEvent;
+import subsystems.drone.events.DropAgentEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays the events recorded in an {@link EventJournal} into a headless {@link Scheduler} running
+ * on a {@link VirtualClock}, as fast as possible, and compares the dispatch decisions it makes with
+ * the ones recorded in the journal.
+ *
+ * Received events are fed to the scheduler in journal order, with the virtual clock advanced to the
+ * time each was recorded, so watchdogs fire at the same point in the sequence as they did live.
+ * Nothing is sent over the network: the scheduler's outgoing events are captured instead. The
+ * scheduler runs standalone, so a replay started with the live system's properties does not touch
+ * its recovery log, journal, telemetry or metrics port.
+ */
+public class ReplayEngine {
+
+    /**
+     * An order the scheduler gave a drone.
+     *
+     * @param recipient the address and port of the drone
+     * @param action    a description of the order, e.g. "DISPATCH zone=3 fault=NONE" or "DROP 15L"
+     */
+    public record Decision(String recipient, String action) {
+        @Override
+        public String toString() {
+            return action + " -> " + recipient;
+        }
+    }
+
+    /**
+     * The outcome of a replay.
+     *
+     * @param eventsReplayed the number of received events fed to the scheduler
+     * @param recorded       the decisions recorded in the journal
+     * @param replayed       the decisions made during the replay
+     * @param wallNanos      the time the replay took
+     * @param virtualMillis  the span of recorded time that was replayed
+     */
+    public record Result(int eventsReplayed, List<Decision> recorded, List<Decision> replayed, long wallNanos, long virtualMillis) {
+
+        /**
+         * Finds the first decision that differs between the recording and the replay.
+         *
+         * @return the index of the first difference, or -1 if the decisions are identical
+         */
+        public int firstDivergence() {
+            int common = Math.min(recorded.size(), replayed.size());
+            for (int i = 0; i < common; i++) {
+                if (!recorded.get(i).equals(replayed.get(i))) {
+                    return i;
+                }
+            }
+            return recorded.size() == replayed.size() ? -1 : common;
+        }
+
+        /**
+         * Checks whether the replay made exactly the recorded decisions.
+         *
+         * @return true if the decisions match
+         */
+        public boolean matches() {
+            return firstDivergence() < 0;
+        }
+
+        /**
+         * Gets the replay throughput.
+         *
+         * @return the number of events replayed per second of wall time
+         */
+        public double eventsPerSecond() {
+            return wallNanos == 0 ? 0 : eventsReplayed * 1_000_000_000.0 / wallNanos;
+        }
+
+        /**
+         * Gets how much faster than real time the session was replayed.
+         *
+         * @return the ratio of recorded time to replay time
+         */
+        public double speedup() {
+            return wallNanos == 0 ? 0 : virtualMillis * 1_000_000.0 / wallNanos;
+        }
+    }
+
+    /**
+     * Captures the events a scheduler sends instead of sending them.
+     */
+    private static class RecordingSocket implements EventTransport {
+        private final List<Decision> decisions = new ArrayList<>();
+
+        @Override
+        public void send(Event event, InetAddress address, int port) {
+            Decision decision = decision(event, address, port);
+            if (decision != null) {
+                decisions.add(decision);
+            }
+        }
+
+        @Override
+        public Event receive() {
+            return null;
+        }
+
+        @Override
+        public void setReceiveTimeout(int timeoutMillis) {
+        }
+
+        @Override
+        public int getLocalPort() {
+            return 0;
+        }
+
+        @Override
+        public InetAddress getLastSenderAddress() {
+            return null;
+        }
+
+        @Override
+        public int getLastSenderPort() {
+            return 0;
+        }
+
+        @Override
+        public long getErrorCount() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Describes a sent event as a decision, if it is an order to a drone.
+     *
+     * @return the decision, or null if the event is not an order to a drone
+     */
+    private static Decision decision(Event event, InetAddress address, int port) {
+        String action = switch (event) {
+            case DroneDispatchEvent dispatch -> "DISPATCH zone=" + dispatch.getZoneID() + " fault=" + dispatch.getFault();
+            case DropAgentEvent drop -> "DROP " + drop.getVolume() + "L";
+            default -> null;
+        };
+        if (action == null) {
+            return null;
+        }
+        return new Decision((address == null ? "?" : address.getHostAddress()) + ":" + port, action);
+    }
+
+    /**
+     * Replays a journal.
+     *
+     * @param journalDirectory the directory holding the journal segments
+     * @return the outcome of the replay
+     * @throws IOException if an event in the journal cannot be decoded
+     */
+    public static Result replay(File journalDirectory) throws IOException {
+        List<Decision> recorded = new ArrayList<>();
+        RecordingSocket socket = new RecordingSocket();
+        VirtualClock clock = null;
+        Scheduler scheduler = null;
+        int events = 0;
+        long firstMillis = 0;
+
+        long start = System.nanoTime();
+        try (JournalReader reader = new JournalReader(journalDirectory)) {
+            while (reader.next()) {
+                long millis = reader.getWallClockMillis();
+                if (clock == null) {
+                    firstMillis = millis;
+                    clock = new VirtualClock(Instant.ofEpochMilli(millis));
+                    scheduler = new Scheduler(socket, socket, InetAddress.getLoopbackAddress(), 7000, clock, true, true);
+                    scheduler.setDispatchPacing(0);
+                }
+                clock.advanceTo(millis);
+
+                Event event = reader.readEvent();
+                if (reader.getDirection() == EventJournal.Direction.RECEIVED) {
+                    scheduler.processNext(event);
+                    events++;
+                } else {
+                    Decision decision = decision(event, reader.getPeerAddress(), reader.getPeerPort());
+                    if (decision != null) {
+                        recorded.add(decision);
+                    }
+                }
+            }
+
+            // the live scheduler assigns drones again as soon as it has handled an event
+            if (scheduler != null) {
+                scheduler.processNext(null);
+            }
+        } finally {
+            if (scheduler != null) {
+                scheduler.close();
+            } else {
+                socket.close();
+            }
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        long virtualMillis = clock == null ? 0 : clock.millis() - firstMillis;
+        return new Result(events, recorded, socket.decisions, wallNanos, virtualMillis);
+    }
+
+    /**
+     * Replays a journal and reports whether the scheduler made the recorded decisions.
+     * Exits with status 1 if the decisions differ.
+     *
+     * Usage: ReplayEngine (journal directory) [--verbose]
+     *
+     * @param args the journal directory and options
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayEngine <journal directory> [--verbose]");
+            System.exit(1);
+        }
+        if (!(args.length > 1 && args[1].equals("--verbose"))) {
+            EventLogger.setLevel(LogLevel.WARN);
+        }
+
+        Result result = replay(new File(args[0]));
+        EventLogger.flush();
+
+        System.out.printf("Replayed %d events (%.1f s of recorded time) in %.1f ms: %.0f events/sec, %.0fx real time%n",
+                result.eventsReplayed(), result.virtualMillis() / 1000.0, result.wallNanos() / 1_000_000.0,
+                result.eventsPerSecond(), result.speedup());
+        System.out.printf("Decisions: %d recorded, %d replayed%n", result.recorded().size(), result.replayed().size());
+
+        int divergence = result.firstDivergence();
+        if (divergence < 0) {
+            System.out.println("Replay matches the recording.");
+            System.exit(0);
+        }
+
+        System.out.println("Replay diverges at decision " + divergence + ":");
+        System.out.println("  recorded: " + (divergence < result.recorded().size() ? result.recorded().get(divergence) : "(none)"));
+        System.out.println("  replayed: " + (divergence < result.replayed().size() ? result.replayed().get(divergence) : "(none)"));
+        System.exit(1);
+    }
+}
@@ -0,0 +1,138 @@
+package main.replay;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.PriorityQueue;
+
+/**
+ * A clock that only moves when it is told to, used to replay recorded sessions deterministically
+ * and as fast as possible.
+ *
+ * Timers scheduled on the clock run on the thread that advances it, in order of their due time
+ * (and in scheduling order for equal due times), as the clock passes their due time.
+ */
+public class VirtualClock extends Clock {
+    private final ZoneId zone;
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private long millis;
+    private long timersScheduled = 0;
+
+    /**
+     * A task scheduled to run when the clock reaches its due time.
+     */
+    public static final class Timer implements Comparable<Timer> {
+        private final long dueMillis;
+        private final long order;
+        private final Runnable task;
+        private boolean cancelled = false;
+
+        private Timer(long dueMillis, long order, Runnable task) {
+            this.dueMillis = dueMillis;
+            this.order = order;
+            this.task = task;
+        }
+
+        /**
+         * Prevents the task from running if it has not run yet.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            int compare = Long.compare(dueMillis, other.dueMillis);
+            return compare != 0 ? compare : Long.compare(order, other.order);
+        }
+    }
+
+    /**
+     * Creates a virtual clock.
+     *
+     * @param start the initial time of the clock
+     */
+    public VirtualClock(Instant start) {
+        this.millis = start.toEpochMilli();
+        this.zone = ZoneOffset.UTC;
+    }
+
+    /**
+     * Schedules a task to run once the clock has advanced by a delay.
+     *
+     * @param delayMillis the delay in milliseconds
+     * @param task        the task to run
+     * @return a handle that can cancel the task
+     */
+    public synchronized Timer schedule(long delayMillis, Runnable task) {
+        Timer timer = new Timer(millis + Math.max(0, delayMillis), timersScheduled++, task);
+        timers.add(timer);
+        return timer;
+    }
+
+    /**
+     * Moves the clock forward to a time, running every timer that falls due on the way at its due time.
+     * The clock never moves backwards.
+     *
+     * @param targetMillis the time to advance to, in milliseconds since the epoch
+     */
+    public void advanceTo(long targetMillis) {
+        while (true) {
+            Timer timer;
+            synchronized (this) {
+                timer = timers.peek();
+                if (timer == null || timer.dueMillis > targetMillis) {
+                    millis = Math.max(millis, targetMillis);
+                    return;
+                }
+                timers.poll();
+                millis = Math.max(millis, timer.dueMillis);
+            }
+            if (!timer.cancelled) {
+                timer.task.run();
+            }
+        }
+    }
+
+    /**
+     * Moves the clock forward by a duration.
+     *
+     * @param deltaMillis the number of milliseconds to advance by
+     */
+    public void advance(long deltaMillis) {
+        advanceTo(millis() + deltaMillis);
+    }
+
+    /**
+     * Gets the number of timers that have not run or been cancelled yet.
+     *
+     * @return the pending timer count
+     */
+    public synchronized int getPendingTimers() {
+        return (int) timers.stream().filter(timer -> !timer.cancelled).count();
+    }
+
+    @Override
+    public synchronized long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        if (zone.equals(this.zone)) {
+            return this;
+        }
+        throw new UnsupportedOperationException("A virtual clock cannot be copied, its copies would not advance with it.");
+    }
+}
@@ -0,0 +1,165 @@
+package main.telemetry;
+
+import main.ui.DashboardSink;
+import main.ui.DroneStateEnum;
+import main.ui.DroneSwarmDashboard;
+import subsystems.fire_incident.Severity;
+
+import java.awt.geom.Point2D;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * The wire format of the telemetry feed.
+ *
+ * Each datagram is a header (magic, version, sequence number, update count) followed by updates.
+ * Each update is a type byte and a zone or drone ID followed by the update's fields. Coordinates
+ * are sent as floats, which is exact for the grid's world coordinates.
+ */
+public final class TelemetryFormat {
+    public static final int MAGIC = 0x46445446; // "FDTF"
+    public static final byte VERSION = 1;
+    public static final int HEADER_SIZE = 4 + 1 + 4 + 2;
+    public static final int MAX_DATAGRAM_SIZE = 1400; // fits an Ethernet frame without fragmenting
+
+    // an administratively scoped multicast group, only routed inside the site
+    public static final String DEFAULT_ADDRESS = "239.255.42.99:4446";
+
+    static final byte ZONE = 1;
+    static final byte WATER = 2;
+    static final byte FIRE_STATUS = 3;
+    static final byte SEVERITY = 4;
+    static final byte DRONE = 5;
+
+    private static final DroneSwarmDashboard.FireStatus[] FIRE_STATUSES = DroneSwarmDashboard.FireStatus.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final DroneStateEnum[] DRONE_STATES = DroneStateEnum.values();
+
+    private TelemetryFormat() {
+    }
+
+    /**
+     * An update to a zone or drone, encoded into a datagram.
+     */
+    sealed interface Update {
+        /**
+         * Gets the encoded size of the update.
+         */
+        int size();
+
+        /**
+         * Encodes the update.
+         */
+        void write(ByteBuffer buffer);
+    }
+
+    record ZoneUpdate(int zoneID, float startX, float startY, float endX, float endY) implements Update {
+        public int size() {
+            return 1 + 4 + 16;
+        }
+
+        public void write(ByteBuffer buffer) {
+            buffer.put(ZONE).putInt(zoneID).putFloat(startX).putFloat(startY).putFloat(endX).putFloat(endY);
+        }
+    }
+
+    record WaterUpdate(int zoneID, int remainingLiters) implements Update {
+        public int size() {
+            return 1 + 4 + 4;
+        }
+
+        public void write(ByteBuffer buffer) {
+            buffer.put(WATER).putInt(zoneID).putInt(remainingLiters);
+        }
+    }
+
+    record FireStatusUpdate(int zoneID, DroneSwarmDashboard.FireStatus status) implements Update {
+        public int size() {
+            return 1 + 4 + 1;
+        }
+
+        public void write(ByteBuffer buffer) {
+            buffer.put(FIRE_STATUS).putInt(zoneID).put((byte) status.ordinal());
+        }
+    }
+
+    record SeverityUpdate(int zoneID, Severity severity) implements Update {
+        public int size() {
+            return 1 + 4 + 1;
+        }
+
+        public void write(ByteBuffer buffer) {
+            buffer.put(SEVERITY).putInt(zoneID).put((byte) severity.ordinal());
+        }
+    }
+
+    /**
+     * A drone's position, target (NaN if it has none) and state.
+     */
+    record DroneUpdate(int droneID, float x, float y, float targetX, float targetY, DroneStateEnum state) implements Update {
+        public int size() {
+            return 1 + 4 + 16 + 1;
+        }
+
+        public void write(ByteBuffer buffer) {
+            buffer.put(DRONE).putInt(droneID).putFloat(x).putFloat(y).putFloat(targetX).putFloat(targetY).put((byte) state.ordinal());
+        }
+    }
+
+    /**
+     * Decodes a datagram and applies its updates to a dashboard.
+     *
+     * @param buffer the datagram
+     * @param sink   the dashboard to update
+     * @return the sequence number of the datagram
+     * @throws IllegalArgumentException if the datagram is not a telemetry datagram of this version
+     */
+    static int decode(ByteBuffer buffer, DashboardSink sink) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a telemetry datagram");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported telemetry version " + version);
+        }
+        int sequence = buffer.getInt();
+        int updates = Short.toUnsignedInt(buffer.getShort());
+
+        for (int i = 0; i < updates; i++) {
+            byte type = buffer.get();
+            int id = buffer.getInt();
+            switch (type) {
+                case ZONE -> sink.markZone(id,
+                        new Point2D.Double(buffer.getFloat(), buffer.getFloat()),
+                        new Point2D.Double(buffer.getFloat(), buffer.getFloat()));
+                case WATER -> sink.updateZoneWater(id, buffer.getInt());
+                case FIRE_STATUS -> sink.setZoneFireStatus(id, FIRE_STATUSES[buffer.get()]);
+                case SEVERITY -> sink.updateZoneSeverity(id, SEVERITIES[buffer.get()]);
+                case DRONE -> {
+                    Point2D position = new Point2D.Double(buffer.getFloat(), buffer.getFloat());
+                    float targetX = buffer.getFloat();
+                    float targetY = buffer.getFloat();
+                    Point2D target = Float.isNaN(targetX) ? null : new Point2D.Double(targetX, targetY);
+                    sink.updateDronePosition(id, position, target, DRONE_STATES[buffer.get()]);
+                }
+                default -> throw new IllegalArgumentException("Unknown telemetry update type " + type);
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Parses a feed address.
+     *
+     * @param address the address as host:port, e.g. 239.255.42.99:4446
+     * @return the socket address
+     * @throws IllegalArgumentException if the address has no port
+     */
+    public static InetSocketAddress parseAddress(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Telemetry address must be host:port, got " + address);
+        }
+        return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    }
+}
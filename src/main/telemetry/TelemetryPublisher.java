@@ -0,0 +1,227 @@
+package main.telemetry;
+
+import logger.EventLogger;
+import logger.Logger;
+import main.ui.DashboardSink;
+import main.ui.DroneStateEnum;
+import main.ui.DroneSwarmDashboard;
+import subsystems.fire_incident.Severity;
+
+import java.awt.geom.Point2D;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the dashboard updates of the Scheduler as a compact UDP feed, usually to a multicast
+ * group, so dashboards in other processes can follow it with a {@link TelemetrySubscriber}.
+ *
+ * Publishing only records the latest value per zone or drone attribute, so it costs the Scheduler
+ * a map update. A background thread sends what changed once per period, coalescing repeated
+ * updates, and sends the full state once per keyframe interval so subscribers that join late or
+ * lose a datagram catch up.
+ */
+public class TelemetryPublisher implements DashboardSink, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(TelemetryPublisher.class);
+    public static final long DEFAULT_PERIOD_MILLIS = 100;
+    public static final long DEFAULT_KEYFRAME_MILLIS = 2000;
+
+    private final MulticastSocket socket;
+    private final InetSocketAddress destination;
+    private final long periodMillis;
+    private final long keyframeMillis;
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    // latest update per key, and the keys updated since they were last sent
+    private final Map<Long, TelemetryFormat.Update> latest = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(TelemetryFormat.MAX_DATAGRAM_SIZE);
+    private int sequence = 0;
+    private int updatesInDatagram = 0;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder updatesSent = new LongAdder();
+    private final LongAdder datagramsSent = new LongAdder();
+
+    /**
+     * Creates a publisher and starts sending.
+     *
+     * @param destination    the multicast group (or unicast address) and port to send to
+     * @param periodMillis   how often changes are sent
+     * @param keyframeMillis how often the full state is sent
+     * @throws IOException if the socket cannot be opened
+     */
+    public TelemetryPublisher(InetSocketAddress destination, long periodMillis, long keyframeMillis) throws IOException {
+        this.destination = destination;
+        this.periodMillis = periodMillis;
+        this.keyframeMillis = keyframeMillis;
+        this.socket = new MulticastSocket();
+        this.socket.setTimeToLive(1); // stay on the local network
+
+        this.sender = new Thread(this::sendLoop, "TelemetryPublisher");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    @Override
+    public void markZone(int zoneID, Point2D worldStart, Point2D worldEnd) {
+        publish(TelemetryFormat.ZONE, zoneID, new TelemetryFormat.ZoneUpdate(zoneID,
+                (float) worldStart.getX(), (float) worldStart.getY(), (float) worldEnd.getX(), (float) worldEnd.getY()));
+    }
+
+    @Override
+    public void updateZoneWater(int zoneID, int remainingLiters) {
+        publish(TelemetryFormat.WATER, zoneID, new TelemetryFormat.WaterUpdate(zoneID, remainingLiters));
+    }
+
+    @Override
+    public void setZoneFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status) {
+        publish(TelemetryFormat.FIRE_STATUS, zoneID, new TelemetryFormat.FireStatusUpdate(zoneID, status));
+    }
+
+    @Override
+    public void updateZoneSeverity(int zoneID, Severity severity) {
+        publish(TelemetryFormat.SEVERITY, zoneID, new TelemetryFormat.SeverityUpdate(zoneID, severity == null ? Severity.NONE : severity));
+    }
+
+    @Override
+    public void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state) {
+        float targetX = targPos == null ? Float.NaN : (float) targPos.getX();
+        float targetY = targPos == null ? Float.NaN : (float) targPos.getY();
+        publish(TelemetryFormat.DRONE, droneID, new TelemetryFormat.DroneUpdate(droneID,
+                (float) worldPos.getX(), (float) worldPos.getY(), targetX, targetY, state));
+    }
+
+    private void publish(byte type, int id, TelemetryFormat.Update update) {
+        long key = ((long) type << 32) | (id & 0xFFFFFFFFL);
+        latest.put(key, update);
+        dirty.add(key);
+        published.increment();
+    }
+
+    /**
+     * Gets the number of updates published by the Scheduler.
+     *
+     * @return the published count
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * Gets the number of updates sent, which is lower than the number published when updates
+     * were coalesced and higher after keyframes.
+     *
+     * @return the sent count
+     */
+    public long getSentCount() {
+        return updatesSent.sum();
+    }
+
+    /**
+     * Gets the number of datagrams sent.
+     *
+     * @return the datagram count
+     */
+    public long getDatagramCount() {
+        return datagramsSent.sum();
+    }
+
+    /**
+     * Sends the changes once per period, and everything once per keyframe interval.
+     */
+    private void sendLoop() {
+        long lastKeyframe = 0;
+        while (running) {
+            try {
+                Thread.sleep(periodMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+            long now = System.currentTimeMillis();
+            boolean keyframe = now - lastKeyframe >= keyframeMillis;
+            if (keyframe) {
+                lastKeyframe = now;
+            }
+            try {
+                send(keyframe);
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.warn(EventLogger.NO_ID, "Unable to send telemetry to " + destination + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the updated keys, or every key for a keyframe, in as few datagrams as fit.
+     */
+    private void send(boolean keyframe) throws IOException {
+        Iterator<Long> keys = (keyframe ? latest.keySet() : dirty).iterator();
+        startDatagram();
+        while (keys.hasNext()) {
+            Long key = keys.next();
+            // clear the flag before reading the value, so an update published meanwhile is sent next time
+            if (keyframe) {
+                dirty.remove(key);
+            } else {
+                keys.remove();
+            }
+            TelemetryFormat.Update update = latest.get(key);
+            if (update == null) {
+                continue;
+            }
+            if (buffer.remaining() < update.size()) {
+                sendDatagram();
+                startDatagram();
+            }
+            update.write(buffer);
+            updatesInDatagram++;
+        }
+        if (updatesInDatagram > 0) {
+            sendDatagram();
+        }
+    }
+
+    private void startDatagram() {
+        buffer.clear();
+        buffer.putInt(TelemetryFormat.MAGIC).put(TelemetryFormat.VERSION).putInt(0).putShort((short) 0);
+        updatesInDatagram = 0;
+    }
+
+    /**
+     * Numbers and sends the current datagram. Only datagrams that are sent take a sequence number,
+     * so subscribers can count the gaps as losses.
+     */
+    private void sendDatagram() throws IOException {
+        buffer.putInt(TelemetryFormat.HEADER_SIZE - 6, sequence++);
+        buffer.putShort(TelemetryFormat.HEADER_SIZE - 2, (short) updatesInDatagram);
+        socket.send(new DatagramPacket(buffer.array(), buffer.position(), destination));
+        updatesSent.add(updatesInDatagram);
+        datagramsSent.increment();
+    }
+
+    /**
+     * Stops sending and closes the socket.
+     */
+    @Override
+    public void close() {
+        running = false;
+        sender.interrupt();
+        try {
+            sender.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        socket.close();
+    }
+}
@@ -0,0 +1,110 @@
+package main.telemetry;
+
+import logger.EventLogger;
+import logger.Logger;
+import main.ui.DashboardSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the feed of a {@link TelemetryPublisher} and applies it to a dashboard, so the dashboard
+ * can run in its own process. Any number of subscribers can follow a multicast feed, including
+ * several on the same host.
+ */
+public class TelemetrySubscriber implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(TelemetrySubscriber.class);
+
+    private final MulticastSocket socket;
+    private final DashboardSink sink;
+    private final Thread receiver;
+    private volatile boolean running = true;
+
+    private volatile long datagramsReceived = 0;
+    private volatile long datagramsLost = 0;
+    private int lastSequence;
+    private boolean first = true;
+
+    /**
+     * Joins a feed and starts applying it to a dashboard.
+     *
+     * @param feed the multicast group (or local unicast address) and port the feed is sent to
+     * @param sink the dashboard to update, called on the subscriber's thread
+     * @throws IOException if the socket cannot be opened or the group cannot be joined
+     */
+    public TelemetrySubscriber(InetSocketAddress feed, DashboardSink sink) throws IOException {
+        this.sink = sink;
+        this.socket = new MulticastSocket(feed.getPort());
+        if (feed.getAddress().isMulticastAddress()) {
+            socket.joinGroup(feed, null);
+        }
+
+        this.receiver = new Thread(this::receiveLoop, "TelemetrySubscriber");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+        LOGGER.info(EventLogger.NO_ID, "Subscribed to telemetry at " + feed, false);
+    }
+
+    /**
+     * Gets the number of datagrams received.
+     *
+     * @return the datagram count
+     */
+    public long getDatagramsReceived() {
+        return datagramsReceived;
+    }
+
+    /**
+     * Gets the number of datagrams missed, judging by gaps in their sequence numbers. What they
+     * carried is restored by the next keyframe.
+     *
+     * @return the lost datagram count
+     */
+    public long getDatagramsLost() {
+        return datagramsLost;
+    }
+
+    private void receiveLoop() {
+        byte[] data = new byte[TelemetryFormat.MAX_DATAGRAM_SIZE];
+        DatagramPacket packet = new DatagramPacket(data, data.length);
+        while (running) {
+            try {
+                packet.setLength(data.length);
+                socket.receive(packet);
+                int sequence = TelemetryFormat.decode(ByteBuffer.wrap(data, 0, packet.getLength()), sink);
+                if (!first && sequence - lastSequence > 1) {
+                    datagramsLost += sequence - lastSequence - 1;
+                }
+                first = false;
+                lastSequence = sequence;
+                datagramsReceived++;
+            } catch (SocketException e) {
+                if (running) {
+                    LOGGER.error(EventLogger.NO_ID, "Telemetry socket failed: " + e.getMessage());
+                }
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn(EventLogger.NO_ID, "Ignoring malformed telemetry datagram: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops receiving and leaves the feed.
+     */
+    @Override
+    public void close() {
+        running = false;
+        socket.close();
+        try {
+            receiver.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
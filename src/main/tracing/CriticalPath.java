@@ -0,0 +1,152 @@
+package main.tracing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breaks the time taken to put out a fire down into where it went, by following the spans of its
+ * trace back from the last one to finish, which is the one acknowledging the fire was put out.
+ *
+ * Each span on that chain is counted as flight or drop time if it is a drone flying or dropping,
+ * as queueing if it is the fire being held back by the FireIncident subsystem, and as processing
+ * otherwise. The gap between a span and its child is counted as messaging if they were recorded by
+ * different subsystems, and as queueing if not, e.g. a fire waiting in the Scheduler for a drone.
+ */
+public class CriticalPath {
+
+    /**
+     * Where the time of one incident went, in microseconds.
+     *
+     * @param traceID    the trace of the incident
+     * @param zoneID     the zone of the fire
+     * @param path       the spans on the critical path, first to last
+     * @param queueing   time spent waiting for a drone or for the zone to be free
+     * @param flight     time drones spent flying to the fire
+     * @param drop       time drones spent dropping agent
+     * @param messaging  time events spent between subsystems
+     * @param processing time subsystems spent handling events
+     */
+    public record Breakdown(long traceID, int zoneID, List<Span> path,
+                            long queueing, long flight, long drop, long messaging, long processing) {
+
+        /**
+         * Gets the total time on the critical path.
+         *
+         * @return the sum of the parts in microseconds
+         */
+        public long total() {
+            return queueing + flight + drop + messaging + processing;
+        }
+    }
+
+    /**
+     * Computes the critical path of every trace among some spans.
+     *
+     * @param spans the spans, e.g. read from the span files of every subsystem
+     * @return the breakdown of each trace, in the order the traces started
+     */
+    public static List<Breakdown> analyze(Collection<Span> spans) {
+        Map<Long, List<Span>> traces = new LinkedHashMap<>();
+        spans.stream()
+                .sorted(Comparator.comparingLong(Span::getStartMicros))
+                .forEach(span -> traces.computeIfAbsent(span.getTraceID(), id -> new ArrayList<>()).add(span));
+
+        List<Breakdown> breakdowns = new ArrayList<>();
+        for (Map.Entry<Long, List<Span>> trace : traces.entrySet()) {
+            breakdowns.add(breakdown(trace.getKey(), trace.getValue()));
+        }
+        return breakdowns;
+    }
+
+    private static Breakdown breakdown(long traceID, List<Span> spans) {
+        Map<Long, Span> byID = new HashMap<>();
+        Span last = spans.get(0);
+        for (Span span : spans) {
+            byID.put(span.getSpanID(), span);
+            if (span.getEndMicros() > last.getEndMicros()) {
+                last = span;
+            }
+        }
+
+        // walk back from the last span to the root; a parent can be missing if its process kept no file
+        List<Span> path = new ArrayList<>();
+        for (Span span = last; span != null && path.size() <= spans.size(); span = byID.get(span.getParentSpanID())) {
+            path.add(0, span);
+        }
+
+        long queueing = 0, flight = 0, drop = 0, messaging = 0, processing = 0;
+        int zoneID = 0;
+        Span previous = null;
+        for (Span span : path) {
+            if (zoneID == 0) {
+                zoneID = span.getZoneID();
+            }
+            if (previous != null) {
+                long gap = Math.max(0, span.getStartMicros() - previous.getEndMicros());
+                if (previous.getSubsystem().equals(span.getSubsystem())) {
+                    queueing += gap;
+                } else {
+                    messaging += gap;
+                }
+            }
+            switch (span.getName()) {
+                case "drone.flight" -> flight += span.getDurationMicros();
+                case "drone.drop" -> drop += span.getDurationMicros();
+                case "fire.report" -> queueing += span.getDurationMicros();
+                default -> processing += span.getDurationMicros();
+            }
+            previous = span;
+        }
+        return new Breakdown(traceID, zoneID, path, queueing, flight, drop, messaging, processing);
+    }
+
+    /**
+     * Reads the span files of a run and prints the critical path breakdown of every incident.
+     *
+     * Usage: CriticalPath (span file or directory)...
+     *
+     * @param args the span files, or directories holding them
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: CriticalPath <span file or directory>...");
+            System.exit(1);
+        }
+        List<Span> spans = new ArrayList<>();
+        for (String arg : args) {
+            File file = new File(arg);
+            File[] files = file.isDirectory() ? file.listFiles((dir, name) -> name.startsWith("spans-") && name.endsWith(".csv")) : new File[]{file};
+            if (files == null) {
+                continue;
+            }
+            for (File spanFile : files) {
+                spans.addAll(SpanCollector.read(spanFile));
+            }
+        }
+
+        List<Breakdown> breakdowns = analyze(spans);
+        long[] totals = new long[6];
+        System.out.printf("%-16s %5s %10s %10s %10s %10s %10s %10s%n",
+                "trace", "zone", "total ms", "queue ms", "flight ms", "drop ms", "msg ms", "proc ms");
+        for (Breakdown b : breakdowns) {
+            long[] parts = {b.total(), b.queueing(), b.flight(), b.drop(), b.messaging(), b.processing()};
+            System.out.printf("%016x %5d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", b.traceID(), b.zoneID(),
+                    parts[0] / 1000.0, parts[1] / 1000.0, parts[2] / 1000.0, parts[3] / 1000.0, parts[4] / 1000.0, parts[5] / 1000.0);
+            for (int i = 0; i < parts.length; i++) {
+                totals[i] += parts[i];
+            }
+        }
+        if (totals[0] > 0) {
+            System.out.printf("%d incidents: queueing %.1f%%, flight %.1f%%, drop %.1f%%, messaging %.1f%%, processing %.1f%%%n",
+                    breakdowns.size(), 100.0 * totals[1] / totals[0], 100.0 * totals[2] / totals[0], 100.0 * totals[3] / totals[0],
+                    100.0 * totals[4] / totals[0], 100.0 * totals[5] / totals[0]);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package main.tracing;
+
+import subsystems.Event;
+
+/**
+ * One timed step in the handling of an incident, e.g. the Scheduler handling a drone's arrival or
+ * a drone flying to a fire. Spans of the same incident share a trace ID, and each span points to
+ * the span that sent the event it was started for, so the steps of an incident can be followed
+ * across the FireIncident, Scheduler and Drone subsystems.
+ *
+ * Span names start with the subsystem that recorded them, e.g. "scheduler.dispatch" or
+ * "drone.flight". Times are microseconds since the epoch, see {@link SpanCollector#nowMicros()}.
+ */
+public final class Span {
+    private final SpanCollector collector;
+    private final long traceID;
+    private final long spanID;
+    private final long parentSpanID;
+    private final String name;
+    private final long startMicros;
+    private long endMicros;
+    private int droneID;
+    private int zoneID;
+
+    Span(SpanCollector collector, long traceID, long spanID, long parentSpanID, String name, long startMicros) {
+        this.collector = collector;
+        this.traceID = traceID;
+        this.spanID = spanID;
+        this.parentSpanID = parentSpanID;
+        this.name = name;
+        this.startMicros = startMicros;
+    }
+
+    /**
+     * Creates a finished span, e.g. one read back from a span file.
+     */
+    Span(long traceID, long spanID, long parentSpanID, String name, long startMicros, long endMicros, int droneID, int zoneID) {
+        this(null, traceID, spanID, parentSpanID, name, startMicros);
+        this.endMicros = endMicros;
+        this.droneID = droneID;
+        this.zoneID = zoneID;
+    }
+
+    /**
+     * Records the drone and zone the span is about.
+     *
+     * @param droneID the drone, 0 if none
+     * @param zoneID  the zone, 0 if none
+     * @return this span
+     */
+    public Span tag(int droneID, int zoneID) {
+        this.droneID = droneID;
+        this.zoneID = zoneID;
+        return this;
+    }
+
+    /**
+     * Marks an event as sent from this span, so the span started for it by its receiver is a child
+     * of this one.
+     *
+     * @param event the event about to be sent
+     * @param <E>   the event type
+     * @return the event
+     */
+    public <E extends Event> E propagate(E event) {
+        event.setTrace(traceID, spanID);
+        return event;
+    }
+
+    /**
+     * Ends the span and hands it to its collector. Spans of untraced events are dropped.
+     */
+    public void finish() {
+        endMicros = SpanCollector.nowMicros();
+        if (traceID != 0 && collector != null) {
+            collector.collect(this);
+        }
+    }
+
+    /**
+     * Gets the ID shared by the spans of an incident.
+     *
+     * @return the trace ID
+     */
+    public long getTraceID() {
+        return traceID;
+    }
+
+    /**
+     * Gets the ID of this span.
+     *
+     * @return the span ID
+     */
+    public long getSpanID() {
+        return spanID;
+    }
+
+    /**
+     * Gets the ID of the span that sent the event this span was started for.
+     *
+     * @return the parent span ID, 0 if this span starts its trace
+     */
+    public long getParentSpanID() {
+        return parentSpanID;
+    }
+
+    /**
+     * Gets the name of the span.
+     *
+     * @return the name, e.g. "drone.flight"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the subsystem that recorded the span, the part of its name before the first dot.
+     *
+     * @return the subsystem, e.g. "scheduler"
+     */
+    public String getSubsystem() {
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    /**
+     * Gets when the span started.
+     *
+     * @return the microseconds since the epoch
+     */
+    public long getStartMicros() {
+        return startMicros;
+    }
+
+    /**
+     * Gets when the span ended.
+     *
+     * @return the microseconds since the epoch, 0 if it has not ended
+     */
+    public long getEndMicros() {
+        return endMicros;
+    }
+
+    /**
+     * Gets how long the span took.
+     *
+     * @return the duration in microseconds
+     */
+    public long getDurationMicros() {
+        return Math.max(0, endMicros - startMicros);
+    }
+
+    /**
+     * Gets the drone the span is about.
+     *
+     * @return the drone ID, 0 if none
+     */
+    public int getDroneID() {
+        return droneID;
+    }
+
+    /**
+     * Gets the zone the span is about.
+     *
+     * @return the zone ID, 0 if none
+     */
+    public int getZoneID() {
+        return zoneID;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[trace=%x span=%x parent=%x drone=%d zone=%d %d us]",
+                name, traceID, spanID, parentSpanID, droneID, zoneID, getDurationMicros());
+    }
+}
@@ -0,0 +1,223 @@
+package main.tracing;
+
+import subsystems.Event;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects the finished {@link Span}s of this process.
+ *
+ * The most recent spans are kept in a fixed-size ring for inspection. If the tracing.dir system
+ * property is set, every span is also appended to spans-(pid).csv in that directory by a
+ * background thread, so the subsystems, which run as separate processes, each leave a file
+ * behind that {@link CriticalPath} can join on trace ID. Finishing a span never waits on I/O.
+ */
+public final class SpanCollector {
+    public static final int DEFAULT_CAPACITY = 16_384;
+    private static final long FLUSH_MILLIS = 500;
+
+    // wall clock in microseconds, from the nano clock so it is monotonic within the process
+    private static final long BASE_MICROS = System.currentTimeMillis() * 1000;
+    private static final long BASE_NANOS = System.nanoTime();
+
+    private static final SpanCollector GLOBAL = new SpanCollector(DEFAULT_CAPACITY, System.getProperty("tracing.dir"));
+
+    private final AtomicReferenceArray<Span> recent;
+    private final AtomicLong collected = new AtomicLong();
+    private final Queue<Span> unwritten;
+    private final File file;
+
+    /**
+     * Creates a collector.
+     *
+     * @param capacity  the number of recent spans kept in memory
+     * @param directory the directory to write spans to, or null to only keep them in memory
+     */
+    public SpanCollector(int capacity, String directory) {
+        this.recent = new AtomicReferenceArray<>(capacity);
+        if (directory == null || directory.isBlank()) {
+            this.unwritten = null;
+            this.file = null;
+            return;
+        }
+        this.unwritten = new ConcurrentLinkedQueue<>();
+        File dir = new File(directory);
+        dir.mkdirs();
+        this.file = new File(dir, "spans-" + ProcessHandle.current().pid() + ".csv");
+
+        Thread writer = new Thread(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(FLUSH_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                flush();
+            }
+        }, "span-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "span-flush"));
+    }
+
+    /**
+     * Gets the collector of this process.
+     *
+     * @return the collector configured by the tracing.dir system property
+     */
+    public static SpanCollector get() {
+        return GLOBAL;
+    }
+
+    /**
+     * Starts a new trace, e.g. when a fire is reported.
+     *
+     * @param name the name of its first span
+     * @return the first span of the trace
+     */
+    public static Span startTrace(String name) {
+        return new Span(GLOBAL, newID(), newID(), 0, name, nowMicros());
+    }
+
+    /**
+     * Starts a span for handling an event, as a child of the span that sent it. If the event is
+     * not traced, the span is not recorded when it finishes.
+     *
+     * @param name  the name of the span, e.g. "scheduler.arrival"
+     * @param cause the event being handled
+     * @return the span
+     */
+    public static Span startSpan(String name, Event cause) {
+        return new Span(GLOBAL, cause.getTraceID(), newID(), cause.getSpanID(), name, nowMicros());
+    }
+
+    /**
+     * Starts a span as a child of a span that is known by its IDs rather than by an event, e.g.
+     * the span stored with an incident.
+     *
+     * @param name     the name of the span, e.g. "scheduler.dispatch"
+     * @param traceID  the trace, or 0 if not traced
+     * @param parentID the parent span
+     * @return the span
+     */
+    public static Span startSpan(String name, long traceID, long parentID) {
+        return new Span(GLOBAL, traceID, newID(), parentID, name, nowMicros());
+    }
+
+    /**
+     * Gets the current time as used by spans.
+     *
+     * @return the microseconds since the epoch
+     */
+    public static long nowMicros() {
+        return BASE_MICROS + (System.nanoTime() - BASE_NANOS) / 1000;
+    }
+
+    private static long newID() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /**
+     * Adds a finished span.
+     *
+     * @param span the span
+     */
+    void collect(Span span) {
+        long index = collected.getAndIncrement();
+        recent.set((int) (index % recent.length()), span);
+        if (unwritten != null) {
+            unwritten.add(span);
+        }
+    }
+
+    /**
+     * Gets the recent spans of a trace.
+     *
+     * @param traceID the trace
+     * @return the spans still held in memory, in no particular order
+     */
+    public List<Span> getSpans(long traceID) {
+        List<Span> spans = new ArrayList<>();
+        for (int i = 0; i < recent.length(); i++) {
+            Span span = recent.get(i);
+            if (span != null && span.getTraceID() == traceID) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Gets the number of spans collected since the process started.
+     *
+     * @return the count
+     */
+    public long getCollectedCount() {
+        return collected.get();
+    }
+
+    /**
+     * Appends the spans finished since the last flush to the span file.
+     */
+    public synchronized void flush() {
+        if (unwritten == null || unwritten.isEmpty()) {
+            return;
+        }
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file, true))) {
+            Span span;
+            while ((span = unwritten.poll()) != null) {
+                out.write(String.format("%x,%x,%x,%s,%d,%d,%d,%d%n", span.getTraceID(), span.getSpanID(), span.getParentSpanID(),
+                        span.getName(), span.getStartMicros(), span.getEndMicros(), span.getDroneID(), span.getZoneID()));
+            }
+        } catch (IOException e) {
+            System.err.println("[SpanCollector] Unable to write spans to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the spans written to a span file.
+     *
+     * @param file the file
+     * @return the spans
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public static List<Span> read(File file) throws IOException {
+        List<Span> spans = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 8) {
+                    throw new IOException("Malformed span in " + file + ": " + line);
+                }
+                try {
+                    spans.add(new Span(Long.parseUnsignedLong(fields[0], 16), Long.parseUnsignedLong(fields[1], 16),
+                            Long.parseUnsignedLong(fields[2], 16), fields[3], Long.parseLong(fields[4]), Long.parseLong(fields[5]),
+                            Integer.parseInt(fields[6]), Integer.parseInt(fields[7])));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed span in " + file + ": " + line, e);
+                }
+            }
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,86 @@
+package main.ui;
+
+import subsystems.fire_incident.Severity;
+
+import javax.swing.*;
+import java.awt.geom.Point2D;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Queues dashboard updates and applies them on the Swing event dispatch thread.
+ *
+ * Publishing an update only appends it to a lock-free queue; at most one drain task is pending on
+ * the event dispatch thread at a time, and it applies every queued update in order. The dashboard
+ * itself is created on the event dispatch thread, so updates published before it exists are
+ * simply applied once it does.
+ */
+public class AsyncDashboardSink implements DashboardSink {
+    private final Queue<Consumer<DashboardSink>> updates = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private DashboardSink target;
+
+    /**
+     * Creates the sink and schedules the creation of the dashboard on the event dispatch thread.
+     *
+     * @param dashboard creates the dashboard that draws the updates
+     */
+    public AsyncDashboardSink(Supplier<? extends DashboardSink> dashboard) {
+        SwingUtilities.invokeLater(() -> target = dashboard.get());
+    }
+
+    @Override
+    public void markZone(int zoneID, Point2D worldStart, Point2D worldEnd) {
+        post(target -> target.markZone(zoneID, worldStart, worldEnd));
+    }
+
+    @Override
+    public void updateZoneWater(int zoneID, int remainingLiters) {
+        post(target -> target.updateZoneWater(zoneID, remainingLiters));
+    }
+
+    @Override
+    public void setZoneFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status) {
+        post(target -> target.setZoneFireStatus(zoneID, status));
+    }
+
+    @Override
+    public void updateZoneSeverity(int zoneID, Severity severity) {
+        post(target -> target.updateZoneSeverity(zoneID, severity));
+    }
+
+    @Override
+    public void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state) {
+        post(target -> target.updateDronePosition(droneID, worldPos, targPos, state));
+    }
+
+    /**
+     * Gets the number of updates waiting to be applied.
+     *
+     * @return the queue length
+     */
+    public int getPendingUpdates() {
+        return updates.size();
+    }
+
+    private void post(Consumer<DashboardSink> update) {
+        updates.add(update);
+        if (drainScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+    }
+
+    /**
+     * Runs on the event dispatch thread, applying every queued update.
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        Consumer<DashboardSink> update;
+        while ((update = updates.poll()) != null) {
+            update.accept(target);
+        }
+    }
+}
@@ -7,7 +7,7 @@ import java.awt.*;
  */
 
 // represents types of zones
-enum CellType {
+public enum CellType {
     EMPTY(Color.WHITE),
     ZONE(Color.LIGHT_GRAY),
     ACTIVE_FIRE(Color.RED),
@@ -0,0 +1,100 @@
+package main.ui;
+
+import subsystems.fire_incident.Severity;
+
+import java.awt.geom.Point2D;
+
+/**
+ * Receives the updates the Scheduler publishes about zones, fires and drones.
+ *
+ * {@link DroneSwarmDashboard} draws them, {@link AsyncDashboardSink} hands them to the dashboard on
+ * the Swing event dispatch thread so the Scheduler never waits on Swing, and
+ * {@link HeadlessDashboard} discards them. {@link main.telemetry.TelemetryPublisher} sends them to
+ * dashboards in other processes.
+ */
+public interface DashboardSink {
+
+    /**
+     * Marks the bounds of a zone.
+     *
+     * @param zoneID     the zone ID
+     * @param worldStart one corner of the zone in world coordinates
+     * @param worldEnd   the opposite corner of the zone in world coordinates
+     */
+    void markZone(int zoneID, Point2D worldStart, Point2D worldEnd);
+
+    /**
+     * Updates the water still needed to extinguish the fire in a zone.
+     *
+     * @param zoneID          the zone ID
+     * @param remainingLiters the litres still needed, 0 or less once the fire is out
+     */
+    void updateZoneWater(int zoneID, int remainingLiters);
+
+    /**
+     * Sets the fire status of a zone.
+     *
+     * @param zoneID the zone ID
+     * @param status the fire status
+     */
+    void setZoneFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status);
+
+    /**
+     * Updates the severity of the fire in a zone.
+     *
+     * @param zoneID   the zone ID
+     * @param severity the severity, NONE once the fire is out
+     */
+    void updateZoneSeverity(int zoneID, Severity severity);
+
+    /**
+     * Updates the position and state of a drone.
+     *
+     * @param droneID  the drone ID
+     * @param worldPos the position of the drone in world coordinates
+     * @param targPos  the position the drone is flying to, or null
+     * @param state    the state of the drone
+     */
+    void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state);
+
+    /**
+     * Combines two sinks into one that passes every update to both, in order.
+     *
+     * @param first  the sink updated first
+     * @param second the sink updated second
+     * @return the combined sink
+     */
+    static DashboardSink combine(DashboardSink first, DashboardSink second) {
+        return new DashboardSink() {
+            @Override
+            public void markZone(int zoneID, Point2D worldStart, Point2D worldEnd) {
+                first.markZone(zoneID, worldStart, worldEnd);
+                second.markZone(zoneID, worldStart, worldEnd);
+            }
+
+            @Override
+            public void updateZoneWater(int zoneID, int remainingLiters) {
+                first.updateZoneWater(zoneID, remainingLiters);
+                second.updateZoneWater(zoneID, remainingLiters);
+            }
+
+            @Override
+            public void setZoneFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status) {
+                first.setZoneFireStatus(zoneID, status);
+                second.setZoneFireStatus(zoneID, status);
+            }
+
+            @Override
+            public void updateZoneSeverity(int zoneID, Severity severity) {
+                first.updateZoneSeverity(zoneID, severity);
+                second.updateZoneSeverity(zoneID, severity);
+            }
+
+            @Override
+            public void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state) {
+                first.updateDronePosition(droneID, worldPos, targPos, state);
+                second.updateDronePosition(droneID, worldPos, targPos, state);
+            }
+        };
+    }
+}
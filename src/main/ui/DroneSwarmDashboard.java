@@ -2,6 +2,8 @@ package main.ui;
 
 import logger.EventLogger;
 import main.Scheduler;
+import main.telemetry.TelemetryFormat;
+import main.telemetry.TelemetrySubscriber;
 import subsystems.drone.DroneSubsystem;
 import subsystems.drone.events.DroneUpdateEvent;
 import subsystems.drone.states.FaultedState;
@@ -12,29 +14,35 @@ import subsystems.fire_incident.events.IncidentEvent;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Point2D;
+import java.io.IOException;
 import java.util.List;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import static main.ui.GridPanel.*;
 
-public class DroneSwarmDashboard extends JFrame {
+/**
+ * The dashboard showing zones, fires and drones. Its methods and the state maps below must only be
+ * used on the Swing event dispatch thread; {@link AsyncDashboardSink} takes care of that for the Scheduler.
+ */
+public class DroneSwarmDashboard extends JFrame implements DashboardSink {
 
     private final BaseStationPanel basePanel = new BaseStationPanel();
+    private final GridPanel gridPanel = new GridPanel();
 
     // drones
     public static final Map<Integer, DroneRender> droneStates = new HashMap<>();
+    public static final SpatialIndex droneIndex = new SpatialIndex(GRID_WIDTH, GRID_HEIGHT, 8); // by grid cell
     public static boolean showFaultedDrones = true;
 
     // zones
-    public static final Map<Point, CellType> zoneMap = new HashMap<>();
-    public static final Map<Integer, Point> zoneLabels = new HashMap<>();
-    public static final Map<Integer, Rectangle> zoneBounds = new HashMap<>();
-    public static final Map<Integer, FireStatus> zoneFireStatus = new HashMap<>();
-    public static final Map<Integer, Integer> zoneRemainingWater = new HashMap<>();
-    public static final Map<Integer, Severity> zoneSeverities = new HashMap<>();
+    public static final GridModel gridModel = new GridModel(GRID_WIDTH, GRID_HEIGHT);
 
-    public static final Map<Integer, Thread> droneFlightThreads = new HashMap<>();
+    // drones in flight, animated by one timer on the event dispatch thread
+    public static final Map<Integer, FlightPath> flightPaths = new HashMap<>();
+    private static final int FRAME_MILLIS = 16; // ~60 frames per second
+    private final Timer animationTimer = new Timer(FRAME_MILLIS, e -> animateFlights());
 
 
     // represents fire status
@@ -104,7 +112,6 @@ public class DroneSwarmDashboard extends JFrame {
 
 
         // === BASE LEGEND ===
-        GridPanel gridPanel = new GridPanel();
         JScrollPane scrollPane = new JScrollPane(
                 gridPanel,
                 ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
@@ -167,15 +174,13 @@ public class DroneSwarmDashboard extends JFrame {
      * @param zoneID
      * @param remainingLiters
      */
+    @Override
     public void updateZoneWater(int zoneID, int remainingLiters) {
-        if (remainingLiters <= 0) {
-            zoneRemainingWater.remove(zoneID); // fire's out
-        } else {
-            zoneRemainingWater.put(zoneID, remainingLiters);
-        }
-        repaint();
+        gridModel.setRemainingWater(zoneID, remainingLiters); // 0 or less once the fire's out
+        gridPanel.repaintHover(); // the water left is only shown in the hover tooltip
     }
 
+    @Override
     public void markZone(int zoneID, Point2D worldStart, Point2D worldEnd) {
         Point start = toGridCoord(worldStart.getX(), worldStart.getY());
         Point end = toGridCoord(worldEnd.getX(), worldEnd.getY());
@@ -185,72 +190,102 @@ public class DroneSwarmDashboard extends JFrame {
         int startY = Math.min(start.y, end.y);
         int endY = Math.max(start.y, end.y);
 
-        zoneLabels.put(zoneID, new Point(startX, startY));
-        zoneBounds.put(zoneID, new Rectangle(startX, startY, endX - startX, endY - startY));
+        gridModel.markZone(zoneID, startX, startY, endX - startX, endY - startY);
 
-        for (int x = startX; x < endX; x++) {
-            for (int y = startY; y < endY; y++) {
-                zoneMap.put(new Point(x, y), CellType.ZONE);
-            }
-        }
-
-        repaint();
+        gridPanel.invalidateBackground();
     }
 
     /**
      * Draws a drone on the grid.
      */
+    @Override
     public void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state) {
 
         if (state == DroneStateEnum.OUTBOUND && targPos != null){
             startDroneFlightPath(droneID, worldPos, targPos);
         }else{
-            cancelDroneFlightThread(droneID);
+            cancelDroneFlightPath(droneID);
         }
-        droneStates.put(droneID, new DroneRender(worldPos, state));
-
-        // update base station panel with list of drones at base (0,0) and IDLE
-        List<Integer> atBase = droneStates.entrySet().stream()
-                .filter(entry -> entry.getValue().state == DroneStateEnum.IDLE)
-                .map(Map.Entry::getKey)
-                .toList();
+        DroneRender previous = putDrone(droneID, new DroneRender(worldPos, state));
 
-        basePanel.setDronesAtBase(atBase);
+        // update base station panel with list of drones at base (0,0) and IDLE, if this drone joined or left it
+        if (state == DroneStateEnum.IDLE || previous == null || previous.state == DroneStateEnum.IDLE) {
+            List<Integer> atBase = droneStates.entrySet().stream()
+                    .filter(entry -> entry.getValue().state == DroneStateEnum.IDLE)
+                    .map(Map.Entry::getKey)
+                    .toList();
 
-        repaint();
+            basePanel.setDronesAtBase(atBase);
+        }
     }
 
+    /**
+     * Starts animating a drone flying to a target. The flight takes as long as the drone's.
+     * @param droneID
+     * @param startCoords
+     * @param targetCoords
+     */
     public void startDroneFlightPath(int droneID, Point2D startCoords, Point2D targetCoords) {
-        Thread flightThread = new Thread(() -> {
-            try {
-                int steps = 8;
-                long stepDuration = (long) ((DroneSubsystem.timeToZone(startCoords, targetCoords) * Scheduler.sleepMultiplier) / steps);
-
-                for (int i = 1; i <= steps; i++) {
-                    double t = i / (double) steps;
-                    double x = startCoords.getX() + (targetCoords.getX() - startCoords.getX()) * t;
-                    double y = startCoords.getY() + (targetCoords.getY() - startCoords.getY()) * t;
-
-                    Thread.sleep(stepDuration);
-
-                    droneStates.put(droneID, new DroneRender(new Point2D.Double(x,y), DroneStateEnum.OUTBOUND));
-                    repaint();
-                }
-            } catch (InterruptedException ignored) {
-            } finally {
-                droneFlightThreads.remove(droneID); // Cleanup
+        long durationNanos = (long) (DroneSubsystem.timeToZone(startCoords, targetCoords) * Scheduler.sleepMultiplier * 1_000_000);
+        flightPaths.put(droneID, new FlightPath(startCoords, targetCoords, System.nanoTime(), durationNanos));
+        if (!animationTimer.isRunning()) {
+            animationTimer.start();
+        }
+    }
+
+    /**
+     * Stops animating a drone, leaving it where it was last drawn.
+     * @param droneID
+     */
+    public void cancelDroneFlightPath(int droneID) {
+        flightPaths.remove(droneID);
+    }
+
+    /**
+     * Moves every drone in flight to its interpolated position, once per frame. Only drones that
+     * moved are repainted, and the timer stops when no drone is in flight.
+     */
+    private void animateFlights() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Integer, FlightPath>> flights = flightPaths.entrySet().iterator();
+        while (flights.hasNext()) {
+            Map.Entry<Integer, FlightPath> flight = flights.next();
+            FlightPath path = flight.getValue();
+            Point2D position = path.positionAt(now);
+
+            DroneRender previous = droneStates.get(flight.getKey());
+            if (previous == null || previous.worldX != (int) position.getX() || previous.worldY != (int) position.getY()) {
+                putDrone(flight.getKey(), new DroneRender(position, DroneStateEnum.OUTBOUND));
             }
-        });
 
-        droneFlightThreads.put(droneID, flightThread);
-        flightThread.start();
+            if (path.progress(now) >= 1) {
+                flights.remove();
+            }
+        }
+
+        if (flightPaths.isEmpty()) {
+            animationTimer.stop();
+        }
     }
 
-    public void cancelDroneFlightThread(int droneID) {
-        Thread flightThread = droneFlightThreads.get(droneID);
-        if (flightThread != null && flightThread.isAlive()) {
-            flightThread.interrupt(); // Cancel timer
+    /**
+     * Stores where a drone is drawn, keeps the drone index in step and repaints where it was and is.
+     * @param droneID
+     * @param drone
+     * @return where the drone was drawn before, or null if it is new
+     */
+    private DroneRender putDrone(int droneID, DroneRender drone) {
+        DroneRender previous = droneStates.put(droneID, drone);
+        int x = toGridX(drone.worldX);
+        int y = toGridY(drone.worldY);
+        if (previous != null) {
+            droneIndex.move(droneID, toGridX(previous.worldX), toGridY(previous.worldY), x, y);
+            gridPanel.repaintDrone(previous.worldX, previous.worldY);
+        } else {
+            droneIndex.add(droneID, x, y, 1, 1);
         }
+        gridPanel.repaintDrone(drone.worldX, drone.worldY);
+        return previous;
     }
 
     /**
@@ -259,8 +294,10 @@ public class DroneSwarmDashboard extends JFrame {
      */
     @Override
     public Dimension getPreferredSize() {
-        return new Dimension(GRID_WIDTH * CELL_SIZE + PADDING * 2,
-                GRID_HEIGHT * CELL_SIZE + PADDING * 2);
+        // no larger than the screen, the grid scrolls on large maps
+        Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+        return new Dimension(Math.min(GRID_WIDTH * CELL_SIZE + PADDING * 2, screen.width),
+                Math.min(GRID_HEIGHT * CELL_SIZE + PADDING * 2, screen.height));
     }
 
     /**
@@ -268,9 +305,10 @@ public class DroneSwarmDashboard extends JFrame {
      * @param zoneID
      * @param status
      */
+    @Override
     public void setZoneFireStatus(int zoneID, FireStatus status) {
-        zoneFireStatus.put(zoneID, status);
-        repaint();
+        gridModel.setFireStatus(zoneID, status);
+        gridPanel.repaintZone(zoneID);
     }
 
 
@@ -279,21 +317,25 @@ public class DroneSwarmDashboard extends JFrame {
      * @param zoneID
      * @param severity
      */
+    @Override
     public void updateZoneSeverity(int zoneID, Severity severity) {
-        if (severity == Severity.NONE) {
-            zoneSeverities.remove(zoneID); // clear if fire is extinguished
-        } else {
-            zoneSeverities.put(zoneID, severity);
-        }
-        repaint();
+        gridModel.setSeverity(zoneID, severity); // NONE once the fire is extinguished
+        gridPanel.invalidateBackground(); // zones are filled by severity
     }
 
     /**
      * Main method to run the dashboard.
+     * With --subscribe [host:port] it runs in its own process, following the telemetry feed the
+     * Scheduler publishes (by default on {@value TelemetryFormat#DEFAULT_ADDRESS}).
      * @param args
      */
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--subscribe")) {
+            String address = args.length > 1 ? args[1] : TelemetryFormat.DEFAULT_ADDRESS;
+            new TelemetrySubscriber(TelemetryFormat.parseAddress(address), new AsyncDashboardSink(DroneSwarmDashboard::new));
+            return; // the subscriber and the event dispatch thread keep running
+        }
         SwingUtilities.invokeLater(DroneSwarmDashboard::new);
     }
 
@@ -0,0 +1,39 @@
+package main.ui;
+
+import java.awt.geom.Point2D;
+
+/**
+ * Represents a drone flying in a straight line from one position to another at constant speed,
+ * used to animate it on the dashboard.
+ *
+ * @param start          the position the drone left from, in world coordinates
+ * @param target         the position the drone is flying to, in world coordinates
+ * @param departureNanos the {@link System#nanoTime()} at which the drone left
+ * @param durationNanos  how long the flight takes
+ */
+public record FlightPath(Point2D start, Point2D target, long departureNanos, long durationNanos) {
+
+    /**
+     * Gets how far along the flight is.
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the fraction of the flight completed, between 0 and 1
+     */
+    public double progress(long nowNanos) {
+        if (durationNanos <= 0) {
+            return 1;
+        }
+        return Math.min(1, Math.max(0, (nowNanos - departureNanos) / (double) durationNanos));
+    }
+
+    /**
+     * Interpolates the position of the drone.
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the position of the drone in world coordinates
+     */
+    public Point2D positionAt(long nowNanos) {
+        double t = progress(nowNanos);
+        return new Point2D.Double(
+                start.getX() + (target.getX() - start.getX()) * t,
+                start.getY() + (target.getY() - start.getY()) * t);
+    }
+}
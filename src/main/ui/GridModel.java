@@ -0,0 +1,294 @@
+package main.ui;
+
+import subsystems.fire_incident.Severity;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Holds what the dashboard shows about the grid and its zones in flat primitive arrays.
+ *
+ * Cell types are stored one byte per cell, indexed by y * width + x, so the model costs a fixed
+ * width * height bytes whatever the map size. Zone attributes are stored in arrays indexed by
+ * zone ID, grown as higher IDs are marked, and zones are kept in a {@link SpatialIndex} so the
+ * zones in a region of the grid can be found without scanning them all.
+ */
+public class GridModel {
+    private static final CellType[] CELL_TYPES = CellType.values();
+    private static final DroneSwarmDashboard.FireStatus[] FIRE_STATUSES = DroneSwarmDashboard.FireStatus.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final int ZONE_TILE_SIZE = 16;
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+    private final SpatialIndex zoneIndex;
+    private final SpatialIndex fireIndex; // only the zones with a fire status, usually far fewer
+
+    // marked zone IDs, in the order they were marked
+    private int[] zoneIDs = new int[16];
+    private int zoneCount = 0;
+
+    // zone attributes, indexed by zone ID
+    private boolean[] marked = new boolean[16];
+    private int[] bounds = new int[16 * 4]; // x, y, width, height
+    private byte[] fireStatus = new byte[16];
+    private byte[] severity = new byte[16];
+    private int[] remainingWater = new int[16];
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param width  the number of columns
+     * @param height the number of rows
+     */
+    public GridModel(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[Math.multiplyExact(width, height)];
+        this.zoneIndex = new SpatialIndex(width, height, ZONE_TILE_SIZE);
+        this.fireIndex = new SpatialIndex(width, height, ZONE_TILE_SIZE);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the type of a cell.
+     *
+     * @param x the column
+     * @param y the row
+     * @return the cell type, EMPTY outside the grid
+     */
+    public CellType getCell(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return CellType.EMPTY;
+        }
+        return CELL_TYPES[cells[y * width + x]];
+    }
+
+    /**
+     * Marks a zone, setting the cells it covers to ZONE.
+     *
+     * @param zoneID the zone ID
+     * @param x      the first column of the zone
+     * @param y      the first row of the zone
+     * @param w      the number of columns the zone covers
+     * @param h      the number of rows the zone covers
+     */
+    public void markZone(int zoneID, int x, int y, int w, int h) {
+        ensureZone(zoneID);
+        if (!marked[zoneID]) {
+            marked[zoneID] = true;
+            if (zoneCount == zoneIDs.length) {
+                zoneIDs = Arrays.copyOf(zoneIDs, zoneCount * 2);
+            }
+            zoneIDs[zoneCount++] = zoneID;
+        } else {
+            zoneIndex.remove(zoneID, getZoneX(zoneID), getZoneY(zoneID), getZoneWidth(zoneID), getZoneHeight(zoneID));
+        }
+        zoneIndex.add(zoneID, x, y, w, h);
+        if (fireStatus[zoneID] != 0) {
+            fireIndex.remove(zoneID, getZoneX(zoneID), getZoneY(zoneID), getZoneWidth(zoneID), getZoneHeight(zoneID));
+            fireIndex.add(zoneID, x, y, w, h);
+        }
+        bounds[zoneID * 4] = x;
+        bounds[zoneID * 4 + 1] = y;
+        bounds[zoneID * 4 + 2] = w;
+        bounds[zoneID * 4 + 3] = h;
+
+        int startX = Math.max(0, x);
+        int endX = Math.min(width, x + w);
+        byte zone = (byte) CellType.ZONE.ordinal();
+        for (int row = Math.max(0, y); row < Math.min(height, y + h); row++) {
+            if (startX < endX) {
+                Arrays.fill(cells, row * width + startX, row * width + endX, zone);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of marked zones.
+     *
+     * @return the zone count
+     */
+    public int getZoneCount() {
+        return zoneCount;
+    }
+
+    /**
+     * Gets the ID of a marked zone.
+     *
+     * @param index the index of the zone, from 0 to getZoneCount() - 1, in the order zones were marked
+     * @return the zone ID
+     */
+    public int getZoneID(int index) {
+        return zoneIDs[index];
+    }
+
+    /**
+     * Checks whether a zone has been marked.
+     *
+     * @param zoneID the zone ID
+     * @return true if the zone is marked
+     */
+    public boolean hasZone(int zoneID) {
+        return zoneID >= 0 && zoneID < marked.length && marked[zoneID];
+    }
+
+    public int getZoneX(int zoneID) {
+        return bounds[zoneID * 4];
+    }
+
+    public int getZoneY(int zoneID) {
+        return bounds[zoneID * 4 + 1];
+    }
+
+    public int getZoneWidth(int zoneID) {
+        return bounds[zoneID * 4 + 2];
+    }
+
+    public int getZoneHeight(int zoneID) {
+        return bounds[zoneID * 4 + 3];
+    }
+
+    /**
+     * Finds the zone covering a cell.
+     *
+     * @param x the column
+     * @param y the row
+     * @return the lowest ID of the zones covering the cell, or -1 if there is none
+     */
+    public int zoneAt(int x, int y) {
+        int found = -1;
+        int tileX = Math.min(zoneIndex.getTilesX() - 1, Math.max(0, x / ZONE_TILE_SIZE));
+        int tileY = Math.min(zoneIndex.getTilesY() - 1, Math.max(0, y / ZONE_TILE_SIZE));
+        for (int i = 0; i < zoneIndex.count(tileX, tileY); i++) {
+            int zoneID = zoneIndex.get(tileX, tileY, i);
+            if (zoneContains(zoneID, x, y) && (found < 0 || zoneID < found)) {
+                found = zoneID;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Visits the zones overlapping a region of the grid, once each.
+     *
+     * @param x      the first column of the region
+     * @param y      the first row of the region
+     * @param w      the number of columns of the region
+     * @param h      the number of rows of the region
+     * @param action called with the ID of each zone
+     */
+    public void forEachZone(int x, int y, int w, int h, IntConsumer action) {
+        forEach(zoneIndex, x, y, w, h, action);
+    }
+
+    /**
+     * Visits the zones with a fire status other than NONE overlapping a region of the grid, once each.
+     *
+     * @param x      the first column of the region
+     * @param y      the first row of the region
+     * @param w      the number of columns of the region
+     * @param h      the number of rows of the region
+     * @param action called with the ID of each zone
+     */
+    public void forEachFire(int x, int y, int w, int h, IntConsumer action) {
+        forEach(fireIndex, x, y, w, h, action);
+    }
+
+    private void forEach(SpatialIndex index, int x, int y, int w, int h, IntConsumer action) {
+        // zones touching the region's edge are included, their border and fire icon may reach into it
+        index.query(x - 1, y - 1, w + 2, h + 2, zoneID -> {
+            int zoneX = getZoneX(zoneID);
+            int zoneY = getZoneY(zoneID);
+            if (zoneX < x + w && zoneY < y + h && zoneX + getZoneWidth(zoneID) >= x && zoneY + getZoneHeight(zoneID) >= y) {
+                action.accept(zoneID);
+            }
+        });
+    }
+
+    /**
+     * Gets the index of the zones, for rendering summaries of whole tiles.
+     *
+     * @return the zone index
+     */
+    public SpatialIndex getZoneIndex() {
+        return zoneIndex;
+    }
+
+    private boolean zoneContains(int zoneID, int x, int y) {
+        int zoneX = bounds[zoneID * 4];
+        int zoneY = bounds[zoneID * 4 + 1];
+        return x >= zoneX && y >= zoneY && x < zoneX + bounds[zoneID * 4 + 2] && y < zoneY + bounds[zoneID * 4 + 3];
+    }
+
+    public DroneSwarmDashboard.FireStatus getFireStatus(int zoneID) {
+        return zoneID >= 0 && zoneID < fireStatus.length ? FIRE_STATUSES[fireStatus[zoneID]] : DroneSwarmDashboard.FireStatus.NONE;
+    }
+
+    public void setFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status) {
+        ensureZone(zoneID);
+        boolean wasBurning = fireStatus[zoneID] != 0;
+        boolean burning = status != DroneSwarmDashboard.FireStatus.NONE;
+        if (wasBurning != burning) {
+            if (burning) {
+                fireIndex.add(zoneID, getZoneX(zoneID), getZoneY(zoneID), getZoneWidth(zoneID), getZoneHeight(zoneID));
+            } else {
+                fireIndex.remove(zoneID, getZoneX(zoneID), getZoneY(zoneID), getZoneWidth(zoneID), getZoneHeight(zoneID));
+            }
+        }
+        fireStatus[zoneID] = (byte) status.ordinal();
+    }
+
+    public Severity getSeverity(int zoneID) {
+        return zoneID >= 0 && zoneID < severity.length ? SEVERITIES[severity[zoneID]] : Severity.NONE;
+    }
+
+    public void setSeverity(int zoneID, Severity severity) {
+        ensureZone(zoneID);
+        this.severity[zoneID] = (byte) (severity == null ? Severity.NONE : severity).ordinal();
+    }
+
+    /**
+     * Gets the water still needed to extinguish the fire in a zone.
+     *
+     * @param zoneID the zone ID
+     * @return the litres needed, 0 if there is no fire
+     */
+    public int getRemainingWater(int zoneID) {
+        return zoneID >= 0 && zoneID < remainingWater.length ? remainingWater[zoneID] : 0;
+    }
+
+    public void setRemainingWater(int zoneID, int remainingLiters) {
+        ensureZone(zoneID);
+        remainingWater[zoneID] = Math.max(0, remainingLiters);
+    }
+
+    /**
+     * Grows the zone attribute arrays to hold a zone ID.
+     */
+    private void ensureZone(int zoneID) {
+        if (zoneID < 0) {
+            throw new IllegalArgumentException("Invalid zone ID: " + zoneID);
+        }
+        if (zoneID < marked.length) {
+            return;
+        }
+        int capacity = Math.max(zoneID + 1, marked.length * 2);
+        marked = Arrays.copyOf(marked, capacity);
+        bounds = Arrays.copyOf(bounds, capacity * 4);
+        fireStatus = Arrays.copyOf(fireStatus, capacity);
+        severity = Arrays.copyOf(severity, capacity);
+        remainingWater = Arrays.copyOf(remainingWater, capacity);
+    }
+}
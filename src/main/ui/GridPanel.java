@@ -7,22 +7,58 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
-import java.util.Map;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
 
 import static main.ui.DroneSwarmDashboard.*;
 
 /**
  * Custom JPanel to draw the grid and zones.
+ *
+ * Only the part of the grid inside the scroll pane's viewport is drawn. The grid, axis ticks and
+ * zones in view are rendered into a cached image that is only redrawn when zones change, the view
+ * scrolls or the zoom changes; fires, drones and the hover tooltip are painted over it, and updates
+ * to them repaint only the region they cover. Zones and drones in a region are found through
+ * {@link SpatialIndex spatial indexes}, so paint time depends on what is visible, not on the map size.
+ *
+ * Ctrl + mouse wheel zooms. Once cells are smaller than {@link #LOD_CELL_SIZE} pixels, zones are
+ * drawn as tiles coloured by the highest severity in each and drones as a density heatmap, instead
+ * of per-zone borders and labels and per-drone icons.
  */
 public class GridPanel extends JPanel {
     private Point hoveredCell = null;
+    private int cellSize = CELL_SIZE; // pixels per cell at the current zoom
+    private Image background = null; // grid, axes and zones in view
+    private final Rectangle backgroundBounds = new Rectangle(); // the area the background covers
     public static final int CELL_SIZE = 21; // this is the # divided by the coordinates in the original csv
     private static final double COORD_SCALE = 2.0; // tweak this until zones land properly
-    public static final int MAX_COORD_X = 2250;
-    public static final int MAX_COORD_Y = 2250;
-    public static final int GRID_WIDTH = 55;
-    public static final int GRID_HEIGHT = 50;
+    // map size, in world coordinates and in cells
+    public static final int MAX_COORD_X = Integer.getInteger("dashboard.maxCoordX", 2250);
+    public static final int MAX_COORD_Y = Integer.getInteger("dashboard.maxCoordY", 2250);
+    public static final int GRID_WIDTH = Integer.getInteger("dashboard.gridWidth", 55);
+    public static final int GRID_HEIGHT = Integer.getInteger("dashboard.gridHeight", 50);
     public static final int PADDING = 15; // pixels of space around the grid
+    // zoom limits, and the cell size below which zones and drones are aggregated per tile
+    public static final int MIN_CELL_SIZE = 1;
+    public static final int MAX_CELL_SIZE = 48;
+    public static final int LOD_CELL_SIZE = 6;
+    private static final int MIN_TICK_SPACING = 40; // pixels between axis labels
+    private static final int HOVER_WIDTH = CELL_SIZE * 10; // room for the water tooltip
+    private static final int HOVER_HEIGHT = CELL_SIZE;
+    // the severity colours blended over a zone cell, so zones and zone tiles are drawn opaque
+    private static final Color[] ZONE_TILE_COLORS = new Color[Severity.values().length];
+    private static final Color[] HEATMAP_COLORS = new Color[8];
+    static {
+        for (Severity s : Severity.values()) {
+            ZONE_TILE_COLORS[s.ordinal()] = blend(FireSeverityColor.fromSeverity(s), CellType.ZONE.color);
+        }
+        for (int i = 0; i < HEATMAP_COLORS.length; i++) {
+            HEATMAP_COLORS[i] = new Color(30, 80, 220, 60 + 22 * i);
+        }
+    }
+    private static final Font AXIS_FONT = new Font("SansSerif", Font.PLAIN, 8);
+    private static final Font LABEL_FONT = new Font("SansSerif", Font.BOLD, 8);
+    private static final Font HOVER_FONT = new Font("SansSerif", Font.PLAIN, 12);
     public static final Image FIRE_IMAGE = new ImageIcon("src/main/ui/emojis/ACTIVE_FIRE.png").getImage()
             .getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
 
@@ -38,10 +74,23 @@ public class GridPanel extends JPanel {
         addMouseMotionListener(new MouseMotionAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
-                int x = (e.getX() - PADDING) / CELL_SIZE;
-                int y = (e.getY() - PADDING) / CELL_SIZE;
+                int x = (e.getX() - PADDING) / cellSize;
+                int y = (e.getY() - PADDING) / cellSize;
+                if (hoveredCell != null && hoveredCell.x == x && hoveredCell.y == y) {
+                    return; // still over the same cell, nothing to redraw
+                }
+                repaintHover();
                 hoveredCell = new Point(x, y);
-                repaint();
+                repaintHover();
+            }
+        });
+
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                zoom(e);
+            } else if (getParent() != null) {
+                // let the scroll pane scroll as usual
+                getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, e, getParent()));
             }
         });
 
@@ -58,183 +107,459 @@ public class GridPanel extends JPanel {
      * @return
      */
     public static Point toGridCoord(double worldX, double worldY) {
+        return new Point(toGridX(worldX), toGridY(worldY));
+    }
+
+    /**
+     * Converts a world X coordinate to a grid column.
+     * @param worldX
+     * @return
+     */
+    public static int toGridX(double worldX) {
         int gridX = (int) Math.floor(worldX / (MAX_COORD_X / (double) GRID_WIDTH));
+        return Math.min(gridX, GRID_WIDTH - 1);
+    }
+
+    /**
+     * Converts a world Y coordinate to a grid row.
+     * @param worldY
+     * @return
+     */
+    public static int toGridY(double worldY) {
         int gridY = (int) Math.floor(worldY / (MAX_COORD_Y / (double) GRID_HEIGHT));
+        return Math.min(gridY, GRID_HEIGHT - 1);
+    }
 
-        gridX = Math.min(gridX, GRID_WIDTH - 1);
-        gridY = Math.min(gridY, GRID_HEIGHT - 1);
+    /**
+     * Gets the current zoom.
+     * @return the size of a cell in pixels
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
 
-        return new Point(gridX, gridY);
+    /**
+     * Zooms the grid.
+     * @param size the size of a cell in pixels, clamped to MIN_CELL_SIZE..MAX_CELL_SIZE
+     */
+    public void setCellSize(int size) {
+        size = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, size));
+        if (size == cellSize) {
+            return;
+        }
+        cellSize = size;
+        setPreferredSize(new Dimension(GRID_WIDTH * cellSize + PADDING * 2, GRID_HEIGHT * cellSize + PADDING * 2));
+        revalidate();
+        invalidateBackground();
     }
 
+    /**
+     * Checks whether zones and drones are aggregated per tile at the current zoom.
+     * @return true when zoomed out past LOD_CELL_SIZE
+     */
+    public boolean isAggregated() {
+        return cellSize < LOD_CELL_SIZE;
+    }
 
+    /**
+     * Zooms in or out by one wheel step, keeping the cell under the mouse in place.
+     */
+    private void zoom(MouseWheelEvent e) {
+        int oldSize = cellSize;
+        int newSize = e.getWheelRotation() < 0
+                ? Math.max(oldSize + 1, oldSize * 5 / 4)
+                : Math.min(oldSize - 1, oldSize * 4 / 5);
+        setCellSize(newSize);
+        if (cellSize == oldSize) {
+            return;
+        }
 
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        if (viewport != null) {
+            Point view = viewport.getViewPosition();
+            double cellX = (e.getX() - PADDING) / (double) oldSize;
+            double cellY = (e.getY() - PADDING) / (double) oldSize;
+            Point position = new Point(
+                    Math.max(0, (int) (cellX * cellSize) + PADDING - (e.getX() - view.x)),
+                    Math.max(0, (int) (cellY * cellSize) + PADDING - (e.getY() - view.y)));
+            // the new size is only applied once the viewport lays out again
+            SwingUtilities.invokeLater(() -> viewport.setViewPosition(position));
+        }
+    }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    /**
+     * Discards the cached background, so the grid, axes and zones are redrawn on the next paint.
+     * Call whenever a zone is marked or its severity changes.
+     */
+    public void invalidateBackground() {
+        background = null;
+        repaint();
+    }
 
-        // === draw grid ===
-        for (int x = 0; x < GRID_WIDTH; x++) {
-            for (int y = 0; y < GRID_HEIGHT; y++) {
-                int px = x * CELL_SIZE + PADDING;
-                int py = y * CELL_SIZE + PADDING;
+    /**
+     * Repaints the area a drone at a world position is drawn in, including its label below it.
+     * @param worldX
+     * @param worldY
+     */
+    public void repaintDrone(int worldX, int worldY) {
+        int x = toGridX(worldX);
+        int y = toGridY(worldY);
+        if (isAggregated()) {
+            // the drone is part of its tile's heatmap colour
+            int tileSize = droneIndex.getTileSize();
+            repaint((x / tileSize) * tileSize * cellSize + PADDING, (y / tileSize) * tileSize * cellSize + PADDING,
+                    tileSize * cellSize, tileSize * cellSize);
+        } else {
+            repaint(x * cellSize + PADDING - cellSize, y * cellSize + PADDING, cellSize * 3, cellSize * 2);
+        }
+    }
 
-                Point cell = new Point(x, y);
-                CellType type = zoneMap.getOrDefault(cell, CellType.EMPTY);
+    /**
+     * Repaints the area a zone covers, including its fire indicator.
+     * @param zoneID
+     */
+    public void repaintZone(int zoneID) {
+        if (!gridModel.hasZone(zoneID)) {
+            return;
+        }
+        repaint(gridModel.getZoneX(zoneID) * cellSize + PADDING, gridModel.getZoneY(zoneID) * cellSize + PADDING,
+                (gridModel.getZoneWidth(zoneID) + 1) * cellSize + 1, (gridModel.getZoneHeight(zoneID) + 1) * cellSize + 1);
+    }
 
-                g.setColor(type.color);
-                g.fillRect(px, py, CELL_SIZE, CELL_SIZE);
+    /**
+     * Repaints the water tooltip above the hovered cell.
+     */
+    public void repaintHover() {
+        if (hoveredCell != null) {
+            repaint(hoveredCell.x * cellSize + PADDING, hoveredCell.y * cellSize + PADDING - HOVER_HEIGHT, HOVER_WIDTH, HOVER_HEIGHT);
+        }
+    }
 
-                g.setColor(Color.GRAY);
-                g.drawRect(px, py, CELL_SIZE, CELL_SIZE);
-            }
+    /**
+     * Draws the grid, axis ticks, zones and zone labels inside a region of the panel.
+     * @param g
+     * @param region the region to draw, in panel coordinates
+     */
+    private void paintBackground(Graphics g, Rectangle region) {
+        int x0 = cellAt(region.x, GRID_WIDTH);
+        int y0 = cellAt(region.y, GRID_HEIGHT);
+        int x1 = cellAt(region.x + region.width, GRID_WIDTH);
+        int y1 = cellAt(region.y + region.height, GRID_HEIGHT);
+
+        if (isAggregated()) {
+            paintZoneTiles(g, x0, y0, x1, y1);
+        } else {
+            paintCells(g, x0, y0, x1, y1);
         }
 
         // === axis ticks  ===
-        g.setFont(new Font("SansSerif", Font.PLAIN, 8));
+        g.setFont(AXIS_FONT);
         g.setColor(Color.DARK_GRAY);
+        int step = 5; // Show tick every 5 cells, or more when zoomed out
+        while (step * cellSize < MIN_TICK_SPACING) {
+            step *= 2;
+        }
 
         // top (X-axis)
-        for (int x = 0; x < GRID_WIDTH; x++) {
-            int px = x * CELL_SIZE + PADDING;
-
-            if (x % 5 == 0) { // Show tick every 5 cells
-                g.drawLine(px, PADDING - 4, px, PADDING); // small vertical tick
-                g.drawString(String.valueOf(x), px - 4, PADDING - 7); // label above tick
-            }
+        for (int x = x0 - x0 % step; x <= x1; x += step) {
+            int px = x * cellSize + PADDING;
+            g.drawLine(px, PADDING - 4, px, PADDING); // small vertical tick
+            g.drawString(String.valueOf(x), px - 4, PADDING - 7); // label above tick
         }
 
         // left (Y-axis)
-        for (int y = 0; y < GRID_HEIGHT; y++) {
-            int py = y * CELL_SIZE + PADDING;
+        for (int y = y0 - y0 % step; y <= y1; y += step) {
+            int py = y * cellSize + PADDING;
+            g.drawLine(PADDING - 4, py, PADDING, py); // small horizontal tick
+            g.drawString(String.valueOf(y), -1, py + 2); // label left of tick
+        }
+    }
 
-            if (y % 5 == 0) {
-                g.drawLine(PADDING - 4, py, PADDING, py); // small horizontal tick
-                g.drawString(String.valueOf(y), -1, py + 2); // label left of tick
+    /**
+     * Draws every cell in a range of the grid, and the zones in it with their borders and labels.
+     */
+    private void paintCells(Graphics g, int x0, int y0, int x1, int y1) {
+        // === draw grid ===
+        // empty cells first, then each row's runs of other cells, then the lines between cells
+        int left = x0 * cellSize + PADDING;
+        int top = y0 * cellSize + PADDING;
+        int right = (x1 + 1) * cellSize + PADDING;
+        int bottom = (y1 + 1) * cellSize + PADDING;
+        g.setColor(CellType.EMPTY.color);
+        g.fillRect(left, top, right - left, bottom - top);
+
+        for (int y = y0; y <= y1; y++) {
+            int x = x0;
+            while (x <= x1) {
+                CellType type = gridModel.getCell(x, y);
+                int runStart = x;
+                while (x <= x1 && gridModel.getCell(x, y) == type) {
+                    x++;
+                }
+                if (type != CellType.EMPTY) {
+                    g.setColor(type.color);
+                    g.fillRect(runStart * cellSize + PADDING, y * cellSize + PADDING, (x - runStart) * cellSize, cellSize);
+                }
             }
         }
 
         // === fill zone colors ===
-        for (Map.Entry<Integer, Rectangle> entry : zoneBounds.entrySet()) {
-            int zoneID = entry.getKey();
-            Rectangle r = entry.getValue();
+        // zone cells are all ZONE coloured, so the severity colour can be blended over it up front and drawn opaque
+        gridModel.forEachZone(x0, y0, x1 - x0 + 1, y1 - y0 + 1, zoneID -> {
+            g.setColor(ZONE_TILE_COLORS[gridModel.getSeverity(zoneID).ordinal()]);
+            g.fillRect(gridModel.getZoneX(zoneID) * cellSize + PADDING, gridModel.getZoneY(zoneID) * cellSize + PADDING,
+                    gridModel.getZoneWidth(zoneID) * cellSize, gridModel.getZoneHeight(zoneID) * cellSize);
+        });
+
+        // === grid lines ===
+        g.setColor(Color.GRAY);
+        for (int x = x0; x <= x1 + 1; x++) {
+            int px = x * cellSize + PADDING;
+            g.drawLine(px, top, px, bottom);
+        }
+        for (int y = y0; y <= y1 + 1; y++) {
+            int py = y * cellSize + PADDING;
+            g.drawLine(left, py, right, py);
+        }
+
+        // === zone borders and labels etc: Z(1) ===
+        g.setColor(Color.BLACK);
+        g.setFont(LABEL_FONT);
+        gridModel.forEachZone(x0, y0, x1 - x0 + 1, y1 - y0 + 1, zoneID -> {
+            int px = gridModel.getZoneX(zoneID) * cellSize + PADDING;
+            int py = gridModel.getZoneY(zoneID) * cellSize + PADDING;
+            g.drawRect(px, py, gridModel.getZoneWidth(zoneID) * cellSize, gridModel.getZoneHeight(zoneID) * cellSize);
+            g.drawString("Z(" + zoneID + ")", px + 2, py + 14); // top-left cell of zone
+        });
+    }
 
-            // Get severity (default to NONE)
-            Severity s = zoneSeverities.getOrDefault(zoneID, Severity.NONE);
+    /**
+     * Draws the zones in a range of the grid as whole tiles of the zone index, each coloured by the
+     * highest fire severity among the zones overlapping it.
+     */
+    private void paintZoneTiles(Graphics g, int x0, int y0, int x1, int y1) {
+        g.setColor(CellType.EMPTY.color);
+        g.fillRect(x0 * cellSize + PADDING, y0 * cellSize + PADDING, (x1 - x0 + 1) * cellSize, (y1 - y0 + 1) * cellSize);
+
+        SpatialIndex zones = gridModel.getZoneIndex();
+        int tileSize = zones.getTileSize();
+        int tilePixels = tileSize * cellSize;
+        for (int ty = y0 / tileSize; ty <= y1 / tileSize; ty++) {
+            for (int tx = x0 / tileSize; tx <= x1 / tileSize; tx++) {
+                int count = zones.count(tx, ty);
+                if (count == 0) continue;
+
+                Severity highest = Severity.NONE;
+                for (int i = 0; i < count && highest != Severity.HIGH; i++) {
+                    Severity s = gridModel.getSeverity(zones.get(tx, ty, i));
+                    if (s.ordinal() > highest.ordinal()) {
+                        highest = s;
+                    }
+                }
 
-            // Set fill color based on severity
-            Color fillColor = FireSeverityColor.fromSeverity(s);
+                g.setColor(ZONE_TILE_COLORS[highest.ordinal()]);
+                g.fillRect(tx * tilePixels + PADDING, ty * tilePixels + PADDING, tilePixels, tilePixels);
+            }
+        }
+    }
 
-            int px = r.x * CELL_SIZE + PADDING;
-            int py = r.y * CELL_SIZE + PADDING;
-            int width = r.width * CELL_SIZE;
-            int height = r.height * CELL_SIZE;
+    /**
+     * Gets the cached background of the area in view, rendering it first if it was invalidated or
+     * the view moved.
+     * @param view the visible area of the panel
+     * @return the background image, covering the view
+     */
+    private Image getBackgroundImage(Rectangle view) {
+        if (background == null || !backgroundBounds.equals(view)) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            BufferedImage image = config != null
+                    ? config.createCompatibleImage(view.width, view.height, Transparency.OPAQUE)
+                    : new BufferedImage(view.width, view.height, BufferedImage.TYPE_INT_RGB);
+
+            Graphics2D g = image.createGraphics();
+            g.setColor(getBackground());
+            g.fillRect(0, 0, view.width, view.height);
+            g.translate(-view.x, -view.y);
+            paintBackground(g, view);
+            g.dispose();
+            background = image;
+            backgroundBounds.setBounds(view);
+        }
+        return background;
+    }
 
-            // fill and border
-            g.setColor(fillColor);
-            g.fillRect(px, py, width, height);
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
 
-            g.setColor(Color.BLACK);
-            g.drawRect(px, py, width, height);
+        Rectangle view = getVisibleRect();
+        if (view.isEmpty()) {
+            return;
         }
 
-        // === add zone labels etc: Z(1) ===
-        g.setFont(new Font("SansSerif", Font.BOLD, 8));
-        g.setColor(Color.BLACK);
+        // the clip is only the dirty region, so only that part of the cached background is copied
+        g.drawImage(getBackgroundImage(view), view.x, view.y, null);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = view;
+        }
+        int x0 = cellAt(clip.x, GRID_WIDTH);
+        int y0 = cellAt(clip.y, GRID_HEIGHT);
+        int x1 = cellAt(clip.x + clip.width, GRID_WIDTH);
+        int y1 = cellAt(clip.y + clip.height, GRID_HEIGHT);
+
+        if (isAggregated()) {
+            paintFireMarkers(g, x0, y0, x1, y1);
+            paintDroneHeatmap(g, x0, y0, x1, y1);
+        } else {
+            paintFires(g, clip, x0, y0, x1, y1);
+            paintDrones(g, clip, x0, y0, x1, y1);
+        }
 
-        for (Map.Entry<Integer, Point> entry : zoneLabels.entrySet()) {
-            int zoneID = entry.getKey();
-            Point gridPos = entry.getValue(); // top-left cell of zone
+        if (hoveredCell != null) {
+            int zoneID = gridModel.zoneAt(hoveredCell.x, hoveredCell.y);
+            int remaining = zoneID < 0 ? 0 : gridModel.getRemainingWater(zoneID);
+            if (remaining > 0) {
+                String text = "Water left: " + remaining + "L";
 
-            int px = gridPos.x * CELL_SIZE + PADDING + 2;
-            int py = gridPos.y * CELL_SIZE + PADDING + 14;
+                int px = hoveredCell.x * cellSize + PADDING;
+                int py = hoveredCell.y * cellSize + PADDING;
 
-            g.drawString("Z(" + zoneID + ")", px, py);
+                g.setColor(Color.BLACK);
+                g.setFont(HOVER_FONT);
+                g.drawString(text, px + 5, py - 5);
+            }
         }
 
+    }
+
+    /**
+     * Draws the fire indicator of the zones in a range of the grid.
+     */
+    private void paintFires(Graphics g, Rectangle clip, int x0, int y0, int x1, int y1) {
         // === draw fire indicator ===
-        for (Map.Entry<Integer, Rectangle> entry : zoneBounds.entrySet()) {
-            int zoneID = entry.getKey();
-            if (zoneID == 0) continue; // skip zone 0, our base
-            Rectangle r = entry.getValue();
+        gridModel.forEachFire(x0, y0, x1 - x0 + 1, y1 - y0 + 1, zoneID -> {
+            if (zoneID == 0) return; // skip zone 0, our base
 
-            DroneSwarmDashboard.FireStatus status = zoneFireStatus.getOrDefault(zoneID, DroneSwarmDashboard.FireStatus.NONE);
-            if (status == DroneSwarmDashboard.FireStatus.NONE) continue;
+            DroneSwarmDashboard.FireStatus status = gridModel.getFireStatus(zoneID);
 
-            int centerX = r.x + r.width / 2;
-            int centerY = r.y + r.height / 2;
+            int centerX = gridModel.getZoneX(zoneID) + gridModel.getZoneWidth(zoneID) / 2;
+            int centerY = gridModel.getZoneY(zoneID) + gridModel.getZoneHeight(zoneID) / 2;
 
-            int px = centerX * CELL_SIZE + PADDING;
-            int py = centerY * CELL_SIZE + PADDING;
+            int px = centerX * cellSize + PADDING;
+            int py = centerY * cellSize + PADDING;
+            if (!clip.intersects(px, py, cellSize, cellSize)) return;
 
             // Choose image based on fire status
             Image imageToDraw = (status == DroneSwarmDashboard.FireStatus.ACTIVE) ? FIRE_IMAGE : EXTINGUISHED_IMAGE;
 
             // Draw image
-            g.drawImage(imageToDraw, px, py, CELL_SIZE, CELL_SIZE, null);
-        }
+            g.drawImage(imageToDraw, px, py, cellSize, cellSize, null);
+        });
+    }
 
+    /**
+     * Draws the drones in a range of the grid, with their labels.
+     */
+    private void paintDrones(Graphics g, Rectangle clip, int x0, int y0, int x1, int y1) {
         // === draw drones ===
-        for (Map.Entry<Integer, DroneRender> entry : droneStates.entrySet()) {
-            int droneID = entry.getKey();
-            DroneRender drone = entry.getValue();
+        g.setFont(LABEL_FONT);
+        // labels reach a cell left of and below their drone, so look one cell further
+        droneIndex.query(x0 - 1, y0 - 1, x1 - x0 + 3, y1 - y0 + 2, droneID -> {
+            DroneRender drone = droneStates.get(droneID);
+            if (drone == null) {
+                return;
+            }
 
             if (drone.state == DroneStateEnum.FAULTED && !showFaultedDrones) {
-                continue; // skip drawing faulted drone
+                return; // skip drawing faulted drone
             }
 
-            Point gridPos = toGridCoord(drone.worldX, drone.worldY);
+            int px = toGridX(drone.worldX) * cellSize + PADDING;
+            int py = toGridY(drone.worldY) * cellSize + PADDING;
 
-            int px = gridPos.x * CELL_SIZE + PADDING;
-            int py = gridPos.y * CELL_SIZE + PADDING;
+            // skip drones outside the dirty region, same area as repaintDrone
+            if (!clip.intersects(px - cellSize, py, cellSize * 3, cellSize * 2)) {
+                return;
+            }
 
-            int droneSize = (int)(CELL_SIZE * 0.75); // 75% of the cell
-            int droneOffset = (CELL_SIZE - droneSize) / 2;
+            int droneSize = (int)(cellSize * 0.75); // 75% of the cell
+            int droneOffset = (cellSize - droneSize) / 2;
 
             g.drawImage(drone.state.image, px + droneOffset, py + droneOffset, droneSize, droneSize, null);
 
             // don't want to fully cover the cell with drone color, should show up as a dot
-            int size = CELL_SIZE / 5;
-            int offset = (CELL_SIZE - size) / 2;
+            int size = cellSize / 5;
+            int offset = (cellSize - size) / 2;
 
             // draw drone ID label etc: D(1)
 
             //  exclude Z(0) since we already have a panel for base drones
             if (drone.worldX == 0 && drone.worldY == 0) {
-                continue;
+                return;
             }
 
             g.setColor(Color.BLACK);
-            g.setFont(new Font("SansSerif", Font.BOLD, 8));
 
             // draw the label underneath the drone
             int labelX = px + offset - 5; // slight nudge to center it
             int labelY = py + offset + size + 15; // below the square
             g.drawString("D(" + droneID + ")", labelX, labelY);
-        }
+        });
+    }
 
-        if (hoveredCell != null) {
-            for (Map.Entry<Integer, Rectangle> entry : zoneBounds.entrySet()) {
-                int zoneID = entry.getKey();
-                Rectangle zoneRect = entry.getValue();
+    /**
+     * Marks the zones with a fire in a range of the grid with a single coloured cell, red while
+     * burning and green once extinguished, used when zoomed out.
+     */
+    private void paintFireMarkers(Graphics g, int x0, int y0, int x1, int y1) {
+        int markerSize = Math.max(2, cellSize);
+        gridModel.forEachFire(x0, y0, x1 - x0 + 1, y1 - y0 + 1, zoneID -> {
+            if (zoneID == 0) return; // skip zone 0, our base
 
-                if (zoneRect.contains(hoveredCell)) {
-                    Integer remaining = zoneRemainingWater.get(zoneID);
-                    if (remaining != null && remaining > 0) {
-                        String text = "Water left: " + remaining + "L";
+            DroneSwarmDashboard.FireStatus status = gridModel.getFireStatus(zoneID);
 
-                        int px = hoveredCell.x * CELL_SIZE + PADDING;
-                        int py = hoveredCell.y * CELL_SIZE + PADDING;
+            int centerX = gridModel.getZoneX(zoneID) + gridModel.getZoneWidth(zoneID) / 2;
+            int centerY = gridModel.getZoneY(zoneID) + gridModel.getZoneHeight(zoneID) / 2;
+            g.setColor(status == DroneSwarmDashboard.FireStatus.ACTIVE ? CellType.ACTIVE_FIRE.color : CellType.EXTINGUISHED_FIRE.color);
+            g.fillRect(centerX * cellSize + PADDING, centerY * cellSize + PADDING, markerSize, markerSize);
+        });
+    }
 
-                        g.setColor(Color.BLACK);
-                        g.setFont(new Font("SansSerif", Font.PLAIN, 12));
-                        g.drawString(text, px + 5, py - 5);
-                    }
-                    break;
-                }
+    /**
+     * Draws the number of drones in each tile of the drone index in a range of the grid, as a
+     * translucent blue that darkens with the count, used when zoomed out.
+     */
+    private void paintDroneHeatmap(Graphics g, int x0, int y0, int x1, int y1) {
+        int tileSize = droneIndex.getTileSize();
+        int tilePixels = tileSize * cellSize;
+        for (int ty = y0 / tileSize; ty <= y1 / tileSize; ty++) {
+            for (int tx = x0 / tileSize; tx <= x1 / tileSize; tx++) {
+                int count = droneIndex.count(tx, ty);
+                if (count == 0) continue;
+
+                // doubling the drones in a tile darkens it by the same step
+                g.setColor(HEATMAP_COLORS[Math.min(HEATMAP_COLORS.length - 1, 31 - Integer.numberOfLeadingZeros(count))]);
+                g.fillRect(tx * tilePixels + PADDING, ty * tilePixels + PADDING, tilePixels, tilePixels);
             }
         }
+    }
 
+    /**
+     * Blends a translucent colour over an opaque one.
+     */
+    private static Color blend(Color over, Color under) {
+        double a = over.getAlpha() / 255.0;
+        return new Color(
+                (int) Math.round(over.getRed() * a + under.getRed() * (1 - a)),
+                (int) Math.round(over.getGreen() * a + under.getGreen() * (1 - a)),
+                (int) Math.round(over.getBlue() * a + under.getBlue() * (1 - a)));
+    }
+
+    /**
+     * Gets the cell at a panel coordinate, clamped to the grid.
+     */
+    private int cellAt(int pixel, int cells) {
+        return Math.max(0, Math.min(cells - 1, (pixel - PADDING) / cellSize));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package main.ui;
+
+import subsystems.fire_incident.Severity;
+
+import java.awt.geom.Point2D;
+
+/**
+ * A dashboard that discards every update, used when the Scheduler runs without a display.
+ */
+public class HeadlessDashboard implements DashboardSink {
+
+    @Override
+    public void markZone(int zoneID, Point2D worldStart, Point2D worldEnd) {
+    }
+
+    @Override
+    public void updateZoneWater(int zoneID, int remainingLiters) {
+    }
+
+    @Override
+    public void setZoneFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status) {
+    }
+
+    @Override
+    public void updateZoneSeverity(int zoneID, Severity severity) {
+    }
+
+    @Override
+    public void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state) {
+    }
+}
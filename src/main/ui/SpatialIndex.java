@@ -0,0 +1,186 @@
+package main.ui;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid of square tiles over the cell grid, each listing the IDs of the items that overlap
+ * it, so the items in a region can be found without looking at every item.
+ *
+ * Items are rectangles of cells identified by non-negative int IDs; a drone is a 1x1 item. The
+ * index does not remember item bounds, so the caller passes the same bounds to {@link #remove}
+ * that it passed to {@link #add}. Not thread-safe, and queries must not be nested.
+ */
+public class SpatialIndex {
+    private final int tileSize;
+    private final int tilesX;
+    private final int tilesY;
+    private final int[][] tiles;
+    private final int[] counts;
+
+    // marks the items already visited by the current query, indexed by ID
+    private int[] visited = new int[64];
+    private int queryStamp = 0;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param width    the number of columns of the grid
+     * @param height   the number of rows of the grid
+     * @param tileSize the width and height of a tile, in cells
+     */
+    public SpatialIndex(int width, int height, int tileSize) {
+        this.tileSize = tileSize;
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+        this.tiles = new int[tilesX * tilesY][];
+        this.counts = new int[tilesX * tilesY];
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTilesX() {
+        return tilesX;
+    }
+
+    public int getTilesY() {
+        return tilesY;
+    }
+
+    /**
+     * Gets the number of items overlapping a tile.
+     *
+     * @param tileX the tile column
+     * @param tileY the tile row
+     * @return the item count
+     */
+    public int count(int tileX, int tileY) {
+        return counts[tileY * tilesX + tileX];
+    }
+
+    /**
+     * Gets an item overlapping a tile.
+     *
+     * @param tileX the tile column
+     * @param tileY the tile row
+     * @param i     the index of the item, from 0 to count(tileX, tileY) - 1
+     * @return the item ID
+     */
+    public int get(int tileX, int tileY, int i) {
+        return tiles[tileY * tilesX + tileX][i];
+    }
+
+    /**
+     * Adds an item.
+     *
+     * @param id the item ID
+     * @param x  the first column of the item
+     * @param y  the first row of the item
+     * @param w  the number of columns the item covers
+     * @param h  the number of rows the item covers
+     */
+    public void add(int id, int x, int y, int w, int h) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid ID: " + id);
+        }
+        if (id >= visited.length) {
+            visited = Arrays.copyOf(visited, Math.max(id + 1, visited.length * 2));
+        }
+        int tx0 = tileX(x), tx1 = tileX(x + Math.max(w, 1) - 1);
+        int ty0 = tileY(y), ty1 = tileY(y + Math.max(h, 1) - 1);
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                int tile = ty * tilesX + tx;
+                int[] ids = tiles[tile];
+                if (ids == null) {
+                    ids = tiles[tile] = new int[4];
+                } else if (counts[tile] == ids.length) {
+                    ids = tiles[tile] = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[counts[tile]++] = id;
+            }
+        }
+    }
+
+    /**
+     * Removes an item.
+     *
+     * @param id the item ID
+     * @param x  the first column the item was added with
+     * @param y  the first row the item was added with
+     * @param w  the number of columns the item was added with
+     * @param h  the number of rows the item was added with
+     */
+    public void remove(int id, int x, int y, int w, int h) {
+        int tx0 = tileX(x), tx1 = tileX(x + Math.max(w, 1) - 1);
+        int ty0 = tileY(y), ty1 = tileY(y + Math.max(h, 1) - 1);
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                int tile = ty * tilesX + tx;
+                int[] ids = tiles[tile];
+                for (int i = 0; i < counts[tile]; i++) {
+                    if (ids[i] == id) {
+                        ids[i] = ids[--counts[tile]]; // order within a tile does not matter
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a 1x1 item from one cell to another.
+     */
+    public void move(int id, int fromX, int fromY, int toX, int toY) {
+        if (tileX(fromX) == tileX(toX) && tileY(fromY) == tileY(toY)) {
+            return; // same tile, nothing to update
+        }
+        remove(id, fromX, fromY, 1, 1);
+        add(id, toX, toY, 1, 1);
+    }
+
+    /**
+     * Visits every item in the tiles overlapping a region, once each. Items in those tiles that do
+     * not themselves overlap the region may be visited too, so callers check bounds if it matters.
+     *
+     * @param x      the first column of the region
+     * @param y      the first row of the region
+     * @param w      the number of columns of the region
+     * @param h      the number of rows of the region
+     * @param action called with the ID of each item
+     */
+    public void query(int x, int y, int w, int h, IntConsumer action) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        if (++queryStamp == 0) {
+            Arrays.fill(visited, 0); // stamp wrapped around
+            queryStamp = 1;
+        }
+        int tx0 = tileX(x), tx1 = tileX(x + w - 1);
+        int ty0 = tileY(y), ty1 = tileY(y + h - 1);
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                int tile = ty * tilesX + tx;
+                int[] ids = tiles[tile];
+                for (int i = 0; i < counts[tile]; i++) {
+                    int id = ids[i];
+                    if (visited[id] != queryStamp) {
+                        visited[id] = queryStamp;
+                        action.accept(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private int tileX(int x) {
+        return Math.min(tilesX - 1, Math.max(0, x / tileSize));
+    }
+
+    private int tileY(int y) {
+        return Math.min(tilesY - 1, Math.max(0, y / tileSize));
+    }
+}
@@ -1,16 +1,40 @@
 package subsystems;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * Represents an abstract event with a timestamp.
  * Subclasses must implement methods to convert the event to and from a string representation.
+ *
+ * An event can carry the trace of the incident it belongs to and the span it was sent from, see
+ * {@link main.tracing.Span}, so its handling can be followed across subsystems.
+ *
+ * The timestamp is either a time of day, "HH:mm:ss", or an ISO local date-time. It is parsed
+ * once when it is set, so sorting events by time compares primitives; the formatters are only
+ * used to display it.
  */
 public abstract class Event implements Serializable {
+    /**
+     * The time of day of an event whose timestamp has no time.
+     */
+    public static final long NO_TIME = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
     private String timeStamp;
+    private long traceID;
+    private long spanID;
+    // parsed from timeStamp, so not serialized
+    private transient long epochDay = NO_DATE;
+    private transient long timeOfDayNanos = NO_TIME;
 
     /**
      * Constructs an event with the specified timestamp.
@@ -18,7 +42,7 @@ public abstract class Event implements Serializable {
      * @param timeStamp the timestamp of the event
      */
     public Event(String timeStamp) {
-        this.timeStamp = timeStamp;
+        setTimeStamp(timeStamp);
     }
 
 
@@ -38,36 +62,192 @@ public abstract class Event implements Serializable {
      */
     public void setTimeStamp(String timeStamp) {
         this.timeStamp = timeStamp;
+        parseTimeStamp();
+    }
+
+    /**
+     * Parses the timestamp into the epoch day and time of day. The usual formats are parsed by
+     * hand; anything else is left to {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
+     */
+    private void parseTimeStamp() {
+        epochDay = NO_DATE;
+        timeOfDayNanos = NO_TIME;
+        String s = timeStamp;
+        if (s == null) {
+            return;
+        }
+        if (s.length() == 8) {
+            timeOfDayNanos = parseTimeOfDay(s, 0);
+        } else if (s.length() >= 19 && s.charAt(10) == 'T') {
+            long day = parseEpochDay(s);
+            long time = parseTimeOfDay(s, 11);
+            if (day != NO_DATE && time != NO_TIME) {
+                epochDay = day;
+                timeOfDayNanos = time;
+                return;
+            }
+        }
+        if (timeOfDayNanos == NO_TIME && s.length() > 8) {
+            try {
+                LocalDateTime dateTime = LocalDateTime.parse(s, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                epochDay = dateTime.toLocalDate().toEpochDay();
+                timeOfDayNanos = dateTime.toLocalTime().toNanoOfDay();
+            } catch (DateTimeParseException e) {
+                // not a timestamp, the getters report it when asked
+            }
+        }
+    }
+
+    /**
+     * Parses "yyyy-MM-dd" at the start of a string.
+     *
+     * @return the epoch day, or NO_DATE if it is not a valid date
+     */
+    private static long parseEpochDay(String s) {
+        int year = digits(s, 0, 4);
+        int month = s.charAt(4) == '-' ? digits(s, 5, 2) : -1;
+        int day = s.charAt(7) == '-' ? digits(s, 8, 2) : -1;
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return NO_DATE;
+        }
+        if (day > 28 && day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+            return NO_DATE;
+        }
+        return LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    /**
+     * Parses "HH:mm:ss", optionally followed by a fraction of up to nine digits, running to the end of a string.
+     *
+     * @return the nanosecond of the day, or NO_TIME if it is not a valid time
+     */
+    private static long parseTimeOfDay(String s, int offset) {
+        if (s.length() < offset + 8 || s.charAt(offset + 2) != ':' || s.charAt(offset + 5) != ':') {
+            return NO_TIME;
+        }
+        int hour = digits(s, offset, 2);
+        int minute = digits(s, offset + 3, 2);
+        int second = digits(s, offset + 6, 2);
+        if (offset == 0 && hour == 24 && minute == 0 && second == 0 && s.length() == 8) {
+            // a plain time of day resolves the end of the day to midnight
+            return 0;
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NO_TIME;
+        }
+        long nanos = 0;
+        int end = offset + 8;
+        if (end < s.length()) {
+            int fraction = s.length() - end - 1;
+            if (offset == 0 || s.charAt(end) != '.' || fraction < 1 || fraction > 9) {
+                return NO_TIME;
+            }
+            int value = digits(s, end + 1, fraction);
+            if (value < 0) {
+                return NO_TIME;
+            }
+            nanos = value;
+            for (int i = fraction; i < 9; i++) {
+                nanos *= 10;
+            }
+        }
+        return ((hour * 60L + minute) * 60 + second) * 1_000_000_000L + nanos;
+    }
+
+    /**
+     * Parses a run of decimal digits.
+     *
+     * @return the value, or -1 if any character is not a digit
+     */
+    private static int digits(String s, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        parseTimeStamp();
+    }
+
+    /**
+     * Gets the trace of the incident the event belongs to.
+     *
+     * @return the trace ID, or 0 if the event is not traced
+     */
+    public long getTraceID() {
+        return traceID;
+    }
+
+    /**
+     * Gets the span the event was sent from.
+     *
+     * @return the span ID, or 0 if the event is not traced
+     */
+    public long getSpanID() {
+        return spanID;
+    }
+
+    /**
+     * Sets the trace and span the event is sent from.
+     *
+     * @param traceID the trace ID
+     * @param spanID the span ID
+     */
+    public void setTrace(long traceID, long spanID) {
+        this.traceID = traceID;
+        this.spanID = spanID;
     }
 
     /**
      * Gets the date of the event.
      *
      * @return the date as a string
+     * @throws DateTimeParseException if the timestamp has no date
      */
     public String getDate() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return LocalDateTime.parse(this.getTimeStamp(), DateTimeFormatter.ISO_LOCAL_DATE_TIME).format(formatter);
+        if (epochDay == NO_DATE) {
+            return LocalDateTime.parse(this.getTimeStamp(), DateTimeFormatter.ISO_LOCAL_DATE_TIME).format(DATE_FORMAT);
+        }
+        return LocalDate.ofEpochDay(epochDay).format(DATE_FORMAT);
     }
 
     /**
      * Gets the time of the event.
      *
      * @return the time as a string
+     * @throws DateTimeParseException if the timestamp has no time
      */
     public String getTime() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss");
-        return LocalTime.parse(this.getTimeStamp(), formatter).format(formatter);
+        return getParsedTime().format(TIME_FORMAT);
     }
 
     /**
      * Gets the time of the event as a LocalTime object.
      *
      * @return the time as a LocalTime object
+     * @throws DateTimeParseException if the timestamp has no time
      */
     public LocalTime getParsedTime() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss");
-        return LocalTime.parse(this.getTimeStamp(), formatter);
+        if (timeOfDayNanos == NO_TIME) {
+            return LocalTime.parse(this.getTimeStamp(), TIME_FORMAT);
+        }
+        return LocalTime.ofNanoOfDay(timeOfDayNanos);
+    }
+
+    /**
+     * Gets the time of day of the event, for comparing events without allocating.
+     *
+     * @return the nanosecond of the day, or {@link #NO_TIME} if the timestamp has no time
+     */
+    public long getTimeOfDayNanos() {
+        return timeOfDayNanos;
     }
 
     /**
@@ -1,7 +1,10 @@
 package subsystems.drone;
 
-import logger.EventLogger;
+import logger.Logger;
 import main.EventSocket;
+import main.EventTransport;
+import main.jfr.DroneStateEvent;
+import main.tracing.Span;
 import subsystems.Event;
 import subsystems.drone.events.DroneUpdateEvent;
 import subsystems.drone.events.DropAgentEvent;
@@ -18,11 +21,13 @@ import java.net.UnknownHostException;
  * and dispatches responses to the send event queue.
  */
 public class DroneSubsystem {
-    private final EventSocket socket;
+    private static final Logger LOGGER = Logger.getLogger(DroneSubsystem.class);
+    private final EventTransport socket;
     private final InetAddress schedulerAddress;
     private final int schedulerPort;
     public static int DRONE_BATTERY_TIME = 30;
     DroneInfo info;
+    private long stateEnteredAt = System.currentTimeMillis();
 
     /**
      * Constructs a {@code DroneSubsystem} with the specified event managers.
@@ -31,9 +36,21 @@ public class DroneSubsystem {
      * @param schedulerPort The port of the scheduler to send events to
      */
     public DroneSubsystem(InetAddress schedulerAddress, int schedulerPort) {
-        socket = new EventSocket();
+        this(new EventSocket(), schedulerAddress, schedulerPort);
+    }
+
+    /**
+     * Constructs a {@code DroneSubsystem} that communicates through the given transport,
+     * e.g. a {@link main.LoopbackTransport} to run the drone in the same JVM as the Scheduler.
+     *
+     * @param socket The transport to send and receive events through
+     * @param schedulerAddress The IP address of the scheduler to send events to
+     * @param schedulerPort The port of the scheduler to send events to
+     */
+    public DroneSubsystem(EventTransport socket, InetAddress schedulerAddress, int schedulerPort) {
+        this.socket = socket;
         try {
-            info = new DroneInfo(InetAddress.getLocalHost(), socket.getSocket().getLocalPort());
+            info = new DroneInfo(InetAddress.getLocalHost(), socket.getLocalPort());
         } catch (UnknownHostException e) {
             System.err.println("Unknown host being assigned to Drone.");
         }
@@ -53,9 +70,9 @@ public class DroneSubsystem {
     /**
      * Returns the sending socket of the drone.
      *
-     * @return The EventSocket.
+     * @return The EventTransport.
      */
-    public EventSocket getSocket(){
+    public EventTransport getSocket(){
         return this.socket;
     }
 
@@ -125,6 +142,12 @@ public class DroneSubsystem {
         }
 
 
+        long now = System.currentTimeMillis();
+        new DroneStateEvent().commit(info.getDroneID(), info.getZoneID(),
+                info.getState() == null ? null : info.getState().getClass().getSimpleName(),
+                newState.getClass().getSimpleName(), now - stateEnteredAt);
+        stateEnteredAt = now;
+
         info.setState(newState);
         DroneUpdateEvent droneUpdateEvent = new DroneUpdateEvent(info);
         socket.send(droneUpdateEvent, getSchedulerAddress(), getSchedulerPort());
@@ -213,6 +236,19 @@ public class DroneSubsystem {
         socket.send(dropEvent, schedulerAddress, schedulerPort);
     }
 
+    /**
+     * Changes the remaining water level in the drone, reporting the drop as the end of a traced span.
+     *
+     * @param change the value to subtract to new water level
+     * @param span the span of the drop, finished before the drop is reported
+     */
+    public void subtractWaterLevel(int change, Span span) {
+        info.setWaterLevel(info.getWaterLevel() - change);
+        DropAgentEvent dropEvent = span.propagate(new DropAgentEvent(change, getDroneID()));
+        span.finish();
+        socket.send(dropEvent, schedulerAddress, schedulerPort);
+    }
+
     /**
      * Gets the running status of the drone.
      *
@@ -236,8 +272,8 @@ public class DroneSubsystem {
      * The drone will no longer be able to receive events.
      */
     public void shutdown() {
-        EventLogger.warn(getDroneID(), "Shutting down drone...");
-        socket.getSocket().close();
+        LOGGER.warn(getDroneID(), "Shutting down drone...");
+        socket.close();
         setRunning(false);
     }
 
@@ -265,8 +301,8 @@ public class DroneSubsystem {
             Event event = socket.receive();
             getState().handleEvent(this, event);
         }
-        EventLogger.info(getDroneID(), "No more incidents, drone has been shut down.", false);
-        socket.getSocket().close();
+        LOGGER.info(getDroneID(), "No more incidents, drone has been shut down.", false);
+        socket.close();
     }
 
     /**
@@ -293,12 +329,12 @@ public class DroneSubsystem {
         try {
             DroneUpdateEvent event = new DroneUpdateEvent(this.info);
             socket.send(event, schedulerAddress, schedulerPort);
-            EventLogger.info(-1, "Sent registration to Scheduler. Drone Address: " + InetAddress.getLocalHost() + ", Drone Port: " + socket.getSocket().getLocalPort(), false);
+            LOGGER.info(-1, "Sent registration to Scheduler. Drone Address: " + InetAddress.getLocalHost() + ", Drone Port: " + socket.getLocalPort(), false);
             event = (DroneUpdateEvent) socket.receive();
-            EventLogger.info(event.getDroneInfo().getDroneID(), "Drone registered with Scheduler as Drone " + event.getDroneInfo().getDroneID() + ".\n", false);
+            LOGGER.info(event.getDroneInfo().getDroneID(), "Drone registered with Scheduler as Drone " + event.getDroneInfo().getDroneID() + ".\n", false);
             this.setDroneInfo(event.getDroneInfo());
         } catch (Exception e) {
-            EventLogger.error(-1, "Error registering drone with Scheduler: " + e.getMessage());
+            LOGGER.error(-1, "Error registering drone with Scheduler: " + e.getMessage());
         }
     }
 
@@ -311,7 +347,7 @@ public class DroneSubsystem {
         try{
             address = InetAddress.getLocalHost();
         } catch (UnknownHostException e) {
-            EventLogger.error(-1, "Unable to retrieve local host: " + e.getMessage());
+            LOGGER.error(-1, "Unable to retrieve local host: " + e.getMessage());
             System.exit(1);
         }
 
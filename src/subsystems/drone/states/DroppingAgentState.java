@@ -1,7 +1,9 @@
 package subsystems.drone.states;
 
-import logger.EventLogger;
+import logger.Logger;
 import main.Scheduler;
+import main.tracing.Span;
+import main.tracing.SpanCollector;
 import subsystems.Event;
 import subsystems.drone.events.DroneDispatchEvent;
 import subsystems.drone.events.DropAgentEvent;
@@ -16,6 +18,7 @@ import java.awt.geom.Point2D;
  */
 
 public class DroppingAgentState implements DroneState {
+    private static final Logger LOGGER = Logger.getLogger(DroppingAgentState.class);
 
     /**
      * Handles events for the drone when it is in the DroppingAgentState.
@@ -30,7 +33,7 @@ public class DroppingAgentState implements DroneState {
             dropAgent(drone, (DropAgentEvent) event);
         } else if (event instanceof DroneDispatchEvent dispatchEvent) {
             String zone = dispatchEvent.getZoneID() != 0 ? "new Zone: " + dispatchEvent.getZoneID() : "Base";
-            EventLogger.info(drone.getDroneID(), "Redirecting to " + zone, false);
+            LOGGER.info(drone.getDroneID(), "Redirecting to " + zone, false);
             dispatch(drone, (DroneDispatchEvent) event);
         }
     }
@@ -59,7 +62,7 @@ public class DroppingAgentState implements DroneState {
      */
     @Override
     public void travel(DroneSubsystem drone) {
-        EventLogger.warn(drone.getDroneID(), "Cannot travel while dropping agent.");
+        LOGGER.warn(drone.getDroneID(), "Cannot travel while dropping agent.");
     }
 
 
@@ -73,11 +76,13 @@ public class DroppingAgentState implements DroneState {
      */
     @Override
     public void dropAgent(DroneSubsystem drone, DropAgentEvent event) {
-        EventLogger.info(drone.getDroneID(), "Dropping agent...", false);
+        LOGGER.info(drone.getDroneID(), "Dropping agent...", false);
+        Span span = SpanCollector.startSpan("drone.drop", event).tag(drone.getDroneID(), drone.getZoneID());
 
         if (drone.getDroneInfo().getNozzleJam()){
-            EventLogger.warn(drone.getDroneID(), "Nozzle jam detected. Going to faulty state");
+            LOGGER.warn(drone.getDroneID(), "Nozzle jam detected. Going to faulty state");
             drone.setState(new FaultedState(Faults.NOZZLE_JAMMED));
+            span.finish();
             return;
         }
 
@@ -88,12 +93,12 @@ public class DroppingAgentState implements DroneState {
             e.printStackTrace();
         }
 
-        drone.subtractWaterLevel(volume);
+        drone.subtractWaterLevel(volume, span);
 
-        EventLogger.info(drone.getDroneID(), "Dropped " + volume + " liters.", false);
+        LOGGER.info(drone.getDroneID(), "Dropped " + volume + " liters.", false);
 
         // transition to On route and Refill
-        EventLogger.info(drone.getDroneID(), "Returning to base to refill.", false);
+        LOGGER.info(drone.getDroneID(), "Returning to base to refill.", false);
 
         OnRouteState toBase = new OnRouteState(new DroneDispatchEvent(0, new Point2D.Double(0,0), Faults.NONE));
         drone.setZoneID(0);
@@ -1,6 +1,6 @@
 package subsystems.drone.states;
 
-import logger.EventLogger;
+import logger.Logger;
 import subsystems.Event;
 import subsystems.drone.DroneSubsystem;
 import subsystems.drone.events.DropAgentEvent;
@@ -10,6 +10,7 @@ import subsystems.fire_incident.Faults;
 import java.util.ArrayList;
 
 public class FaultedState implements DroneState {
+    private static final Logger LOGGER = Logger.getLogger(FaultedState.class);
     private final Faults faultDescription;
     private static final int RECOVERY_TIME = 20000;
     public static final ArrayList<Faults> UNRECOVERABLE_FAULTS = new ArrayList<>() {{
@@ -44,7 +45,7 @@ public class FaultedState implements DroneState {
                 } catch (InterruptedException e) {
                     throw new RuntimeException(e);
                 }
-                EventLogger.info(drone.getDroneID(), "Recovered from fault: " + faultDescription + ", returning to base", false);
+                LOGGER.info(drone.getDroneID(), "Recovered from fault: " + faultDescription + ", returning to base", false);
                 dispatch(drone, (DroneDispatchEvent) event);
             }
         }
@@ -1,6 +1,6 @@
 package subsystems.drone.states;
 
-import logger.EventLogger;
+import logger.Logger;
 import subsystems.drone.events.DroneDispatchEvent;
 import subsystems.drone.events.DropAgentEvent;
 import subsystems.Event;
@@ -13,6 +13,7 @@ import subsystems.drone.DroneSubsystem;
  */
 
 public class IdleState implements DroneState {
+    private static final Logger LOGGER = Logger.getLogger(IdleState.class);
 
     /**
      * Handles events for the drone while it is in the IdleState.
@@ -43,7 +44,7 @@ public class IdleState implements DroneState {
      */
     @Override
     public void dispatch(DroneSubsystem drone, DroneDispatchEvent event) {
-        EventLogger.info(drone.getDroneID(), String.format("Received dispatch request: {Zone: %d | Coordinates: (%.1f, %.1f)}",
+        LOGGER.info(drone.getDroneID(), () -> String.format("Received dispatch request: {Zone: %d | Coordinates: (%.1f, %.1f)}",
                 event.getZoneID(),
                 event.getCoords().getX(),
                 event.getCoords().getY()), true);
@@ -63,7 +64,7 @@ public class IdleState implements DroneState {
      */
     @Override
     public void travel(DroneSubsystem drone) {
-        EventLogger.warn(drone.getDroneID(), "Cannot travel without dispatch request.");
+        LOGGER.warn(drone.getDroneID(), "Cannot travel without dispatch request.");
     }
 
     /**
@@ -75,7 +76,7 @@ public class IdleState implements DroneState {
      */
     @Override
     public void dropAgent(DroneSubsystem drone, DropAgentEvent event) {
-        EventLogger.warn(drone.getDroneID(), "Cannot drop agent, not at a target zone.");
+        LOGGER.warn(drone.getDroneID(), "Cannot drop agent, not at a target zone.");
     }
 
 }
@@ -1,7 +1,9 @@
 package subsystems.drone.states;
 
-import logger.EventLogger;
+import logger.Logger;
 import main.Scheduler;
+import main.tracing.Span;
+import main.tracing.SpanCollector;
 import subsystems.drone.events.*;
 import subsystems.Event;
 import subsystems.drone.DroneSubsystem;
@@ -16,6 +18,7 @@ import java.awt.geom.Point2D;
  */
 
 public class OnRouteState implements DroneState {
+    private static final Logger LOGGER = Logger.getLogger(OnRouteState.class);
     private DroneDispatchEvent dispatchEvent;
     private final int TRAVEL_CHECK_FREQ = 1;
     private final boolean TRAVEL_CHECK = false;
@@ -33,11 +36,11 @@ public class OnRouteState implements DroneState {
         if (event instanceof DroneDispatchEvent redirectEvent) {
 
         } else if (event instanceof DropAgentEvent dropAgentEvent) {
-            EventLogger.info(drone.getDroneID(), "Received order to drop " + dropAgentEvent.getVolume() + "L of water.", false);
+            LOGGER.info(drone.getDroneID(), "Received order to drop " + dropAgentEvent.getVolume() + "L of water.", false);
             drone.setState(new DroppingAgentState());
             drone.getState().handleEvent(drone, dropAgentEvent);
         } else {
-            EventLogger.warn(drone.getDroneID(), "Ignoring event while in transit.");
+            LOGGER.warn(drone.getDroneID(), "Ignoring event while in transit.");
         }
     }
 
@@ -50,6 +53,15 @@ public class OnRouteState implements DroneState {
         this.dispatchEvent = dispatchEvent;
     }
 
+    /**
+     * Gets the dispatch event the drone is travelling for.
+     *
+     * @return The DroneDispatchEvent containing the dispatch details.
+     */
+    public DroneDispatchEvent getDispatchEvent() {
+        return dispatchEvent;
+    }
+
     /**
      * Prevents the drone from being dispatched while it is in transit.
      * It prints a message indicating that the drone is already on route and cannot be dispatched.
@@ -80,9 +92,11 @@ public class OnRouteState implements DroneState {
         double flightTime = DroneSubsystem.timeToZone(start, targetCoords);
 
         boolean returningToBase = dispatchEvent.getZoneID() == 0;
+        Span flight = SpanCollector.startSpan(returningToBase ? "drone.return" : "drone.flight", dispatchEvent)
+                .tag(drone.getDroneID(), dispatchEvent.getZoneID());
         String onRoute = returningToBase ? "Base" : "Zone: " + drone.getZoneID();
 
-        EventLogger.info(drone.getDroneID(), String.format("On route to " + onRoute
+        LOGGER.info(drone.getDroneID(), () -> String.format("On route to " + onRoute
                 + " | Estimated time: " + String.format("%.2f seconds", flightTime)), false);
 
         // simulate animated flight
@@ -96,9 +110,10 @@ public class OnRouteState implements DroneState {
                 double midY = (targetCoords.getY() + targetCoords.getY()) / 2;
                 drone.setCoordinates(new Point2D.Double(midX, midY));
 
-                EventLogger.warn(drone.getDroneID(), "Simulating " + dispatchEvent.getFault() + " fault mid-flight. Not sending arrival event.");
+                LOGGER.warn(drone.getDroneID(), "Simulating " + dispatchEvent.getFault() + " fault mid-flight. Not sending arrival event.");
                 drone.setState(new FaultedState(dispatchEvent.getFault()));
                 drone.setZoneID(0);
+                flight.finish();
                 return;
             }else{
                 Thread.sleep(sleepDuration);
@@ -115,9 +130,10 @@ public class OnRouteState implements DroneState {
         // final snap to exact coords (just in case)
         drone.setCoordinates(targetCoords);
 
-        DroneArrivedEvent arrivedEvent = new DroneArrivedEvent(drone.getDroneID(), drone.getZoneID());
+        DroneArrivedEvent arrivedEvent = flight.propagate(new DroneArrivedEvent(drone.getDroneID(), drone.getZoneID()));
+        flight.finish();
         drone.getSocket().send(arrivedEvent, drone.getSchedulerAddress(), drone.getSchedulerPort());
-        EventLogger.info(drone.getDroneID(), "Arrived at " + onRoute, false);
+        LOGGER.info(drone.getDroneID(), "Arrived at " + onRoute, false);
 
         if (returningToBase) {
             refill(drone);
@@ -133,7 +149,7 @@ public class OnRouteState implements DroneState {
      */
     @Override
     public void dropAgent(DroneSubsystem drone, DropAgentEvent event) {
-        EventLogger.warn(drone.getDroneID(), "Cannot drop agent while in transit.");
+        LOGGER.warn(drone.getDroneID(), "Cannot drop agent while in transit.");
     }
 
 
@@ -147,12 +163,12 @@ public class OnRouteState implements DroneState {
         // reset water level and flight time
         drone.setWaterLevel(15);
         drone.setFlightTime(10 * 60);
-        EventLogger.info(drone.getDroneID(), "Refilled to " + drone.getWaterLevel() + " liters.", false);
+        LOGGER.info(drone.getDroneID(), "Refilled to " + drone.getWaterLevel() + " liters.", false);
 
         // transition back to IdleState
         IdleState idleState = new IdleState();
         drone.setState(idleState);
-        EventLogger.info(drone.getDroneID(), "Now idle and ready for dispatch.\n", true);
+        LOGGER.info(drone.getDroneID(), "Now idle and ready for dispatch.\n", true);
     }
 
 }
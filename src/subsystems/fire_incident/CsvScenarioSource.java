@@ -0,0 +1,77 @@
+package subsystems.fire_incident;
+
+import logger.EventLogger;
+import logger.Logger;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Reads a scenario from a zone CSV file ("Zone ID,Zone Start,Zone End") and an
+ * event CSV file ("Time,Zone ID,Event type,Severity,Fault").
+ */
+public class CsvScenarioSource implements ScenarioSource {
+    private static final Logger LOGGER = Logger.getLogger(CsvScenarioSource.class);
+    private final File zoneFile;
+    private final File eventFile;
+
+    /**
+     * Constructs a CsvScenarioSource.
+     *
+     * @param zoneFile  the zone file
+     * @param eventFile the event file
+     */
+    public CsvScenarioSource(File zoneFile, File eventFile) {
+        this.zoneFile = zoneFile;
+        this.eventFile = eventFile;
+    }
+
+    /**
+     * Parses the zone file. Each zone ID is mapped to its corresponding start and end coordinates.
+     *
+     * @return a stream of zone events
+     */
+    @Override
+    public Stream<ZoneEvent> zones() {
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader(zoneFile));
+            return reader.lines()
+                    .skip(1) // Skip header line
+                    .map(line -> {
+                        String[] parts = line.split(",");
+                        return new ZoneEvent(Integer.parseInt(parts[0]), parts[1], parts[2]);
+                    })
+                    .onClose(() -> {
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the event file through a memory-mapped {@link IncidentFileReader}.
+     * The parsing throughput is logged when the stream is closed.
+     *
+     * @return a stream of incident records
+     */
+    @Override
+    public Stream<IncidentRecord> incidents() {
+        try {
+            IncidentFileReader reader = new IncidentFileReader(eventFile);
+            return reader.stream().onClose(() -> LOGGER.info(EventLogger.NO_ID,
+                    String.format("Parsed %d incidents (%.0f rows/sec)", reader.getRowsParsed(), reader.getRowsPerSecond()), false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
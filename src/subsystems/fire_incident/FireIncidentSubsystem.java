@@ -1,39 +1,55 @@
 package subsystems.fire_incident;
 
 import logger.EventLogger;
+import logger.Logger;
 import main.EventSocket;
+import main.EventTransport;
+import main.tracing.Span;
+import main.tracing.SpanCollector;
+import subsystems.Event;
 import subsystems.EventType;
 import subsystems.fire_incident.events.IncidentEvent;
 import subsystems.fire_incident.events.ZoneEvent;
 
 import java.awt.geom.Point2D;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.time.Duration;
-import java.time.LocalTime;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * The FireIncidentSubsystem class is responsible for processing fire incident data.
- * It reads input files containing fire incident events and zone data, then adds incidents
- * to the EventQueueManager.
+ * It reads input files containing fire incident events and zone data, then sends incidents
+ * to the Scheduler.
+ *
+ * Incidents are released by an emitter that follows the timeline of the event file, while
+ * responses from the Scheduler are handled by a separate receiver thread. Only one incident
+ * per zone is reported at a time: incidents for a zone that is still burning are held in a
+ * per-zone pending queue until the Scheduler reports the fire as extinguished, without
+ * delaying incidents for any other zone.
  */
 public class FireIncidentSubsystem {
+    private static final Logger LOGGER = Logger.getLogger(FireIncidentSubsystem.class);
     public static Point2D BASE_COORDINATES = new Point2D.Double(0,0);
     private static final int SLEEP_DIVIDER = 200;  // Speed up sleep time between events
+    private static final int RECEIVE_TIMEOUT = 500;
     private final String INPUT_FOLDER;
-    private File eventFile;
-    private File zoneFile;
-    private EventSocket socket;
+    private ScenarioSource scenario;
+    private EventTransport socket;
     private InetAddress schedulerAddress;
     private int schedulerPort;
-    private List<Integer> activeFires = new ArrayList<>();
-    private LocalTime startTime;
+    private final Object zoneLock = new Object();
+    private final Set<Integer> activeFires = new HashSet<>();
+    private final Map<Integer, ArrayDeque<IncidentEvent>> pendingIncidents = new HashMap<>();
+    private final Map<IncidentEvent, Span> reportSpans = new HashMap<>();
+    private volatile boolean receiving;
 
     /**
      * Constructs a FireIncidentSubsystem.
@@ -48,88 +64,112 @@ public class FireIncidentSubsystem {
         this.schedulerPort = schedulerPort;
         this.INPUT_FOLDER = inputFolderPath;
         this.getInputFiles();
-        this.startTime = null;
+        this.setReceiveTimeout();
+    }
+
+    /**
+     * Constructs a FireIncidentSubsystem that reports the zones and incidents of a scenario,
+     * such as one produced by a {@link WorkloadGenerator}.
+     *
+     * @param scenario The scenario to report.
+     * @param schedulerAddress The IP address of the scheduler to send events to
+     * @param schedulerPort The port of the scheduler to send events to
+     */
+    public FireIncidentSubsystem(ScenarioSource scenario, InetAddress schedulerAddress, int schedulerPort) {
+        this(scenario, new EventSocket(7000), schedulerAddress, schedulerPort);
+    }
+
+    /**
+     * Constructs a FireIncidentSubsystem that reports the zones and incidents of a scenario
+     * through the given transport, e.g. a {@link main.LoopbackTransport} on port 7000 to run it
+     * in the same JVM as the Scheduler.
+     *
+     * @param scenario The scenario to report.
+     * @param socket The transport to send and receive events through.
+     * @param schedulerAddress The IP address of the scheduler to send events to
+     * @param schedulerPort The port of the scheduler to send events to
+     */
+    public FireIncidentSubsystem(ScenarioSource scenario, EventTransport socket, InetAddress schedulerAddress, int schedulerPort) {
+        this.socket = socket;
+        this.schedulerAddress = schedulerAddress;
+        this.schedulerPort = schedulerPort;
+        this.INPUT_FOLDER = null;
+        this.scenario = scenario;
+        this.setReceiveTimeout();
+    }
+
+    /**
+     * Sets the receive timeout of the socket so the receiver thread can stop once all fires are out.
+     */
+    private void setReceiveTimeout() {
+        this.socket.setReceiveTimeout(RECEIVE_TIMEOUT);
     }
 
     /**
      * Retrieves the input files from the specified directory.
-     * Assigns the event and zone files accordingly.
+     * Uses a binary scenario file if one is present, otherwise assigns the event and zone files accordingly.
      */
     private void getInputFiles() {
         File folder = new File(INPUT_FOLDER);
         File[] files = folder.listFiles();
         if (files == null) {
-            EventLogger.error(EventLogger.NO_ID, "No files found in the input folder.");
+            LOGGER.error(EventLogger.NO_ID, "No files found in the input folder.");
             return;
         }
 
+        File zoneFile = null;
+        File eventFile = null;
         for (File file : files) {
-            if (file.getName().contains("zone")) {
-                this.zoneFile = file;
+            if (file.getName().endsWith(ScenarioFile.EXTENSION)) {
+                // a binary scenario file takes precedence over CSV files
+                try {
+                    this.scenario = ScenarioFile.open(file);
+                    return;
+                } catch (Exception e) {
+                    LOGGER.error(EventLogger.NO_ID, "Unable to open scenario file " + file.getName() + ": " + e.getMessage());
+                }
+            } else if (file.getName().contains("zone")) {
+                zoneFile = file;
             } else if (file.getName().contains("events")) {
-                this.eventFile = file;
+                eventFile = file;
             }
         }
+        this.scenario = new CsvScenarioSource(zoneFile, eventFile);
     }
 
     /**
-     * Parses the fire incident event file and adds events to the EventQueueManager.
-     * Each event is associated with a zone, and if zone data is missing, a warning is logged.
+     * Releases each incident of the scenario at its timestamp.
+     * Incidents are streamed from the scenario source, so they are only decoded as they are
+     * about to be released. Release times are measured from the start of the timeline rather
+     * than from the previous incident, so time spent sending does not accumulate as drift.
      */
     private void parseEvents() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(this.eventFile))) {
-            String line;
-            reader.readLine(); // Skip header line
-
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length == 0) {
-                    EventLogger.error(EventLogger.NO_ID, "Invalid event data: " + line);
-                    return;
-                }
-
-                int zoneId = Integer.parseInt(parts[1]);
-
-                // Parse from data file
-                String timestamp = parts[0];
-                EventType eventType = EventType.fromString(parts[2]);
-                Severity severity = Severity.fromString(parts[3]);
-                Faults fault;
-
-                try {
-                    fault = Faults.fromString(parts[4]);
-                } catch (IllegalArgumentException e) {
-                    EventLogger.error(EventLogger.NO_ID, "Invalid fault type '" + parts[4] + "', defaulting to fault type NONE.");
-                    fault = Faults.NONE;
+        try (Stream<IncidentRecord> incidents = scenario.incidents()) {
+            Iterator<IncidentRecord> iterator = incidents.iterator();
+            long timelineStart = System.nanoTime();
+            int firstEventTime = -1;
+            int previousEventTime = -1;
+
+            while (iterator.hasNext()) {
+                IncidentRecord record = iterator.next();
+
+                if (firstEventTime < 0) {
+                    firstEventTime = record.timeSeconds();
+                } else if (record.timeSeconds() > previousEventTime) {
+                    LOGGER.info(EventLogger.NO_ID, "Sleeping for " + (record.timeSeconds() - previousEventTime) + " seconds until next event", true);
                 }
+                previousEventTime = record.timeSeconds();
 
-                if (startTime == null){
-                    startTime = LocalTime.parse(timestamp);
-                }else{
-                    Duration durationUntilNextEvent = Duration.between(startTime, LocalTime.parse(timestamp));
-                    startTime = LocalTime.parse(timestamp);
-                    EventLogger.info(EventLogger.NO_ID, "Sleeping for " + durationUntilNextEvent.getSeconds() + " seconds until next event", true);
-                    Thread.sleep(durationUntilNextEvent.toMillis() / SLEEP_DIVIDER);
+                long releaseTime = timelineStart + TimeUnit.SECONDS.toNanos(record.timeSeconds() - firstEventTime) / SLEEP_DIVIDER;
+                long delay = releaseTime - System.nanoTime();
+                if (delay > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delay);
                 }
 
-                while(activeFires.contains(zoneId)){
-                    IncidentEvent event = (IncidentEvent) socket.receive();
-                    if (event.getEventType() == EventType.FIRE_EXTINGUISHED) {
-                        removeFire(event.getZoneID());
-                    } else {
-                        EventLogger.info(EventLogger.NO_ID, "Scheduler Response: {" + event + "}", false);
-                    }
-                }
-
-                // Create IncidentEvent with injected fault
-                IncidentEvent incident = new IncidentEvent(timestamp, zoneId, eventType, severity, fault);
-                EventLogger.info(EventLogger.NO_ID, "New incident detected: {" + incident + "}", true);
-
-                socket.send(incident, schedulerAddress, schedulerPort);
-                activeFires.add(zoneId);
+                releaseIncident(record.toIncidentEvent());
             }
 
-            EventLogger.info(EventLogger.NO_ID, "All fires reported, waiting for all fires to be extinguished...\n", false);
+            LOGGER.info(EventLogger.NO_ID, "All fires reported, waiting for all fires to be extinguished...\n", false);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -137,22 +177,54 @@ public class FireIncidentSubsystem {
     }
 
     /**
-     * Parses the zone file and stores zone data in a hashmap.
-     * Each zone ID is mapped to its corresponding start and end coordinates.
+     * Sends an incident to the Scheduler, or holds it back if its zone is still burning.
+     *
+     * @param incident The incident to release.
      */
-    private void parseZones() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(this.zoneFile))) {
-            String line;
-            reader.readLine(); // Skip header line
+    private void releaseIncident(IncidentEvent incident) {
+        int zoneId = incident.getZoneID();
+
+        // each incident starts a trace, and its report span lasts until it is sent
+        Span report = SpanCollector.startTrace("fire.report").tag(0, zoneId);
+        report.propagate(incident);
+        synchronized (zoneLock) {
+            reportSpans.put(incident, report);
+            if (activeFires.contains(zoneId)) {
+                pendingIncidents.computeIfAbsent(zoneId, id -> new ArrayDeque<>()).add(incident);
+                LOGGER.info(EventLogger.NO_ID, "Zone " + zoneId + " is still burning, holding incident: {" + incident + "}", false);
+                return;
+            }
+            activeFires.add(zoneId);
+        }
+        sendIncident(incident);
+    }
 
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                int zoneId = Integer.parseInt(parts[0]);
-                ZoneEvent zoneEvent = new ZoneEvent(zoneId, parts[1], parts[2]);
-                EventLogger.info(EventLogger.NO_ID, "New zone detected: {" + zoneEvent + "}", true);
+    /**
+     * Sends an incident to the Scheduler.
+     *
+     * @param incident The incident to send.
+     */
+    private void sendIncident(IncidentEvent incident) {
+        Span report;
+        synchronized (zoneLock) {
+            report = reportSpans.remove(incident);
+        }
+        if (report != null) {
+            report.finish();
+        }
+        LOGGER.info(EventLogger.NO_ID, "New incident detected: {" + incident + "}", true);
+        socket.send(incident, schedulerAddress, schedulerPort);
+    }
 
+    /**
+     * Sends every zone of the scenario to the Scheduler.
+     */
+    private void parseZones() {
+        try (Stream<ZoneEvent> zones = scenario.zones()) {
+            zones.forEach(zoneEvent -> {
+                LOGGER.info(EventLogger.NO_ID, "New zone detected: {" + zoneEvent + "}", true);
                 socket.send(zoneEvent, schedulerAddress, schedulerPort);
-            }
+            });
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -160,58 +232,99 @@ public class FireIncidentSubsystem {
 
 
     /**
-     * Removes the fire from the active fires list once it is extinguished.
+     * Handles a fire being extinguished. If incidents are pending for the zone, the next one is
+     * sent and the zone stays active; otherwise the zone is removed from the active fires.
      *
-     * @param zoneID The identifier of the fire zone to be removed.
-     *               If the fire exists in the active fires list, it will be removed.
+     * @param zoneID The identifier of the fire zone that was extinguished.
      */
     private void removeFire(int zoneID) {
-        if (activeFires.contains(zoneID)) {
-            activeFires.remove(Integer.valueOf(zoneID));
-            EventLogger.info(EventLogger.NO_ID, "Fire extinguished at Zone " + zoneID, true);
+        IncidentEvent next;
+        synchronized (zoneLock) {
+            if (!activeFires.contains(zoneID)) {
+                return;
+            }
+
+            ArrayDeque<IncidentEvent> pending = pendingIncidents.get(zoneID);
+            next = (pending == null) ? null : pending.poll();
+            if (pending != null && pending.isEmpty()) {
+                pendingIncidents.remove(zoneID);
+            }
+
+            if (next == null) {
+                activeFires.remove(zoneID);
+                zoneLock.notifyAll();
+            }
+        }
+
+        LOGGER.info(EventLogger.NO_ID, "Fire extinguished at Zone " + zoneID, true);
+        if (next != null) {
+            sendIncident(next);
         }
     }
 
 
     /**
-     * Continuously listens for fire extinguishment events and removes corresponding fires
-     * from the active fires list until all fires are extinguished.
-     * This method will block until all active fires have been extinguished.
+     * Listens for responses from the Scheduler on its own thread, so extinguish acknowledgements
+     * are processed while the emitter is still releasing incidents.
      */
-    private void waitForFiresToBeExtinguished() {
-        while (!activeFires.isEmpty()) {
-            IncidentEvent event = (IncidentEvent) socket.receive();
-            EventLogger.info(EventLogger.NO_ID, "Received event: " + event, false);
-            if (event == null) {
-                EventLogger.error(EventLogger.NO_ID, "Received null event.");
+    private void receiveResponses() {
+        while (receiving) {
+            Event event = socket.receive();
+            if (!(event instanceof IncidentEvent incident)) {
                 continue;
             }
 
-            if (event.getEventType() == EventType.FIRE_EXTINGUISHED) {
-                removeFire(event.getZoneID());
+            if (incident.getEventType() == EventType.FIRE_EXTINGUISHED) {
+                Span span = SpanCollector.startSpan("fire.extinguished", incident).tag(0, incident.getZoneID());
+                removeFire(incident.getZoneID());
+                span.finish();
             } else {
-                EventLogger.info(EventLogger.NO_ID, "Scheduler Response: {" + event + "}", false);
+                LOGGER.info(EventLogger.NO_ID, "Scheduler Response: {" + incident + "}", false);
+            }
+        }
+    }
+
+
+    /**
+     * Blocks until all active fires have been extinguished and no incidents are pending.
+     */
+    private void waitForFiresToBeExtinguished() throws InterruptedException {
+        synchronized (zoneLock) {
+            while (!activeFires.isEmpty()) {
+                zoneLock.wait();
             }
         }
     }
 
 
     /**
-     * Runs the FireIncidentSubsystem by first parsing the zone data
-     * and then processing the event file to queue incident events.
+     * Runs the FireIncidentSubsystem by first parsing the zone data, then releasing the
+     * incidents of the event file while a receiver thread handles Scheduler responses.
      */
     public void run() {
         this.parseZones();
+
+        receiving = true;
+        Thread receiver = new Thread(this::receiveResponses, "FireIncidentReceiver");
+        receiver.start();
+
         this.parseEvents();
 
-        waitForFiresToBeExtinguished();
+        try {
+            waitForFiresToBeExtinguished();
+            receiving = false;
+            receiver.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
 
         // only send EVENTS_DONE once all fires are extinguished
         IncidentEvent noMoreIncidents = new IncidentEvent("", 0, EventType.EVENTS_DONE, Severity.NONE, Faults.NONE);
-        EventLogger.info(EventLogger.NO_ID, "All fires extinguished. Sending EVENTS_DONE.", true);
+        LOGGER.info(EventLogger.NO_ID, "All fires extinguished. Sending EVENTS_DONE.", true);
         socket.send(noMoreIncidents, schedulerAddress, schedulerPort);
 
-        socket.getSocket().close();
+        socket.close();
     }
 
     public static void main(String[] args) {
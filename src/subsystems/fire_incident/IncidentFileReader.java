@@ -0,0 +1,363 @@
+package subsystems.fire_incident;
+
+import logger.EventLogger;
+import logger.Logger;
+import subsystems.EventType;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the rows of an incident event file without reading it line by line into Strings.
+ *
+ * The file is memory-mapped in windows and each row ("HH:mm:ss,zoneID,eventType,severity,fault")
+ * is decoded directly from the mapped bytes into an {@link IncidentRecord}. Rows are only decoded
+ * as the returned stream is consumed, so arbitrarily large replay files can be processed with a
+ * constant memory footprint.
+ */
+public class IncidentFileReader implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(IncidentFileReader.class);
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final Faults[] FAULTS = Faults.values();
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private ByteBuffer window;
+    private long windowStart;
+    private int position;
+    private int lineStart;
+    private int lineEnd;
+
+    private int previousTime = -1;
+    private int dayOffset = 0;
+    private long rowsParsed = 0;
+    private long startNanos = 0;
+    private long endNanos = 0;
+
+    /**
+     * Opens and maps an incident event file. The header line is skipped.
+     *
+     * @param file the event file to read
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public IncidentFileReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        map(0);
+
+        // skip header line
+        nextLine();
+    }
+
+    /**
+     * Returns the incidents of the file as a lazily consumed stream.
+     * Closing the stream closes this reader.
+     *
+     * @return a sequential stream of incident records in file order
+     */
+    public Stream<IncidentRecord> stream() {
+        Spliterator<IncidentRecord> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            @Override
+            public boolean tryAdvance(Consumer<? super IncidentRecord> action) {
+                IncidentRecord record = next();
+                if (record == null) {
+                    return false;
+                }
+                action.accept(record);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Decodes the next row of the file.
+     *
+     * @return the next incident record, or null once the end of the file is reached
+     * @throws IllegalArgumentException if the row contains an invalid time, zone, event type or severity
+     */
+    public IncidentRecord next() {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+        }
+
+        while (nextLine()) {
+            if (lineEnd == lineStart) {
+                continue; // blank line
+            }
+
+            int end = fieldEnd(lineStart);
+            int time = parseTime(lineStart, end);
+
+            int start = end + 1;
+            end = fieldEnd(start);
+            int zoneID = parseInt(start, end);
+
+            start = end + 1;
+            end = fieldEnd(start);
+            EventType eventType = matchEnum(start, end, EVENT_TYPES);
+            if (eventType == null) {
+                throw new IllegalArgumentException("Invalid Event Type: " + text(start, end));
+            }
+
+            start = end + 1;
+            end = fieldEnd(start);
+            Severity severity = matchEnum(start, end, SEVERITIES);
+            if (severity == null) {
+                throw new IllegalArgumentException("Invalid Severity: " + text(start, end));
+            }
+
+            Faults fault = Faults.NONE;
+            start = end + 1;
+            if (start <= lineEnd) {
+                end = fieldEnd(start);
+                fault = matchEnum(start, end, FAULTS);
+                if (fault == null) {
+                    LOGGER.error(EventLogger.NO_ID, "Invalid fault type '" + text(start, end) + "', defaulting to fault type NONE.");
+                    fault = Faults.NONE;
+                }
+            }
+
+            // keep times increasing when the file rolls past midnight
+            if (time + dayOffset < previousTime) {
+                dayOffset += IncidentRecord.SECONDS_PER_DAY;
+            }
+            previousTime = time + dayOffset;
+
+            rowsParsed++;
+            endNanos = System.nanoTime();
+            return new IncidentRecord(previousTime, zoneID, eventType, severity, fault);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of rows decoded so far.
+     *
+     * @return the number of rows parsed
+     */
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    /**
+     * Gets the decoding throughput measured from the first to the most recently decoded row.
+     *
+     * @return the number of rows parsed per second
+     */
+    public double getRowsPerSecond() {
+        long elapsed = endNanos - startNanos;
+        if (rowsParsed == 0 || elapsed <= 0) {
+            return 0;
+        }
+        return rowsParsed * 1_000_000_000.0 / elapsed;
+    }
+
+    /**
+     * Closes the underlying file channel.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the window of the file starting at the given offset.
+     *
+     * @param offset the file offset the window starts at
+     */
+    private void map(long offset) {
+        try {
+            long size = Math.min(WINDOW_SIZE, fileSize - offset);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            windowStart = offset;
+            position = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Advances to the next line, remapping the window when a line crosses its end.
+     * Sets lineStart and lineEnd to the bounds of the line (excluding the line terminator).
+     *
+     * @return true if a line was found, false at the end of the file
+     */
+    private boolean nextLine() {
+        while (windowStart + position < fileSize) {
+            int limit = window.limit();
+            int i = position;
+            while (i < limit && window.get(i) != '\n') {
+                i++;
+            }
+
+            if (i == limit && windowStart + limit < fileSize) {
+                if (position == 0) {
+                    throw new IllegalStateException("Row at offset " + windowStart + " exceeds the mapping window.");
+                }
+                map(windowStart + position);
+                continue;
+            }
+
+            lineStart = position;
+            lineEnd = i;
+            position = Math.min(i + 1, limit);
+            if (lineEnd > lineStart && window.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the end of the comma separated field starting at the given index.
+     *
+     * @param start the index the field starts at
+     * @return the index of the next comma, or the end of the line
+     */
+    private int fieldEnd(int start) {
+        int i = start;
+        while (i < lineEnd && window.get(i) != ',') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Parses a time of day in the format "HH:mm:ss". A leading ISO date ("yyyy-MM-ddT") and
+     * trailing fractional seconds are accepted and ignored.
+     *
+     * @return the time in seconds since midnight
+     */
+    private int parseTime(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (window.get(i) == 'T') {
+                start = i + 1;
+                break;
+            }
+        }
+
+        int seconds = 0;
+        int value = 0;
+        int fields = 0;
+        boolean digits = false;
+        for (int i = start; i < end; i++) {
+            byte b = window.get(i);
+            if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits = true;
+            } else if (b == ':' && digits) {
+                seconds = seconds * 60 + value;
+                value = 0;
+                fields++;
+                digits = false;
+            } else if (b == '.') {
+                break;
+            } else if (b != ' ') {
+                throw new IllegalArgumentException("Invalid time: " + text(start, end));
+            }
+        }
+
+        if (!digits || fields == 0 || fields > 2) {
+            throw new IllegalArgumentException("Invalid time: " + text(start, end));
+        }
+        seconds = seconds * 60 + value;
+        return fields == 1 ? seconds * 60 : seconds;
+    }
+
+    /**
+     * Parses a non-negative integer, ignoring surrounding spaces.
+     */
+    private int parseInt(int start, int end) {
+        int value = 0;
+        boolean digits = false;
+        for (int i = start; i < end; i++) {
+            byte b = window.get(i);
+            if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits = true;
+            } else if (b != ' ') {
+                throw new NumberFormatException("Invalid zone ID: " + text(start, end));
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid zone ID: " + text(start, end));
+        }
+        return value;
+    }
+
+    /**
+     * Matches the bytes of a field against the names of enum constants, ignoring case
+     * and surrounding spaces.
+     *
+     * @return the matching constant, or null if no constant matches
+     */
+    private <E extends Enum<E>> E matchEnum(int start, int end, E[] values) {
+        while (start < end && window.get(start) == ' ') start++;
+        while (end > start && window.get(end - 1) == ' ') end--;
+
+        int length = end - start;
+        outer:
+        for (E value : values) {
+            String name = value.name();
+            if (name.length() != length) continue;
+
+            for (int i = 0; i < length; i++) {
+                int b = window.get(start + i);
+                if (b >= 'a' && b <= 'z') {
+                    b -= 'a' - 'A';
+                }
+                if (b != name.charAt(i)) continue outer;
+            }
+            return value;
+        }
+        return null;
+    }
+
+    /**
+     * Decodes a range of the window as text, used for error messages only.
+     */
+    private String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an event file and reports how fast it can be decoded.
+     *
+     * @param args the path of the event file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: IncidentFileReader <event file>");
+            System.exit(1);
+        }
+
+        try (IncidentFileReader reader = new IncidentFileReader(new File(args[0]));
+             Stream<IncidentRecord> incidents = reader.stream()) {
+            long count = incidents.count();
+            LOGGER.info(EventLogger.NO_ID, String.format("Parsed %d incidents (%.0f rows/sec)",
+                    count, reader.getRowsPerSecond()), true);
+        }
+    }
+}
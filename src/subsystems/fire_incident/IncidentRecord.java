@@ -0,0 +1,48 @@
+package subsystems.fire_incident;
+
+import subsystems.EventType;
+import subsystems.fire_incident.events.IncidentEvent;
+
+/**
+ * A single row of an incident scenario, decoded into primitive fields.
+ *
+ * @param timeSeconds the time of the incident in seconds since midnight of the first day of the scenario.
+ *                    Scenarios that roll past midnight keep counting upwards (e.g. 00:00:05 on the
+ *                    second day is 86405), so records are always in non-decreasing time order.
+ * @param zoneID      the ID of the zone the incident occurs in
+ * @param eventType   the type of the incident
+ * @param severity    the severity of the incident
+ * @param fault       the fault to inject for the incident
+ */
+public record IncidentRecord(int timeSeconds, int zoneID, EventType eventType, Severity severity, Faults fault) {
+    public static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    /**
+     * Creates the IncidentEvent that is sent to the Scheduler for this record.
+     *
+     * @return a new IncidentEvent
+     */
+    public IncidentEvent toIncidentEvent() {
+        return new IncidentEvent(formatTime(timeSeconds), zoneID, eventType, severity, fault);
+    }
+
+    /**
+     * Formats a time in seconds as an "HH:mm:ss" timestamp, wrapping around at midnight.
+     *
+     * @param timeSeconds the time in seconds
+     * @return the formatted timestamp
+     */
+    public static String formatTime(int timeSeconds) {
+        int secondOfDay = Math.floorMod(timeSeconds, SECONDS_PER_DAY);
+        int hours = secondOfDay / 3600;
+        int minutes = (secondOfDay / 60) % 60;
+        int seconds = secondOfDay % 60;
+
+        char[] chars = {
+                (char) ('0' + hours / 10), (char) ('0' + hours % 10), ':',
+                (char) ('0' + minutes / 10), (char) ('0' + minutes % 10), ':',
+                (char) ('0' + seconds / 10), (char) ('0' + seconds % 10)
+        };
+        return new String(chars);
+    }
+}
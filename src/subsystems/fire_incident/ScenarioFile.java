@@ -0,0 +1,317 @@
+package subsystems.fire_incident;
+
+import logger.EventLogger;
+import logger.Logger;
+import subsystems.EventType;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A compact, columnar binary scenario file that can be replayed without any text parsing.
+ *
+ * Layout (little-endian, columns aligned to 8 bytes):
+ * <pre>
+ * header:    int magic, int version, int zoneCount, int incidentCount, int baseTime, int padding
+ * zones:     int id[zoneCount], double startX[zoneCount], double startY[zoneCount],
+ *            double endX[zoneCount], double endY[zoneCount]
+ * incidents: int timeOffset[incidentCount], int zoneID[incidentCount],
+ *            byte eventType[incidentCount], byte severity[incidentCount], byte fault[incidentCount]
+ * </pre>
+ * Incident times are stored as offsets in seconds from baseTime, and event types, severities and
+ * faults as the ordinals of their enums.
+ *
+ * Opening a scenario file only maps it into memory, so loading takes the same time regardless of
+ * the number of incidents; records are decoded from the columns as they are streamed.
+ */
+public class ScenarioFile implements ScenarioSource {
+    private static final Logger LOGGER = Logger.getLogger(ScenarioFile.class);
+    public static final String EXTENSION = ".scenario";
+    private static final int MAGIC = 0x46445353; // "FDSS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final Faults[] FAULTS = Faults.values();
+
+    private final ByteBuffer buffer;
+    private final int zoneCount;
+    private final int incidentCount;
+    private final int baseTime;
+    private final int zoneIdOffset;
+    private final int zoneCoordinateOffset;
+    private final int incidentTimeOffset;
+    private final int incidentZoneOffset;
+    private final int incidentTypeOffset;
+    private final int incidentSeverityOffset;
+    private final int incidentFaultOffset;
+
+    /**
+     * Wraps a buffer holding a scenario file.
+     *
+     * @param buffer the scenario file contents
+     */
+    private ScenarioFile(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a scenario file.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported scenario file version: " + buffer.getInt(4));
+        }
+
+        this.zoneCount = buffer.getInt(8);
+        this.incidentCount = buffer.getInt(12);
+        this.baseTime = buffer.getInt(16);
+
+        this.zoneIdOffset = HEADER_SIZE;
+        this.zoneCoordinateOffset = align(zoneIdOffset + zoneCount * Integer.BYTES);
+        this.incidentTimeOffset = zoneCoordinateOffset + 4 * zoneCount * Double.BYTES;
+        this.incidentZoneOffset = incidentTimeOffset + incidentCount * Integer.BYTES;
+        this.incidentTypeOffset = incidentZoneOffset + incidentCount * Integer.BYTES;
+        this.incidentSeverityOffset = incidentTypeOffset + incidentCount;
+        this.incidentFaultOffset = incidentSeverityOffset + incidentCount;
+
+        if (buffer.limit() < incidentFaultOffset + incidentCount) {
+            throw new IllegalArgumentException("Scenario file is truncated.");
+        }
+    }
+
+    /**
+     * Maps a scenario file into memory.
+     *
+     * @param file the scenario file
+     * @return the opened scenario
+     * @throws IOException if the file cannot be mapped
+     */
+    public static ScenarioFile open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ScenarioFile(buffer);
+        }
+    }
+
+    /**
+     * Writes the zones and incidents of a scenario to a scenario file.
+     *
+     * @param source the scenario to convert
+     * @param file   the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ScenarioSource source, File file) throws IOException {
+        List<ZoneEvent> zones;
+        try (Stream<ZoneEvent> stream = source.zones()) {
+            zones = stream.toList();
+        }
+
+        int count = 0;
+        int[] times = new int[1024];
+        int[] zoneIDs = new int[1024];
+        byte[] types = new byte[1024];
+        byte[] severities = new byte[1024];
+        byte[] faults = new byte[1024];
+        try (Stream<IncidentRecord> stream = source.incidents()) {
+            for (IncidentRecord incident : (Iterable<IncidentRecord>) stream::iterator) {
+                if (count == times.length) {
+                    int capacity = Math.multiplyExact(count, 2);
+                    times = Arrays.copyOf(times, capacity);
+                    zoneIDs = Arrays.copyOf(zoneIDs, capacity);
+                    types = Arrays.copyOf(types, capacity);
+                    severities = Arrays.copyOf(severities, capacity);
+                    faults = Arrays.copyOf(faults, capacity);
+                }
+                times[count] = incident.timeSeconds();
+                zoneIDs[count] = incident.zoneID();
+                types[count] = (byte) incident.eventType().ordinal();
+                severities[count] = (byte) incident.severity().ordinal();
+                faults[count] = (byte) incident.fault().ordinal();
+                count++;
+            }
+        }
+
+        int baseTime = count > 0 ? times[0] : 0;
+        for (int i = 0; i < count; i++) {
+            times[i] -= baseTime;
+        }
+
+        int zoneCount = zones.size();
+        long size = align(HEADER_SIZE + (long) zoneCount * Integer.BYTES) + 4L * zoneCount * Double.BYTES
+                + (long) count * (2 * Integer.BYTES + 3);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(zoneCount).putInt(count).putInt(baseTime).putInt(0);
+
+            for (ZoneEvent zone : zones) {
+                buffer.putInt(zone.getZoneID());
+            }
+            buffer.position(align(buffer.position()));
+            for (ZoneEvent zone : zones) buffer.putDouble(zone.getStart().getX());
+            for (ZoneEvent zone : zones) buffer.putDouble(zone.getStart().getY());
+            for (ZoneEvent zone : zones) buffer.putDouble(zone.getEnd().getX());
+            for (ZoneEvent zone : zones) buffer.putDouble(zone.getEnd().getY());
+
+            buffer.asIntBuffer().put(times, 0, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            buffer.asIntBuffer().put(zoneIDs, 0, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            buffer.put(types, 0, count);
+            buffer.put(severities, 0, count);
+            buffer.put(faults, 0, count);
+            buffer.force();
+        }
+    }
+
+    /**
+     * Gets the number of zones in the scenario.
+     *
+     * @return the zone count
+     */
+    public int getZoneCount() {
+        return zoneCount;
+    }
+
+    /**
+     * Gets the number of incidents in the scenario.
+     *
+     * @return the incident count
+     */
+    public int getIncidentCount() {
+        return incidentCount;
+    }
+
+    /**
+     * Gets the time of an incident.
+     *
+     * @param index the index of the incident
+     * @return the time in seconds since midnight of the first day of the scenario
+     */
+    public int getIncidentTime(int index) {
+        return baseTime + buffer.getInt(incidentTimeOffset + index * Integer.BYTES);
+    }
+
+    /**
+     * Gets the zone of an incident.
+     *
+     * @param index the index of the incident
+     * @return the zone ID
+     */
+    public int getIncidentZone(int index) {
+        return buffer.getInt(incidentZoneOffset + index * Integer.BYTES);
+    }
+
+    /**
+     * Decodes an incident.
+     *
+     * @param index the index of the incident
+     * @return the incident record
+     */
+    public IncidentRecord getIncident(int index) {
+        return new IncidentRecord(
+                getIncidentTime(index),
+                getIncidentZone(index),
+                EVENT_TYPES[buffer.get(incidentTypeOffset + index)],
+                SEVERITIES[buffer.get(incidentSeverityOffset + index)],
+                FAULTS[buffer.get(incidentFaultOffset + index)]
+        );
+    }
+
+    /**
+     * Decodes a zone.
+     *
+     * @param index the index of the zone
+     * @return the zone event
+     */
+    public ZoneEvent getZone(int index) {
+        int column = zoneCount * Double.BYTES;
+        int offset = zoneCoordinateOffset + index * Double.BYTES;
+        Point2D start = new Point2D.Double(buffer.getDouble(offset), buffer.getDouble(offset + column));
+        Point2D end = new Point2D.Double(buffer.getDouble(offset + 2 * column), buffer.getDouble(offset + 3 * column));
+        return new ZoneEvent(buffer.getInt(zoneIdOffset + index * Integer.BYTES), start, end);
+    }
+
+    /**
+     * Returns the zones of the scenario.
+     *
+     * @return a stream of zone events
+     */
+    @Override
+    public Stream<ZoneEvent> zones() {
+        return IntStream.range(0, zoneCount).mapToObj(this::getZone);
+    }
+
+    /**
+     * Returns the incidents of the scenario, decoded lazily from the mapped columns.
+     *
+     * @return a stream of incident records
+     */
+    @Override
+    public Stream<IncidentRecord> incidents() {
+        return IntStream.range(0, incidentCount).mapToObj(this::getIncident);
+    }
+
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /**
+     * Converts the zone and event CSV files of an input folder to a scenario file.
+     *
+     * Usage: ScenarioFile (input folder) (output file)
+     *
+     * @param args the input folder and the output file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ScenarioFile <input folder> <output file" + EXTENSION + ">");
+            System.exit(1);
+        }
+
+        File zoneFile = null;
+        File eventFile = null;
+        File[] files = new File(args[0]).listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            if (file.getName().contains("zone")) {
+                zoneFile = file;
+            } else if (file.getName().contains("events")) {
+                eventFile = file;
+            }
+        }
+        if (zoneFile == null || eventFile == null) {
+            LOGGER.error(EventLogger.NO_ID, "Zone or event file missing in " + args[0]);
+            System.exit(1);
+        }
+
+        File output = new File(args[1]);
+        long start = System.nanoTime();
+        write(new CsvScenarioSource(zoneFile, eventFile), output);
+        long converted = System.nanoTime();
+
+        ScenarioFile scenario = open(output);
+        long loaded = System.nanoTime();
+
+        LOGGER.info(EventLogger.NO_ID, String.format("Converted %d zones and %d incidents in %d ms, loaded in %.3f ms",
+                scenario.getZoneCount(), scenario.getIncidentCount(),
+                (converted - start) / 1_000_000, (loaded - converted) / 1_000_000.0), true);
+    }
+}
@@ -0,0 +1,26 @@
+package subsystems.fire_incident;
+
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.util.stream.Stream;
+
+/**
+ * A source of zones and incidents for the FireIncidentSubsystem to report to the Scheduler.
+ * Both streams are consumed lazily and must be closed by the caller.
+ */
+public interface ScenarioSource {
+
+    /**
+     * Returns the zones of the scenario.
+     *
+     * @return a stream of zone events
+     */
+    Stream<ZoneEvent> zones();
+
+    /**
+     * Returns the incidents of the scenario in non-decreasing time order.
+     *
+     * @return a stream of incident records
+     */
+    Stream<IncidentRecord> incidents();
+}
@@ -25,6 +25,22 @@ public enum Severity {
         return waterFoamAmount;
     }
 
+    /**
+     * Gets the severity of a fire that still needs the given amount of water and foam.
+     * @param amount The amount still needed.
+     * @return HIGH or MODERATE from their amounts up, LOW for any smaller positive amount, otherwise NONE.
+     */
+    public static Severity forWater(int amount) {
+        if (amount >= HIGH.waterFoamAmount) {
+            return HIGH;
+        } else if (amount >= MODERATE.waterFoamAmount) {
+            return MODERATE;
+        } else if (amount > 0) {
+            return LOW;
+        }
+        return NONE;
+    }
+
     /**
      * Converts a string to a Severity enum, handling case variations.
      * @return The corresponding Severity enum.
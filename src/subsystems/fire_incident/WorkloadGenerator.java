@@ -0,0 +1,386 @@
+package subsystems.fire_incident;
+
+import logger.EventLogger;
+import logger.Logger;
+import subsystems.EventType;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates reproducible synthetic scenarios for load testing the Scheduler.
+ *
+ * Zones are laid out as a grid of equally sized rectangles covering the map. Incidents arrive
+ * as a Poisson process, so the time between incidents is exponentially distributed around the
+ * configured arrival rate. A configurable share of incidents is clustered around hotspot zones,
+ * the rest is spread uniformly across the grid. Severities and injected faults are drawn from
+ * configurable ratios. The same seed always produces the same scenario.
+ *
+ * A generated scenario can be written in the existing CSV format, or passed directly to a
+ * {@link FireIncidentSubsystem} as a {@link ScenarioSource}.
+ */
+public class WorkloadGenerator implements ScenarioSource {
+    private static final Logger LOGGER = Logger.getLogger(WorkloadGenerator.class);
+    private final long seed;
+    private int zoneColumns = 2;
+    private int zoneRows = 2;
+    private double mapWidth = 2250;
+    private double mapHeight = 2250;
+    private long incidentCount = 1000;
+    private double arrivalRate = 1.0;
+    private int startTime = 0;
+    private double lowWeight = 1;
+    private double moderateWeight = 1;
+    private double highWeight = 1;
+    private double stuckRatio = 0;
+    private double nozzleJamRatio = 0;
+    private double packetLossRatio = 0;
+    private int hotspotCount = 0;
+    private double hotspotShare = 0;
+    private double hotspotSpread = 1;
+
+    /**
+     * Constructs a WorkloadGenerator with default settings: 4 zones on a 2250x2250 map,
+     * 1000 incidents at one incident per second, an even severity mix and no faults or hotspots.
+     *
+     * @param seed the seed every random choice is derived from
+     */
+    public WorkloadGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the zone grid.
+     *
+     * @param columns the number of zone columns
+     * @param rows    the number of zone rows
+     * @return this generator
+     */
+    public WorkloadGenerator zones(int columns, int rows) {
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Zone grid must have at least one column and row.");
+        }
+        this.zoneColumns = columns;
+        this.zoneRows = rows;
+        return this;
+    }
+
+    /**
+     * Sets the size of the map covered by the zone grid.
+     *
+     * @param width  the width of the map in meters
+     * @param height the height of the map in meters
+     * @return this generator
+     */
+    public WorkloadGenerator mapSize(double width, double height) {
+        this.mapWidth = width;
+        this.mapHeight = height;
+        return this;
+    }
+
+    /**
+     * Sets the number of incidents to generate.
+     *
+     * @param count the number of incidents
+     * @return this generator
+     */
+    public WorkloadGenerator incidents(long count) {
+        this.incidentCount = count;
+        return this;
+    }
+
+    /**
+     * Sets the mean number of incidents per second of scenario time.
+     *
+     * @param incidentsPerSecond the Poisson arrival rate
+     * @return this generator
+     */
+    public WorkloadGenerator arrivalRate(double incidentsPerSecond) {
+        if (incidentsPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive.");
+        }
+        this.arrivalRate = incidentsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets the time of day the scenario starts at.
+     *
+     * @param secondOfDay the start time in seconds since midnight
+     * @return this generator
+     */
+    public WorkloadGenerator startTime(int secondOfDay) {
+        this.startTime = secondOfDay;
+        return this;
+    }
+
+    /**
+     * Sets the relative weights of the incident severities.
+     *
+     * @return this generator
+     */
+    public WorkloadGenerator severityMix(double low, double moderate, double high) {
+        if (low < 0 || moderate < 0 || high < 0 || low + moderate + high <= 0) {
+            throw new IllegalArgumentException("Severity weights must be non-negative and not all zero.");
+        }
+        this.lowWeight = low;
+        this.moderateWeight = moderate;
+        this.highWeight = high;
+        return this;
+    }
+
+    /**
+     * Sets the share of incidents that inject each fault.
+     *
+     * @param stuckInFlight the share of DRONE_STUCK_IN_FLIGHT faults
+     * @param nozzleJammed  the share of NOZZLE_JAMMED faults
+     * @param packetLoss    the share of PACKET_LOSS faults
+     * @return this generator
+     */
+    public WorkloadGenerator faultRatios(double stuckInFlight, double nozzleJammed, double packetLoss) {
+        if (stuckInFlight < 0 || nozzleJammed < 0 || packetLoss < 0 || stuckInFlight + nozzleJammed + packetLoss > 1) {
+            throw new IllegalArgumentException("Fault ratios must be non-negative and add up to at most 1.");
+        }
+        this.stuckRatio = stuckInFlight;
+        this.nozzleJamRatio = nozzleJammed;
+        this.packetLossRatio = packetLoss;
+        return this;
+    }
+
+    /**
+     * Clusters a share of the incidents around randomly placed hotspot zones.
+     *
+     * @param count  the number of hotspots
+     * @param share  the share of incidents that occur around a hotspot
+     * @param spread the standard deviation of the distance from a hotspot, in zones
+     * @return this generator
+     */
+    public WorkloadGenerator hotspots(int count, double share, double spread) {
+        if (count < 0 || share < 0 || share > 1 || spread < 0) {
+            throw new IllegalArgumentException("Invalid hotspot settings.");
+        }
+        this.hotspotCount = count;
+        this.hotspotShare = share;
+        this.hotspotSpread = spread;
+        return this;
+    }
+
+    /**
+     * Gets the number of zones in the grid.
+     *
+     * @return the zone count
+     */
+    public int getZoneCount() {
+        return zoneColumns * zoneRows;
+    }
+
+    /**
+     * Returns the zones of the grid, numbered from 1 row by row.
+     *
+     * @return a stream of zone events
+     */
+    @Override
+    public Stream<ZoneEvent> zones() {
+        double zoneWidth = mapWidth / zoneColumns;
+        double zoneHeight = mapHeight / zoneRows;
+
+        return IntStream.range(0, getZoneCount()).mapToObj(index -> {
+            int column = index % zoneColumns;
+            int row = index / zoneColumns;
+            Point2D start = new Point2D.Double(Math.round(column * zoneWidth), Math.round(row * zoneHeight));
+            Point2D end = new Point2D.Double(Math.round((column + 1) * zoneWidth), Math.round((row + 1) * zoneHeight));
+            return new ZoneEvent(index + 1, start, end);
+        });
+    }
+
+    /**
+     * Returns the generated incidents. Each call restarts from the seed and yields the same incidents.
+     *
+     * @return a lazily generated stream of incident records
+     */
+    @Override
+    public Stream<IncidentRecord> incidents() {
+        Spliterator<IncidentRecord> spliterator = Spliterators.spliterator(new IncidentIterator(), incidentCount,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Writes the scenario as a zone file and an event file in the existing CSV format.
+     * The file names contain "zone" and "events" so the folder can be used as the input
+     * folder of a FireIncidentSubsystem.
+     *
+     * @param folder the folder to write to
+     * @throws IOException if the files cannot be written
+     */
+    public void writeCsv(File folder) throws IOException {
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Cannot create folder " + folder);
+        }
+
+        try (Writer writer = new BufferedWriter(new FileWriter(new File(folder, "generated_zone_file.csv")));
+             Stream<ZoneEvent> zones = zones()) {
+            writer.write("Zone ID,Zone Start,Zone End\n");
+            for (ZoneEvent zone : (Iterable<ZoneEvent>) zones::iterator) {
+                writer.write(zone.getZoneID() + ",(" + (long) zone.getStart().getX() + ";" + (long) zone.getStart().getY()
+                        + "),(" + (long) zone.getEnd().getX() + ";" + (long) zone.getEnd().getY() + ")\n");
+            }
+        }
+
+        try (Writer writer = new BufferedWriter(new FileWriter(new File(folder, "generated_events_file.csv")), 1 << 16);
+             Stream<IncidentRecord> incidents = incidents()) {
+            writer.write("Time,Zone ID,Event type,Severity,Fault\n");
+            for (IncidentRecord incident : (Iterable<IncidentRecord>) incidents::iterator) {
+                writer.write(IncidentRecord.formatTime(incident.timeSeconds()));
+                writer.write(',');
+                writer.write(Integer.toString(incident.zoneID()));
+                writer.write(',');
+                writer.write(incident.eventType().name());
+                writer.write(',');
+                writer.write(incident.severity().name());
+                writer.write(',');
+                writer.write(incident.fault().name());
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Generates incidents one at a time from the seed.
+     */
+    private class IncidentIterator implements Iterator<IncidentRecord> {
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private final int[] hotspotColumns = new int[hotspotCount];
+        private final int[] hotspotRows = new int[hotspotCount];
+        private final double severityTotal = lowWeight + moderateWeight + highWeight;
+        private double time = startTime;
+        private long generated = 0;
+
+        IncidentIterator() {
+            for (int i = 0; i < hotspotCount; i++) {
+                hotspotColumns[i] = random.nextInt(zoneColumns);
+                hotspotRows[i] = random.nextInt(zoneRows);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return generated < incidentCount;
+        }
+
+        @Override
+        public IncidentRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            generated++;
+
+            // exponential inter-arrival times give a Poisson arrival process
+            time += -Math.log(1.0 - random.nextDouble()) / arrivalRate;
+
+            int column;
+            int row;
+            if (hotspotCount > 0 && random.nextDouble() < hotspotShare) {
+                int hotspot = random.nextInt(hotspotCount);
+                column = clamp((int) Math.round(hotspotColumns[hotspot] + gaussian() * hotspotSpread), zoneColumns);
+                row = clamp((int) Math.round(hotspotRows[hotspot] + gaussian() * hotspotSpread), zoneRows);
+            } else {
+                column = random.nextInt(zoneColumns);
+                row = random.nextInt(zoneRows);
+            }
+
+            EventType eventType = random.nextBoolean() ? EventType.FIRE_DETECTED : EventType.DRONE_REQUEST;
+
+            double severityRoll = random.nextDouble() * severityTotal;
+            Severity severity = severityRoll < lowWeight ? Severity.LOW
+                    : severityRoll < lowWeight + moderateWeight ? Severity.MODERATE
+                    : Severity.HIGH;
+
+            double faultRoll = random.nextDouble();
+            Faults fault = faultRoll < stuckRatio ? Faults.DRONE_STUCK_IN_FLIGHT
+                    : faultRoll < stuckRatio + nozzleJamRatio ? Faults.NOZZLE_JAMMED
+                    : faultRoll < stuckRatio + nozzleJamRatio + packetLossRatio ? Faults.PACKET_LOSS
+                    : Faults.NONE;
+
+            return new IncidentRecord((int) time, row * zoneColumns + column + 1, eventType, severity, fault);
+        }
+
+        /**
+         * Draws a standard normally distributed value using the Box-Muller transform.
+         */
+        private double gaussian() {
+            double u = 1.0 - random.nextDouble();
+            double v = random.nextDouble();
+            return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+        }
+
+        private int clamp(int value, int size) {
+            return Math.max(0, Math.min(size - 1, value));
+        }
+    }
+
+    /**
+     * Generates a scenario and either writes it as CSV files or streams it to a Scheduler.
+     *
+     * Usage: WorkloadGenerator (--out=folder | --send) [--seed=n] [--zones=CxR] [--incidents=n]
+     * [--rate=incidents/sec] [--severity=low:moderate:high] [--faults=stuck:jam:loss]
+     * [--hotspots=count:share:spread]
+     *
+     * @param args the command-line options
+     */
+    public static void main(String[] args) throws IOException {
+        long seed = 42;
+        String out = null;
+        boolean send = false;
+        for (String arg : args) {
+            if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring(7));
+        }
+
+        WorkloadGenerator generator = new WorkloadGenerator(seed);
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            String[] values = option.length > 1 ? option[1].split("[x:]") : new String[0];
+            switch (option[0]) {
+                case "--seed" -> { }
+                case "--out" -> out = option[1];
+                case "--send" -> send = true;
+                case "--zones" -> generator.zones(Integer.parseInt(values[0]), Integer.parseInt(values[1]));
+                case "--incidents" -> generator.incidents(Long.parseLong(values[0]));
+                case "--rate" -> generator.arrivalRate(Double.parseDouble(values[0]));
+                case "--severity" -> generator.severityMix(Double.parseDouble(values[0]), Double.parseDouble(values[1]), Double.parseDouble(values[2]));
+                case "--faults" -> generator.faultRatios(Double.parseDouble(values[0]), Double.parseDouble(values[1]), Double.parseDouble(values[2]));
+                case "--hotspots" -> generator.hotspots(Integer.parseInt(values[0]), Double.parseDouble(values[1]), Double.parseDouble(values[2]));
+                default -> {
+                    System.err.println("Unknown option: " + arg);
+                    System.exit(1);
+                }
+            }
+        }
+
+        if (out != null) {
+            long start = System.nanoTime();
+            generator.writeCsv(new File(out));
+            LOGGER.info(EventLogger.NO_ID, String.format("Wrote %d zones and %d incidents to %s in %d ms",
+                    generator.getZoneCount(), generator.incidentCount, out, (System.nanoTime() - start) / 1_000_000), true);
+        } else if (send) {
+            new FireIncidentSubsystem(generator, InetAddress.getLocalHost(), 5000).run();
+        } else {
+            System.err.println("Either --out=folder or --send is required.");
+            System.exit(1);
+        }
+    }
+}
@@ -70,15 +70,7 @@ public class IncidentEvent extends Event {
 
     public void setWaterFoamAmount(int amount){
         this.waterFoamAmount = amount;
-        if (amount >= 30){
-            this.setSeverity(Severity.HIGH);
-        } else if (amount >= 20) {
-            this.setSeverity(Severity.MODERATE);
-        } else if (amount > 0) {
-            this.setSeverity(Severity.LOW);
-        }else{
-            this.setSeverity(Severity.NONE);
-        }
+        this.setSeverity(Severity.forWater(amount));
     }
 
     public int getWaterFoamAmount(){
@@ -31,6 +31,21 @@ public class ZoneEvent extends Event {
         this.center = this.getZoneCenter(start, end);
     }
 
+    /**
+     * Constructs a ZoneEvent with the specified zone ID, start coordinates, and end coordinates.
+     *
+     * @param zoneID the ID of the zone
+     * @param start  the start coordinates
+     * @param end    the end coordinates
+     */
+    public ZoneEvent(int zoneID, Point2D start, Point2D end) {
+        super(null);
+        this.zoneID = zoneID;
+        this.start = start;
+        this.end = end;
+        this.center = this.getZoneCenter(start, end);
+    }
+
     /**
      * Gets the ID of the zone.
      *
@@ -88,11 +103,15 @@ public class ZoneEvent extends Event {
      * @throws NumberFormatException if the string format is invalid
      */
     private Point2D parseCoordinates(String coordinates) {
-        coordinates = coordinates.replace("(", "").replace(")", "");
-        String[] parts = coordinates.split(";");
-
-        double x = Double.parseDouble(parts[0].trim());
-        double y = Double.parseDouble(parts[1].trim());
+        int open = coordinates.indexOf('(');
+        int separator = coordinates.indexOf(';', open + 1);
+        if (separator < 0) {
+            throw new NumberFormatException("Invalid coordinates: " + coordinates);
+        }
+        int close = coordinates.indexOf(')', separator + 1);
+
+        double x = Double.parseDouble(coordinates.substring(open + 1, separator).trim());
+        double y = Double.parseDouble(coordinates.substring(separator + 1, close < 0 ? coordinates.length() : close).trim());
 
         return new Point2D.Double(x, y);
     }
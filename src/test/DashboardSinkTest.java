@@ -0,0 +1,104 @@
+package test;
+
+import main.ui.AsyncDashboardSink;
+import main.ui.DashboardSink;
+import main.ui.DroneStateEnum;
+import main.ui.DroneSwarmDashboard;
+import org.junit.jupiter.api.*;
+import subsystems.fire_incident.Severity;
+
+import javax.swing.*;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardSinkTest {
+
+    /**
+     * Records the updates it receives and the thread they were applied on.
+     */
+    private static class RecordingSink implements DashboardSink {
+        private final List<String> updates = new ArrayList<>();
+        private boolean offEventDispatchThread = false;
+
+        private void record(String update) {
+            offEventDispatchThread |= !SwingUtilities.isEventDispatchThread();
+            updates.add(update);
+        }
+
+        @Override
+        public void markZone(int zoneID, Point2D worldStart, Point2D worldEnd) {
+            record("zone " + zoneID);
+        }
+
+        @Override
+        public void updateZoneWater(int zoneID, int remainingLiters) {
+            record("water " + zoneID + " " + remainingLiters);
+        }
+
+        @Override
+        public void setZoneFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status) {
+            record("status " + zoneID + " " + status);
+        }
+
+        @Override
+        public void updateZoneSeverity(int zoneID, Severity severity) {
+            record("severity " + zoneID + " " + severity);
+        }
+
+        @Override
+        public void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state) {
+            record("drone " + droneID + " " + state);
+        }
+    }
+
+    @Test
+    void testUpdatesAppliedInOrderOnEventDispatchThread() throws Exception {
+        RecordingSink target = new RecordingSink();
+        AsyncDashboardSink sink = new AsyncDashboardSink(() -> target);
+
+        sink.markZone(1, new Point2D.Double(0, 0), new Point2D.Double(10, 10));
+        sink.setZoneFireStatus(1, DroneSwarmDashboard.FireStatus.ACTIVE);
+        sink.updateZoneSeverity(1, Severity.HIGH);
+        for (int i = 0; i < 1000; i++) {
+            sink.updateZoneWater(1, 1000 - i);
+        }
+        sink.updateDronePosition(2, new Point2D.Double(5, 5), null, DroneStateEnum.IDLE);
+
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(0, sink.getPendingUpdates());
+        assertFalse(target.offEventDispatchThread);
+        assertEquals(1004, target.updates.size());
+        assertEquals("zone 1", target.updates.get(0));
+        assertEquals("status 1 ACTIVE", target.updates.get(1));
+        assertEquals("severity 1 HIGH", target.updates.get(2));
+        assertEquals("water 1 1000", target.updates.get(3));
+        assertEquals("water 1 1", target.updates.get(1002));
+        assertEquals("drone 2 IDLE", target.updates.get(1003));
+    }
+
+    @Test
+    void testPublishingDoesNotWaitForEventDispatchThread() throws Exception {
+        RecordingSink target = new RecordingSink();
+        AsyncDashboardSink sink = new AsyncDashboardSink(() -> target);
+        Object gate = new Object();
+
+        synchronized (gate) {
+            // hold the event dispatch thread until the updates have been published
+            SwingUtilities.invokeLater(() -> {
+                synchronized (gate) {
+                }
+            });
+            for (int i = 0; i < 100; i++) {
+                sink.updateZoneWater(1, i);
+            }
+            assertTrue(target.updates.size() < 100);
+        }
+
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(100, target.updates.size());
+    }
+}
@@ -0,0 +1,89 @@
+package test;
+
+import main.journal.EventJournal;
+import main.journal.JournalReader;
+import org.junit.jupiter.api.*;
+import subsystems.EventType;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventJournalTest {
+    private File directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    @DisplayName("Test journaled events are read back in order across segments")
+    void testRoundTripWithRollover() throws IOException {
+        InetAddress peer = InetAddress.getLoopbackAddress();
+        int count = 50;
+        try (EventJournal journal = new EventJournal(directory, 4096)) {
+            for (int i = 0; i < count; i++) {
+                IncidentEvent event = new IncidentEvent("00:00:" + (i % 60), i, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE);
+                EventJournal.Direction direction = i % 2 == 0 ? EventJournal.Direction.RECEIVED : EventJournal.Direction.SENT;
+                journal.append(direction, peer, 7000 + i, event);
+            }
+            assertEquals(count, journal.getRecordCount());
+        }
+        assertTrue(directory.listFiles().length > 1, "expected the journal to roll over to a new segment");
+
+        int read = 0;
+        long previousTime = Long.MIN_VALUE;
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next()) {
+                assertTrue(reader.getNanoTime() >= previousTime);
+                previousTime = reader.getNanoTime();
+                assertEquals(read % 2 == 0 ? EventJournal.Direction.RECEIVED : EventJournal.Direction.SENT, reader.getDirection());
+                assertEquals(peer, reader.getPeerAddress());
+                assertEquals(7000 + read, reader.getPeerPort());
+                IncidentEvent event = assertInstanceOf(IncidentEvent.class, reader.readEvent());
+                assertEquals(read, event.getZoneID());
+                read++;
+            }
+        }
+        assertEquals(count, read);
+    }
+
+    @Test
+    @DisplayName("Test reopening a journal appends a new segment")
+    void testReopenAppends() throws IOException {
+        IncidentEvent event = new IncidentEvent("00:00:01", 1, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NONE);
+        try (EventJournal journal = new EventJournal(directory, 1 << 16)) {
+            journal.append(EventJournal.Direction.SENT, null, -1, event);
+        }
+        try (EventJournal journal = new EventJournal(directory, 1 << 16)) {
+            journal.append(EventJournal.Direction.SENT, null, -1, event);
+        }
+
+        int read = 0;
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next()) {
+                assertNull(reader.getPeerAddress());
+                read++;
+            }
+        }
+        assertEquals(2, read);
+    }
+}
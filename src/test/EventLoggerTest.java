@@ -0,0 +1,103 @@
+package test;
+
+import logger.EventLogger;
+import logger.LogLevel;
+import logger.Logger;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoggerTest {
+    private PrintStream originalOut;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp() {
+        EventLogger.flush();
+        originalOut = System.out;
+        output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        EventLogger.flush();
+        EventLogger.setLevel(LogLevel.INFO);
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Test records are written in the original format")
+    void testFormat() {
+        EventLogger.info(EventLogger.NO_ID, "scheduler message", false);
+        EventLogger.warn(3, "drone message");
+        EventLogger.flush();
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].matches(".*\\[\\d{2}:\\d{2}:\\d{2}] \\[INFO] \\[EVENTLOGGERTEST] scheduler message.*"), lines[0]);
+        assertTrue(lines[1].matches(".*\\[\\d{2}:\\d{2}:\\d{2}] \\[WARN] \\[DRONE 3] drone message.*"), lines[1]);
+    }
+
+    @Test
+    @DisplayName("Test records from concurrent threads are all written in per-thread order")
+    void testConcurrentWriters() throws InterruptedException {
+        int threads = 4;
+        int perThread = 5000;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    EventLogger.info(id, "record " + i, false);
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        EventLogger.flush();
+
+        int[] next = new int[threads];
+        for (String line : output.toString().split(System.lineSeparator())) {
+            int drone = line.indexOf("[DRONE ");
+            if (drone < 0) {
+                continue;
+            }
+            int id = Integer.parseInt(line.substring(drone + 7, line.indexOf(']', drone)));
+            int record = Integer.parseInt(line.substring(line.indexOf("record ") + 7, line.lastIndexOf('\u001B')));
+            assertEquals(next[id], record);
+            next[id]++;
+        }
+        for (int t = 0; t < threads; t++) {
+            assertEquals(perThread, next[t]);
+        }
+    }
+
+    @Test
+    @DisplayName("Test per-class loggers use the class name and skip disabled levels")
+    void testLevelFiltering() {
+        Logger logger = Logger.getLogger(EventLoggerTest.class);
+        assertSame(logger, Logger.getLogger(EventLoggerTest.class));
+
+        EventLogger.setLevel(LogLevel.WARN);
+        AtomicInteger built = new AtomicInteger();
+        logger.info(EventLogger.NO_ID, () -> "skipped " + built.incrementAndGet(), false);
+        EventLogger.info(EventLogger.NO_ID, "also skipped", false);
+        logger.warn(EventLogger.NO_ID, () -> "written " + built.incrementAndGet());
+        assertFalse(logger.isEnabled(LogLevel.INFO));
+        EventLogger.flush();
+
+        assertEquals(1, built.get());
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("[WARN] [EVENTLOGGERTEST] written 1"), lines[0]);
+    }
+}
@@ -6,11 +6,20 @@ import subsystems.drone.events.DroneArrivedEvent;
 import subsystems.drone.events.DroneDispatchEvent;
 import subsystems.drone.events.DroneUpdateEvent;
 import subsystems.drone.events.DropAgentEvent;
+import main.EventSocket;
+import subsystems.Event;
+import subsystems.EventType;
 import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
 
 import java.awt.geom.Point2D;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,4 +75,42 @@ class EventTests {
         event.fromString("");
     }
 
+    // Test timestamps are parsed once and survive serialization
+    @Test
+    @DisplayName("Test Event timestamps")
+    void testTimeStamps() throws Exception {
+        IncidentEvent incident = new IncidentEvent("13:45:07", 1, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE);
+        assertEquals(LocalTime.of(13, 45, 7), incident.getParsedTime());
+        assertEquals("13:45:07", incident.getTime());
+        assertEquals(LocalTime.of(13, 45, 7).toNanoOfDay(), incident.getTimeOfDayNanos());
+        assertThrows(DateTimeParseException.class, incident::getDate);
+
+        byte[] encoded = EventSocket.serialize(incident);
+        Event decoded = EventSocket.deserialize(encoded, 0, encoded.length);
+        assertEquals(incident.getTimeOfDayNanos(), decoded.getTimeOfDayNanos());
+
+        incident.setTimeStamp("08:00:00");
+        assertEquals(LocalTime.of(8, 0).toNanoOfDay(), incident.getTimeOfDayNanos());
+        incident.setTimeStamp("24:00:00");
+        assertEquals(LocalTime.MIDNIGHT, incident.getParsedTime());
+
+        // ISO date-times, with and without seconds and fractions, as LocalDateTime.toString writes them
+        for (String timeStamp : new String[]{"2025-03-01T09:30:15.123456789", "2025-03-01T09:30:15", "2025-03-01T09:30", "2024-02-29T23:59:59.5"}) {
+            LocalDateTime expected = LocalDateTime.parse(timeStamp);
+            DropAgentEvent event = new DropAgentEvent(10, 1);
+            event.setTimeStamp(timeStamp);
+            assertEquals(expected.toLocalTime(), event.getParsedTime(), timeStamp);
+            assertEquals(expected.toLocalDate().toString(), event.getDate(), timeStamp);
+        }
+
+        // anything else has no time
+        ZoneEvent zone = new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(1, 1));
+        assertEquals(Event.NO_TIME, zone.getTimeOfDayNanos());
+        for (String timeStamp : new String[]{"", "24:00:01", "12:60:00", "1:00:00", "2025-02-30T10:00:00"}) {
+            IncidentEvent invalid = new IncidentEvent(timeStamp, 1, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE);
+            assertEquals(Event.NO_TIME, invalid.getTimeOfDayNanos(), timeStamp);
+            assertThrows(DateTimeParseException.class, invalid::getParsedTime);
+        }
+    }
+
 }
@@ -1,10 +1,13 @@
 package test;
 
 import main.EventSocket;
+import main.LoopbackTransport;
 import org.junit.jupiter.api.*;
 import subsystems.EventType;
 import subsystems.fire_incident.FireIncidentSubsystem;
 import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.IncidentRecord;
+import subsystems.fire_incident.ScenarioSource;
 import subsystems.fire_incident.events.IncidentEvent;
 import subsystems.fire_incident.Severity;
 import subsystems.fire_incident.events.ZoneEvent;
@@ -15,6 +18,7 @@ import java.net.InetAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -129,4 +133,64 @@ class FireIncidentSubsystemTest {
         subsystemThread.join(3000);
         assertFalse(subsystemThread.isAlive(), "Subsystem thread did not terminate");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test a burning zone's next incident is held until it is extinguished, without holding other zones")
+    void testBusyZoneIsHeld() throws Exception {
+        ScenarioSource scenario = new ScenarioSource() {
+            @Override
+            public Stream<ZoneEvent> zones() {
+                return Stream.of(new ZoneEvent(1, "(0;0)", "(10;10)"), new ZoneEvent(2, "(20;20)", "(30;30)"));
+            }
+
+            @Override
+            public Stream<IncidentRecord> incidents() {
+                return Stream.of(
+                        new IncidentRecord(0, 1, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NONE),
+                        new IncidentRecord(1, 1, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE),
+                        new IncidentRecord(2, 2, EventType.FIRE_DETECTED, Severity.MODERATE, Faults.NONE));
+            }
+        };
+        LoopbackTransport.Network network = new LoopbackTransport.Network();
+        LoopbackTransport scheduler = network.open(SCHEDULER_PORT);
+        LoopbackTransport fireTransport = network.open(SUBSYSTEM_RECEIVE_PORT);
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        scheduler.setReceiveTimeout(2000);
+
+        fiss = new FireIncidentSubsystem(scenario, fireTransport, localhost, SCHEDULER_PORT);
+        Thread subsystemThread = new Thread(fiss::run);
+        subsystemThread.start();
+
+        assertEquals(1, ((ZoneEvent) scheduler.receive()).getZoneID());
+        assertEquals(2, ((ZoneEvent) scheduler.receive()).getZoneID());
+
+        // the second incident of zone 1 is held, and zone 2 is reported meanwhile
+        IncidentEvent first = (IncidentEvent) scheduler.receive();
+        assertEquals(1, first.getZoneID());
+        assertEquals(Severity.HIGH, first.getSeverity());
+        IncidentEvent other = (IncidentEvent) scheduler.receive();
+        assertEquals(2, other.getZoneID());
+        scheduler.setReceiveTimeout(300);
+        assertNull(scheduler.receive());
+
+        scheduler.send(new IncidentEvent("", 1, EventType.FIRE_EXTINGUISHED, Severity.NONE, Faults.NONE), localhost, SUBSYSTEM_RECEIVE_PORT);
+        scheduler.setReceiveTimeout(2000);
+        IncidentEvent held = (IncidentEvent) scheduler.receive();
+        assertEquals(1, held.getZoneID());
+        assertEquals(Severity.LOW, held.getSeverity());
+
+        // EVENTS_DONE waits for the last fire
+        scheduler.send(new IncidentEvent("", 2, EventType.FIRE_EXTINGUISHED, Severity.NONE, Faults.NONE), localhost, SUBSYSTEM_RECEIVE_PORT);
+        scheduler.setReceiveTimeout(300);
+        assertNull(scheduler.receive());
+
+        scheduler.send(new IncidentEvent("", 1, EventType.FIRE_EXTINGUISHED, Severity.NONE, Faults.NONE), localhost, SUBSYSTEM_RECEIVE_PORT);
+        scheduler.setReceiveTimeout(2000);
+        IncidentEvent done = (IncidentEvent) scheduler.receive();
+        assertEquals(EventType.EVENTS_DONE, done.getEventType());
+
+        subsystemThread.join(3000);
+        assertFalse(subsystemThread.isAlive(), "Subsystem thread did not terminate");
+        scheduler.close();
+    }
+}
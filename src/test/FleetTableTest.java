@@ -0,0 +1,108 @@
+package test;
+
+import main.fleet.FleetTable;
+import org.junit.jupiter.api.*;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.states.FaultedState;
+import subsystems.drone.states.IdleState;
+import subsystems.fire_incident.Faults;
+
+import java.awt.geom.Point2D;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetTableTest {
+    private FleetTable fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = new FleetTable();
+    }
+
+    private static DroneInfo drone(int id) {
+        DroneInfo drone = new DroneInfo(InetAddress.getLoopbackAddress(), 6000);
+        drone.setDroneID(id);
+        return drone;
+    }
+
+    @Test
+    @DisplayName("Test drone reports are stored by column and replaced by later reports")
+    void testUpdate() {
+        DroneInfo drone = drone(3);
+        drone.setCoordinates(new Point2D.Double(120, 80));
+        drone.setFlightTime(420);
+        fleet.update(drone);
+
+        assertTrue(fleet.contains(3));
+        assertFalse(fleet.contains(2));
+        assertEquals(1, fleet.size());
+        assertEquals(FleetTable.State.IDLE, fleet.getState(3));
+        assertEquals(120.0, fleet.getX(3));
+        assertEquals(80.0, fleet.getY(3));
+        assertEquals(420.0, fleet.getFlightTime(3));
+
+        drone.setState(new FaultedState(Faults.NOZZLE_JAMMED));
+        drone.setCoordinates(new Point2D.Double(130, 90));
+        fleet.update(drone);
+        assertEquals(1, fleet.size());
+        assertEquals(FleetTable.State.FAULTED, fleet.getState(3));
+        assertEquals(130.0, fleet.getX(3));
+
+        assertEquals(FleetTable.State.ABSENT, fleet.getState(2));
+        assertThrows(IllegalArgumentException.class, () -> fleet.getX(2));
+        assertThrows(IllegalArgumentException.class, () -> fleet.update(drone(-1)));
+    }
+
+    @Test
+    @DisplayName("Test fleet-wide scans see every drone, past the initial capacity")
+    void testScans() {
+        for (int id = 1; id <= 1_000; id++) {
+            DroneInfo drone = drone(id);
+            if (id % 4 == 0) {
+                drone.setState(new FaultedState(Faults.DRONE_STUCK_IN_FLIGHT));
+            }
+            fleet.update(drone);
+        }
+        assertEquals(1_000, fleet.size());
+        assertEquals(750, fleet.count(FleetTable.State.IDLE));
+        assertEquals(250, fleet.count(FleetTable.State.FAULTED));
+
+        List<Integer> faulted = new ArrayList<>();
+        fleet.forEach(FleetTable.State.FAULTED, faulted::add);
+        assertEquals(250, faulted.size());
+        assertEquals(4, (int) faulted.get(0));
+        assertEquals(1_000, (int) faulted.get(249));
+
+        int[] ids = fleet.droneIDs();
+        assertEquals(1_000, ids.length);
+        assertEquals(1, ids[0]);
+        assertEquals(1_000, ids[999]);
+    }
+
+    @Test
+    @DisplayName("Test idle time is finished only for drones that are still idle")
+    void testFinishIdleTimes() {
+        DroneInfo idle = drone(1);
+        idle.setIdleStartTime(1_000);
+        idle.setTotalIdleTime(500);
+        fleet.update(idle);
+
+        DroneInfo faulted = drone(2);
+        faulted.setState(new FaultedState(Faults.NOZZLE_JAMMED));
+        faulted.setIdleStartTime(1_000);
+        fleet.update(faulted);
+
+        fleet.finishIdleTimes(4_000);
+        assertEquals(3_500L, fleet.getTotalIdleTime(1));
+        assertEquals(0L, fleet.getIdleStartTime(1));
+        assertEquals(0L, fleet.getTotalIdleTime(2));
+        assertEquals(1_000L, fleet.getIdleStartTime(2));
+
+        // finishing again adds nothing
+        fleet.finishIdleTimes(9_000);
+        assertEquals(3_500L, fleet.getTotalIdleTime(1));
+    }
+}
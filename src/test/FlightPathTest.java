@@ -0,0 +1,39 @@
+package test;
+
+import main.ui.FlightPath;
+import org.junit.jupiter.api.*;
+
+import java.awt.geom.Point2D;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightPathTest {
+    private final FlightPath path = new FlightPath(new Point2D.Double(0, 0), new Point2D.Double(100, 50), 1_000, 2_000);
+
+    @Test
+    @DisplayName("Test a drone is at its start before departure and at its target after arrival")
+    void testClamping() {
+        assertEquals(0.0, path.progress(0));
+        assertEquals(new Point2D.Double(0, 0), path.positionAt(500));
+
+        assertEquals(1.0, path.progress(3_000));
+        assertEquals(1.0, path.progress(10_000));
+        assertEquals(new Point2D.Double(100, 50), path.positionAt(10_000));
+    }
+
+    @Test
+    @DisplayName("Test a drone mid-flight is interpolated along the straight line")
+    void testMidFlight() {
+        assertEquals(0.5, path.progress(2_000));
+        assertEquals(new Point2D.Double(50, 25), path.positionAt(2_000));
+        assertEquals(new Point2D.Double(25, 12.5), path.positionAt(1_500));
+    }
+
+    @Test
+    @DisplayName("Test a zero-duration flight is already at its target")
+    void testZeroDuration() {
+        FlightPath instant = new FlightPath(new Point2D.Double(10, 10), new Point2D.Double(20, 30), 1_000, 0);
+        assertEquals(1.0, instant.progress(0));
+        assertEquals(new Point2D.Double(20, 30), instant.positionAt(1_000));
+    }
+}
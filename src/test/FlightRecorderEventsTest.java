@@ -0,0 +1,108 @@
+package test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import main.EventSocket;
+import main.Scheduler;
+import main.replay.VirtualClock;
+import org.junit.jupiter.api.*;
+import subsystems.Event;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneArrivedEvent;
+import subsystems.drone.events.DroneUpdateEvent;
+import subsystems.drone.events.DropAgentEvent;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    /**
+     * Discards what the scheduler sends.
+     */
+    private static class NullSocket extends EventSocket {
+        @Override
+        public void send(Event event, InetAddress address, int port) {
+        }
+
+        @Override
+        public Event receive() {
+            return null;
+        }
+    }
+
+    @Test
+    @DisplayName("Test a dispatch, arrival and drop are recorded as flight recorder events")
+    void testSortieIsRecorded() throws IOException {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        VirtualClock clock = new VirtualClock(Instant.ofEpochMilli(1_000));
+        NullSocket socket = new NullSocket();
+        File file = Files.createTempFile("swarm", ".jfr").toFile();
+
+        try (Recording recording = new Recording()) {
+            recording.enable("firefighting.Dispatch");
+            recording.enable("firefighting.Arrival");
+            recording.enable("firefighting.Drop");
+            recording.start();
+
+            Scheduler scheduler = new Scheduler(socket, socket, localhost, 7000, clock, true);
+            try {
+                scheduler.setDispatchPacing(0);
+                scheduler.processNext(new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(200, 200)));
+                scheduler.processNext(new DroneUpdateEvent(new DroneInfo(localhost, 6001)));
+                scheduler.processNext(new IncidentEvent("00:00:01", 1, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE));
+                clock.advance(250);
+                scheduler.processNext(null);
+                clock.advance(4_000);
+                scheduler.processNext(new DroneArrivedEvent(1, 1));
+                clock.advance(1_000);
+                scheduler.processNext(new DropAgentEvent(10, 1));
+            } finally {
+                scheduler.close();
+            }
+
+            recording.stop();
+            recording.dump(file.toPath());
+        }
+
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+            RecordedEvent dispatch = find(events, "firefighting.Dispatch");
+            assertEquals(1, dispatch.getInt("droneID"));
+            assertEquals(1, dispatch.getInt("zoneID"));
+            assertEquals("NONE", dispatch.getString("fault"));
+
+            RecordedEvent arrival = find(events, "firefighting.Arrival");
+            assertEquals(1, arrival.getInt("droneID"));
+            assertEquals(4_000, arrival.getDuration("flightTime").toMillis());
+            assertEquals(10, arrival.getInt("orderedVolume"));
+
+            RecordedEvent drop = find(events, "firefighting.Drop");
+            assertEquals(10, drop.getInt("volume"));
+            assertTrue(drop.getBoolean("extinguished"));
+            assertEquals(5_000, drop.getDuration("sortieDuration").toMillis());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event was recorded"));
+    }
+}
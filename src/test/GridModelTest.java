@@ -0,0 +1,66 @@
+package test;
+
+import main.ui.CellType;
+import main.ui.DroneSwarmDashboard;
+import main.ui.GridModel;
+import org.junit.jupiter.api.*;
+import subsystems.fire_incident.Severity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridModelTest {
+
+    @Test
+    void testMarkZone() {
+        GridModel grid = new GridModel(55, 50);
+        grid.markZone(3, 10, 20, 5, 4);
+
+        assertEquals(CellType.ZONE, grid.getCell(10, 20));
+        assertEquals(CellType.ZONE, grid.getCell(14, 23));
+        assertEquals(CellType.EMPTY, grid.getCell(15, 23));
+        assertEquals(CellType.EMPTY, grid.getCell(14, 24));
+        assertEquals(CellType.EMPTY, grid.getCell(-1, 60));
+
+        assertTrue(grid.hasZone(3));
+        assertFalse(grid.hasZone(2));
+        assertEquals(1, grid.getZoneCount());
+        assertEquals(3, grid.getZoneID(0));
+        assertEquals(10, grid.getZoneX(3));
+        assertEquals(20, grid.getZoneY(3));
+        assertEquals(5, grid.getZoneWidth(3));
+        assertEquals(4, grid.getZoneHeight(3));
+
+        assertEquals(3, grid.zoneAt(12, 21));
+        assertEquals(-1, grid.zoneAt(15, 21));
+    }
+
+    @Test
+    void testZoneAttributes() {
+        GridModel grid = new GridModel(55, 50);
+        assertEquals(DroneSwarmDashboard.FireStatus.NONE, grid.getFireStatus(500));
+        assertEquals(Severity.NONE, grid.getSeverity(500));
+        assertEquals(0, grid.getRemainingWater(500));
+
+        // zone IDs beyond the initial capacity grow the arrays
+        grid.markZone(500, 0, 0, 2, 2);
+        grid.setFireStatus(500, DroneSwarmDashboard.FireStatus.ACTIVE);
+        grid.setSeverity(500, Severity.HIGH);
+        grid.setRemainingWater(500, 30);
+
+        assertEquals(DroneSwarmDashboard.FireStatus.ACTIVE, grid.getFireStatus(500));
+        assertEquals(Severity.HIGH, grid.getSeverity(500));
+        assertEquals(30, grid.getRemainingWater(500));
+
+        grid.setRemainingWater(500, -5);
+        assertEquals(0, grid.getRemainingWater(500));
+        assertThrows(IllegalArgumentException.class, () -> grid.setSeverity(-1, Severity.LOW));
+    }
+
+    @Test
+    void testLargeGrid() {
+        GridModel grid = new GridModel(4000, 4000);
+        grid.markZone(1, 3990, 3990, 20, 20); // clipped to the grid
+        assertEquals(CellType.ZONE, grid.getCell(3999, 3999));
+        assertEquals(CellType.EMPTY, grid.getCell(3989, 3999));
+    }
+}
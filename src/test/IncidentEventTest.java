@@ -33,4 +33,17 @@ class IncidentEventTest {
         String expected = "Time: 14:03:15 | Zone: 1 | Type: FIRE_DETECTED | Severity: HIGH | Fault: NONE";
         assertEquals(expected, incidentEvent.toString());
     }
+
+    @Test
+    @DisplayName("Test severity follows the water still needed")
+    void testSeverityForWater() {
+        int[] amounts = {45, 30, 29, 20, 19, 1, 0, -5};
+        Severity[] expected = {Severity.HIGH, Severity.HIGH, Severity.MODERATE, Severity.MODERATE,
+                Severity.LOW, Severity.LOW, Severity.NONE, Severity.NONE};
+        for (int i = 0; i < amounts.length; i++) {
+            incidentEvent.setWaterFoamAmount(amounts[i]);
+            assertEquals(expected[i], incidentEvent.getSeverity());
+            assertEquals(expected[i], Severity.forWater(amounts[i]));
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package test;
+
+import org.junit.jupiter.api.*;
+import subsystems.EventType;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.IncidentFileReader;
+import subsystems.fire_incident.IncidentRecord;
+import subsystems.fire_incident.Severity;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncidentFileReaderTest {
+    private File eventFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        eventFile = Files.createTempFile("events", ".csv").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventFile.delete();
+    }
+
+    private List<IncidentRecord> read(String... lines) throws IOException {
+        Files.write(eventFile.toPath(), Arrays.asList(lines));
+        try (IncidentFileReader reader = new IncidentFileReader(eventFile);
+             Stream<IncidentRecord> incidents = reader.stream()) {
+            return incidents.toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Test rows are decoded into records")
+    void testParseRows() throws IOException {
+        List<IncidentRecord> records = read(
+                "Time,Zone ID,Event type,Severity",
+                "00:42:42,2,DRONE_REQUEST,High,NONE",
+                "01:15:35,1,fire_detected,Low,NOZZLE_JAMMED"
+        );
+
+        assertEquals(2, records.size());
+        assertEquals(new IncidentRecord(42 * 60 + 42, 2, EventType.DRONE_REQUEST, Severity.HIGH, Faults.NONE), records.get(0));
+        assertEquals(new IncidentRecord(3600 + 15 * 60 + 35, 1, EventType.FIRE_DETECTED, Severity.LOW, Faults.NOZZLE_JAMMED), records.get(1));
+        assertEquals("01:15:35", records.get(1).toIncidentEvent().getTimeStamp());
+    }
+
+    @Test
+    @DisplayName("Test missing or invalid faults default to NONE")
+    void testDefaultFault() throws IOException {
+        List<IncidentRecord> records = read(
+                "Time,Zone ID,Event type,Severity",
+                "00:00:01,1,FIRE_DETECTED,MODERATE",
+                "00:00:02,2,FIRE_DETECTED,HIGH,NOT_A_FAULT\r",
+                "",
+                "00:00:03,3,FIRE_DETECTED,LOW,PACKET_LOSS"
+        );
+
+        assertEquals(3, records.size());
+        assertEquals(Faults.NONE, records.get(0).fault());
+        assertEquals(Faults.NONE, records.get(1).fault());
+        assertEquals(Faults.PACKET_LOSS, records.get(2).fault());
+    }
+
+    @Test
+    @DisplayName("Test times keep increasing past midnight")
+    void testMidnightRollover() throws IOException {
+        List<IncidentRecord> records = read(
+                "Time,Zone ID,Event type,Severity",
+                "23:59:59,1,FIRE_DETECTED,LOW,NONE",
+                "00:00:05,1,FIRE_DETECTED,LOW,NONE"
+        );
+
+        assertEquals(IncidentRecord.SECONDS_PER_DAY - 1, records.get(0).timeSeconds());
+        assertEquals(IncidentRecord.SECONDS_PER_DAY + 5, records.get(1).timeSeconds());
+        assertEquals("00:00:05", records.get(1).toIncidentEvent().getTimeStamp());
+    }
+
+    @Test
+    @DisplayName("Test invalid severity is rejected")
+    void testInvalidSeverity() {
+        assertThrows(IllegalArgumentException.class, () -> read(
+                "Time,Zone ID,Event type,Severity",
+                "00:00:01,1,FIRE_DETECTED,EXTREME,NONE"
+        ));
+    }
+}
@@ -0,0 +1,138 @@
+package test;
+
+import main.incidents.IncidentSnapshot;
+import main.incidents.IncidentStore;
+import org.junit.jupiter.api.*;
+import subsystems.EventType;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncidentStoreTest {
+    private IncidentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IncidentStore();
+    }
+
+    @Test
+    @DisplayName("Test incidents are stored by ID and by zone, and a new report replaces the zone's incident")
+    void testAddAndReplace() {
+        IncidentEvent event = new IncidentEvent("10:00:00", 4, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NOZZLE_JAMMED);
+        event.setTrace(7, 8);
+        IncidentSnapshot first = store.add(event, 1_000);
+        assertNotEquals(IncidentSnapshot.NO_ID, first.incidentID());
+        assertEquals(1L, first.version());
+        assertEquals(Severity.HIGH.getWaterFoamAmount(), first.waterRemaining());
+        assertEquals(Faults.NOZZLE_JAMMED, first.fault());
+        assertEquals(7L, first.traceID());
+        assertSame(first, store.getByZone(4));
+
+        // the report is copied, so changing it later does not change the store
+        event.setWaterFoamAmount(1);
+        assertEquals(Severity.HIGH.getWaterFoamAmount(), store.get(first.incidentID()).waterRemaining());
+
+        IncidentSnapshot second = store.add(new IncidentEvent("10:05:00", 4, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE), 2_000);
+        assertNotEquals(first.incidentID(), second.incidentID());
+        assertNull(store.get(first.incidentID()));
+        assertSame(second, store.getByZone(4));
+        assertEquals(1, store.size());
+
+        assertSame(second, store.removeZone(4));
+        assertNull(store.getByZone(4));
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test updates create new versions and leave earlier snapshots unchanged")
+    void testVersionedUpdates() {
+        IncidentSnapshot original = store.add(new IncidentEvent("10:00:00", 1, EventType.FIRE_DETECTED, Severity.HIGH, Faults.PACKET_LOSS), 0);
+        List<IncidentSnapshot> before = store.snapshot();
+
+        IncidentSnapshot watered = store.update(original.incidentID(), i -> i.withWaterRemaining(i.waterRemaining() - 15));
+        assertEquals(2L, watered.version());
+        assertEquals(Severity.HIGH.getWaterFoamAmount() - 15, watered.waterRemaining());
+        assertEquals(Severity.LOW, watered.severity());
+
+        IncidentSnapshot handled = store.update(original.incidentID(), IncidentSnapshot::withFaultHandled);
+        assertEquals(Faults.NONE, handled.fault());
+        assertTrue(handled.faultHandled());
+        assertEquals(watered.waterRemaining(), handled.waterRemaining());
+
+        // earlier versions and snapshots still see what they saw
+        assertEquals(Severity.HIGH.getWaterFoamAmount(), original.waterRemaining());
+        assertEquals(Faults.PACKET_LOSS, original.fault());
+        assertEquals(List.of(original), before);
+
+        // a stale version cannot overwrite a newer one
+        assertFalse(store.compareAndSet(original, original.withWaterRemaining(0)));
+        assertTrue(store.compareAndSet(handled, handled.withWaterRemaining(0)));
+        assertEquals(0, store.get(original.incidentID()).waterRemaining());
+        assertThrows(IllegalArgumentException.class, () -> store.update(original.incidentID(), i -> i));
+
+        assertNull(store.update(12345, IncidentSnapshot::withFaultHandled));
+    }
+
+    @Test
+    @DisplayName("Test concurrent water drops on the same incident are never lost")
+    void testConcurrentUpdates() throws InterruptedException {
+        IncidentEvent event = new IncidentEvent("10:00:00", 1, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NONE);
+        event.setWaterFoamAmount(100_000);
+        long id = store.add(event, 0).incidentID();
+
+        int threads = 4;
+        int drops = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> droppers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread dropper = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < drops; i++) {
+                    store.update(id, incident -> incident.withWaterRemaining(incident.waterRemaining() - 1));
+                }
+            });
+            dropper.start();
+            droppers.add(dropper);
+        }
+        start.countDown();
+        for (Thread dropper : droppers) {
+            dropper.join();
+        }
+
+        IncidentSnapshot incident = store.get(id);
+        assertEquals(100_000 - threads * drops, incident.waterRemaining());
+        assertEquals(1L + threads * drops, incident.version());
+    }
+
+    @Test
+    @DisplayName("Test a snapshot converts to an independent event")
+    void testToEvent() {
+        IncidentEvent report = new IncidentEvent("10:00:00", 2, EventType.FIRE_DETECTED, Severity.MODERATE, Faults.NOZZLE_JAMMED);
+        report.setTrace(3, 4);
+        IncidentSnapshot incident = store.add(report, 0).withWaterRemaining(12).withEventType(EventType.DRONE_DISPATCHED);
+
+        IncidentEvent event = incident.toEvent();
+        assertEquals(2, event.getZoneID());
+        assertEquals("10:00:00", event.getTimeStamp());
+        assertEquals(EventType.DRONE_DISPATCHED, event.getEventType());
+        assertEquals(Severity.LOW, event.getSeverity());
+        assertEquals(12, event.getWaterFoamAmount());
+        assertEquals(Faults.NOZZLE_JAMMED, event.getFault());
+        assertEquals(3L, event.getTraceID());
+        assertEquals(4L, event.getSpanID());
+
+        event.setWaterFoamAmount(0);
+        assertEquals(12, incident.toEvent().getWaterFoamAmount());
+    }
+}
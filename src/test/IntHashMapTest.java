@@ -0,0 +1,129 @@
+package test;
+
+import helpers.IntHashMap;
+import helpers.IntHashSet;
+import helpers.IntLongHashMap;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntHashMapTest {
+
+    @Test
+    @DisplayName("Test the int map agrees with a HashMap through random puts and removes")
+    void testMatchesHashMap() {
+        IntHashMap<String> map = new IntHashMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            // a small key range, so keys collide, are removed from the middle of runs and come back
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -1_000; key < 1_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        assertEquals(expected, map);
+
+        Map<Integer, String> visited = new HashMap<>();
+        map.forEachEntry(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    @DisplayName("Test the int map works as a Map and rejects null values")
+    void testMapView() {
+        IntHashMap<String> map = new IntHashMap<>(2);
+        for (int id = 0; id < 100; id++) {
+            map.put(Integer.valueOf(id), "drone " + id);
+        }
+        assertEquals(100, map.size());
+        assertEquals("drone 0", map.get(Integer.valueOf(0)));
+        assertNull(map.get("0"));
+        assertTrue(map.containsKey(Integer.valueOf(99)));
+
+        map.replaceAll((id, name) -> name.toUpperCase());
+        assertEquals("DRONE 42", map.get(42));
+        assertEquals(100, map.keySet().size());
+
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertThrows(UnsupportedOperationException.class, () -> {
+            var entries = map.entrySet().iterator();
+            entries.next();
+            entries.remove();
+        });
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(42));
+    }
+
+    @Test
+    @DisplayName("Test the int set agrees with a HashSet, including for 0")
+    void testSet() {
+        IntHashSet set = new IntHashSet();
+        java.util.Set<Integer> expected = new java.util.HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(1_000) - 500;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(key), set.add(key));
+            } else {
+                assertEquals(expected.remove(key), set.remove(key));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (int key = -500; key < 500; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+
+        java.util.Set<Integer> visited = new java.util.HashSet<>();
+        set.forEach(visited::add);
+        assertEquals(expected, visited);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    @DisplayName("Test the int to long map stores any value and counts with addTo")
+    void testLongMap() {
+        IntLongHashMap map = new IntLongHashMap();
+        map.put(1, Long.MIN_VALUE);
+        map.put(0, 0);
+        assertEquals(Long.MIN_VALUE, map.get(1, 5));
+        assertTrue(map.containsKey(0));
+        assertEquals(-1L, map.get(2, -1));
+
+        for (int drone = 0; drone < 1_000; drone++) {
+            map.addTo(100 + drone % 10, 1);
+        }
+        assertEquals(100L, map.get(105, 0));
+        assertEquals(12, map.size());
+
+        assertEquals(100L, map.remove(105, 0));
+        assertEquals(-1L, map.remove(105, -1));
+        assertFalse(map.containsKey(105));
+        assertEquals(100L, map.get(106, 0));
+        assertEquals(11, map.size());
+
+        // timestamps of a whole fleet, past several resizes
+        for (int drone = 1; drone <= 10_000; drone++) {
+            map.put(drone * 31, drone * 1_000L);
+        }
+        for (int drone = 1; drone <= 10_000; drone++) {
+            assertEquals(drone * 1_000L, map.get(drone * 31, -1));
+        }
+    }
+}
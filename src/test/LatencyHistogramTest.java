@@ -0,0 +1,67 @@
+package test;
+
+import main.metrics.LatencyHistogram;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(3_600_000);
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(5000.5, histogram.getMean(), 0.001);
+
+        // values are reported to within 1/64 of themselves
+        assertEquals(5000, (double) histogram.getValueAtPercentile(50), 5000 / 64.0);
+        assertEquals(9900, (double) histogram.getValueAtPercentile(99), 9900 / 64.0);
+        assertEquals(9990, (double) histogram.getValueAtPercentile(99.9), 9990 / 64.0);
+        assertEquals(10_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testMergeAndSave() throws IOException {
+        LatencyHistogram first = new LatencyHistogram(60_000);
+        LatencyHistogram second = new LatencyHistogram(60_000);
+        for (int i = 0; i < 100; i++) {
+            first.record(10);
+            second.record(1000);
+        }
+        first.add(second);
+
+        assertEquals(200, first.getCount());
+        assertEquals(10, first.getValueAtPercentile(50));
+        assertEquals(1000, (double) first.getValueAtPercentile(99), 10);
+
+        File file = Files.createTempFile("latency", ".hist").toFile();
+        try {
+            Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+            histograms.put("merged", first);
+            histograms.put("empty", new LatencyHistogram(60_000));
+            LatencyHistogram.writeAll(file, histograms);
+
+            Map<String, LatencyHistogram> read = LatencyHistogram.readAll(file);
+            assertEquals(2, read.size());
+            assertEquals(200, read.get("merged").getCount());
+            assertEquals(first.getSum(), read.get("merged").getSum());
+            assertEquals(first.getMax(), read.get("merged").getMax());
+            assertEquals(first.getValueAtPercentile(99), read.get("merged").getValueAtPercentile(99));
+            assertEquals(0, read.get("empty").getCount());
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package test;
+
+import main.LoopbackTransport;
+import main.Scheduler;
+import main.replay.VirtualClock;
+import org.junit.jupiter.api.*;
+import subsystems.Event;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneDispatchEvent;
+import subsystems.drone.events.DroneUpdateEvent;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoopbackTransportTest {
+    private static final int SCHEDULER_PORT = 5000;
+    private static final int FIRE_SUBSYSTEM_PORT = 7000;
+
+    private final InetAddress localhost = InetAddress.getLoopbackAddress();
+    private LoopbackTransport.Network network;
+    private LoopbackTransport sender;
+    private LoopbackTransport receiver;
+
+    @BeforeEach
+    void setUp() {
+        network = new LoopbackTransport.Network();
+        sender = network.open();
+        receiver = network.open(SCHEDULER_PORT);
+        receiver.setReceiveTimeout(1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.close();
+        receiver.close();
+    }
+
+    @Test
+    @DisplayName("Test events are copied by default and the sender is reported")
+    void testSendAndReceive() {
+        ZoneEvent zone = new ZoneEvent(3, new Point2D.Double(0, 0), new Point2D.Double(100, 50));
+        sender.send(zone, localhost, SCHEDULER_PORT);
+
+        Event received = receiver.receive();
+        assertInstanceOf(ZoneEvent.class, received);
+        assertNotSame(zone, received);
+        assertEquals(3, ((ZoneEvent) received).getZoneID());
+        assertEquals(sender.getLocalPort(), receiver.getLastSenderPort());
+        assertEquals(localhost, receiver.getLastSenderAddress());
+        assertEquals(1L, network.getDeliveredCount());
+    }
+
+    @Test
+    @DisplayName("Test a zero copy network hands over the sent event itself")
+    void testZeroCopy() {
+        LoopbackTransport.Network zeroCopy = new LoopbackTransport.Network(true, Duration.ZERO, 0, 0);
+        LoopbackTransport from = zeroCopy.open();
+        LoopbackTransport to = zeroCopy.open();
+        to.setReceiveTimeout(1000);
+        try {
+            ZoneEvent zone = new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(10, 10));
+            from.send(zone, localhost, to.getLocalPort());
+            assertSame(zone, to.receive());
+        } finally {
+            from.close();
+            to.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test events to a closed or unknown port are dropped and receive times out")
+    void testDroppedAndTimeout() {
+        sender.send(new DroneUpdateEvent(new DroneInfo(localhost, 1)), localhost, 12345);
+        assertEquals(1L, network.getDroppedCount());
+        assertEquals(0L, sender.getErrorCount());
+
+        receiver.setReceiveTimeout(50);
+        long start = System.nanoTime();
+        assertNull(receiver.receive());
+        assertTrue(System.nanoTime() - start >= 40_000_000L);
+
+        receiver.close();
+        sender.send(new DroneUpdateEvent(new DroneInfo(localhost, 1)), localhost, SCHEDULER_PORT);
+        assertEquals(2L, network.getDroppedCount());
+        assertNull(receiver.receive());
+    }
+
+    @Test
+    @DisplayName("Test injected latency delays delivery and injected loss drops events")
+    void testLatencyAndLoss() {
+        LoopbackTransport.Network slow = new LoopbackTransport.Network(false, Duration.ofMillis(100), 0, 0);
+        LoopbackTransport from = slow.open();
+        LoopbackTransport to = slow.open();
+        try {
+            from.send(new DroneUpdateEvent(new DroneInfo(localhost, 1)), localhost, to.getLocalPort());
+
+            // not due before the timeout, but kept for the next receive
+            to.setReceiveTimeout(10);
+            assertNull(to.receive());
+            to.setReceiveTimeout(1000);
+            long start = System.nanoTime();
+            assertInstanceOf(DroneUpdateEvent.class, to.receive());
+            assertTrue(System.nanoTime() - start >= 50_000_000L);
+        } finally {
+            from.close();
+            to.close();
+        }
+
+        LoopbackTransport.Network lossy = new LoopbackTransport.Network(false, Duration.ZERO, 0.5, 42);
+        LoopbackTransport lossyFrom = lossy.open();
+        LoopbackTransport lossyTo = lossy.open();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                lossyFrom.send(new DroneUpdateEvent(new DroneInfo(localhost, 1)), localhost, lossyTo.getLocalPort());
+            }
+            assertEquals(1000L, lossy.getDeliveredCount() + lossy.getDroppedCount());
+            assertTrue(lossy.getDroppedCount() > 400 && lossy.getDroppedCount() < 600,
+                    "dropped " + lossy.getDroppedCount());
+        } finally {
+            lossyFrom.close();
+            lossyTo.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test a scheduler registers and dispatches a drone entirely in memory")
+    void testSchedulerOverLoopback() {
+        LoopbackTransport fireSubsystem = network.open(FIRE_SUBSYSTEM_PORT);
+        LoopbackTransport drone = network.open();
+        fireSubsystem.setReceiveTimeout(1000);
+        drone.setReceiveTimeout(1000);
+        Scheduler scheduler = new Scheduler(receiver, receiver, localhost, FIRE_SUBSYSTEM_PORT,
+                new VirtualClock(Instant.ofEpochMilli(1_000)), true);
+        try {
+            scheduler.setDispatchPacing(0);
+
+            drone.send(new DroneUpdateEvent(new DroneInfo(localhost, drone.getLocalPort())), localhost, SCHEDULER_PORT);
+            scheduler.processNext(receiver.receive());
+            DroneUpdateEvent registered = (DroneUpdateEvent) drone.receive();
+            assertNotNull(registered);
+            assertTrue(registered.getDroneInfo().getDroneID() > 0);
+
+            fireSubsystem.send(new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(200, 200)), localhost, SCHEDULER_PORT);
+            fireSubsystem.send(new IncidentEvent("00:00:01", 1, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE), localhost, SCHEDULER_PORT);
+            scheduler.processNext(receiver.receive());
+            scheduler.processNext(receiver.receive());
+            scheduler.processNext(null);
+
+            Event dispatch = drone.receive();
+            assertInstanceOf(DroneDispatchEvent.class, dispatch);
+            assertEquals(1, ((DroneDispatchEvent) dispatch).getZoneID());
+        } finally {
+            scheduler.close();
+            fireSubsystem.close();
+            drone.close();
+        }
+    }
+}
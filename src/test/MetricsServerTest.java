@@ -0,0 +1,60 @@
+package test;
+
+import main.metrics.LatencyHistogram;
+import main.metrics.MetricsServer;
+import main.metrics.SchedulerMetrics;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsServerTest {
+    private MetricsServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testScrape() throws IOException {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        metrics.eventHandled("IncidentEvent", 2_000_000);
+        metrics.eventHandled("IncidentEvent", 4_000_000);
+        metrics.eventHandled("DroneUpdateEvent", 1_000);
+        metrics.watchdogFired();
+        metrics.updateFleet(2, 5, 3, 1, 1);
+        metrics.counter("scheduler_socket_errors_total", "Socket errors.", () -> 7);
+        LatencyHistogram responseTimes = new LatencyHistogram(60_000);
+        responseTimes.record(1500);
+        metrics.summary("scheduler_response_time_seconds", "Response times.", responseTimes, 0.001);
+
+        server = new MetricsServer(0, metrics);
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + server.getPort() + MetricsServer.PATH).toURL().openConnection();
+        assertEquals(200, connection.getResponseCode());
+        assertTrue(connection.getContentType().startsWith("text/plain"));
+        String body;
+        try (InputStream in = connection.getInputStream()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        assertTrue(body.contains("# TYPE scheduler_events_received_total counter\n"));
+        assertTrue(body.contains("scheduler_events_received_total{type=\"IncidentEvent\"} 2\n"));
+        assertTrue(body.contains("scheduler_events_received_total{type=\"DroneUpdateEvent\"} 1\n"));
+        assertTrue(body.contains("scheduler_handler_latency_seconds_count 3\n"));
+        assertTrue(body.contains("scheduler_active_fires 2\n"));
+        assertTrue(body.contains("scheduler_drones{state=\"assigned\"} 3\n"));
+        assertTrue(body.contains("scheduler_drones{state=\"faulted\"} 1\n"));
+        assertTrue(body.contains("scheduler_watchdog_firings_total 1\n"));
+        assertTrue(body.contains("scheduler_socket_errors_total 7\n"));
+        assertTrue(body.contains("scheduler_response_time_seconds_count 1\n"));
+        assertTrue(body.contains("scheduler_response_time_seconds_sum 1.50000\n"));
+    }
+}
@@ -0,0 +1,246 @@
+package test;
+
+import main.LoopbackTransport;
+import main.Scheduler;
+import main.recovery.RecoveryLog;
+import main.replay.VirtualClock;
+import org.junit.jupiter.api.*;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneDispatchEvent;
+import subsystems.drone.states.FaultedState;
+import subsystems.drone.states.OnRouteState;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecoveryLogTest {
+    private File directory;
+
+    /**
+     * Collects recovered records into maps, the way the Scheduler restores them.
+     */
+    private static class RecoveredState implements RecoveryLog.Listener {
+        final Map<Integer, ZoneEvent> zones = new HashMap<>();
+        final Map<Integer, DroneInfo> drones = new HashMap<>();
+        final Map<Integer, IncidentEvent> assignments = new HashMap<>();
+        final Map<Integer, IncidentEvent> fires = new HashMap<>();
+        final Map<Integer, Double> responseTimes = new HashMap<>();
+        int nextDroneId;
+        int incidentsCompleted;
+
+        public void zoneStored(ZoneEvent zone) { zones.put(zone.getZoneID(), zone); }
+        public void droneUpdated(DroneInfo drone) { drones.put(drone.getDroneID(), drone); }
+        public void droneAssigned(int droneID, IncidentEvent incident) { assignments.put(droneID, incident); }
+        public void droneUnassigned(int droneID) { assignments.remove(droneID); }
+        public void fireUpdated(IncidentEvent incident, long startTime) { fires.put(incident.getZoneID(), incident); }
+        public void fireClosed(int zoneID) { fires.remove(zoneID); }
+        public void responseTime(int zoneID, double seconds) { responseTimes.put(zoneID, seconds); }
+        public void extinguishTime(int zoneID, double seconds) { }
+        public void counters(int nextDroneId, long startExtinguishTime, int incidentsCompleted, boolean shutdownPending) {
+            this.nextDroneId = nextDroneId;
+            this.incidentsCompleted = incidentsCompleted;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("recovery").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private static DroneInfo drone(int id, Point2D position) throws IOException {
+        DroneInfo drone = new DroneInfo(InetAddress.getLoopbackAddress(), 6000 + id);
+        drone.setDroneID(id);
+        drone.setCoordinates(position);
+        drone.setWaterLevel(id % 15);
+        return drone;
+    }
+
+    @Test
+    @DisplayName("Test state is restored from a snapshot followed by the log tail")
+    void testSnapshotAndLogTail() throws IOException {
+        IncidentEvent fire = new IncidentEvent("00:10:00", 1, EventType.FIRE_DETECTED, Severity.HIGH, Faults.PACKET_LOSS);
+
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, false)) {
+            log.zoneStored(new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(100, 50)));
+            log.droneUpdated(drone(1, new Point2D.Double(10, 10)));
+            log.fireUpdated(fire, 42);
+            log.counters(2, 0, 0, false);
+
+            // the snapshot replaces everything logged so far
+            log.snapshot(snapshot -> {
+                snapshot.zoneStored(new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(100, 50)));
+                try {
+                    snapshot.droneUpdated(drone(1, new Point2D.Double(10, 10)));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                snapshot.fireUpdated(fire, 42);
+                snapshot.counters(2, 0, 0, false);
+            });
+
+            DroneInfo onRoute = drone(2, new Point2D.Double(20, 20));
+            onRoute.setState(new OnRouteState(new DroneDispatchEvent(1, new Point2D.Double(50, 25), Faults.NONE)));
+            log.droneUpdated(onRoute);
+            DroneInfo faulted = drone(1, new Point2D.Double(11, 11));
+            faulted.setState(new FaultedState(Faults.NOZZLE_JAMMED));
+            log.droneUpdated(faulted);
+
+            fire.setWaterFoamAmount(15);
+            fire.markFaultHandled();
+            log.fireUpdated(fire, 42);
+            log.droneAssigned(2, fire);
+            log.responseTime(1, 3.5);
+            log.counters(3, 0, 0, false);
+            log.commit();
+        }
+
+        RecoveredState state = new RecoveredState();
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, false)) {
+            assertTrue(log.recover(state) > 0);
+        }
+
+        assertEquals(new Point2D.Double(50, 25), state.zones.get(1).getCenter());
+        assertEquals(2, state.drones.size());
+        assertInstanceOf(FaultedState.class, state.drones.get(1).getState());
+        assertEquals(new Point2D.Double(11, 11), state.drones.get(1).getCoordinates());
+        OnRouteState onRoute = assertInstanceOf(OnRouteState.class, state.drones.get(2).getState());
+        assertEquals(1, onRoute.getDispatchEvent().getZoneID());
+        assertEquals(6002, (int) state.drones.get(2).getPort());
+
+        IncidentEvent recovered = state.fires.get(1);
+        assertEquals(15, recovered.getWaterFoamAmount());
+        assertEquals(Faults.NONE, recovered.getFault());
+        assertTrue(recovered.isFaultHandled());
+        assertEquals("00:10:00", recovered.getTimeStamp());
+        assertEquals(1, state.assignments.get(2).getZoneID());
+        assertEquals(3.5, (double) state.responseTimes.get(1));
+        assertEquals(3, state.nextDroneId);
+    }
+
+    @Test
+    @DisplayName("Test a torn record at the end of the log is ignored")
+    void testTornTail() throws IOException {
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, true)) {
+            log.droneUpdated(drone(1, new Point2D.Double(1, 1)));
+            log.fireClosed(7);
+            log.commit();
+        }
+        try (FileOutputStream out = new FileOutputStream(new File(directory, RecoveryLog.LOG_FILE), true)) {
+            out.write(new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 2, 0});
+        }
+
+        RecoveredState state = new RecoveredState();
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, false)) {
+            assertEquals(2, log.recover(state));
+        }
+        assertEquals(1, state.drones.size());
+    }
+
+    @Test
+    @DisplayName("Test records logged after recovering a torn log are recovered next time")
+    void testAppendAfterTornRecord() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(new File(directory, RecoveryLog.LOG_FILE))) {
+            out.write(new byte[]{0, 0, 0, 40});
+        }
+
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, false)) {
+            assertEquals(0, log.recover(new RecoveredState()));
+            log.fireClosed(1);
+            log.fireClosed(2);
+            log.fireClosed(3);
+            log.commit();
+        }
+
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, false)) {
+            assertEquals(3, log.recover(new RecoveredState()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test logging goes on after a snapshot fails")
+    void testFailedSnapshot() throws IOException {
+        try (RecoveryLog log = new RecoveryLog(directory, 1, false)) {
+            log.droneUpdated(drone(1, new Point2D.Double(1, 1)));
+            assertTrue(log.isSnapshotDue());
+
+            // a directory in the way of the temporary file makes the snapshot fail
+            File blocked = new File(directory, RecoveryLog.SNAPSHOT_FILE + ".tmp");
+            assertTrue(blocked.mkdir());
+            assertThrows(UncheckedIOException.class, () -> log.snapshot(snapshot -> snapshot.fireClosed(1)));
+            assertFalse(log.isSnapshotDue());
+            assertFalse(new File(directory, RecoveryLog.SNAPSHOT_FILE).exists());
+
+            log.droneUpdated(drone(2, new Point2D.Double(2, 2)));
+            log.commit();
+        }
+
+        RecoveredState state = new RecoveredState();
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, false)) {
+            assertEquals(2, log.recover(state));
+        }
+        assertEquals(2, state.drones.size());
+    }
+
+    @Test
+    @DisplayName("Test a drone in flight when the Scheduler stopped is timed out after recovery")
+    void testRecoveredWatchdogs() throws Exception {
+        IncidentEvent fire = new IncidentEvent("00:10:00", 1, EventType.DRONE_DISPATCHED, Severity.HIGH, Faults.NONE);
+        try (RecoveryLog log = new RecoveryLog(directory, 1_000, false)) {
+            log.zoneStored(new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(100, 50)));
+            DroneInfo onRoute = drone(1, new Point2D.Double(0, 0));
+            onRoute.setState(new OnRouteState(new DroneDispatchEvent(1, new Point2D.Double(50, 25), Faults.NONE)));
+            log.droneUpdated(onRoute);
+            log.fireUpdated(fire, 0);
+            log.droneAssigned(1, fire);
+            log.commit();
+        }
+
+        System.setProperty("scheduler.recovery.dir", directory.getPath());
+        LoopbackTransport.Network network = new LoopbackTransport.Network();
+        LoopbackTransport socket = network.open();
+        VirtualClock clock = new VirtualClock(Instant.ofEpochMilli(1000));
+        Scheduler scheduler;
+        try {
+            scheduler = new Scheduler(socket, socket, InetAddress.getLoopbackAddress(), 7000, clock, true);
+        } finally {
+            System.clearProperty("scheduler.recovery.dir");
+        }
+        try {
+            java.lang.reflect.Field assignmentsField = Scheduler.class.getDeclaredField("droneAssignments");
+            assignmentsField.setAccessible(true);
+            Map<?, ?> assignments = (Map<?, ?>) assignmentsField.get(scheduler);
+            assertTrue(assignments.containsKey(1));
+
+            clock.advance(60 * 60 * 1000);
+            assertFalse(assignments.containsKey(1));
+        } finally {
+            scheduler.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package test;
+
+import main.journal.EventJournal;
+import main.replay.ReplayEngine;
+import main.replay.VirtualClock;
+import org.junit.jupiter.api.*;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneDispatchEvent;
+import subsystems.drone.events.DroneUpdateEvent;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayEngineTest {
+    private File directory;
+    private final InetAddress localhost = InetAddress.getLoopbackAddress();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("replay").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Journals a zone, a drone registering and a fire in that zone, optionally followed by the
+     * dispatch the scheduler sent in response.
+     */
+    private void recordSession(DroneDispatchEvent sentDispatch) throws IOException {
+        try (EventJournal journal = new EventJournal(directory, 1 << 20)) {
+            journal.append(EventJournal.Direction.RECEIVED, localhost, 7000,
+                    new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(200, 200)));
+            journal.append(EventJournal.Direction.RECEIVED, localhost, 6001,
+                    new DroneUpdateEvent(new DroneInfo(localhost, 6001)));
+            journal.append(EventJournal.Direction.RECEIVED, localhost, 7000,
+                    new IncidentEvent("00:00:01", 1, EventType.FIRE_DETECTED, Severity.HIGH, Faults.NONE));
+            if (sentDispatch != null) {
+                journal.append(EventJournal.Direction.SENT, localhost, 6001, sentDispatch);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test a replay reproduces the recorded dispatch decisions")
+    void testReplayMatchesRecording() throws IOException {
+        recordSession(new DroneDispatchEvent(1, new Point2D.Double(100, 100), Faults.NONE));
+
+        ReplayEngine.Result result = ReplayEngine.replay(directory);
+
+        assertEquals(3, result.eventsReplayed());
+        assertEquals(1, result.replayed().size());
+        assertEquals(new ReplayEngine.Decision(localhost.getHostAddress() + ":6001", "DISPATCH zone=1 fault=NONE"), result.replayed().get(0));
+        assertTrue(result.matches(), "replayed " + result.replayed() + " but recorded " + result.recorded());
+    }
+
+    @Test
+    @DisplayName("Test a replay reports where its decisions diverge from the recording")
+    void testReplayDetectsDivergence() throws IOException {
+        recordSession(new DroneDispatchEvent(2, new Point2D.Double(100, 100), Faults.NONE));
+
+        ReplayEngine.Result result = ReplayEngine.replay(directory);
+
+        assertFalse(result.matches());
+        assertEquals(0, result.firstDivergence());
+    }
+
+    @Test
+    @DisplayName("Test a replay ignores the live recovery log and journal")
+    void testReplayIsStandalone() throws IOException {
+        recordSession(new DroneDispatchEvent(1, new Point2D.Double(100, 100), Faults.NONE));
+        File recovery = new File(directory.getPath() + "-recovery");
+        File journal = new File(directory.getPath() + "-journal");
+
+        System.setProperty("scheduler.recovery.dir", recovery.getPath());
+        System.setProperty("scheduler.journal.dir", journal.getPath());
+        ReplayEngine.Result result;
+        try {
+            result = ReplayEngine.replay(directory);
+        } finally {
+            System.clearProperty("scheduler.recovery.dir");
+            System.clearProperty("scheduler.journal.dir");
+        }
+
+        assertTrue(result.matches(), "replayed " + result.replayed() + " but recorded " + result.recorded());
+        assertFalse(recovery.exists());
+        assertFalse(journal.exists());
+    }
+
+    @Test
+    @DisplayName("Test virtual clock timers run in due order only when the clock passes them")
+    void testVirtualClockTimers() {
+        VirtualClock clock = new VirtualClock(Instant.ofEpochMilli(1_000));
+        List<String> fired = new ArrayList<>();
+        clock.schedule(500, () -> fired.add("b"));
+        clock.schedule(200, () -> fired.add("a"));
+        VirtualClock.Timer cancelled = clock.schedule(300, () -> fired.add("cancelled"));
+        cancelled.cancel();
+
+        clock.advanceTo(1_100);
+        assertTrue(fired.isEmpty());
+        assertEquals(1_100, clock.millis());
+
+        clock.advance(1_000);
+        assertEquals(List.of("a", "b"), fired);
+        assertEquals(2_100, clock.millis());
+        assertEquals(0, clock.getPendingTimers());
+    }
+}
@@ -0,0 +1,68 @@
+package test;
+
+import org.junit.jupiter.api.*;
+import subsystems.fire_incident.IncidentRecord;
+import subsystems.fire_incident.ScenarioFile;
+import subsystems.fire_incident.WorkloadGenerator;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioFileTest {
+    private File scenarioFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scenarioFile = Files.createTempFile("test", ScenarioFile.EXTENSION).toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scenarioFile.delete();
+    }
+
+    @Test
+    @DisplayName("Test a scenario survives a round trip through the binary format")
+    void testRoundTrip() throws IOException {
+        WorkloadGenerator generator = new WorkloadGenerator(3).zones(5, 3).incidents(2000).startTime(3600)
+                .faultRatios(0.1, 0.1, 0.1).hotspots(2, 0.5, 1);
+
+        ScenarioFile.write(generator, scenarioFile);
+        ScenarioFile scenario = ScenarioFile.open(scenarioFile);
+
+        assertEquals(15, scenario.getZoneCount());
+        assertEquals(2000, scenario.getIncidentCount());
+        assertEquals(generator.incidents().toList(), scenario.incidents().toList());
+
+        List<ZoneEvent> expectedZones = generator.zones().toList();
+        List<ZoneEvent> zones = scenario.zones().toList();
+        for (int i = 0; i < expectedZones.size(); i++) {
+            assertEquals(expectedZones.get(i).getZoneID(), zones.get(i).getZoneID());
+            assertEquals(expectedZones.get(i).getStart(), zones.get(i).getStart());
+            assertEquals(expectedZones.get(i).getEnd(), zones.get(i).getEnd());
+        }
+    }
+
+    @Test
+    @DisplayName("Test an empty scenario")
+    void testEmpty() throws IOException {
+        ScenarioFile.write(new WorkloadGenerator(1).zones(1, 1).incidents(0), scenarioFile);
+        ScenarioFile scenario = ScenarioFile.open(scenarioFile);
+
+        assertEquals(1, scenario.getZoneCount());
+        assertEquals(0, scenario.getIncidentCount());
+        assertEquals(List.<IncidentRecord>of(), scenario.incidents().toList());
+    }
+
+    @Test
+    @DisplayName("Test other files are rejected")
+    void testRejectsOtherFiles() throws IOException {
+        Files.write(scenarioFile.toPath(), "Time,Zone ID,Event type,Severity,Fault\n00:00:01,1,FIRE_DETECTED,LOW,NONE\n".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> ScenarioFile.open(scenarioFile));
+    }
+}
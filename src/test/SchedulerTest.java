@@ -2,7 +2,11 @@ package test;
 
 import logger.EventLogger;
 import main.EventSocket;
+import main.LoopbackTransport;
 import main.Scheduler;
+import main.incidents.IncidentSnapshot;
+import main.incidents.IncidentStore;
+import main.replay.VirtualClock;
 import org.junit.jupiter.api.*;
 import subsystems.Event;
 import subsystems.EventType;
@@ -14,6 +18,7 @@ import subsystems.drone.DroneInfo;
 
 import java.awt.geom.Point2D;
 import java.net.InetAddress;
+import java.time.Instant;
 import java.util.Map;
 import java.util.PriorityQueue;
 
@@ -76,11 +81,11 @@ class SchedulerTest {
         handleIncidentMethod.setAccessible(true);
         handleIncidentMethod.invoke(scheduler, incident);
 
-        java.lang.reflect.Field activeFiresField = Scheduler.class.getDeclaredField("activeFires");
-        activeFiresField.setAccessible(true);
-        Map<Integer, IncidentEvent> activeFires = (Map<Integer, IncidentEvent>) activeFiresField.get(scheduler);
+        java.lang.reflect.Field incidentsField = Scheduler.class.getDeclaredField("incidents");
+        incidentsField.setAccessible(true);
+        IncidentStore incidents = (IncidentStore) incidentsField.get(scheduler);
 
-        assertEquals(1, activeFires.size(), "Incident should be stored when no drone is available.");
+        assertEquals(1, incidents.size(), "Incident should be stored when no drone is available.");
     }
 
     /**
@@ -100,15 +105,15 @@ class SchedulerTest {
         Map<Integer, DroneInfo> dronesInfo = (Map<Integer, DroneInfo>) dronesInfoField.get(scheduler);
         dronesInfo.put(droneID, droneInfo);
 
-        java.lang.reflect.Field activeFiresField = Scheduler.class.getDeclaredField("activeFires");
-        activeFiresField.setAccessible(true);
-        Map<Integer, IncidentEvent> activeFires = (Map<Integer, IncidentEvent>) activeFiresField.get(scheduler);
-        activeFires.put(zoneID, incident);
+        java.lang.reflect.Field incidentsField = Scheduler.class.getDeclaredField("incidents");
+        incidentsField.setAccessible(true);
+        IncidentStore incidents = (IncidentStore) incidentsField.get(scheduler);
+        IncidentSnapshot stored = incidents.add(incident, 0);
 
         java.lang.reflect.Field droneAssignmentsField = Scheduler.class.getDeclaredField("droneAssignments");
         droneAssignmentsField.setAccessible(true);
-        Map<Integer, IncidentEvent> droneAssignments = (Map<Integer, IncidentEvent>) droneAssignmentsField.get(scheduler);
-        droneAssignments.put(droneID, incident);
+        Map<Integer, IncidentSnapshot> droneAssignments = (Map<Integer, IncidentSnapshot>) droneAssignmentsField.get(scheduler);
+        droneAssignments.put(droneID, stored);
 
         java.lang.reflect.Method handleDroneArrivalMethod = Scheduler.class.getDeclaredMethod("handleDroneArrival", DroneArrivedEvent.class);
         handleDroneArrivalMethod.setAccessible(true);
@@ -129,21 +134,21 @@ class SchedulerTest {
         DropAgentEvent dropEvent = new DropAgentEvent(10, droneID);
         IncidentEvent incident = new IncidentEvent("", zoneID, EventType.FIRE_DETECTED, Severity.MODERATE, Faults.NONE);
 
-        java.lang.reflect.Field activeFiresField = Scheduler.class.getDeclaredField("activeFires");
-        activeFiresField.setAccessible(true);
-        Map<Integer, IncidentEvent> activeFires = (Map<Integer, IncidentEvent>) activeFiresField.get(scheduler);
-        activeFires.put(zoneID, incident);
+        java.lang.reflect.Field incidentsField = Scheduler.class.getDeclaredField("incidents");
+        incidentsField.setAccessible(true);
+        IncidentStore incidents = (IncidentStore) incidentsField.get(scheduler);
+        IncidentSnapshot stored = incidents.add(incident, 0);
 
         java.lang.reflect.Field droneAssignmentsField = Scheduler.class.getDeclaredField("droneAssignments");
         droneAssignmentsField.setAccessible(true);
-        Map<Integer, IncidentEvent> droneAssignments = (Map<Integer, IncidentEvent>) droneAssignmentsField.get(scheduler);
-        droneAssignments.put(droneID, incident);
+        Map<Integer, IncidentSnapshot> droneAssignments = (Map<Integer, IncidentSnapshot>) droneAssignmentsField.get(scheduler);
+        droneAssignments.put(droneID, stored);
 
         java.lang.reflect.Method handleDropAgentMethod = Scheduler.class.getDeclaredMethod("handleDropAgent", DropAgentEvent.class);
         handleDropAgentMethod.setAccessible(true);
         handleDropAgentMethod.invoke(scheduler, dropEvent);
 
-        assertEquals(10, incident.getWaterFoamAmount(), "Fire incident should have updated water requirement.");
+        assertEquals(10, incidents.getByZone(zoneID).waterRemaining(), "Fire incident should have updated water requirement.");
     }
 
     @Test
@@ -223,4 +228,32 @@ class SchedulerTest {
         schedulerThread.join(1000);
     }
 
-}
\ No newline at end of file
+    /**
+     * Test 7: Ensure cancelled watchdogs are no longer counted as pending on a virtual clock.
+     */
+    @Test
+    void testCancelledWatchdogsAreRemoved() throws Exception {
+        LoopbackTransport socket = new LoopbackTransport.Network().open();
+        VirtualClock clock = new VirtualClock(Instant.ofEpochMilli(1000));
+        Scheduler replaying = new Scheduler(socket, socket, localhost, 7000, clock, true);
+        try {
+            java.lang.reflect.Field watchdogsField = Scheduler.class.getDeclaredField("watchdogs");
+            watchdogsField.setAccessible(true);
+            Map<?, ?> watchdogs = (Map<?, ?>) watchdogsField.get(replaying);
+
+            for (int droneID = 1; droneID <= 100; droneID++) {
+                replaying.startWatchdog(droneID, 10);
+                replaying.cancelWatchdog(droneID);
+            }
+            assertTrue(watchdogs.isEmpty());
+
+            // a watchdog stays pending until it fires
+            replaying.startWatchdog(1, 10);
+            assertEquals(1, watchdogs.size());
+            clock.advance(10 * Scheduler.sleepMultiplier);
+            assertTrue(watchdogs.isEmpty());
+        } finally {
+            replaying.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package test;
+
+import main.ui.SpatialIndex;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTest {
+
+    private static List<Integer> query(SpatialIndex index, int x, int y, int w, int h) {
+        List<Integer> ids = new ArrayList<>();
+        index.query(x, y, w, h, ids::add);
+        ids.sort(null);
+        return ids;
+    }
+
+    @Test
+    void testQueryVisitsEachItemOnce() {
+        SpatialIndex index = new SpatialIndex(100, 100, 10);
+        index.add(1, 5, 5, 30, 30); // spans 16 tiles
+        index.add(2, 90, 90, 1, 1);
+        index.add(3, 50, 0, 1, 1);
+
+        assertEquals(List.of(1), query(index, 0, 0, 40, 40));
+        assertEquals(List.of(1, 2, 3), query(index, 0, 0, 100, 100));
+        assertEquals(List.of(2), query(index, 85, 85, 10, 10));
+        assertEquals(List.of(), query(index, 60, 60, 10, 10));
+        assertEquals(1, index.count(0, 0));
+        assertEquals(1, index.count(3, 3));
+    }
+
+    @Test
+    void testRemoveAndMove() {
+        SpatialIndex index = new SpatialIndex(100, 100, 10);
+        index.add(7, 3, 3, 1, 1);
+        index.add(8, 4, 4, 1, 1);
+
+        index.move(7, 3, 3, 95, 95);
+        assertEquals(List.of(8), query(index, 0, 0, 10, 10));
+        assertEquals(List.of(7), query(index, 90, 90, 10, 10));
+
+        index.remove(8, 4, 4, 1, 1);
+        assertEquals(0, index.count(0, 0));
+        assertEquals(List.of(7), query(index, 0, 0, 100, 100));
+    }
+}
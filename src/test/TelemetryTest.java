@@ -0,0 +1,120 @@
+package test;
+
+import main.telemetry.TelemetryPublisher;
+import main.telemetry.TelemetrySubscriber;
+import main.ui.DashboardSink;
+import main.ui.DroneStateEnum;
+import main.ui.DroneSwarmDashboard;
+import org.junit.jupiter.api.*;
+import subsystems.fire_incident.Severity;
+
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryTest {
+    private static final int PORT = 7446;
+    private TelemetryPublisher publisher;
+    private TelemetrySubscriber subscriber;
+
+    /**
+     * Keeps the latest value received for each zone and drone attribute.
+     */
+    private static class StateSink implements DashboardSink {
+        final Map<String, Object> state = new ConcurrentHashMap<>();
+
+        @Override
+        public void markZone(int zoneID, Point2D worldStart, Point2D worldEnd) {
+            state.put("zone " + zoneID, worldStart + " " + worldEnd);
+        }
+
+        @Override
+        public void updateZoneWater(int zoneID, int remainingLiters) {
+            state.put("water " + zoneID, remainingLiters);
+        }
+
+        @Override
+        public void setZoneFireStatus(int zoneID, DroneSwarmDashboard.FireStatus status) {
+            state.put("status " + zoneID, status);
+        }
+
+        @Override
+        public void updateZoneSeverity(int zoneID, Severity severity) {
+            state.put("severity " + zoneID, severity);
+        }
+
+        @Override
+        public void updateDronePosition(int droneID, Point2D worldPos, Point2D targPos, DroneStateEnum state) {
+            this.state.put("drone " + droneID, worldPos + " " + targPos + " " + state);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) publisher.close();
+        if (subscriber != null) subscriber.close();
+    }
+
+    private static void awaitValue(StateSink sink, String key, Object expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!expected.equals(sink.state.get(key)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, sink.state.get(key));
+    }
+
+    @Test
+    void testFeedReachesSubscriber() throws IOException, InterruptedException {
+        InetSocketAddress feed = new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT);
+        StateSink sink = new StateSink();
+        subscriber = new TelemetrySubscriber(feed, sink);
+        publisher = new TelemetryPublisher(feed, 20, 60_000);
+
+        publisher.markZone(1, new Point2D.Double(0, 0), new Point2D.Double(700, 600));
+        publisher.setZoneFireStatus(1, DroneSwarmDashboard.FireStatus.ACTIVE);
+        publisher.updateZoneSeverity(1, Severity.HIGH);
+        publisher.updateDronePosition(4, new Point2D.Double(0, 0), new Point2D.Double(350, 300), DroneStateEnum.OUTBOUND);
+        publisher.updateDronePosition(5, new Point2D.Double(10, 20), null, DroneStateEnum.IDLE);
+
+        // updates between two sends are coalesced into the latest value
+        for (int liters = 1000; liters >= 30; liters--) {
+            publisher.updateZoneWater(1, liters);
+        }
+
+        awaitValue(sink, "water 1", 30);
+        awaitValue(sink, "zone 1", "Point2D.Double[0.0, 0.0] Point2D.Double[700.0, 600.0]");
+        awaitValue(sink, "status 1", DroneSwarmDashboard.FireStatus.ACTIVE);
+        awaitValue(sink, "severity 1", Severity.HIGH);
+        awaitValue(sink, "drone 4", "Point2D.Double[0.0, 0.0] Point2D.Double[350.0, 300.0] OUTBOUND");
+        awaitValue(sink, "drone 5", "Point2D.Double[10.0, 20.0] null IDLE");
+
+        assertEquals(976, publisher.getPublishedCount());
+        assertTrue(publisher.getSentCount() < publisher.getPublishedCount());
+
+        // idle send periods send nothing, so they are not counted as losses
+        Thread.sleep(200);
+        publisher.updateZoneWater(1, 10);
+        awaitValue(sink, "water 1", 10);
+        assertEquals(0L, subscriber.getDatagramsLost());
+    }
+
+    @Test
+    void testKeyframeCatchesUpLateSubscriber() throws IOException, InterruptedException {
+        InetSocketAddress feed = new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT);
+        publisher = new TelemetryPublisher(feed, 20, 100);
+        publisher.markZone(2, new Point2D.Double(0, 0), new Point2D.Double(100, 100));
+        publisher.updateZoneSeverity(2, Severity.LOW);
+        Thread.sleep(100); // the changes are sent before anyone listens
+
+        StateSink sink = new StateSink();
+        subscriber = new TelemetrySubscriber(feed, sink);
+
+        awaitValue(sink, "severity 2", Severity.LOW);
+        assertTrue(sink.state.containsKey("zone 2"));
+    }
+}
@@ -0,0 +1,114 @@
+package test;
+
+import main.EventSocket;
+import main.Scheduler;
+import main.replay.VirtualClock;
+import main.tracing.CriticalPath;
+import main.tracing.Span;
+import main.tracing.SpanCollector;
+import org.junit.jupiter.api.*;
+import subsystems.Event;
+import subsystems.EventType;
+import subsystems.drone.DroneInfo;
+import subsystems.drone.events.DroneArrivedEvent;
+import subsystems.drone.events.DroneDispatchEvent;
+import subsystems.drone.events.DroneUpdateEvent;
+import subsystems.drone.events.DropAgentEvent;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.events.IncidentEvent;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingTest {
+
+    /**
+     * Keeps what the scheduler sends.
+     */
+    private static class CapturingSocket extends EventSocket {
+        final List<Event> sent = new ArrayList<>();
+
+        @Override
+        public void send(Event event, InetAddress address, int port) {
+            sent.add(event);
+        }
+
+        @Override
+        public Event receive() {
+            return null;
+        }
+
+        <E extends Event> E last(Class<E> type) {
+            for (int i = sent.size() - 1; i >= 0; i--) {
+                if (type.isInstance(sent.get(i))) {
+                    return type.cast(sent.get(i));
+                }
+            }
+            throw new AssertionError("Nothing of type " + type.getSimpleName() + " was sent");
+        }
+    }
+
+    @Test
+    @DisplayName("Test an incident's trace is carried through the scheduler and broken down along its critical path")
+    void testIncidentIsTraced() throws InterruptedException {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        CapturingSocket socket = new CapturingSocket();
+        Scheduler scheduler = new Scheduler(socket, socket, localhost, 7000, new VirtualClock(Instant.ofEpochMilli(1_000)), true);
+        long traceID;
+        try {
+            scheduler.setDispatchPacing(0);
+            scheduler.processNext(new ZoneEvent(1, new Point2D.Double(0, 0), new Point2D.Double(200, 200)));
+            scheduler.processNext(new DroneUpdateEvent(new DroneInfo(localhost, 6001)));
+
+            // the fire subsystem reports the fire
+            Span report = SpanCollector.startTrace("fire.report").tag(0, 1);
+            IncidentEvent incident = report.propagate(new IncidentEvent("00:00:01", 1, EventType.FIRE_DETECTED, Severity.LOW, Faults.NONE));
+            report.finish();
+            traceID = incident.getTraceID();
+            scheduler.processNext(incident);
+            scheduler.processNext(null);
+
+            // the drone flies to the fire
+            DroneDispatchEvent dispatch = socket.last(DroneDispatchEvent.class);
+            assertEquals(traceID, dispatch.getTraceID());
+            Span flight = SpanCollector.startSpan("drone.flight", dispatch).tag(1, 1);
+            Thread.sleep(20);
+            DroneArrivedEvent arrived = flight.propagate(new DroneArrivedEvent(1, 1));
+            flight.finish();
+            scheduler.processNext(arrived);
+
+            // and drops on it
+            DropAgentEvent order = socket.last(DropAgentEvent.class);
+            assertEquals(traceID, order.getTraceID());
+            Span drop = SpanCollector.startSpan("drone.drop", order).tag(1, 1);
+            Thread.sleep(10);
+            DropAgentEvent dropped = drop.propagate(new DropAgentEvent(10, 1));
+            drop.finish();
+            scheduler.processNext(dropped);
+
+            IncidentEvent fireOut = socket.last(IncidentEvent.class);
+            assertEquals(EventType.FIRE_EXTINGUISHED, fireOut.getEventType());
+            assertEquals(traceID, fireOut.getTraceID());
+        } finally {
+            scheduler.close();
+        }
+
+        List<CriticalPath.Breakdown> breakdowns = CriticalPath.analyze(SpanCollector.get().getSpans(traceID));
+        assertEquals(1, breakdowns.size());
+        CriticalPath.Breakdown breakdown = breakdowns.get(0);
+        assertEquals(1, breakdown.zoneID());
+        assertEquals(List.of("fire.report", "scheduler.incident", "scheduler.dispatch", "drone.flight",
+                        "scheduler.arrival", "drone.drop", "scheduler.drop"),
+                breakdown.path().stream().map(Span::getName).toList());
+        assertTrue(breakdown.flight() >= 20_000, "flight " + breakdown.flight());
+        assertTrue(breakdown.drop() >= 10_000, "drop " + breakdown.drop());
+        assertTrue(breakdown.total() >= breakdown.flight() + breakdown.drop());
+    }
+}
@@ -0,0 +1,54 @@
+package test;
+
+import org.junit.jupiter.api.*;
+import subsystems.fire_incident.Faults;
+import subsystems.fire_incident.IncidentRecord;
+import subsystems.fire_incident.Severity;
+import subsystems.fire_incident.WorkloadGenerator;
+import subsystems.fire_incident.events.ZoneEvent;
+
+import java.awt.geom.Point2D;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorTest {
+
+    @Test
+    @DisplayName("Test the same seed produces the same incidents")
+    void testReproducible() {
+        WorkloadGenerator first = new WorkloadGenerator(7).zones(10, 10).incidents(500).hotspots(3, 0.8, 1.5);
+        WorkloadGenerator second = new WorkloadGenerator(7).zones(10, 10).incidents(500).hotspots(3, 0.8, 1.5);
+
+        assertEquals(first.incidents().toList(), second.incidents().toList());
+        assertNotEquals(first.incidents().toList(), new WorkloadGenerator(8).zones(10, 10).incidents(500).incidents().toList());
+    }
+
+    @Test
+    @DisplayName("Test incidents stay within the grid and in time order")
+    void testIncidents() {
+        List<IncidentRecord> incidents = new WorkloadGenerator(1).zones(4, 3).incidents(1000).arrivalRate(5)
+                .severityMix(0, 0, 1).faultRatios(0, 1, 0).incidents().toList();
+
+        assertEquals(1000, incidents.size());
+        int previous = 0;
+        for (IncidentRecord incident : incidents) {
+            assertTrue(incident.zoneID() >= 1 && incident.zoneID() <= 12);
+            assertTrue(incident.timeSeconds() >= previous);
+            assertEquals(Severity.HIGH, incident.severity());
+            assertEquals(Faults.NOZZLE_JAMMED, incident.fault());
+            previous = incident.timeSeconds();
+        }
+    }
+
+    @Test
+    @DisplayName("Test zones cover the map")
+    void testZones() {
+        List<ZoneEvent> zones = new WorkloadGenerator(1).zones(3, 2).mapSize(300, 200).zones().toList();
+
+        assertEquals(6, zones.size());
+        assertEquals(1, zones.get(0).getZoneID());
+        assertEquals(new Point2D.Double(0, 0), zones.get(0).getStart());
+        assertEquals(new Point2D.Double(300, 200), zones.get(5).getEnd());
+    }
+}